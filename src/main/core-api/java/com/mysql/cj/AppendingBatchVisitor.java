@@ -29,17 +29,26 @@
 
 package com.mysql.cj;
 
-import java.util.LinkedList;
+import java.util.Arrays;
 
 import com.mysql.cj.util.StringUtils;
 
+/**
+ * Builds the static SQL parts of a statement, packed in one array as in {@link ParseInfo#getStaticSql()}.
+ */
 public class AppendingBatchVisitor implements BatchVisitor {
-    LinkedList<byte[]> statementComponents = new LinkedList<>();
+    private byte[] staticSql = new byte[256];
+    private int staticSqlLength = 0;
+    private int[] staticSqlOffsets = new int[16];
+    private int numberOfParts = 0;
 
-    public BatchVisitor append(byte[] values) {
-        this.statementComponents.addLast(values);
+    public BatchVisitor append(byte[] values, int offset, int length) {
+        if (this.numberOfParts + 1 == this.staticSqlOffsets.length) {
+            this.staticSqlOffsets = Arrays.copyOf(this.staticSqlOffsets, this.staticSqlOffsets.length * 2);
+        }
+        this.staticSqlOffsets[this.numberOfParts++] = this.staticSqlLength;
 
-        return this;
+        return mergeWithLast(values, offset, length);
     }
 
     public BatchVisitor increment() {
@@ -48,41 +57,38 @@ public class AppendingBatchVisitor implements BatchVisitor {
     }
 
     public BatchVisitor decrement() {
-        this.statementComponents.removeLast();
+        this.staticSqlLength = this.staticSqlOffsets[--this.numberOfParts];
 
         return this;
     }
 
-    public BatchVisitor merge(byte[] front, byte[] back) {
-        int mergedLength = front.length + back.length;
-        byte[] merged = new byte[mergedLength];
-        System.arraycopy(front, 0, merged, 0, front.length);
-        System.arraycopy(back, 0, merged, front.length, back.length);
-        this.statementComponents.addLast(merged);
+    @Override
+    public BatchVisitor mergeWithLast(byte[] values, int offset, int length) {
+        if (this.numberOfParts == 0) {
+            return append(values, offset, length);
+        }
+        if (this.staticSqlLength + length > this.staticSql.length) {
+            this.staticSql = Arrays.copyOf(this.staticSql, Math.max(this.staticSql.length * 2, this.staticSqlLength + length));
+        }
+        System.arraycopy(values, offset, this.staticSql, this.staticSqlLength, length);
+        this.staticSqlLength += length;
+
         return this;
     }
 
-    @Override
-    public BatchVisitor mergeWithLast(byte[] values) {
-        if (this.statementComponents.isEmpty()) {
-            return append(values);
-        }
-        return merge(this.statementComponents.removeLast(), values);
+    public byte[] getStaticSql() {
+        return Arrays.copyOf(this.staticSql, this.staticSqlLength);
     }
 
-    public byte[][] getStaticSqlStrings() {
-        byte[][] asBytes = new byte[this.statementComponents.size()][];
-        this.statementComponents.toArray(asBytes);
+    public int[] getStaticSqlOffsets() {
+        int[] offsets = Arrays.copyOf(this.staticSqlOffsets, this.numberOfParts + 1);
+        offsets[this.numberOfParts] = this.staticSqlLength;
 
-        return asBytes;
+        return offsets;
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        for (byte[] comp : this.statementComponents) {
-            sb.append(StringUtils.toString(comp));
-        }
-        return sb.toString();
+        return StringUtils.toString(this.staticSql, 0, this.staticSqlLength);
     }
 }
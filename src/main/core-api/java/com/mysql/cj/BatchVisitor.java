@@ -35,9 +35,7 @@ public interface BatchVisitor {
 
     BatchVisitor decrement();
 
-    BatchVisitor append(byte[] values);
+    BatchVisitor append(byte[] values, int offset, int length);
 
-    BatchVisitor merge(byte[] begin, byte[] end);
-
-    BatchVisitor mergeWithLast(byte[] values);
+    BatchVisitor mergeWithLast(byte[] values, int offset, int length);
 }
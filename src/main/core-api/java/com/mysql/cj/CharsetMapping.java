@@ -40,6 +40,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Mapping between MySQL charset names and Java charset names. I've investigated placing these in a .properties file, but unfortunately under most appservers
@@ -54,9 +55,16 @@ public class CharsetMapping {
     public static final Map<String, MysqlCharset> CHARSET_NAME_TO_CHARSET;
     public static final Map<String, Integer> CHARSET_NAME_TO_COLLATION_INDEX;
 
-    private static final Map<String, List<MysqlCharset>> JAVA_ENCODING_UC_TO_MYSQL_CHARSET;
+    /**
+     * All MySQL charsets in the order they are matched against Java encodings.
+     */
+    private static final MysqlCharset[] CHARSETS;
 
-    private static final Set<String> MULTIBYTE_ENCODINGS;
+    /**
+     * Java encoding (upper case) to MySQL charsets mapping. It's filled on demand, so that only the encodings actually used by the application are ever
+     * looked up in the JVM.
+     */
+    private static final Map<String, List<MysqlCharset>> JAVA_ENCODING_UC_TO_MYSQL_CHARSET = new ConcurrentHashMap<>();
 
     public static final Set<Integer> UTF8MB4_INDEXES;
 
@@ -108,8 +116,6 @@ public class CharsetMapping {
     public static final int MYSQL_COLLATION_INDEX_utf8 = 33;
     public static final int MYSQL_COLLATION_INDEX_binary = 63;
 
-    private static int numberOfEncodingsConfigured = 0;
-
     static {
         // complete list of mysql character sets and their corresponding java encoding names
         MysqlCharset[] charset = new MysqlCharset[] { new MysqlCharset(MYSQL_CHARSET_NAME_ascii, 1, 0, new String[] { "US-ASCII", "ASCII" }),
@@ -177,36 +183,11 @@ public class CharsetMapping {
 
         };
         HashMap<String, MysqlCharset> charsetNameToMysqlCharsetMap = new HashMap<>();
-        HashMap<String, List<MysqlCharset>> javaUcToMysqlCharsetMap = new HashMap<>();
-        Set<String> tempMultibyteEncodings = new HashSet<>(); // Character sets that we can't convert ourselves.
         for (int i = 0; i < charset.length; i++) {
-            String charsetName = charset[i].charsetName;
-
-            charsetNameToMysqlCharsetMap.put(charsetName, charset[i]);
-
-            numberOfEncodingsConfigured += charset[i].javaEncodingsUc.size();
-
-            for (String encUC : charset[i].javaEncodingsUc) {
-
-                // fill javaUcToMysqlCharsetMap
-                List<MysqlCharset> charsets = javaUcToMysqlCharsetMap.get(encUC);
-                if (charsets == null) {
-                    charsets = new ArrayList<>();
-                    javaUcToMysqlCharsetMap.put(encUC, charsets);
-                }
-                charsets.add(charset[i]);
-
-                // fill multi-byte charsets
-                if (charset[i].mblen > 1) {
-                    tempMultibyteEncodings.add(encUC);
-                }
-
-            }
-
+            charsetNameToMysqlCharsetMap.put(charset[i].charsetName, charset[i]);
         }
+        CHARSETS = charset;
         CHARSET_NAME_TO_CHARSET = Collections.unmodifiableMap(charsetNameToMysqlCharsetMap);
-        JAVA_ENCODING_UC_TO_MYSQL_CHARSET = Collections.unmodifiableMap(javaUcToMysqlCharsetMap);
-        MULTIBYTE_ENCODINGS = Collections.unmodifiableSet(tempMultibyteEncodings);
 
         // complete list of mysql collations and their corresponding character sets each element of collation[1]..collation[MAP_SIZE-1] must not be null
         Collation[] collation = new Collation[MAP_SIZE];
@@ -547,11 +528,47 @@ public class CharsetMapping {
         collation = null;
     }
 
+    /**
+     * Returns the MySQL charsets that could be used for the given Java encoding, in the order they are declared.
+     * 
+     * @param javaEncoding
+     *            java encoding name
+     * @return list of MySQL charsets, possibly empty
+     */
+    private static List<MysqlCharset> getMysqlCharsetsForJavaEncoding(String javaEncoding) {
+        String javaEncodingUc = javaEncoding.toUpperCase(Locale.ENGLISH);
+        List<MysqlCharset> mysqlCharsets = JAVA_ENCODING_UC_TO_MYSQL_CHARSET.get(javaEncodingUc);
+        if (mysqlCharsets == null) {
+            // A MySQL charset can only map to this encoding if it declares one of the names the JVM knows this encoding under.
+            Set<String> encodingNamesUc = new HashSet<>();
+            encodingNamesUc.add(javaEncodingUc);
+            try {
+                Charset cs = Charset.forName(javaEncoding);
+                encodingNamesUc.add(cs.name().toUpperCase(Locale.ENGLISH));
+                for (String alias : cs.aliases()) {
+                    encodingNamesUc.add(alias.toUpperCase(Locale.ENGLISH));
+                }
+            } catch (Exception e) {
+                // not supported by JVM, only the given name could match
+            }
+
+            mysqlCharsets = new ArrayList<>();
+            for (MysqlCharset charset : CHARSETS) {
+                if (charset.declaresAnyOf(encodingNamesUc) && charset.getJavaEncodingsUc().contains(javaEncodingUc)) {
+                    mysqlCharsets.add(charset);
+                }
+            }
+            mysqlCharsets = Collections.unmodifiableList(mysqlCharsets);
+            JAVA_ENCODING_UC_TO_MYSQL_CHARSET.put(javaEncodingUc, mysqlCharsets);
+        }
+        return mysqlCharsets;
+    }
+
     public final static String getMysqlCharsetForJavaEncoding(String javaEncoding, ServerVersion version) {
 
-        List<MysqlCharset> mysqlCharsets = CharsetMapping.JAVA_ENCODING_UC_TO_MYSQL_CHARSET.get(javaEncoding.toUpperCase(Locale.ENGLISH));
+        List<MysqlCharset> mysqlCharsets = getMysqlCharsetsForJavaEncoding(javaEncoding);
 
-        if (mysqlCharsets != null) {
+        if (!mysqlCharsets.isEmpty()) {
             Iterator<MysqlCharset> iter = mysqlCharsets.iterator();
 
             MysqlCharset currentChoice = null;
@@ -644,6 +661,10 @@ public class CharsetMapping {
     }
 
     public final static int getNumberOfCharsetsConfigured() {
+        int numberOfEncodingsConfigured = 0;
+        for (MysqlCharset charset : CHARSETS) {
+            numberOfEncodingsConfigured += charset.getJavaEncodingsUc().size();
+        }
         return numberOfEncodingsConfigured;
     }
 
@@ -655,7 +676,12 @@ public class CharsetMapping {
      * @return true if the character set contains multi-byte encoded characters.
      */
     final public static boolean isMultibyteCharset(String javaEncodingName) {
-        return MULTIBYTE_ENCODINGS.contains(javaEncodingName.toUpperCase(Locale.ENGLISH));
+        for (MysqlCharset charset : getMysqlCharsetsForJavaEncoding(javaEncodingName)) {
+            if (charset.mblen > 1) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public static int getMblen(String charsetName) {
@@ -673,7 +699,12 @@ class MysqlCharset {
     public final String charsetName;
     public final int mblen;
     public final int priority;
-    public final List<String> javaEncodingsUc = new ArrayList<>();
+    private final String[] javaEncodings;
+
+    /**
+     * Java encodings resolved against the JVM, see {@link #getJavaEncodingsUc()}.
+     */
+    private volatile List<String> javaEncodingsUc = null;
 
     public final ServerVersion minimumVersion;
 
@@ -693,47 +724,79 @@ class MysqlCharset {
         this(charsetName, mblen, priority, javaEncodings, new ServerVersion(0, 0, 0));
     }
 
-    private void addEncodingMapping(String encoding) {
-        String encodingUc = encoding.toUpperCase(Locale.ENGLISH);
-
-        if (!this.javaEncodingsUc.contains(encodingUc)) {
-            this.javaEncodingsUc.add(encodingUc);
-        }
-    }
-
     public MysqlCharset(String charsetName, int mblen, int priority, String[] javaEncodings, ServerVersion minimumVersion) {
         this.charsetName = charsetName;
         this.mblen = mblen;
         this.priority = priority;
+        this.javaEncodings = javaEncodings;
+        this.minimumVersion = minimumVersion;
+    }
 
-        for (int i = 0; i < javaEncodings.length; i++) {
-            String encoding = javaEncodings[i];
-            try {
-                Charset cs = Charset.forName(encoding);
-                addEncodingMapping(cs.name());
+    private static void addEncodingMapping(List<String> encodingsUc, String encoding) {
+        String encodingUc = encoding.toUpperCase(Locale.ENGLISH);
+
+        if (!encodingsUc.contains(encodingUc)) {
+            encodingsUc.add(encodingUc);
+        }
+    }
 
-                Set<String> als = cs.aliases();
-                Iterator<String> ali = als.iterator();
-                while (ali.hasNext()) {
-                    addEncodingMapping(ali.next());
+    /**
+     * Returns the upper case canonical names and aliases of Java encodings corresponding to this MySQL charset. The JVM charsets are looked up on first call
+     * only, because it's rather expensive and most applications never need more than one or two MySQL charsets.
+     * 
+     * @return list of upper case Java encoding names; the first one is the default for mysql --&gt; java data conversion
+     */
+    List<String> getJavaEncodingsUc() {
+        List<String> encodingsUc = this.javaEncodingsUc;
+        if (encodingsUc == null) {
+            encodingsUc = new ArrayList<>();
+            for (int i = 0; i < this.javaEncodings.length; i++) {
+                String encoding = this.javaEncodings[i];
+                try {
+                    Charset cs = Charset.forName(encoding);
+                    addEncodingMapping(encodingsUc, cs.name());
+
+                    Set<String> als = cs.aliases();
+                    Iterator<String> ali = als.iterator();
+                    while (ali.hasNext()) {
+                        addEncodingMapping(encodingsUc, ali.next());
+                    }
+                } catch (Exception e) {
+                    // if there is no support of this charset in JVM it's still possible to use our converter for 1-byte charsets
+                    if (this.mblen == 1) {
+                        addEncodingMapping(encodingsUc, encoding);
+                    }
                 }
-            } catch (Exception e) {
-                // if there is no support of this charset in JVM it's still possible to use our converter for 1-byte charsets
-                if (mblen == 1) {
-                    addEncodingMapping(encoding);
+            }
+
+            if (encodingsUc.size() == 0) {
+                if (this.mblen > 1) {
+                    addEncodingMapping(encodingsUc, "UTF-8");
+                } else {
+                    addEncodingMapping(encodingsUc, "Cp1252");
                 }
             }
+
+            encodingsUc = Collections.unmodifiableList(encodingsUc);
+            this.javaEncodingsUc = encodingsUc;
         }
+        return encodingsUc;
+    }
 
-        if (this.javaEncodingsUc.size() == 0) {
-            if (mblen > 1) {
-                addEncodingMapping("UTF-8");
-            } else {
-                addEncodingMapping("Cp1252");
+    /**
+     * Checks if any of the Java encodings declared for this MySQL charset is among the given names, without looking up the JVM charsets.
+     * 
+     * @param encodingNamesUc
+     *            upper case Java encoding names
+     * @return true if this charset declares one of the given names
+     */
+    boolean declaresAnyOf(Set<String> encodingNamesUc) {
+        for (String encoding : this.javaEncodings) {
+            if (encodingNamesUc.contains(encoding.toUpperCase(Locale.ENGLISH))) {
+                return true;
             }
         }
-
-        this.minimumVersion = minimumVersion;
+        return false;
     }
 
     @Override
@@ -763,10 +826,11 @@ class MysqlCharset {
      * @return java encoding name
      */
     String getMatchingJavaEncoding(String javaEncoding) {
-        if (javaEncoding != null && this.javaEncodingsUc.contains(javaEncoding.toUpperCase(Locale.ENGLISH))) {
+        List<String> encodingsUc = getJavaEncodingsUc();
+        if (javaEncoding != null && encodingsUc.contains(javaEncoding.toUpperCase(Locale.ENGLISH))) {
             return javaEncoding;
         }
-        return this.javaEncodingsUc.get(0);
+        return encodingsUc.get(0);
     }
 }
 
@@ -30,7 +30,7 @@
 package com.mysql.cj;
 
 import java.io.UnsupportedEncodingException;
-import java.util.ArrayList;
+import java.util.Arrays;
 
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.ExceptionFactory;
@@ -39,6 +39,9 @@ import com.mysql.cj.util.StringUtils;
 
 /**
  * Represents the "parsed" state of a prepared query, with the statement broken up into its static and dynamic (where parameters are bound) parts.
+ * 
+ * The static parts are kept encoded in one array, see {@link #getStaticSql()}, the part i being the bytes from offsets[i] to offsets[i + 1] where offsets
+ * are the ones returned by {@link #getStaticSqlOffsets()}.
  */
 public class ParseInfo {
 
@@ -56,7 +59,9 @@ public class ParseInfo {
 
     boolean canRewriteAsMultiValueInsert = false;
 
-    byte[][] staticSql = null;
+    byte[] staticSql = null;
+
+    int[] staticSqlOffsets = null;
 
     boolean hasPlaceholders = false;
 
@@ -72,14 +77,20 @@ public class ParseInfo {
 
     String charEncoding;
 
-    private ParseInfo batchHead;
+    private byte[] batchHeadStaticSql;
+
+    private int[] batchHeadStaticSqlOffsets;
+
+    private byte[] batchValuesStaticSql;
 
-    private ParseInfo batchValues;
+    private int[] batchValuesStaticSqlOffsets;
 
-    private ParseInfo batchODKUClause;
+    private byte[] batchODKUClauseStaticSql;
 
-    private ParseInfo(byte[][] staticSql, char firstStmtChar, boolean foundLoadData, boolean isOnDuplicateKeyUpdate, int locationOfOnDuplicateKeyUpdate,
-            int statementLength, int statementStartPos) {
+    private int[] batchODKUClauseStaticSqlOffsets;
+
+    private ParseInfo(byte[] staticSql, int[] staticSqlOffsets, char firstStmtChar, boolean foundLoadData, boolean isOnDuplicateKeyUpdate,
+            int locationOfOnDuplicateKeyUpdate, int statementLength, int statementStartPos) {
         this.firstStmtChar = firstStmtChar;
         this.foundLoadData = foundLoadData;
         this.isOnDuplicateKeyUpdate = isOnDuplicateKeyUpdate;
@@ -87,6 +98,7 @@ public class ParseInfo {
         this.statementLength = statementLength;
         this.statementStartPos = statementStartPos;
         this.staticSql = staticSql;
+        this.staticSqlOffsets = staticSqlOffsets;
     }
 
     public ParseInfo(String sql, Session session, String encoding) {
@@ -114,13 +126,6 @@ public class ParseInfo {
 
             this.statementLength = sql.length();
 
-            ArrayList<int[]> endpointList = new ArrayList<>();
-            boolean inQuotes = false;
-            char quoteChar = 0;
-            boolean inQuotedId = false;
-            int lastParmEnd = 0;
-            int i;
-
             boolean noBackslashEscapes = session.getServerSession().isNoBackslashEscapesSet();
 
             // we're not trying to be real pedantic here, but we'd like to  skip comments at the beginning of statements, as frameworks such as Hibernate
@@ -128,170 +133,337 @@ public class ParseInfo {
 
             this.statementStartPos = findStartOfStatement(sql);
 
-            for (i = this.statementStartPos; i < this.statementLength; ++i) {
-                char c = sql.charAt(i);
+            int[] placeholders = findPlaceholders(sql, this.statementStartPos, quotedIdentifierChar, noBackslashEscapes, session, true);
 
-                if ((this.firstStmtChar == 0) && Character.isLetter(c)) {
-                    // Determine what kind of statement we're doing (_S_elect, _I_nsert, etc.)
-                    this.firstStmtChar = Character.toUpperCase(c);
-
-                    // no need to search for "ON DUPLICATE KEY UPDATE" if not an INSERT statement
-                    if (this.firstStmtChar == 'I') {
-                        this.locationOfOnDuplicateKeyUpdate = getOnDuplicateKeyLocation(sql,
-                                session.getPropertySet().getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL).getValue(),
-                                session.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue(),
-                                session.getServerSession().isNoBackslashEscapesSet());
-                        this.isOnDuplicateKeyUpdate = this.locationOfOnDuplicateKeyUpdate != -1;
-                    }
+            if (this.firstStmtChar == 'L') {
+                if (StringUtils.startsWithIgnoreCaseAndWs(sql, "LOAD DATA")) {
+                    this.foundLoadData = true;
+                } else {
+                    this.foundLoadData = false;
                 }
+            } else {
+                this.foundLoadData = false;
+            }
 
-                if (!noBackslashEscapes && c == '\\' && i < (this.statementLength - 1)) {
-                    i++;
-                    continue; // next character is escaped
-                }
+            this.staticSqlOffsets = new int[placeholders.length + 2];
+            this.staticSql = encodeStaticSql(sql, placeholders, this.staticSqlOffsets, this.foundLoadData ? null : encoding, this.foundLoadData);
+            this.hasPlaceholders = placeholders.length > 0;
+        } catch (StringIndexOutOfBoundsException oobEx) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("PreparedStatement.62", new Object[] { sql }), oobEx,
+                    session.getExceptionInterceptor());
+        }
 
-                // are we in a quoted identifier? (only valid when the id is not inside a 'string')
-                if (!inQuotes && (quotedIdentifierChar != 0) && (c == quotedIdentifierChar)) {
-                    inQuotedId = !inQuotedId;
-                } else if (!inQuotedId) {
-                    //  only respect quotes when not in a quoted identifier
+        if (buildRewriteInfo) {
+            this.canRewriteAsMultiValueInsert = this.numberOfQueries == 1 && !this.parametersInDuplicateKeyClause
+                    && canRewrite(sql, this.isOnDuplicateKeyUpdate, this.locationOfOnDuplicateKeyUpdate, this.statementStartPos);
+            if (this.canRewriteAsMultiValueInsert && session.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue()) {
+                buildRewriteBatchedParams(sql, session, encoding);
+            }
+        }
 
-                    if (inQuotes) {
-                        if (((c == '\'') || (c == '"')) && c == quoteChar) {
-                            if (i < (this.statementLength - 1) && sql.charAt(i + 1) == quoteChar) {
-                                i++;
-                                continue; // inline quote escape
-                            }
+    }
+
+    /**
+     * Finds the placeholders of the statement, skipping the ones in quotes, quoted identifiers and comments.
+     * 
+     * @param sql
+     *            statement
+     * @param startPos
+     *            index to start at
+     * @param quotedIdentifierChar
+     *            identifier quote char or 0
+     * @param noBackslashEscapes
+     *            is NO_BACKSLASH_ESCAPES set?
+     * @param session
+     *            {@link Session}
+     * @param inspectStatement
+     *            also find the first statement char, the ON DUPLICATE KEY UPDATE clause and the number of queries of this statement?
+     * @return indexes of the placeholders
+     */
+    private int[] findPlaceholders(String sql, int startPos, char quotedIdentifierChar, boolean noBackslashEscapes, Session session,
+            boolean inspectStatement) {
+        int sqlLength = sql.length();
+        int[] placeholders = new int[16];
+        int numberOfPlaceholders = 0;
+        boolean inQuotes = false;
+        char quoteChar = 0;
+        boolean inQuotedId = false;
+
+        for (int i = startPos; i < sqlLength; ++i) {
+            char c = sql.charAt(i);
+
+            if (inspectStatement && (this.firstStmtChar == 0) && (c < 128 ? (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') : Character.isLetter(c))) {
+                // Determine what kind of statement we're doing (_S_elect, _I_nsert, etc.)
+                this.firstStmtChar = Character.toUpperCase(c);
+
+                // no need to search for "ON DUPLICATE KEY UPDATE" if not an INSERT statement
+                if (this.firstStmtChar == 'I') {
+                    this.locationOfOnDuplicateKeyUpdate = getOnDuplicateKeyLocation(sql,
+                            session.getPropertySet().getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL).getValue(),
+                            session.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue(), noBackslashEscapes);
+                    this.isOnDuplicateKeyUpdate = this.locationOfOnDuplicateKeyUpdate != -1;
+                }
+            }
+
+            if (!noBackslashEscapes && c == '\\' && i < (sqlLength - 1)) {
+                i++;
+                continue; // next character is escaped
+            }
 
-                            inQuotes = !inQuotes;
-                            quoteChar = 0;
-                        } else if (((c == '\'') || (c == '"')) && c == quoteChar) {
-                            inQuotes = !inQuotes;
-                            quoteChar = 0;
+            // are we in a quoted identifier? (only valid when the id is not inside a 'string')
+            if (!inQuotes && (quotedIdentifierChar != 0) && (c == quotedIdentifierChar)) {
+                inQuotedId = !inQuotedId;
+            } else if (!inQuotedId) {
+                //  only respect quotes when not in a quoted identifier
+
+                if (inQuotes) {
+                    if (((c == '\'') || (c == '"')) && c == quoteChar) {
+                        if (i < (sqlLength - 1) && sql.charAt(i + 1) == quoteChar) {
+                            i++;
+                            continue; // inline quote escape
                         }
-                    } else {
-                        if (c == '#' || (c == '-' && (i + 1) < this.statementLength && sql.charAt(i + 1) == '-')) {
-                            // run out to end of statement, or newline, whichever comes first
-                            int endOfStmt = this.statementLength - 1;
 
-                            for (; i < endOfStmt; i++) {
-                                c = sql.charAt(i);
+                        inQuotes = !inQuotes;
+                        quoteChar = 0;
+                    } else if (((c == '\'') || (c == '"')) && c == quoteChar) {
+                        inQuotes = !inQuotes;
+                        quoteChar = 0;
+                    }
+                } else {
+                    if (c == '#' || (c == '-' && (i + 1) < sqlLength && sql.charAt(i + 1) == '-')) {
+                        // run out to end of statement, or newline, whichever comes first
+                        int endOfStmt = sqlLength - 1;
 
-                                if (c == '\r' || c == '\n') {
-                                    break;
-                                }
-                            }
+                        for (; i < endOfStmt; i++) {
+                            c = sql.charAt(i);
 
-                            continue;
-                        } else if (c == '/' && (i + 1) < this.statementLength) {
-                            // Comment?
-                            char cNext = sql.charAt(i + 1);
+                            if (c == '\r' || c == '\n') {
+                                break;
+                            }
+                        }
 
-                            if (cNext == '*') {
-                                i += 2;
+                        continue;
+                    } else if (c == '/' && (i + 1) < sqlLength) {
+                        // Comment?
+                        char cNext = sql.charAt(i + 1);
 
-                                for (int j = i; j < this.statementLength; j++) {
-                                    i++;
-                                    cNext = sql.charAt(j);
+                        if (cNext == '*') {
+                            i += 2;
 
-                                    if (cNext == '*' && (j + 1) < this.statementLength) {
-                                        if (sql.charAt(j + 1) == '/') {
-                                            i++;
+                            for (int j = i; j < sqlLength; j++) {
+                                i++;
+                                cNext = sql.charAt(j);
 
-                                            if (i < this.statementLength) {
-                                                c = sql.charAt(i);
-                                            }
+                                if (cNext == '*' && (j + 1) < sqlLength) {
+                                    if (sql.charAt(j + 1) == '/') {
+                                        i++;
 
-                                            break; // comment done
+                                        if (i < sqlLength) {
+                                            c = sql.charAt(i);
                                         }
+
+                                        break; // comment done
                                     }
                                 }
                             }
-                        } else if ((c == '\'') || (c == '"')) {
-                            inQuotes = true;
-                            quoteChar = c;
                         }
+                    } else if ((c == '\'') || (c == '"')) {
+                        inQuotes = true;
+                        quoteChar = c;
                     }
                 }
+            }
 
-                if (!inQuotes && !inQuotedId) {
-                    if ((c == '?')) {
-                        endpointList.add(new int[] { lastParmEnd, i });
-                        lastParmEnd = i + 1;
+            if (!inQuotes && !inQuotedId) {
+                if ((c == '?')) {
+                    if (numberOfPlaceholders == placeholders.length) {
+                        placeholders = Arrays.copyOf(placeholders, numberOfPlaceholders * 2);
+                    }
+                    placeholders[numberOfPlaceholders++] = i;
 
-                        if (this.isOnDuplicateKeyUpdate && i > this.locationOfOnDuplicateKeyUpdate) {
-                            this.parametersInDuplicateKeyClause = true;
-                        }
-                    } else if (c == ';') {
-                        int j = i + 1;
-                        if (j < this.statementLength) {
-                            for (; j < this.statementLength; j++) {
-                                if (!Character.isWhitespace(sql.charAt(j))) {
-                                    break;
-                                }
-                            }
-                            if (j < this.statementLength) {
-                                this.numberOfQueries++;
+                    if (inspectStatement && this.isOnDuplicateKeyUpdate && i > this.locationOfOnDuplicateKeyUpdate) {
+                        this.parametersInDuplicateKeyClause = true;
+                    }
+                } else if (c == ';') {
+                    int j = i + 1;
+                    if (j < sqlLength) {
+                        for (; j < sqlLength; j++) {
+                            if (!Character.isWhitespace(sql.charAt(j))) {
+                                break;
                             }
-                            i = j - 1;
                         }
+                        if (inspectStatement && j < sqlLength) {
+                            this.numberOfQueries++;
+                        }
+                        i = j - 1;
                     }
                 }
             }
+        }
 
-            if (this.firstStmtChar == 'L') {
-                if (StringUtils.startsWithIgnoreCaseAndWs(sql, "LOAD DATA")) {
-                    this.foundLoadData = true;
-                } else {
-                    this.foundLoadData = false;
+        return Arrays.copyOf(placeholders, numberOfPlaceholders);
+    }
+
+    /**
+     * Encodes the static parts of the statement, i.e. the statement without its placeholders, into one array. The statement is encoded as a whole when the
+     * positions of the placeholders in the encoded bytes are known, which is the case for UTF-8 and for ASCII statements in the other ASCII-compatible
+     * charsets, and part by part otherwise.
+     * 
+     * @param sql
+     *            statement
+     * @param placeholders
+     *            indexes of the placeholders
+     * @param offsets
+     *            array of placeholders.length + 2 to be filled with the offsets of the parts followed by the end of the last one
+     * @param encoding
+     *            java encoding; null stands for the platform encoding when encoding by part and for one byte per char otherwise
+     * @param byPart
+     *            encode the statement part by part?
+     * @return static parts of the statement
+     */
+    private static byte[] encodeStaticSql(String sql, int[] placeholders, int[] offsets, String encoding, boolean byPart) {
+        if (byPart) {
+            return encodeStaticSqlByPart(sql, placeholders, offsets, encoding);
+        }
+
+        int sqlLength = sql.length();
+        byte[] encodedSql;
+        int[] placeholderPositions = placeholders;
+
+        if (encoding == null) {
+            encodedSql = new byte[sqlLength];
+            for (int i = 0; i < sqlLength; i++) {
+                encodedSql[i] = (byte) sql.charAt(i);
+            }
+        } else {
+            encodedSql = StringUtils.getBytes(sql, encoding);
+
+            if ("UTF-8".equalsIgnoreCase(encoding) || "UTF8".equalsIgnoreCase(encoding)) {
+                if (encodedSql.length != sqlLength) {
+                    placeholderPositions = getUtf8Positions(sql, placeholders);
                 }
-            } else {
-                this.foundLoadData = false;
+            } else if (encodedSql.length != sqlLength || !isAscii(sql)) {
+                // other charsets may encode a char into several bytes, or a surrogate pair into one
+                return encodeStaticSqlByPart(sql, placeholders, offsets, encoding);
             }
+        }
+
+        int numberOfPlaceholders = placeholderPositions.length;
+        if (numberOfPlaceholders == 0) {
+            offsets[1] = encodedSql.length;
+            return encodedSql;
+        }
 
-            endpointList.add(new int[] { lastParmEnd, this.statementLength });
-            this.staticSql = new byte[endpointList.size()][];
-            this.hasPlaceholders = this.staticSql.length > 1;
+        byte[] staticSql = new byte[encodedSql.length - numberOfPlaceholders];
+        int begin = 0;
+        for (int i = 0; i <= numberOfPlaceholders; i++) {
+            int end = i < numberOfPlaceholders ? placeholderPositions[i] : encodedSql.length;
+            offsets[i] = begin - i;
+            System.arraycopy(encodedSql, begin, staticSql, begin - i, end - begin);
+            begin = end + 1;
+        }
+        offsets[numberOfPlaceholders + 1] = staticSql.length;
 
-            for (i = 0; i < this.staticSql.length; i++) {
-                int[] ep = endpointList.get(i);
-                int end = ep[1];
-                int begin = ep[0];
-                int len = end - begin;
+        return staticSql;
+    }
 
-                if (this.foundLoadData) {
-                    this.staticSql[i] = StringUtils.getBytes(sql, begin, len);
-                } else if (encoding == null) {
-                    byte[] buf = new byte[len];
+    private static byte[] encodeStaticSqlByPart(String sql, int[] placeholders, int[] offsets, String encoding) {
+        byte[][] parts = new byte[placeholders.length + 1][];
+        int length = 0;
+        int begin = 0;
+        for (int i = 0; i < parts.length; i++) {
+            int end = i < placeholders.length ? placeholders[i] : sql.length();
+            parts[i] = StringUtils.getBytes(sql, begin, end - begin, encoding);
+            length += parts[i].length;
+            begin = end + 1;
+        }
 
-                    for (int j = 0; j < len; j++) {
-                        buf[j] = (byte) sql.charAt(begin + j);
-                    }
+        byte[] staticSql = new byte[length];
+        int position = 0;
+        for (int i = 0; i < parts.length; i++) {
+            offsets[i] = position;
+            System.arraycopy(parts[i], 0, staticSql, position, parts[i].length);
+            position += parts[i].length;
+        }
+        offsets[parts.length] = position;
 
-                    this.staticSql[i] = buf;
-                } else {
-                    this.staticSql[i] = StringUtils.getBytes(sql, begin, len, encoding);
-                }
+        return staticSql;
+    }
+
+    private static boolean isAscii(String sql) {
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) >= 0x80) {
+                return false;
             }
-        } catch (StringIndexOutOfBoundsException oobEx) {
-            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("PreparedStatement.62", new Object[] { sql }), oobEx,
-                    session.getExceptionInterceptor());
         }
+        return true;
+    }
 
-        if (buildRewriteInfo) {
-            this.canRewriteAsMultiValueInsert = this.numberOfQueries == 1 && !this.parametersInDuplicateKeyClause
-                    && canRewrite(sql, this.isOnDuplicateKeyUpdate, this.locationOfOnDuplicateKeyUpdate, this.statementStartPos);
-            if (this.canRewriteAsMultiValueInsert && session.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue()) {
-                buildRewriteBatchedParams(sql, session, encoding);
+    /**
+     * Returns the positions of the placeholders in the UTF-8 encoded statement. Unpaired surrogates count as one byte, they are encoded as '?'.
+     * 
+     * @param sql
+     *            statement
+     * @param placeholders
+     *            indexes of the placeholders
+     * @return positions of the placeholders in the encoded statement
+     */
+    private static int[] getUtf8Positions(String sql, int[] placeholders) {
+        int[] positions = new int[placeholders.length];
+        int position = 0;
+        int i = 0;
+
+        for (int p = 0; p < placeholders.length; p++) {
+            for (; i < placeholders[p]; i++) {
+                char c = sql.charAt(i);
+                if (c < 0x80) {
+                    position++;
+                } else if (c < 0x800) {
+                    position += 2;
+                } else if (Character.isHighSurrogate(c) && Character.isLowSurrogate(sql.charAt(i + 1))) {
+                    // a placeholder never splits a pair, so the low surrogate is before placeholders[p]
+                    position += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    position++;
+                } else {
+                    position += 3;
+                }
             }
+            positions[p] = position;
         }
 
+        return positions;
     }
 
-    public byte[][] getStaticSql() {
+    /**
+     * Returns the static parts of the statement, packed in one array, see {@link #getStaticSqlOffsets()}.
+     * 
+     * @return encoded statement without its placeholders
+     */
+    public byte[] getStaticSql() {
         return this.staticSql;
     }
 
+    /**
+     * Returns where each static part of the statement starts in {@link #getStaticSql()}, followed by the end of the last part. A statement with n
+     * placeholders has n + 1 parts and so n + 2 offsets.
+     * 
+     * @return offsets of the static parts
+     */
+    public int[] getStaticSqlOffsets() {
+        return this.staticSqlOffsets;
+    }
+
+    /**
+     * Returns the number of placeholders of the statement.
+     * 
+     * @return number of parameters
+     */
+    public int getParameterCount() {
+        return this.staticSqlOffsets.length - 2;
+    }
+
     public String getValuesClause() {
         return this.valuesClause;
     }
@@ -309,23 +481,39 @@ public class ParseInfo {
     }
 
     private void buildRewriteBatchedParams(String sql, Session session, String encoding) {
-        this.valuesClause = extractValuesClause(sql, session.getIdentifierQuoteString());
+        String quotedIdentifierString = session.getIdentifierQuoteString();
+        char quotedIdentifierChar = quotedIdentifierString.length() > 0 && !quotedIdentifierString.equals(" ") ? quotedIdentifierString.charAt(0) : 0;
+        boolean noBackslashEscapes = session.getServerSession().isNoBackslashEscapesSet();
+
+        this.valuesClause = extractValuesClause(sql, quotedIdentifierString);
         String odkuClause = this.isOnDuplicateKeyUpdate ? sql.substring(this.locationOfOnDuplicateKeyUpdate) : null;
 
-        String headSql = null;
+        int[] placeholders;
 
         if (this.isOnDuplicateKeyUpdate) {
-            headSql = sql.substring(0, this.locationOfOnDuplicateKeyUpdate);
+            String headSql = sql.substring(0, this.locationOfOnDuplicateKeyUpdate);
+            placeholders = findPlaceholders(headSql, findStartOfStatement(headSql), quotedIdentifierChar, noBackslashEscapes, session, false);
+            this.batchHeadStaticSqlOffsets = new int[placeholders.length + 2];
+            this.batchHeadStaticSql = encodeStaticSql(headSql, placeholders, this.batchHeadStaticSqlOffsets, encoding, false);
         } else {
-            headSql = sql;
+            // the head is the whole statement, which was just parsed the same way
+            this.batchHeadStaticSqlOffsets = this.staticSqlOffsets;
+            this.batchHeadStaticSql = this.staticSql;
         }
 
-        this.batchHead = new ParseInfo(headSql, session, encoding, false);
-        this.batchValues = new ParseInfo("," + this.valuesClause, session, encoding, false);
-        this.batchODKUClause = null;
+        String valuesSql = "," + this.valuesClause;
+        placeholders = findPlaceholders(valuesSql, findStartOfStatement(valuesSql), quotedIdentifierChar, noBackslashEscapes, session, false);
+        this.batchValuesStaticSqlOffsets = new int[placeholders.length + 2];
+        this.batchValuesStaticSql = encodeStaticSql(valuesSql, placeholders, this.batchValuesStaticSqlOffsets, encoding, false);
+
+        this.batchODKUClauseStaticSql = null;
+        this.batchODKUClauseStaticSqlOffsets = null;
 
         if (odkuClause != null && odkuClause.length() > 0) {
-            this.batchODKUClause = new ParseInfo("," + this.valuesClause + " " + odkuClause, session, encoding, false);
+            String odkuSql = "," + this.valuesClause + " " + odkuClause;
+            placeholders = findPlaceholders(odkuSql, findStartOfStatement(odkuSql), quotedIdentifierChar, noBackslashEscapes, session, false);
+            this.batchODKUClauseStaticSqlOffsets = new int[placeholders.length + 2];
+            this.batchODKUClauseStaticSql = encodeStaticSql(odkuSql, placeholders, this.batchODKUClauseStaticSqlOffsets, encoding, false);
         }
     }
 
@@ -375,6 +563,64 @@ public class ParseInfo {
         return sql.substring(indexOfFirstParen, endOfValuesClause);
     }
 
+    /**
+     * Returns the static SQL parts of the statement head, i.e. of the statement with its first VALUES row but without the ON DUPLICATE KEY UPDATE clause,
+     * when it was parsed for batch rewriting. A multi-value INSERT is the head parts without the last one, followed by each next row as the parts of
+     * {@link #getBatchValuesStaticSql()} prefixed with the last part of the preceding row, followed by the last part of {@link #getBatchTailStaticSql()}.
+     * The parts are packed as in {@link #getStaticSql()}.
+     * 
+     * @return static SQL parts of the head or null if this statement can't be rewritten
+     */
+    public byte[] getBatchHeadStaticSql() {
+        return this.batchHeadStaticSql;
+    }
+
+    /**
+     * Returns the offsets of the parts of {@link #getBatchHeadStaticSql()}.
+     * 
+     * @return offsets or null if this statement can't be rewritten
+     */
+    public int[] getBatchHeadStaticSqlOffsets() {
+        return this.batchHeadStaticSqlOffsets;
+    }
+
+    /**
+     * Returns the static SQL parts of a VALUES row that follows another one in a multi-value INSERT, see {@link #getBatchHeadStaticSql()}.
+     * 
+     * @return static SQL parts of ",(...)" or null if this statement can't be rewritten
+     */
+    public byte[] getBatchValuesStaticSql() {
+        return this.batchValuesStaticSql;
+    }
+
+    /**
+     * Returns the offsets of the parts of {@link #getBatchValuesStaticSql()}.
+     * 
+     * @return offsets or null if this statement can't be rewritten
+     */
+    public int[] getBatchValuesStaticSqlOffsets() {
+        return this.batchValuesStaticSqlOffsets;
+    }
+
+    /**
+     * Returns static SQL parts whose last one is the end of a multi-value INSERT, see {@link #getBatchHeadStaticSql()}.
+     * 
+     * @return static SQL parts ending with the static SQL after the last placeholder of the last row, including the ON DUPLICATE KEY UPDATE clause, or null
+     *         if this statement can't be rewritten
+     */
+    public byte[] getBatchTailStaticSql() {
+        return this.batchODKUClauseStaticSql != null ? this.batchODKUClauseStaticSql : this.batchHeadStaticSql;
+    }
+
+    /**
+     * Returns the offsets of the parts of {@link #getBatchTailStaticSql()}.
+     * 
+     * @return offsets or null if this statement can't be rewritten
+     */
+    public int[] getBatchTailStaticSqlOffsets() {
+        return this.batchODKUClauseStaticSqlOffsets != null ? this.batchODKUClauseStaticSqlOffsets : this.batchHeadStaticSqlOffsets;
+    }
+
     /**
      * Returns a ParseInfo for a multi-value INSERT for a batch of size numBatch (without parsing!).
      * 
@@ -386,8 +632,8 @@ public class ParseInfo {
         AppendingBatchVisitor apv = new AppendingBatchVisitor();
         buildInfoForBatch(numBatch, apv);
 
-        ParseInfo batchParseInfo = new ParseInfo(apv.getStaticSqlStrings(), this.firstStmtChar, this.foundLoadData, this.isOnDuplicateKeyUpdate,
-                this.locationOfOnDuplicateKeyUpdate, this.statementLength, this.statementStartPos);
+        ParseInfo batchParseInfo = new ParseInfo(apv.getStaticSql(), apv.getStaticSqlOffsets(), this.firstStmtChar, this.foundLoadData,
+                this.isOnDuplicateKeyUpdate, this.locationOfOnDuplicateKeyUpdate, this.statementLength, this.statementStartPos);
 
         return batchParseInfo;
     }
@@ -416,23 +662,18 @@ public class ParseInfo {
      *             if an error occurs
      */
     public String getSqlForBatch() throws UnsupportedEncodingException {
-        int size = 0;
-        final byte[][] sqlStrings = this.staticSql;
-        final int sqlStringsLength = sqlStrings.length;
+        final byte[] sqlBytes = this.staticSql;
+        final int[] offsets = this.staticSqlOffsets;
+        final int lastPart = offsets.length - 2;
 
-        for (int i = 0; i < sqlStringsLength; i++) {
-            size += sqlStrings[i].length;
-            size++; // for the '?'
-        }
-
-        StringBuilder buf = new StringBuilder(size);
+        StringBuilder buf = new StringBuilder(sqlBytes.length + lastPart);
 
-        for (int i = 0; i < sqlStringsLength - 1; i++) {
-            buf.append(StringUtils.toString(sqlStrings[i], this.charEncoding));
+        for (int i = 0; i < lastPart; i++) {
+            buf.append(StringUtils.toString(sqlBytes, offsets[i], offsets[i + 1] - offsets[i], this.charEncoding));
             buf.append("?");
         }
 
-        buf.append(StringUtils.toString(sqlStrings[sqlStringsLength - 1]));
+        buf.append(StringUtils.toString(sqlBytes, offsets[lastPart], offsets[lastPart + 1] - offsets[lastPart]));
 
         return buf.toString();
     }
@@ -440,10 +681,7 @@ public class ParseInfo {
     /**
      * Builds a ParseInfo for the given batch size, without parsing. We use
      * a visitor pattern here, because the if {}s make computing a size for the
-     * resultant byte[][] make this too complex, and we don't necessarily want to
-     * use a List for this, because the size can be dynamic, and thus we'll not be
-     * able to guess a good initial size for an array-based list, and it's not
-     * efficient to convert a LinkedList to an array.
+     * resultant static SQL parts make this too complex.
      * 
      * @param numBatch
      *            number of batched parameters
@@ -455,29 +693,26 @@ public class ParseInfo {
             if (numBatch == 1) {
                 // ParseInfo for a multi-value INSERT that doesn't have any placeholder may require two or more batches (depends on if ODKU is present or not).
                 // The original sql should be able to handle it.
-                visitor.append(this.staticSql[0]);
+                visitor.append(this.staticSql, 0, this.staticSqlOffsets[1]);
 
                 return;
             }
 
             // Without placeholders, only the values segment of the query needs repeating.
 
-            final byte[] headStaticSql = this.batchHead.staticSql[0];
-            visitor.append(headStaticSql).increment();
+            visitor.append(this.batchHeadStaticSql, 0, this.batchHeadStaticSqlOffsets[1]).increment();
 
             int numValueRepeats = numBatch - 1; // First one is in the "head".
-            if (this.batchODKUClause != null) {
+            if (this.batchODKUClauseStaticSql != null) {
                 numValueRepeats--; // Last one is in the ODKU clause.
             }
 
-            final byte[] valuesStaticSql = this.batchValues.staticSql[0];
             for (int i = 0; i < numValueRepeats; i++) {
-                visitor.mergeWithLast(valuesStaticSql).increment();
+                visitor.mergeWithLast(this.batchValuesStaticSql, 0, this.batchValuesStaticSqlOffsets[1]).increment();
             }
 
-            if (this.batchODKUClause != null) {
-                final byte[] batchOdkuStaticSql = this.batchODKUClause.staticSql[0];
-                visitor.mergeWithLast(batchOdkuStaticSql).increment();
+            if (this.batchODKUClauseStaticSql != null) {
+                visitor.mergeWithLast(this.batchODKUClauseStaticSql, 0, this.batchODKUClauseStaticSqlOffsets[1]).increment();
             }
 
             return;
@@ -486,49 +721,53 @@ public class ParseInfo {
         // Placeholders require assembling all the parts in each segment of the query and repeat them as needed.
 
         // Add the head section except the last part.
-        final byte[][] headStaticSql = this.batchHead.staticSql;
-        final int headStaticSqlLength = headStaticSql.length;
-        byte[] endOfHead = headStaticSql[headStaticSqlLength - 1];
+        final byte[] headStaticSql = this.batchHeadStaticSql;
+        final int[] headOffsets = this.batchHeadStaticSqlOffsets;
+        final int endOfHead = headOffsets.length - 2;
 
-        for (int i = 0; i < headStaticSqlLength - 1; i++) {
-            visitor.append(headStaticSql[i]).increment();
+        for (int i = 0; i < endOfHead; i++) {
+            visitor.append(headStaticSql, headOffsets[i], headOffsets[i + 1] - headOffsets[i]).increment();
         }
 
         // Repeat the values section as many times as needed.
         int numValueRepeats = numBatch - 1; // First one is in the "head".
-        if (this.batchODKUClause != null) {
+        if (this.batchODKUClauseStaticSql != null) {
             numValueRepeats--; // Last one is in the ODKU clause.
         }
 
-        final byte[][] valuesStaticSql = this.batchValues.staticSql;
-        final int valuesStaticSqlLength = valuesStaticSql.length;
-        byte[] beginOfValues = valuesStaticSql[0];
-        byte[] endOfValues = valuesStaticSql[valuesStaticSqlLength - 1];
+        final byte[] valuesStaticSql = this.batchValuesStaticSql;
+        final int[] valuesOffsets = this.batchValuesStaticSqlOffsets;
+        final int endOfValues = valuesOffsets.length - 2;
 
         for (int i = 0; i < numValueRepeats; i++) {
-            visitor.merge(endOfValues, beginOfValues).increment();
-            for (int j = 1; j < valuesStaticSqlLength - 1; j++) {
-                visitor.append(valuesStaticSql[j]).increment();
+            visitor.append(valuesStaticSql, valuesOffsets[endOfValues], valuesOffsets[endOfValues + 1] - valuesOffsets[endOfValues])
+                    .mergeWithLast(valuesStaticSql, valuesOffsets[0], valuesOffsets[1] - valuesOffsets[0]).increment();
+            for (int j = 1; j < endOfValues; j++) {
+                visitor.append(valuesStaticSql, valuesOffsets[j], valuesOffsets[j + 1] - valuesOffsets[j]).increment();
             }
         }
 
         // Append the last value and/or ending.
-        if (this.batchODKUClause != null) {
-            final byte[][] batchOdkuStaticSql = this.batchODKUClause.staticSql;
-            final int batchOdkuStaticSqlLength = batchOdkuStaticSql.length;
-            byte[] beginOfOdku = batchOdkuStaticSql[0];
-            byte[] endOfOdku = batchOdkuStaticSql[batchOdkuStaticSqlLength - 1];
+        if (this.batchODKUClauseStaticSql != null) {
+            final byte[] batchOdkuStaticSql = this.batchODKUClauseStaticSql;
+            final int[] odkuOffsets = this.batchODKUClauseStaticSqlOffsets;
+            final int endOfOdku = odkuOffsets.length - 2;
 
             if (numBatch > 1) {
-                visitor.merge(numValueRepeats > 0 ? endOfValues : endOfHead, beginOfOdku).increment();
-                for (int i = 1; i < batchOdkuStaticSqlLength; i++) {
-                    visitor.append(batchOdkuStaticSql[i]).increment();
+                if (numValueRepeats > 0) {
+                    visitor.append(valuesStaticSql, valuesOffsets[endOfValues], valuesOffsets[endOfValues + 1] - valuesOffsets[endOfValues]);
+                } else {
+                    visitor.append(headStaticSql, headOffsets[endOfHead], headOffsets[endOfHead + 1] - headOffsets[endOfHead]);
+                }
+                visitor.mergeWithLast(batchOdkuStaticSql, odkuOffsets[0], odkuOffsets[1] - odkuOffsets[0]).increment();
+                for (int i = 1; i <= endOfOdku; i++) {
+                    visitor.append(batchOdkuStaticSql, odkuOffsets[i], odkuOffsets[i + 1] - odkuOffsets[i]).increment();
                 }
             } else {
-                visitor.append(endOfOdku).increment();
+                visitor.append(batchOdkuStaticSql, odkuOffsets[endOfOdku], odkuOffsets[endOfOdku + 1] - odkuOffsets[endOfOdku]).increment();
             }
         } else {
-            visitor.append(endOfHead);
+            visitor.append(headStaticSql, headOffsets[endOfHead], headOffsets[endOfHead + 1] - headOffsets[endOfHead]);
         }
     }
 
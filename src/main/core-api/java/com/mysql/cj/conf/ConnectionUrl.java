@@ -43,6 +43,7 @@ import java.util.Properties;
 import java.util.TreeMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.naming.NamingException;
@@ -55,6 +56,7 @@ import com.mysql.cj.exceptions.UnsupportedConnectionStringException;
 import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.util.DnsSrv;
 import com.mysql.cj.util.DnsSrv.SrvRecord;
+import com.mysql.cj.util.DnsSrv.SrvRecordsListener;
 import com.mysql.cj.util.LRUCache;
 import com.mysql.cj.util.Util;
 
@@ -792,7 +794,7 @@ public abstract class ConnectionUrl implements DatabaseUrlContainer {
         List<SrvRecord> srvRecords = null;
 
         try {
-            srvRecords = DnsSrv.lookupSrvRecords(srvServiceName);
+            srvRecords = DnsSrv.lookupSrvRecords(srvServiceName, getDnsSrvCacheTtl());
         } catch (NamingException e) {
             throw ExceptionFactory.createException(Messages.getString("ConnectionString.26", new Object[] { srvServiceName }), e);
         }
@@ -803,6 +805,48 @@ public abstract class ConnectionUrl implements DatabaseUrlContainer {
         return Collections.unmodifiableList(srvRecordsToHostsList(srvRecords, srvHost));
     }
 
+    /**
+     * Registers a consumer for the hosts lists built from the DNS SRV records of the given host, each time a background refresh of these records finds
+     * them changed.
+     * 
+     * @param srvHost
+     *            the {@link HostInfo} from where to get the DNS SRV service name to watch.
+     * @param hostsConsumer
+     *            the consumer of the new hosts lists.
+     * @return
+     *         the {@link SrvRecordsListener} registered, which must be kept by the caller for as long as it wants to be notified, or <code>null</code> if
+     *         caching of DNS SRV lookups is disabled.
+     */
+    public SrvRecordsListener addDnsSrvHostsListener(HostInfo srvHost, Consumer<List<HostInfo>> hostsConsumer) {
+        int cacheTtl = getDnsSrvCacheTtl();
+        if (cacheTtl <= 0) {
+            return null;
+        }
+        SrvRecordsListener listener = (serviceName, srvRecords) -> hostsConsumer
+                .accept(Collections.unmodifiableList(srvRecordsToHostsList(srvRecords, srvHost)));
+        DnsSrv.addSrvRecordsListener(srvHost.getHost(), cacheTtl, listener);
+        return listener;
+    }
+
+    /**
+     * Unregisters a listener previously registered with {@link #addDnsSrvHostsListener(HostInfo, Consumer)}.
+     * 
+     * @param srvHost
+     *            the {@link HostInfo} from where to get the DNS SRV service name being watched.
+     * @param listener
+     *            the {@link SrvRecordsListener} to unregister.
+     */
+    public void removeDnsSrvHostsListener(HostInfo srvHost, SrvRecordsListener listener) {
+        DnsSrv.removeSrvRecordsListener(srvHost.getHost(), listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int getDnsSrvCacheTtl() {
+        PropertyDefinition<Integer> propDef = (PropertyDefinition<Integer>) PropertyDefinitions.getPropertyDefinition(PropertyKey.dnsSrvCacheTtl);
+        String cacheTtl = this.properties.get(PropertyKey.dnsSrvCacheTtl.getKeyName());
+        return cacheTtl == null ? propDef.getDefaultValue() : propDef.parseObject(cacheTtl, null);
+    }
+
     /**
      * Converts a list of DNS SRV records into a hosts list.
      * 
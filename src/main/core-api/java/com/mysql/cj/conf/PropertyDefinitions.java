@@ -257,6 +257,9 @@ public class PropertyDefinitions {
                 new StringPropertyDefinition(PropertyKey.sessionVariables, DEFAULT_VALUE_NULL_STRING, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.sessionVariables"), "3.1.8", CATEGORY_SESSION, Integer.MAX_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.trackSessionState, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.trackSessionState"), "8.0.23", CATEGORY_SESSION, Integer.MAX_VALUE),
+
                 //
                 // CATEGORY_NETWORK
                 //
@@ -305,6 +308,9 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.dnsSrv, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
                         Messages.getString("ConnectionProperties.dnsSrv"), "8.0.19", CATEGORY_NETWORK, Integer.MIN_VALUE),
 
+                new IntegerPropertyDefinition(PropertyKey.dnsSrvCacheTtl, 30, RUNTIME_NOT_MODIFIABLE, Messages.getString("ConnectionProperties.dnsSrvCacheTtl"),
+                        "8.0.23", CATEGORY_NETWORK, Integer.MIN_VALUE, 0, Integer.MAX_VALUE),
+
                 //
                 // CATEGORY_SECURITY
                 //
@@ -317,6 +323,10 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.allowPublicKeyRetrieval, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
                         Messages.getString("ConnectionProperties.allowPublicKeyRetrieval"), "5.1.31", CATEGORY_SECURITY, 3),
 
+                new IntegerPropertyDefinition(PropertyKey.serverRSAPublicKeyCacheTtl, 300, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.serverRSAPublicKeyCacheTtl"), "8.0.23", CATEGORY_SECURITY, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
                 new EnumPropertyDefinition<>(PropertyKey.sslMode, SslMode.PREFERRED, RUNTIME_MODIFIABLE, Messages.getString("ConnectionProperties.sslMode"),
                         "8.0.13", CATEGORY_SECURITY, 4),
 
@@ -350,6 +360,9 @@ public class PropertyDefinitions {
                 new StringPropertyDefinition(PropertyKey.enabledTLSProtocols, DEFAULT_VALUE_NULL_STRING, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.enabledTLSProtocols"), "8.0.8", CATEGORY_SECURITY, 14),
 
+                new BooleanPropertyDefinition(PropertyKey.cacheSslContext, DEFAULT_VALUE_TRUE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.cacheSslContext"), "8.0.23", CATEGORY_SECURITY, 15),
+
                 new BooleanPropertyDefinition(PropertyKey.allowLoadLocalInfile, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.loadDataLocal"), "3.0.3", CATEGORY_SECURITY, Integer.MAX_VALUE),
 
@@ -540,6 +553,13 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.failOverReadOnly, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.failoverReadOnly"), "3.0.12", CATEGORY_HA, 2),
 
+                new BooleanPropertyDefinition(PropertyKey.failoverParallelConnect, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.failoverParallelConnect"), "8.0.23", CATEGORY_HA, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.failoverParallelConnectDelay, 250, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.failoverParallelConnectDelay"), "8.0.23", CATEGORY_HA, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
                 new IntegerPropertyDefinition(PropertyKey.initialTimeout, 2, RUNTIME_NOT_MODIFIABLE, Messages.getString("ConnectionProperties.initialTimeout"),
                         "1.1", CATEGORY_HA, 5, 1, Integer.MAX_VALUE),
 
@@ -555,6 +575,9 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.loadBalanceValidateConnectionOnSwapServer, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.loadBalanceValidateConnectionOnSwapServer"), "5.1.13", CATEGORY_HA, Integer.MIN_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.loadBalancePreconnect, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.loadBalancePreconnect"), "8.0.23", CATEGORY_HA, Integer.MIN_VALUE),
+
                 new StringPropertyDefinition(PropertyKey.loadBalanceConnectionGroup, DEFAULT_VALUE_NULL_STRING, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.loadBalanceConnectionGroup"), "5.1.13", CATEGORY_HA, Integer.MIN_VALUE),
 
@@ -574,6 +597,13 @@ public class PropertyDefinitions {
                         Messages.getString("ConnectionProperties.loadBalanceAutoCommitStatementThreshold"), "5.1.15", CATEGORY_HA, Integer.MIN_VALUE, 0,
                         Integer.MAX_VALUE),
 
+                new IntegerPropertyDefinition(PropertyKey.loadBalanceAutoCommitTimeThreshold, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.loadBalanceAutoCommitTimeThreshold"), "8.0.23", CATEGORY_HA, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
+                new BooleanPropertyDefinition(PropertyKey.loadBalanceAutoCommitOnTransactionEnd, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.loadBalanceAutoCommitOnTransactionEnd"), "8.0.23", CATEGORY_HA, Integer.MIN_VALUE),
+
                 new IntegerPropertyDefinition(PropertyKey.maxReconnects, 3, RUNTIME_MODIFIABLE, Messages.getString("ConnectionProperties.maxReconnects"), "1.1",
                         CATEGORY_HA, 4, 1, Integer.MAX_VALUE),
 
@@ -637,6 +667,9 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.cacheServerConfiguration, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.cacheServerConfiguration"), "3.1.5", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.coalesceSessionSetup, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.coalesceSessionSetup"), "8.0.23", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
                 new IntegerPropertyDefinition(PropertyKey.callableStmtCacheSize, 100, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.callableStmtCacheSize"), "3.1.2", CATEGORY_PERFORMANCE, 5, 0, Integer.MAX_VALUE),
 
@@ -653,12 +686,19 @@ public class PropertyDefinitions {
                         Messages.getString("ConnectionProperties.largeRowSizeThreshold"), "5.1.1", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
                         Integer.MAX_VALUE),
 
+                new MemorySizePropertyDefinition(PropertyKey.localInfileChunkSize, 1024 * 1024, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.localInfileChunkSize"), "8.0.23", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 4096,
+                        Integer.MAX_VALUE),
+
                 new BooleanPropertyDefinition(PropertyKey.maintainTimeStats, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.maintainTimeStats"), "3.1.9", CATEGORY_PERFORMANCE, Integer.MAX_VALUE),
 
                 new IntegerPropertyDefinition(PropertyKey.metadataCacheSize, 50, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.metadataCacheSize"), "3.1.1", CATEGORY_PERFORMANCE, 5, 1, Integer.MAX_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.minimizeMemoryFootprint, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.minimizeMemoryFootprint"), "8.0.23", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
                 new IntegerPropertyDefinition(PropertyKey.prepStmtCacheSize, 25, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.prepStmtCacheSize"), "3.0.10", CATEGORY_PERFORMANCE, 10, 0, Integer.MAX_VALUE),
 
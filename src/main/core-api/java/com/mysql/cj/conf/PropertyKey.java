@@ -83,6 +83,7 @@ public enum PropertyKey {
     cachePrepStmts("cachePrepStmts", true), //
     cacheResultSetMetadata("cacheResultSetMetadata", true), //
     cacheServerConfiguration("cacheServerConfiguration", true), //
+    cacheSslContext("cacheSslContext", true), //
     callableStmtCacheSize("callableStmtCacheSize", true), //
     characterEncoding("characterEncoding", true), //
     characterSetResults("characterSetResults", true), //
@@ -92,6 +93,7 @@ public enum PropertyKey {
     clientInfoProvider("clientInfoProvider", true), //
     clobberStreamingResults("clobberStreamingResults", true), //
     clobCharacterEncoding("clobCharacterEncoding", true), //
+    coalesceSessionSetup("coalesceSessionSetup", true), //
     compensateOnDuplicateKeyUpdateCounts("compensateOnDuplicateKeyUpdateCounts", true), //
     connectionAttributes("connectionAttributes", true), //
     connectionCollation("connectionCollation", true), //
@@ -106,6 +108,7 @@ public enum PropertyKey {
     disabledAuthenticationPlugins("disabledAuthenticationPlugins", true), //
     disconnectOnExpiredPasswords("disconnectOnExpiredPasswords", true), //
     dnsSrv("dnsSrv", true), //
+    dnsSrvCacheTtl("dnsSrvCacheTtl", true), //
     dontCheckOnDuplicateKeyUpdateInSQL("dontCheckOnDuplicateKeyUpdateInSQL", true), //
     dontTrackOpenResources("dontTrackOpenResources", true), //
     dumpQueriesOnException("dumpQueriesOnException", true), //
@@ -120,6 +123,8 @@ public enum PropertyKey {
     enableQueryTimeouts("enableQueryTimeouts", true), //
     exceptionInterceptors("exceptionInterceptors", true), //
     explainSlowQueries("explainSlowQueries", true), //
+    failoverParallelConnect("failoverParallelConnect", true), //
+    failoverParallelConnectDelay("failoverParallelConnectDelay", true), //
     failOverReadOnly("failOverReadOnly", true), //
     fallbackToSystemKeyStore("fallbackToSystemKeyStore", true), //
     fallbackToSystemTrustStore("fallbackToSystemTrustStore", true), //
@@ -138,16 +143,20 @@ public enum PropertyKey {
     interactiveClient("interactiveClient", true), //
     jdbcCompliantTruncation("jdbcCompliantTruncation", true), //
     largeRowSizeThreshold("largeRowSizeThreshold", true), //
+    loadBalanceAutoCommitOnTransactionEnd("loadBalanceAutoCommitOnTransactionEnd", true), //
     loadBalanceAutoCommitStatementRegex("loadBalanceAutoCommitStatementRegex", true), //
     loadBalanceAutoCommitStatementThreshold("loadBalanceAutoCommitStatementThreshold", true), //
+    loadBalanceAutoCommitTimeThreshold("loadBalanceAutoCommitTimeThreshold", true), //
     loadBalanceBlacklistTimeout("loadBalanceBlacklistTimeout", true), //
     loadBalanceConnectionGroup("loadBalanceConnectionGroup", true), //
     loadBalanceExceptionChecker("loadBalanceExceptionChecker", true), //
     loadBalanceHostRemovalGracePeriod("loadBalanceHostRemovalGracePeriod", true), //
     loadBalancePingTimeout("loadBalancePingTimeout", true), //
+    loadBalancePreconnect("loadBalancePreconnect", true), //
     loadBalanceSQLStateFailover("loadBalanceSQLStateFailover", true), //
     loadBalanceSQLExceptionSubclassFailover("loadBalanceSQLExceptionSubclassFailover", true), //
     loadBalanceValidateConnectionOnSwapServer("loadBalanceValidateConnectionOnSwapServer", true), //
+    localInfileChunkSize("localInfileChunkSize", true), //
     localSocketAddress("localSocketAddress", true), //
     locatorFetchBufferSize("locatorFetchBufferSize", true), //
     logger("logger", true), //
@@ -159,6 +168,7 @@ public enum PropertyKey {
     maxReconnects("maxReconnects", true), //
     maxRows("maxRows", true), //
     metadataCacheSize("metadataCacheSize", true), //
+    minimizeMemoryFootprint("minimizeMemoryFootprint", true), //
     netTimeoutForStreamingResults("netTimeoutForStreamingResults", true), //
     noAccessToProcedureBodies("noAccessToProcedureBodies", true), //
     noDatetimeStringSync("noDatetimeStringSync", true), //
@@ -198,6 +208,7 @@ public enum PropertyKey {
     sendFractionalSeconds("sendFractionalSeconds", true), //
     serverAffinityOrder("serverAffinityOrder", true), //
     serverConfigCacheFactory("serverConfigCacheFactory", true), //
+    serverRSAPublicKeyCacheTtl("serverRSAPublicKeyCacheTtl", true), //
     serverRSAPublicKeyFile("serverRSAPublicKeyFile", true), //
     serverTimezone("serverTimezone", true), //
     sessionVariables("sessionVariables", true), //
@@ -216,6 +227,7 @@ public enum PropertyKey {
     tcpTrafficClass("tcpTrafficClass", true), //
     tinyInt1isBit("tinyInt1isBit", true), //
     traceProtocol("traceProtocol", true), //
+    trackSessionState("trackSessionState", true), //
     transformedBitIsBoolean("transformedBitIsBoolean", true), //
     treatUtilDateAsTimestamp("treatUtilDateAsTimestamp", true), //
     trustCertificateKeyStorePassword("trustCertificateKeyStorePassword", true), //
@@ -94,6 +94,19 @@ public interface MessageSender<M extends Message> {
         throw ExceptionFactory.createException(CJOperationNotSupportedException.class, "Not supported");
     }
 
+    /**
+     * Enable or disable deferred flushing. While enabled, sent messages may be held back in the output buffer, so that several messages can be written to
+     * the network at once. Disabling it flushes the messages held back.
+     * 
+     * @param deferFlush
+     *            true to hold back flushing until this method is called with false
+     * @throws IOException
+     *             if an error occurs
+     */
+    default void setDeferFlush(boolean deferFlush) throws IOException {
+        // flushing after each message is always correct
+    }
+
     /**
      * Return a PacketSender instance free of decorators.
      * 
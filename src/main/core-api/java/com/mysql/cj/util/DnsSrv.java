@@ -29,10 +29,22 @@
 
 package com.mysql.cj.util;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import javax.naming.Context;
@@ -94,9 +106,158 @@ public class DnsSrv {
             int priorityDiff = getPriority() - o.getPriority();
             return priorityDiff == 0 ? getWeight() - o.getWeight() : priorityDiff;
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SrvRecord)) {
+                return false;
+            }
+            SrvRecord other = (SrvRecord) obj;
+            return this.priority == other.priority && this.weight == other.weight && this.port == other.port && Objects.equals(this.target, other.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.priority, this.weight, this.port, this.target);
+        }
+    }
+
+    /**
+     * Listener of changes in the DNS SRV records of a service name, as detected by the refresh of cached records.
+     */
+    @FunctionalInterface
+    public interface SrvRecordsListener {
+        /**
+         * Called, from a driver background thread, when a refresh of the DNS SRV records of a service name returns a different set of records. This thread
+         * is shared by all DNS SRV lookups, so implementations must return quickly and never wait for locks that may be held for long.
+         * 
+         * @param serviceName
+         *            the DNS SRV service name.
+         * @param srvRecords
+         *            the new list of {@link SrvRecord}s, sorted as described in rfc2782.
+         */
+        void srvRecordsChanged(String serviceName, List<SrvRecord> srvRecords);
+    }
+
+    /**
+     * Performer of the queries for DNS SRV records.
+     */
+    @FunctionalInterface
+    public interface SrvRecordsQuery {
+        /**
+         * Queries the DNS SRV records of a service name.
+         * 
+         * @param serviceName
+         *            the DNS SRV service name.
+         * @return
+         *         the list of {@link SrvRecord}s, unsorted.
+         * @throws NamingException
+         *             if the DNS lookup fails.
+         */
+        List<SrvRecord> querySrvRecords(String serviceName) throws NamingException;
+    }
+
+    private static final Map<String, CachedSrvRecords> SRV_RECORDS_CACHE = new ConcurrentHashMap<>();
+
+    private static volatile SrvRecordsQuery srvRecordsQuery = DnsSrv::queryDnsServer;
+
+    /**
+     * Replaces the performer of the queries for DNS SRV records, which by default is a JNDI DNS lookup, so that tests don't depend on a DNS server. Records
+     * already cached are kept.
+     * 
+     * @param query
+     *            the new {@link SrvRecordsQuery}.
+     * @return
+     *         the {@link SrvRecordsQuery} replaced.
+     */
+    public static SrvRecordsQuery setSrvRecordsQuery(SrvRecordsQuery query) {
+        SrvRecordsQuery previous = srvRecordsQuery;
+        srvRecordsQuery = query;
+        return previous;
     }
 
+    /**
+     * Looks up the DNS SRV records for the given service name.
+     * 
+     * @param serviceName
+     *            the DNS SRV service name.
+     * @return
+     *         the list of {@link SrvRecord}s, sorted as described in rfc2782.
+     * @throws NamingException
+     *             if the DNS lookup fails.
+     */
     public static List<SrvRecord> lookupSrvRecords(String serviceName) throws NamingException {
+        return sortSrvRecords(querySrvRecords(serviceName));
+    }
+
+    /**
+     * Looks up the DNS SRV records for the given service name, sharing the results driver-wide for the given number of seconds. Records are refreshed in
+     * background when they are requested during the last quarter of their time to live, so that only the first lookup and lookups after idle periods block
+     * on the DNS server.
+     * 
+     * @param serviceName
+     *            the DNS SRV service name.
+     * @param cacheTtl
+     *            the number of seconds the lookup results are kept. Values lower or equal to 0 disable caching.
+     * @return
+     *         the list of {@link SrvRecord}s, sorted as described in rfc2782.
+     * @throws NamingException
+     *             if the DNS lookup fails.
+     */
+    public static List<SrvRecord> lookupSrvRecords(String serviceName, int cacheTtl) throws NamingException {
+        if (cacheTtl <= 0) {
+            return lookupSrvRecords(serviceName);
+        }
+
+        CachedSrvRecords cached = SRV_RECORDS_CACHE.computeIfAbsent(serviceName, CachedSrvRecords::new);
+        List<SrvRecord> srvRecords = cached.get(cacheTtl);
+        // Records are sorted on each lookup so that weights keep being honored among the consumers of the cached results.
+        return sortSrvRecords(srvRecords);
+    }
+
+    /**
+     * Registers a listener to be notified when the DNS SRV records of the given service name change. While there are listeners registered, the records are
+     * refreshed in background before their time to live expires.
+     * 
+     * Listeners are weakly referenced; the caller must keep a reference to the listener for as long as it wants to be notified.
+     * 
+     * @param serviceName
+     *            the DNS SRV service name.
+     * @param cacheTtl
+     *            the number of seconds the lookup results are kept. Values lower or equal to 0 disable caching, and so, notifications.
+     * @param listener
+     *            the {@link SrvRecordsListener} to register.
+     */
+    public static void addSrvRecordsListener(String serviceName, int cacheTtl, SrvRecordsListener listener) {
+        if (cacheTtl <= 0) {
+            return;
+        }
+        SRV_RECORDS_CACHE.computeIfAbsent(serviceName, CachedSrvRecords::new).addListener(cacheTtl, listener);
+    }
+
+    /**
+     * Unregisters a listener previously registered with {@link #addSrvRecordsListener(String, int, SrvRecordsListener)}.
+     * 
+     * @param serviceName
+     *            the DNS SRV service name.
+     * @param listener
+     *            the {@link SrvRecordsListener} to unregister.
+     */
+    public static void removeSrvRecordsListener(String serviceName, SrvRecordsListener listener) {
+        CachedSrvRecords cached = SRV_RECORDS_CACHE.get(serviceName);
+        if (cached != null) {
+            cached.removeListener(listener);
+        }
+    }
+
+    private static List<SrvRecord> querySrvRecords(String serviceName) throws NamingException {
+        return srvRecordsQuery.querySrvRecords(serviceName);
+    }
+
+    private static List<SrvRecord> queryDnsServer(String serviceName) throws NamingException {
         List<SrvRecord> srvRecords = new ArrayList<>();
 
         Properties environment = new Properties();
@@ -112,7 +273,7 @@ public class DnsSrv {
             }
         }
 
-        return sortSrvRecords(srvRecords);
+        return srvRecords;
     }
 
     /**
@@ -153,4 +314,134 @@ public class DnsSrv {
 
         return srvRecordsSortedRfc2782;
     }
+
+    /**
+     * Cached DNS SRV records of a service name, as returned by the DNS server, i.e., unsorted.
+     */
+    private static class CachedSrvRecords {
+        private final String serviceName;
+        private volatile List<SrvRecord> srvRecords = null;
+        private volatile long refreshAt = 0;
+        private volatile long expiresAt = 0;
+        private volatile int ttlMillis = 0;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+        private final Object lookupLock = new Object();
+        private final List<WeakReference<SrvRecordsListener>> listeners = new CopyOnWriteArrayList<>();
+        private ScheduledFuture<?> refreshTask = null;
+
+        CachedSrvRecords(String serviceName) {
+            this.serviceName = serviceName;
+        }
+
+        List<SrvRecord> get(int cacheTtl) throws NamingException {
+            long now = System.currentTimeMillis();
+            if (this.srvRecords == null || now >= this.expiresAt) {
+                synchronized (this.lookupLock) {
+                    // Concurrent lookups of expired records wait for a single DNS query.
+                    if (this.srvRecords == null || System.currentTimeMillis() >= this.expiresAt) {
+                        refresh(cacheTtl);
+                    }
+                }
+            } else if (now >= this.refreshAt && this.refreshing.compareAndSet(false, true)) {
+                RefreshExecutorHolder.EXECUTOR.execute(() -> {
+                    try {
+                        refresh(cacheTtl);
+                    } catch (NamingException | RuntimeException e) {
+                        // Keep the current records until they expire.
+                    } finally {
+                        this.refreshing.set(false);
+                    }
+                });
+            }
+            return this.srvRecords;
+        }
+
+        private void refresh(int cacheTtl) throws NamingException {
+            List<SrvRecord> newSrvRecords = Collections.unmodifiableList(querySrvRecords(this.serviceName));
+            List<SrvRecord> oldSrvRecords = this.srvRecords;
+
+            long now = System.currentTimeMillis();
+            this.ttlMillis = cacheTtl * 1000;
+            this.refreshAt = now + this.ttlMillis * 3L / 4;
+            this.expiresAt = now + this.ttlMillis;
+            this.srvRecords = newSrvRecords;
+
+            if (oldSrvRecords != null && !newSrvRecords.isEmpty() && !this.listeners.isEmpty()
+                    && !new HashSet<>(oldSrvRecords).equals(new HashSet<>(newSrvRecords))) {
+                // Listeners are never notified from the thread doing the lookup, which may be holding locks of its own.
+                RefreshExecutorHolder.EXECUTOR.execute(() -> notifyListeners(newSrvRecords));
+            }
+        }
+
+        private void notifyListeners(List<SrvRecord> newSrvRecords) {
+            for (WeakReference<SrvRecordsListener> ref : this.listeners) {
+                SrvRecordsListener listener = ref.get();
+                if (listener == null) {
+                    this.listeners.remove(ref);
+                    continue;
+                }
+                try {
+                    listener.srvRecordsChanged(this.serviceName, sortSrvRecords(newSrvRecords));
+                } catch (RuntimeException e) {
+                    // Listeners failures must not prevent notifying the others.
+                }
+            }
+        }
+
+        synchronized void addListener(int cacheTtl, SrvRecordsListener listener) {
+            this.listeners.add(new WeakReference<>(listener));
+            if (this.refreshTask == null) {
+                long period = Math.max(cacheTtl * 750L, 1000L);
+                this.refreshTask = RefreshExecutorHolder.EXECUTOR.scheduleWithFixedDelay(() -> refreshForListeners(cacheTtl), period, period,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+
+        synchronized void removeListener(SrvRecordsListener listener) {
+            this.listeners.removeIf(ref -> ref.get() == null || ref.get() == listener);
+            if (this.listeners.isEmpty() && this.refreshTask != null) {
+                this.refreshTask.cancel(false);
+                this.refreshTask = null;
+            }
+        }
+
+        private void refreshForListeners(int cacheTtl) {
+            synchronized (this) {
+                this.listeners.removeIf(ref -> ref.get() == null);
+                if (this.listeners.isEmpty()) {
+                    if (this.refreshTask != null) {
+                        this.refreshTask.cancel(false);
+                        this.refreshTask = null;
+                    }
+                    return;
+                }
+            }
+            if (this.refreshing.compareAndSet(false, true)) {
+                try {
+                    refresh(this.ttlMillis > 0 ? this.ttlMillis / 1000 : cacheTtl);
+                } catch (NamingException | RuntimeException e) {
+                    // Keep the current records until they expire, and try again in the next period.
+                } finally {
+                    this.refreshing.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lazily initialized holder of the executor shared by all DNS SRV lookups to refresh cached records in background.
+     */
+    private static class RefreshExecutorHolder {
+        static final ScheduledExecutorService EXECUTOR;
+
+        static {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "mysql-cj-dns-srv-refresh");
+                t.setDaemon(true);
+                return t;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            EXECUTOR = executor;
+        }
+    }
 }
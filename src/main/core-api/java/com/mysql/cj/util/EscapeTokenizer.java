@@ -65,6 +65,66 @@ public class EscapeTokenizer {
         this.pos = 0;
     }
 
+    /**
+     * Checks whether the given SQL may contain an escape code, i.e., a '{' outside quotes and comments, following the same rules as the tokenizer does. It
+     * allows skipping the tokenization of statements that have braces only in literals, e.g., JSON documents.
+     * 
+     * @param source
+     *            the SQL to check
+     * @return false if {@link #nextToken()} wouldn't return any escape code for the given SQL; true doesn't guarantee it would, as unbalanced braces
+     *         aren't tracked
+     */
+    public static boolean containsEscapeCode(String source) {
+        int sourceLength = source.length();
+        boolean backslashEscape = false;
+        boolean inQuotes = false;
+        char quoteChar = 0;
+
+        for (int pos = 0; pos < sourceLength; pos++) {
+            char c = source.charAt(pos);
+
+            if (c == CHR_ESCAPE) {
+                backslashEscape = !backslashEscape;
+                continue;
+            }
+
+            if ((c == CHR_SGL_QUOTE || c == CHR_DBL_QUOTE) && !backslashEscape) {
+                if (inQuotes) {
+                    if (c == quoteChar) {
+                        if ((pos + 1 < sourceLength) && (source.charAt(pos + 1) == quoteChar)) {
+                            pos++; // doubled quote
+                        } else {
+                            inQuotes = false;
+                        }
+                    }
+                } else {
+                    inQuotes = true;
+                    quoteChar = c;
+                }
+                continue;
+            }
+
+            if (!inQuotes && !backslashEscape) {
+                if (c == CHR_COMMENT && (pos + 1 < sourceLength) && (source.charAt(pos + 1) == CHR_COMMENT)) {
+                    // skip until the end of the line
+                    while (++pos < sourceLength && c != CHR_LF && c != CHR_CR) {
+                        c = source.charAt(pos);
+                    }
+                    pos--;
+                    continue;
+                }
+
+                if (c == CHR_BEGIN_TOKEN) {
+                    return true;
+                }
+            }
+
+            backslashEscape = false;
+        }
+
+        return false;
+    }
+
     /**
      * Does this tokenizer have more tokens available?
      * 
@@ -31,8 +31,6 @@ package com.mysql.cj.util;
 
 import java.io.IOException;
 import java.io.StringReader;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
@@ -60,40 +58,12 @@ public class TimeUtil {
 
     private static Properties timeZoneMappings = null;
 
-    protected final static Method systemNanoTimeMethod;
-
-    static {
-        Method aMethod;
-
-        try {
-            aMethod = System.class.getMethod("nanoTime", (Class[]) null);
-        } catch (SecurityException e) {
-            aMethod = null;
-        } catch (NoSuchMethodException e) {
-            aMethod = null;
-        }
-
-        systemNanoTimeMethod = aMethod;
-    }
-
     public static boolean nanoTimeAvailable() {
-        return systemNanoTimeMethod != null;
+        return true;
     }
 
     public static long getCurrentTimeNanosOrMillis() {
-        if (systemNanoTimeMethod != null) {
-            try {
-                return ((Long) systemNanoTimeMethod.invoke(null, (Object[]) null)).longValue();
-            } catch (IllegalArgumentException e) {
-                // ignore - fall through to currentTimeMillis()
-            } catch (IllegalAccessException e) {
-                // ignore - fall through to currentTimeMillis()
-            } catch (InvocationTargetException e) {
-                // ignore - fall through to currentTimeMillis()
-            }
-        }
-
-        return System.currentTimeMillis();
+        return System.nanoTime();
     }
 
     /**
@@ -176,9 +176,13 @@ public abstract class AbstractPreparedQuery<T extends QueryBindings<?>> extends
             batchArg = this.batchedArgs.get(this.batchCommandIndex);
         }
 
-        byte[][] staticSqlStrings = this.parseInfo.getStaticSql();
+        byte[] staticSql = this.parseInfo.getStaticSql();
+        int[] staticSqlOffsets = this.parseInfo.getStaticSqlOffsets();
         for (int i = 0; i < this.parameterCount; ++i) {
-            buf.append(this.charEncoding != null ? StringUtils.toString(staticSqlStrings[i], this.charEncoding) : StringUtils.toString(staticSqlStrings[i]));
+            int offset = staticSqlOffsets[i];
+            int length = staticSqlOffsets[i + 1] - offset;
+            buf.append(this.charEncoding != null ? StringUtils.toString(staticSql, offset, length, this.charEncoding)
+                    : StringUtils.toString(staticSql, offset, length));
 
             byte val[] = null;
             if (batchArg != null && batchArg instanceof String) {
@@ -200,8 +204,10 @@ public abstract class AbstractPreparedQuery<T extends QueryBindings<?>> extends
             }
         }
 
-        buf.append(this.charEncoding != null ? StringUtils.toString(staticSqlStrings[this.parameterCount], this.charEncoding)
-                : StringUtils.toAsciiString(staticSqlStrings[this.parameterCount]));
+        int offset = staticSqlOffsets[this.parameterCount];
+        int length = staticSqlOffsets[this.parameterCount + 1] - offset;
+        buf.append(this.charEncoding != null ? StringUtils.toString(staticSql, offset, length, this.charEncoding)
+                : StringUtils.toAsciiString(staticSql, offset, length));
 
         return buf.toString();
     }
@@ -275,25 +281,45 @@ public abstract class AbstractPreparedQuery<T extends QueryBindings<?>> extends
                 sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, Constants.SPACE_STAR_SLASH_SPACE_AS_BYTES);
             }
 
-            byte[][] staticSqlStrings = this.parseInfo.getStaticSql();
+            byte[] staticSql = this.parseInfo.getStaticSql();
+            int[] staticSqlOffsets = this.parseInfo.getStaticSqlOffsets();
             for (int i = 0; i < bindValues.length; i++) {
                 bindings.checkParameterSet(i);
 
-                sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, staticSqlStrings[i]);
+                sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, staticSql, staticSqlOffsets[i], staticSqlOffsets[i + 1] - staticSqlOffsets[i]);
 
                 if (bindValues[i].isStream()) {
                     streamToBytes(sendPacket, bindValues[i].getStreamValue(), true, bindValues[i].getStreamLength(), useStreamLengths);
                 } else {
-                    sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, bindValues[i].getByteValue());
+                    writeBindValue(sendPacket, bindValues[i]);
                 }
             }
 
-            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, staticSqlStrings[bindValues.length]);
+            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, staticSql, staticSqlOffsets[bindValues.length],
+                    staticSqlOffsets[bindValues.length + 1] - staticSqlOffsets[bindValues.length]);
 
             return (M) sendPacket;
         }
     }
 
+    /**
+     * Writes the SQL text of a value that is not a stream.
+     * 
+     * @param sendPacket
+     *            packet to write to
+     * @param bindValue
+     *            value
+     */
+    protected void writeBindValue(NativePacketPayload sendPacket, BindValue bindValue) {
+        if (bindValue instanceof ClientPreparedQueryBindValue && ((ClientPreparedQueryBindValue) bindValue).isWrittenAsText()) {
+            ClientPreparedQueryBindValue textValue = (ClientPreparedQueryBindValue) bindValue;
+            sendPacket.ensureCapacity(textValue.getMaxTextLength());
+            sendPacket.setPosition(textValue.writeText(sendPacket.getByteBuffer(), sendPacket.getPosition()));
+        } else {
+            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, bindValue.getByteValue());
+        }
+    }
+
     private final void streamToBytes(NativePacketPayload packet, InputStream in, boolean escape, long streamLength, boolean useLength) {
         // TODO this method should be unified with AbstractQueryBindings.streamToBytes()
         try {
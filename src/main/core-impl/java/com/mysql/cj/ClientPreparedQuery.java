@@ -29,6 +29,12 @@
 
 package com.mysql.cj;
 
+import com.mysql.cj.protocol.a.NativeConstants;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.util.StringUtils;
+
 //TODO should not be protocol-specific
 
 public class ClientPreparedQuery extends AbstractPreparedQuery<ClientPreparedQueryBindings> {
@@ -66,6 +72,8 @@ public class ClientPreparedQuery extends AbstractPreparedQuery<ClientPreparedQue
                             int paramLength = qBindings.getBindValues()[j].getByteValue().length;
                             sizeOfParameterSet += paramLength;
                         }
+                    } else if (((ClientPreparedQueryBindValue) bindValues[j]).isWrittenAsText()) {
+                        sizeOfParameterSet += ((ClientPreparedQueryBindValue) bindValues[j]).getMaxTextLength();
                     } else {
                         sizeOfParameterSet += qBindings.getBindValues()[j].getByteValue().length;
                     }
@@ -95,4 +103,101 @@ public class ClientPreparedQuery extends AbstractPreparedQuery<ClientPreparedQue
 
         return new long[] { maxSizeOfParameterSet, sizeOfEntireBatch };
     }
+
+    /**
+     * Can the batched arguments be rewritten as multi-value INSERTs by {@link #fillSendPacketForBatch(NativePacketPayload, int)}? That requires the
+     * statement to be parsed for batch rewriting, to have placeholders in its VALUES row only and no streams to be bound.
+     * 
+     * @return true if {@link #fillSendPacketForBatch(NativePacketPayload, int)} can be used
+     */
+    public boolean canFillSendPacketForBatch() {
+        int[] headOffsets = this.parseInfo.getBatchHeadStaticSqlOffsets();
+        int[] valuesOffsets = this.parseInfo.getBatchValuesStaticSqlOffsets();
+        if (headOffsets == null || valuesOffsets == null || headOffsets.length == 2 || headOffsets.length != valuesOffsets.length) {
+            return false;
+        }
+
+        for (Object arg : this.batchedArgs) {
+            if (!(arg instanceof ClientPreparedQueryBindings)) {
+                return false;
+            }
+            BindValue[] bindValues = ((ClientPreparedQueryBindings) arg).getBindValues();
+            if (bindValues.length != headOffsets.length - 2) {
+                return false;
+            }
+            for (BindValue bindValue : bindValues) {
+                if (bindValue.isStream()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fills the packet with a multi-value INSERT of the batched arguments starting at firstBatchedArg. Rows are written straight from their bindings and
+     * added for as long as the query stays within maxAllowedPacket; the first row is always added.
+     * 
+     * @param sendPacket
+     *            packet to write to
+     * @param firstBatchedArg
+     *            index of the first batched arguments to write
+     * @return index of the first batched arguments that were not written
+     */
+    public int fillSendPacketForBatch(NativePacketPayload sendPacket, int firstBatchedArg) {
+        synchronized (this) {
+            byte[] headStaticSql = this.parseInfo.getBatchHeadStaticSql();
+            int[] headOffsets = this.parseInfo.getBatchHeadStaticSqlOffsets();
+            byte[] valuesStaticSql = this.parseInfo.getBatchValuesStaticSql();
+            int[] valuesOffsets = this.parseInfo.getBatchValuesStaticSqlOffsets();
+            int endOfRow = valuesOffsets[valuesOffsets.length - 2];
+            int endOfRowLength = valuesOffsets[valuesOffsets.length - 1] - endOfRow;
+            byte[] tailStaticSql = this.parseInfo.getBatchTailStaticSql();
+            int[] tailOffsets = this.parseInfo.getBatchTailStaticSqlOffsets();
+            int tail = tailOffsets[tailOffsets.length - 2];
+            int tailLength = tailOffsets[tailOffsets.length - 1] - tail;
+            int maxQueryLength = this.maxAllowedPacket.getValue() - tailLength;
+
+            sendPacket.writeInteger(IntegerDataType.INT1, NativeConstants.COM_QUERY);
+
+            String statementComment = this.session.getProtocol().getQueryComment();
+            if (statementComment != null) {
+                sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, Constants.SLASH_STAR_SPACE_AS_BYTES);
+                sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, StringUtils.getBytes(statementComment, this.charEncoding));
+                sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, Constants.SPACE_STAR_SLASH_SPACE_AS_BYTES);
+            }
+
+            int batchedArg = firstBatchedArg;
+            writeBatchedRow(sendPacket, headStaticSql, headOffsets, (ClientPreparedQueryBindings) this.batchedArgs.get(batchedArg++));
+
+            int numBatchedArgs = this.batchedArgs.size();
+            while (batchedArg < numBatchedArgs) {
+                int endOfPreviousRow = sendPacket.getPosition();
+
+                sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, valuesStaticSql, endOfRow, endOfRowLength);
+                writeBatchedRow(sendPacket, valuesStaticSql, valuesOffsets, (ClientPreparedQueryBindings) this.batchedArgs.get(batchedArg));
+
+                if (sendPacket.getPosition() > maxQueryLength) {
+                    // this row goes to the next query
+                    sendPacket.setPosition(endOfPreviousRow);
+                    break;
+                }
+                batchedArg++;
+            }
+
+            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, tailStaticSql, tail, tailLength);
+
+            return batchedArg;
+        }
+    }
+
+    private void writeBatchedRow(NativePacketPayload sendPacket, byte[] staticSql, int[] staticSqlOffsets, ClientPreparedQueryBindings bindings) {
+        BindValue[] bindValues = bindings.getBindValues();
+        for (int i = 0; i < bindValues.length; i++) {
+            bindings.checkParameterSet(i);
+
+            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, staticSql, staticSqlOffsets[i], staticSqlOffsets[i + 1] - staticSqlOffsets[i]);
+            writeBindValue(sendPacket, bindValues[i]);
+        }
+    }
 }
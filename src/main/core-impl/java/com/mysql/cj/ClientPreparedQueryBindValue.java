@@ -30,6 +30,11 @@
 package com.mysql.cj;
 
 import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
 
 public class ClientPreparedQueryBindValue implements BindValue {
 
@@ -50,6 +55,41 @@ public class ClientPreparedQueryBindValue implements BindValue {
     /** has this parameter been set? */
     protected boolean isSet = false;
 
+    /**
+     * Values of integer, java.time and (for UTF-8 connections) string types are kept as they are and only rendered as SQL text when written to the query
+     * packet, see {@link #writeText(byte[], int)}, so that binding them doesn't create intermediate strings and byte arrays per execution.
+     */
+    private int textForm = TEXT_FORM_BYTES;
+    private long longValue;
+
+    private static final int TEXT_FORM_BYTES = 0;
+    private static final int TEXT_FORM_LONG = 1;
+    private static final int TEXT_FORM_DATE = 2;
+    private static final int TEXT_FORM_TIME = 3;
+    private static final int TEXT_FORM_DATETIME = 4;
+    private static final int TEXT_FORM_STRING = 5;
+    private static final int TEXT_FORM_STRING_ESCAPE_DOUBLE_QUOTES = 6;
+
+    /** Maximum length of a quoted date-time literal with nanoseconds. */
+    private static final int MAX_TEMPORAL_TEXT_LENGTH = 31;
+    private static final int MAX_LONG_TEXT_LENGTH = 20;
+
+    /** Strings longer than this get their exact escaped length computed instead of reserving the worst case of 3 bytes per char. */
+    private static final int MAX_STRING_LENGTH_FOR_ESTIMATE = 16 * 1024;
+
+    /** Second char of the escape sequence of ASCII chars that need escaping in string literals, 0 if none. */
+    private static final byte[] ESCAPE_CHARS = new byte[128];
+
+    static {
+        ESCAPE_CHARS[0] = '0'; /* Must be escaped for 'mysql' */
+        ESCAPE_CHARS['\n'] = 'n'; /* Must be escaped for logs */
+        ESCAPE_CHARS['\r'] = 'r';
+        ESCAPE_CHARS['\\'] = '\\';
+        ESCAPE_CHARS['\''] = '\'';
+        ESCAPE_CHARS['"'] = '"'; /* Better safe than sorry */
+        ESCAPE_CHARS['\032'] = 'Z'; /* This gives problems on Win32 */
+    }
+
     public ClientPreparedQueryBindValue() {
     }
 
@@ -70,6 +110,8 @@ public class ClientPreparedQueryBindValue implements BindValue {
         }
         this.streamLength = copyMe.streamLength;
         this.isSet = copyMe.isSet;
+        this.textForm = copyMe.textForm;
+        this.longValue = copyMe.longValue;
     }
 
     public void reset() {
@@ -80,6 +122,8 @@ public class ClientPreparedQueryBindValue implements BindValue {
         this.origValue = null;
         this.streamLength = 0;
         this.isSet = false;
+        this.textForm = TEXT_FORM_BYTES;
+        this.longValue = 0;
     }
 
     @Override
@@ -114,6 +158,10 @@ public class ClientPreparedQueryBindValue implements BindValue {
     }
 
     public byte[] getByteValue() {
+        if (this.textForm != TEXT_FORM_BYTES) {
+            byte[] text = new byte[getMaxTextLength()];
+            setByteValue(Arrays.copyOf(text, writeText(text, 0)));
+        }
         if (this.value instanceof byte[]) {
             return (byte[]) this.value;
         }
@@ -126,6 +174,250 @@ public class ClientPreparedQueryBindValue implements BindValue {
         this.value = parameterValue;
         this.streamLength = 0;
         this.isSet = true;
+        this.textForm = TEXT_FORM_BYTES;
+    }
+
+    /**
+     * Sets an integer value, rendered as decimal digits.
+     * 
+     * @param parameterValue
+     *            value
+     */
+    public void setLongValue(long parameterValue) {
+        setByteValue(null);
+        this.longValue = parameterValue;
+        this.textForm = TEXT_FORM_LONG;
+    }
+
+    /**
+     * Sets a java.time value, rendered as a quoted literal of the given type. Years must be in the 0..9999 range.
+     * 
+     * @param parameterValue
+     *            {@link LocalDate}, {@link LocalTime} (the date part is 1970-01-01) or {@link LocalDateTime}, with nanoseconds already adjusted
+     * @param targetType
+     *            {@link MysqlType#DATE}, {@link MysqlType#TIME}, {@link MysqlType#DATETIME} or {@link MysqlType#TIMESTAMP}
+     */
+    public void setTemporalValue(Temporal parameterValue, MysqlType targetType) {
+        setByteValue(null);
+        this.value = parameterValue;
+        this.textForm = parameterValue instanceof LocalDate || targetType == MysqlType.DATE ? TEXT_FORM_DATE
+                : targetType == MysqlType.TIME ? TEXT_FORM_TIME : TEXT_FORM_DATETIME;
+    }
+
+    /**
+     * Sets a string value, rendered as a quoted and escaped literal encoded in UTF-8.
+     * 
+     * @param parameterValue
+     *            value
+     * @param escapeDoubleQuotes
+     *            should '"' be escaped, i.e. is ANSI_QUOTES mode on
+     */
+    public void setStringValue(String parameterValue, boolean escapeDoubleQuotes) {
+        setByteValue(null);
+        this.value = parameterValue;
+        this.textForm = escapeDoubleQuotes ? TEXT_FORM_STRING_ESCAPE_DOUBLE_QUOTES : TEXT_FORM_STRING;
+    }
+
+    /**
+     * Is the value kept as is and rendered by {@link #writeText(byte[], int)}, instead of being kept as bytes?
+     * 
+     * @return true if {@link #writeText(byte[], int)} should be used
+     */
+    public boolean isWrittenAsText() {
+        return this.textForm != TEXT_FORM_BYTES;
+    }
+
+    /**
+     * Returns the number of bytes to reserve for {@link #writeText(byte[], int)}.
+     * 
+     * @return maximum text length
+     */
+    public int getMaxTextLength() {
+        switch (this.textForm) {
+            case TEXT_FORM_LONG:
+                return MAX_LONG_TEXT_LENGTH;
+            case TEXT_FORM_STRING:
+            case TEXT_FORM_STRING_ESCAPE_DOUBLE_QUOTES:
+                String x = (String) this.value;
+                // escape sequences take 2 bytes and chars out of the ASCII range at most 3
+                return x.length() <= MAX_STRING_LENGTH_FOR_ESTIMATE ? 3 * x.length() + 2
+                        : getEscapedUtf8Length(x, this.textForm == TEXT_FORM_STRING_ESCAPE_DOUBLE_QUOTES);
+            default:
+                return MAX_TEMPORAL_TEXT_LENGTH;
+        }
+    }
+
+    /**
+     * Renders a value set with {@link #setLongValue(long)}, {@link #setTemporalValue(Temporal, MysqlType)} or {@link #setStringValue(String, boolean)} as
+     * SQL text.
+     * 
+     * @param buf
+     *            buffer with at least {@link #getMaxTextLength()} bytes available at pos
+     * @param pos
+     *            position to start writing at
+     * @return position after the written text
+     */
+    public int writeText(byte[] buf, int pos) {
+        switch (this.textForm) {
+            case TEXT_FORM_LONG:
+                return writeDigits(this.longValue, buf, pos);
+            case TEXT_FORM_STRING:
+            case TEXT_FORM_STRING_ESCAPE_DOUBLE_QUOTES:
+                return writeEscapedUtf8((String) this.value, this.textForm == TEXT_FORM_STRING_ESCAPE_DOUBLE_QUOTES, buf, pos);
+            default:
+                break;
+        }
+
+        buf[pos++] = '\'';
+        if (this.textForm != TEXT_FORM_TIME) {
+            if (this.value instanceof LocalTime) {
+                pos = writeDate(1970, 1, 1, buf, pos);
+            } else if (this.value instanceof LocalDate) {
+                LocalDate d = (LocalDate) this.value;
+                pos = writeDate(d.getYear(), d.getMonthValue(), d.getDayOfMonth(), buf, pos);
+            } else {
+                LocalDateTime dt = (LocalDateTime) this.value;
+                pos = writeDate(dt.getYear(), dt.getMonthValue(), dt.getDayOfMonth(), buf, pos);
+            }
+        }
+        if (this.textForm == TEXT_FORM_DATETIME) {
+            buf[pos++] = ' ';
+        }
+        if (this.textForm != TEXT_FORM_DATE) {
+            if (this.value instanceof LocalTime) {
+                LocalTime t = (LocalTime) this.value;
+                pos = writeTime(t.getHour(), t.getMinute(), t.getSecond(), t.getNano(), buf, pos);
+            } else {
+                LocalDateTime dt = (LocalDateTime) this.value;
+                pos = writeTime(dt.getHour(), dt.getMinute(), dt.getSecond(), dt.getNano(), buf, pos);
+            }
+        }
+        buf[pos++] = '\'';
+        return pos;
+    }
+
+    /**
+     * Escapes, quotes and encodes a string to UTF-8 in a single pass, with the same escaping as ClientPreparedQueryBindings.setString() applies.
+     */
+    private static int writeEscapedUtf8(String x, boolean escapeDoubleQuotes, byte[] buf, int pos) {
+        int length = x.length();
+        buf[pos++] = '\'';
+        for (int i = 0; i < length; i++) {
+            char c = x.charAt(i);
+            if (c < 0x80) {
+                byte escape = ESCAPE_CHARS[c];
+                if (escape == 0) {
+                    buf[pos++] = (byte) c;
+                } else if (c == '\'') {
+                    buf[pos++] = '\'';
+                    buf[pos++] = '\'';
+                } else if (c == '"') {
+                    if (escapeDoubleQuotes) {
+                        buf[pos++] = '\\';
+                    }
+                    buf[pos++] = '"';
+                } else {
+                    buf[pos++] = '\\';
+                    buf[pos++] = escape;
+                }
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xc0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(x.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, x.charAt(++i));
+                    buf[pos++] = (byte) (0xf0 | (cp >> 18));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    buf[pos++] = (byte) (0x80 | (cp & 0x3f));
+                } else {
+                    // malformed, replaced the same way as String.getBytes() does
+                    buf[pos++] = '?';
+                }
+            } else {
+                buf[pos++] = (byte) (0xe0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buf[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        buf[pos++] = '\'';
+        return pos;
+    }
+
+    private static int getEscapedUtf8Length(String x, boolean escapeDoubleQuotes) {
+        int length = x.length();
+        int escapedLength = 2;
+        for (int i = 0; i < length; i++) {
+            char c = x.charAt(i);
+            if (c < 0x80) {
+                escapedLength += ESCAPE_CHARS[c] == 0 || c == '"' && !escapeDoubleQuotes ? 1 : 2;
+            } else if (c < 0x800) {
+                escapedLength += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(x.charAt(i + 1))) {
+                escapedLength += 4;
+                i++;
+            } else {
+                escapedLength += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return escapedLength;
+    }
+
+    private static int writeDigits(long v, byte[] buf, int pos) {
+        // negative values have a greater range, so digits are computed from the negated value
+        long n = v;
+        if (v < 0) {
+            buf[pos++] = '-';
+        } else {
+            n = -v;
+        }
+        int start = pos;
+        do {
+            buf[pos++] = (byte) ('0' - (n % 10));
+            n /= 10;
+        } while (n != 0);
+        for (int i = start, j = pos - 1; i < j; i++, j--) {
+            byte b = buf[i];
+            buf[i] = buf[j];
+            buf[j] = b;
+        }
+        return pos;
+    }
+
+    private static int writeFixedDigits(int v, int length, byte[] buf, int pos) {
+        for (int i = pos + length - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        return pos + length;
+    }
+
+    private static int writeDate(int year, int month, int day, byte[] buf, int pos) {
+        pos = writeFixedDigits(year, 4, buf, pos);
+        buf[pos++] = '-';
+        pos = writeFixedDigits(month, 2, buf, pos);
+        buf[pos++] = '-';
+        return writeFixedDigits(day, 2, buf, pos);
+    }
+
+    private static int writeTime(int hour, int minute, int second, int nano, byte[] buf, int pos) {
+        pos = writeFixedDigits(hour, 2, buf, pos);
+        buf[pos++] = ':';
+        pos = writeFixedDigits(minute, 2, buf, pos);
+        buf[pos++] = ':';
+        pos = writeFixedDigits(second, 2, buf, pos);
+        if (nano > 0) {
+            // same precision as LocalTime.toString()
+            buf[pos++] = '.';
+            if (nano % 1000_000 == 0) {
+                pos = writeFixedDigits(nano / 1000_000, 3, buf, pos);
+            } else if (nano % 1000 == 0) {
+                pos = writeFixedDigits(nano / 1000, 6, buf, pos);
+            } else {
+                pos = writeFixedDigits(nano, 9, buf, pos);
+            }
+        }
+        return pos;
     }
 
     @Override
@@ -146,6 +438,7 @@ public class ClientPreparedQueryBindValue implements BindValue {
     }
 
     public void setStreamValue(InputStream parameterStream, long streamLength) {
+        this.textForm = TEXT_FORM_BYTES;
         this.value = parameterStream;
         this.streamLength = streamLength;
         this.isSet = true;
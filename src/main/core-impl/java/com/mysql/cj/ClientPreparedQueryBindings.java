@@ -40,6 +40,7 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
@@ -50,6 +51,7 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.Temporal;
 import java.util.Calendar;
 
 import com.mysql.cj.conf.PropertyKey;
@@ -62,7 +64,7 @@ import com.mysql.cj.util.Util;
 
 public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPreparedQueryBindValue> {
 
-    /** Charset encoder used to escape if needed, such as Yen sign in SJIS */
+    /** Charset encoder used to escape if needed, such as Yen sign in SJIS; created on first use */
     private CharsetEncoder charsetEncoder;
 
     private SimpleDateFormat ddf;
@@ -71,10 +73,15 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
 
     private SimpleDateFormat tsdf = null;
 
+    /** Can strings be escaped and encoded in one pass when the query packet is filled? */
+    private boolean isUtf8Encoding;
+
     public ClientPreparedQueryBindings(int parameterCount, Session sess) {
         super(parameterCount, sess);
-        if (((NativeSession) this.session).getRequiresEscapingEncoder()) {
-            this.charsetEncoder = Charset.forName(this.charEncoding).newEncoder();
+        try {
+            this.isUtf8Encoding = this.charEncoding != null && StandardCharsets.UTF_8.equals(Charset.forName(this.charEncoding));
+        } catch (IllegalArgumentException e) {
+            // unsupported or illegal charset name, strings go through StringUtils.getBytes()
         }
     }
 
@@ -187,12 +194,12 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
 
     @Override
     public void setBoolean(int parameterIndex, boolean x) {
-        setValue(parameterIndex, x ? "1" : "0", MysqlType.BOOLEAN);
+        setLongValue(parameterIndex, x ? 1 : 0, MysqlType.BOOLEAN);
     }
 
     @Override
     public void setByte(int parameterIndex, byte x) {
-        setValue(parameterIndex, String.valueOf(x), MysqlType.TINYINT);
+        setLongValue(parameterIndex, x, MysqlType.TINYINT);
     }
 
     public void setBytes(int parameterIndex, byte[] x) {
@@ -434,18 +441,22 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
 
     @Override
     public void setInt(int parameterIndex, int x) {
-        setValue(parameterIndex, String.valueOf(x), MysqlType.INT);
+        setLongValue(parameterIndex, x, MysqlType.INT);
     }
 
     @Override
     public void setLocalDate(int parameterIndex, LocalDate x, MysqlType targetMysqlType) {
-        setValue(parameterIndex, "'" + x + "'", targetMysqlType);
+        if (isFourDigitYear(x.getYear())) {
+            setTemporalValue(parameterIndex, x, targetMysqlType);
+        } else {
+            setValue(parameterIndex, "'" + x + "'", targetMysqlType);
+        }
     }
 
     @Override
     public void setLocalTime(int parameterIndex, LocalTime x, MysqlType targetMysqlType) {
         if (targetMysqlType == MysqlType.DATE) {
-            setValue(parameterIndex, "'" + DEFAULT_DATE + "'", MysqlType.DATE);
+            setTemporalValue(parameterIndex, DEFAULT_DATE, MysqlType.DATE);
         } else {
             int fractLen = 6; // max supported length (i.e. microsecond)
             if (this.columnDefinition != null && parameterIndex <= this.columnDefinition.getFields().length && parameterIndex >= 0) {
@@ -461,27 +472,9 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
 
             switch (targetMysqlType) {
                 case TIME:
-                    StringBuilder sb = new StringBuilder("'");
-                    sb.append(x.toString());
-                    if (sb.length() < 7) {
-                        // LocalTime.toString() omits zero parts, so we need to append zero minutes to be consistent with SSPS
-                        sb.append(":00");
-                    }
-                    sb.append("'");
-                    setValue(parameterIndex, sb.toString(), targetMysqlType);
-                    break;
                 case DATETIME:
                 case TIMESTAMP:
-                    sb = new StringBuilder("'");
-                    sb.append(DEFAULT_DATE);
-                    sb.append(" ");
-                    sb.append(x.toString());
-                    if (sb.length() < 18) {
-                        // LocalTime.toString() omits zero parts, so we need to append zero minutes to be consistent with SSPS
-                        sb.append(":00");
-                    }
-                    sb.append("'");
-                    setValue(parameterIndex, sb.toString(), targetMysqlType);
+                    setTemporalValue(parameterIndex, x, targetMysqlType);
                     break;
                 default:
                     break;
@@ -492,7 +485,11 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
     @Override
     public void setLocalDateTime(int parameterIndex, LocalDateTime x, MysqlType targetMysqlType) {
         if (targetMysqlType == MysqlType.DATE) {
-            setValue(parameterIndex, "'" + x.toLocalDate() + "'", MysqlType.DATE);
+            if (isFourDigitYear(x.getYear())) {
+                setTemporalValue(parameterIndex, x.toLocalDate(), MysqlType.DATE);
+            } else {
+                setValue(parameterIndex, "'" + x.toLocalDate() + "'", MysqlType.DATE);
+            }
         } else {
             int fractLen = 6; // max supported length (i.e. microsecond)
             if (this.columnDefinition != null && parameterIndex <= this.columnDefinition.getFields().length && parameterIndex >= 0) {
@@ -508,18 +505,16 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
 
             switch (targetMysqlType) {
                 case TIME:
-                    StringBuilder sb = new StringBuilder("'");
-                    sb.append(x.toLocalTime().toString());
-                    if (sb.length() < 7) {
-                        // LocalTime.toString() omits zero parts, so we need to append zero minutes to be consistent with SSPS
-                        sb.append(":00");
-                    }
-                    sb.append("'");
-                    setValue(parameterIndex, sb.toString(), targetMysqlType);
+                    setTemporalValue(parameterIndex, x.toLocalTime(), targetMysqlType);
                     break;
                 case DATETIME:
                 case TIMESTAMP:
-                    sb = new StringBuilder("'");
+                    if (isFourDigitYear(x.getYear())) {
+                        setTemporalValue(parameterIndex, x, targetMysqlType);
+                        break;
+                    }
+                    // LocalDate.toString() adds a sign to other years
+                    StringBuilder sb = new StringBuilder("'");
                     sb.append(x.toLocalDate());
                     sb.append(" ");
                     sb.append(x.toLocalTime().toString());
@@ -536,9 +531,28 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
         }
     }
 
+    private static boolean isFourDigitYear(int year) {
+        return year >= 0 && year <= 9999;
+    }
+
+    private synchronized void setLongValue(int parameterIndex, long x, MysqlType type) {
+        this.bindValues[parameterIndex].setLongValue(x);
+        this.bindValues[parameterIndex].setMysqlType(type);
+    }
+
+    private synchronized void setStringValue(int parameterIndex, String x, boolean escapeDoubleQuotes) {
+        this.bindValues[parameterIndex].setStringValue(x, escapeDoubleQuotes);
+        this.bindValues[parameterIndex].setMysqlType(MysqlType.VARCHAR);
+    }
+
+    private synchronized void setTemporalValue(int parameterIndex, Temporal x, MysqlType type) {
+        this.bindValues[parameterIndex].setTemporalValue(x, type);
+        this.bindValues[parameterIndex].setMysqlType(type);
+    }
+
     @Override
     public void setLong(int parameterIndex, long x) {
-        setValue(parameterIndex, String.valueOf(x), MysqlType.BIGINT);
+        setLongValue(parameterIndex, x, MysqlType.BIGINT);
     }
 
     @Override
@@ -688,7 +702,7 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
 
     @Override
     public void setShort(int parameterIndex, short x) {
-        setValue(parameterIndex, String.valueOf(x), MysqlType.SMALLINT);
+        setLongValue(parameterIndex, x, MysqlType.SMALLINT);
     }
 
     @Override
@@ -703,7 +717,10 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
 
                 boolean needsHexEscape = isEscapeNeededForString(x, stringLength);
 
-                if (!needsHexEscape) {
+                if (!needsHexEscape && this.isUtf8Encoding && !this.isLoadDataQuery) {
+                    setStringValue(parameterIndex, x, false);
+
+                } else if (!needsHexEscape) {
                     StringBuilder quotedString = new StringBuilder(x.length() + 2);
                     quotedString.append('\'');
                     quotedString.append(x);
@@ -721,6 +738,11 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
                 return;
             }
 
+            if (this.isUtf8Encoding && !this.isLoadDataQuery) {
+                setStringValue(parameterIndex, x, this.session.getServerSession().useAnsiQuotedIdentifiers());
+                return;
+            }
+
             String parameterAsString = x;
             boolean needsQuoted = true;
 
@@ -772,6 +794,9 @@ public class ClientPreparedQueryBindings extends AbstractQueryBindings<ClientPre
                         case '\u00a5':
                         case '\u20a9':
                             // escape characters interpreted as backslash by mysql
+                            if (this.charsetEncoder == null && ((NativeSession) this.session).getRequiresEscapingEncoder()) {
+                                this.charsetEncoder = Charset.forName(this.charEncoding).newEncoder();
+                            }
                             if (this.charsetEncoder != null) {
                                 CharBuffer cbuf = CharBuffer.allocate(1);
                                 ByteBuffer bbuf = ByteBuffer.allocate(1);
@@ -73,7 +73,6 @@ import com.mysql.cj.protocol.Resultset.Type;
 import com.mysql.cj.protocol.ServerSession;
 import com.mysql.cj.protocol.SocketConnection;
 import com.mysql.cj.protocol.SocketFactory;
-import com.mysql.cj.protocol.a.NativeMessageBuilder;
 import com.mysql.cj.protocol.a.NativePacketPayload;
 import com.mysql.cj.protocol.a.NativeProtocol;
 import com.mysql.cj.protocol.a.NativeServerSession;
@@ -115,8 +114,6 @@ public class NativeSession extends CoreSession implements Serializable {
     /** Does this connection need to be tested? */
     private boolean needsPing = false;
 
-    private NativeMessageBuilder commandBuilder = new NativeMessageBuilder(); // TODO use shared builder
-
     /** Has this session been closed? */
     private boolean isClosed = true;
 
@@ -127,6 +124,16 @@ public class NativeSession extends CoreSession implements Serializable {
 
     private transient Timer cancelTimer;
 
+    /** Session variable assignments made by the last session setup, replayed by {@link #resetSessionState()}. */
+    private List<String> sessionSetupAssignments = new ArrayList<>();
+
+    /** Server variables as they were right after the last session setup. */
+    private Map<String, String> sessionSetupServerVariables = null;
+
+    private boolean sessionSetupInProgress = false;
+
+    private boolean sessionSetupCoalesced = false;
+
     public NativeSession(HostInfo hostInfo, PropertySet propSet) {
         super(hostInfo, propSet);
     }
@@ -213,12 +220,12 @@ public class NativeSession extends CoreSession implements Serializable {
     }
 
     public void enableMultiQueries() {
-        sendCommand(this.commandBuilder.buildComSetOption(((NativeProtocol) this.protocol).getSharedSendPacket(), 0), false, 0);
+        sendCommand(getProtocol().getMessageBuilder().buildComSetOption(((NativeProtocol) this.protocol).getSharedSendPacket(), 0), false, 0);
         ((NativeServerSession) getServerSession()).preserveOldTransactionState();
     }
 
     public void disableMultiQueries() {
-        sendCommand(this.commandBuilder.buildComSetOption(((NativeProtocol) this.protocol).getSharedSendPacket(), 1), false, 0);
+        sendCommand(getProtocol().getMessageBuilder().buildComSetOption(((NativeProtocol) this.protocol).getSharedSendPacket(), 1), false, 0);
         ((NativeServerSession) getServerSession()).preserveOldTransactionState();
     }
 
@@ -254,9 +261,9 @@ public class NativeSession extends CoreSession implements Serializable {
      */
     public void shutdownServer() {
         if (versionMeetsMinimum(5, 7, 9)) {
-            sendCommand(this.commandBuilder.buildComQuery(getSharedSendPacket(), "SHUTDOWN"), false, 0);
+            sendCommand(getProtocol().getMessageBuilder().buildComQuery(getSharedSendPacket(), "SHUTDOWN"), false, 0);
         } else {
-            sendCommand(this.commandBuilder.buildComShutdown(getSharedSendPacket()), false, 0);
+            sendCommand(getProtocol().getMessageBuilder().buildComShutdown(getSharedSendPacket()), false, 0);
         }
     }
 
@@ -472,7 +479,7 @@ public class NativeSession extends CoreSession implements Serializable {
                             || (!this.protocol.getServerSession().characterSetNamesMatches("utf8mb4")) || (connectionCollationSuffix.length() > 0
                                     && !connectionCollation.equalsIgnoreCase(this.protocol.getServerSession().getServerVariable("collation_server")))) {
 
-                        sendCommand(this.commandBuilder.buildComQuery(null, "SET NAMES " + utf8CharsetName + connectionCollationSuffix), false, 0);
+                        setSessionVariable("NAMES " + utf8CharsetName + connectionCollationSuffix);
 
                         this.protocol.getServerSession().getServerVariables().put("character_set_client", utf8CharsetName);
                         this.protocol.getServerSession().getServerVariables().put("character_set_connection", utf8CharsetName);
@@ -487,7 +494,7 @@ public class NativeSession extends CoreSession implements Serializable {
                     if (mysqlCharsetName != null) {
 
                         if (dontCheckServerMatch || !this.protocol.getServerSession().characterSetNamesMatches(mysqlCharsetName)) {
-                            sendCommand(this.commandBuilder.buildComQuery(null, "SET NAMES " + mysqlCharsetName + connectionCollationSuffix), false, 0);
+                            setSessionVariable("NAMES " + mysqlCharsetName + connectionCollationSuffix);
 
                             this.protocol.getServerSession().getServerVariables().put("character_set_client", mysqlCharsetName);
                             this.protocol.getServerSession().getServerVariables().put("character_set_connection", mysqlCharsetName);
@@ -513,7 +520,7 @@ public class NativeSession extends CoreSession implements Serializable {
                 }
 
                 if (dontCheckServerMatch || !this.protocol.getServerSession().characterSetNamesMatches(mysqlCharsetName) || ucs2) {
-                    sendCommand(this.commandBuilder.buildComQuery(null, "SET NAMES " + mysqlCharsetName + connectionCollationSuffix), false, 0);
+                    setSessionVariable("NAMES " + mysqlCharsetName + connectionCollationSuffix);
 
                     this.protocol.getServerSession().getServerVariables().put("character_set_client", mysqlCharsetName);
                     this.protocol.getServerSession().getServerVariables().put("character_set_connection", mysqlCharsetName);
@@ -534,7 +541,7 @@ public class NativeSession extends CoreSession implements Serializable {
                 // Only send if needed, if we're caching server variables we -have- to send, because we don't know what it was before we cached them.
                 //
                 if (onServer != null && onServer.length() > 0 && !"NULL".equalsIgnoreCase(onServer)) {
-                    sendCommand(this.commandBuilder.buildComQuery(null, "SET character_set_results = NULL"), false, 0);
+                    setSessionVariable("character_set_results = NULL");
                     this.protocol.getServerSession().getServerVariables().put(ServerSession.LOCAL_CHARACTER_SET_RESULTS, null);
                 } else {
                     this.protocol.getServerSession().getServerVariables().put(ServerSession.LOCAL_CHARACTER_SET_RESULTS, onServer);
@@ -566,7 +573,7 @@ public class NativeSession extends CoreSession implements Serializable {
                     StringBuilder setBuf = new StringBuilder("SET character_set_results = ".length() + mysqlEncodingName.length());
                     setBuf.append("SET character_set_results = ").append(mysqlEncodingName);
 
-                    sendCommand(this.commandBuilder.buildComQuery(null, setBuf.toString()), false, 0);
+                    sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, setBuf.toString()), false, 0);
 
                     this.protocol.getServerSession().getServerVariables().put(ServerSession.LOCAL_CHARACTER_SET_RESULTS, mysqlEncodingName);
 
@@ -705,7 +712,8 @@ public class NativeSession extends CoreSession implements Serializable {
 
                 if (cachedServerVersion != null && getServerSession().getServerVersion() != null
                         && cachedServerVersion.equals(getServerSession().getServerVersion().toString())) {
-                    this.protocol.getServerSession().setServerVariables(cachedVariableMap);
+                    // the snapshot is shared by all connections to this server, each one gets its own copy to modify
+                    this.protocol.getServerSession().setServerVariables(new HashMap<>(cachedVariableMap));
 
                     return;
                 }
@@ -760,8 +768,14 @@ public class NativeSession extends CoreSession implements Serializable {
                     queryBuf.append(", @@tx_isolation AS transaction_isolation");
                 }
                 queryBuf.append(", @@wait_timeout AS wait_timeout");
+                if (((NativeServerSession) getServerSession()).isSessionStateTracked()
+                        && (versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)))) {
+                    queryBuf.append(", @@session.session_track_schema AS session_track_schema");
+                    queryBuf.append(", @@session.session_track_system_variables AS session_track_system_variables");
+                    queryBuf.append(", @@session.transaction_read_only AS transaction_read_only");
+                }
 
-                NativePacketPayload resultPacket = sendCommand(this.commandBuilder.buildComQuery(null, queryBuf.toString()), false, 0);
+                NativePacketPayload resultPacket = sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, queryBuf.toString()), false, 0);
                 Resultset rs = ((NativeProtocol) this.protocol).readAllResults(-1, false, resultPacket, false, null,
                         new ResultsetFactory(Type.FORWARD_ONLY, null));
                 Field[] f = rs.getColumnDefinition().getFields();
@@ -776,7 +790,8 @@ public class NativeSession extends CoreSession implements Serializable {
                 }
 
             } else {
-                NativePacketPayload resultPacket = sendCommand(this.commandBuilder.buildComQuery(null, versionComment + "SHOW VARIABLES"), false, 0);
+                NativePacketPayload resultPacket = sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, versionComment + "SHOW VARIABLES"), false,
+                        0);
                 Resultset rs = ((NativeProtocol) this.protocol).readAllResults(-1, false, resultPacket, false, null,
                         new ResultsetFactory(Type.FORWARD_ONLY, null));
                 ValueFactory<String> vf = new StringValueFactory(this.propertySet);
@@ -791,11 +806,143 @@ public class NativeSession extends CoreSession implements Serializable {
 
         if (this.cacheServerConfiguration.getValue()) {
             this.protocol.getServerSession().getServerVariables().put(SERVER_VERSION_STRING_VAR_NAME, getServerSession().getServerVersion().toString());
-            this.serverConfigCache.put(this.hostInfo.getDatabaseUrl(), this.protocol.getServerSession().getServerVariables());
+            this.serverConfigCache.put(this.hostInfo.getDatabaseUrl(), new HashMap<>(this.protocol.getServerSession().getServerVariables()));
+        }
+    }
+
+    /**
+     * Starts recording the session variable assignments issued by {@link #setSessionVariable(String)}, so that they can be replayed after a session reset,
+     * and starts coalescing them if enabled by the property 'coalesceSessionSetup'. Queued assignments are sent to the server in a single 'SET'
+     * statement by {@link #endSessionSetup()}.
+     */
+    public void beginSessionSetup() {
+        this.sessionSetupAssignments = new ArrayList<>();
+        this.sessionSetupInProgress = true;
+        this.sessionSetupCoalesced = getPropertySet().getBooleanProperty(PropertyKey.coalesceSessionSetup).getValue();
+    }
+
+    /**
+     * Sends all session variable assignments queued since {@link #beginSessionSetup()} in a single round trip and stops recording them.
+     */
+    public void endSessionSetup() {
+        boolean sendQueued = this.sessionSetupCoalesced && !this.sessionSetupAssignments.isEmpty();
+        this.sessionSetupInProgress = false;
+        this.sessionSetupCoalesced = false;
+        if (sendQueued) {
+            sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, "SET " + String.join(", ", this.sessionSetupAssignments)), false, 0);
+        }
+        this.sessionSetupServerVariables = new HashMap<>(getServerSession().getServerVariables());
+    }
+
+    /**
+     * Sets a session variable on the server, or queues the assignment if the session setup is being coalesced.
+     * 
+     * @param assignment
+     *            variable assignment as accepted by the 'SET' statement, e.g. "sql_mode='STRICT_TRANS_TABLES'" or "NAMES utf8mb4"
+     */
+    public void setSessionVariable(String assignment) {
+        if (this.sessionSetupInProgress) {
+            this.sessionSetupAssignments.add(assignment);
+        }
+        if (!this.sessionSetupCoalesced) {
+            sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, "SET " + assignment), false, 0);
+        }
+    }
+
+    /**
+     * Resets the session state on the server with COM_RESET_CONNECTION and, in the same round trip, sets up the session again the way the last session
+     * setup did: the 'sessionVariables' are applied, followed by the assignments recorded since {@link #beginSessionSetup()} and 'autocommit=1'. The
+     * server variables are restored to the values they had right after that setup.
+     */
+    public void resetSessionState() {
+        List<String> assignments = getSessionVariablesAssignments();
+        assignments.addAll(this.sessionSetupAssignments);
+        if (!assignments.contains("autocommit=1")) {
+            assignments.add("autocommit=1");
+        }
+
+        ((NativeProtocol) this.protocol).resetSessionState(getProtocol().getMessageBuilder().buildComQuery(null, "SET " + String.join(", ", assignments)));
+
+        if (this.sessionSetupServerVariables != null) {
+            getServerSession().setServerVariables(new HashMap<>(this.sessionSetupServerVariables));
+        }
+        getServerSession().setAutoCommit(true);
+    }
+
+    /**
+     * Makes sure the server reports changes of the default schema and of the session variables the driver would otherwise have to query, if session
+     * state tracking was negotiated with the server.
+     */
+    public void configureSessionStateTracking() {
+        NativeServerSession serverSession = (NativeServerSession) getServerSession();
+        String trackedVariables = serverSession.getServerVariable("session_track_system_variables");
+        if (!serverSession.isSessionStateTracked() || trackedVariables == null) {
+            return;
+        }
+
+        // session_track_system_variables tracks itself so that a user changing it doesn't leave the driver with a stale view
+        StringBuilder variablesToTrack = new StringBuilder(trackedVariables);
+        for (String variable : new String[] { "session_track_system_variables", "transaction_isolation", "transaction_read_only" }) {
+            if (!serverSession.isSystemVariableTracked(variable)) {
+                variablesToTrack.append(variablesToTrack.length() > 0 ? "," : "").append(variable);
+            }
+        }
+        if (variablesToTrack.length() != trackedVariables.length()) {
+            setSessionVariable("session_track_system_variables = '" + variablesToTrack + "'");
+            serverSession.getServerVariables().put("session_track_system_variables", variablesToTrack.toString());
+        }
+
+        String trackSchema = serverSession.getServerVariable("session_track_schema");
+        if (!"ON".equalsIgnoreCase(trackSchema) && !"1".equals(trackSchema)) {
+            setSessionVariable("session_track_schema = ON");
+            serverSession.getServerVariables().put("session_track_schema", "ON");
         }
     }
 
+    /**
+     * Returns the session value of a system variable if the server reports its changes, so that it doesn't need to be queried.
+     * 
+     * @param variableName
+     *            system variable name
+     * @return the current session value, or null if changes of this variable are not reported
+     */
+    public String getTrackedServerVariable(String variableName) {
+        NativeServerSession serverSession = (NativeServerSession) getServerSession();
+        return serverSession.isSystemVariableTracked(variableName) ? serverSession.getServerVariable(variableName) : null;
+    }
+
+    /**
+     * Returns the default schema reported by the server since the last call, if session state tracking is enabled.
+     * 
+     * @return schema name, or null if no change was reported
+     */
+    public String takeChangedSchema() {
+        return ((NativeServerSession) getServerSession()).takeChangedSchema();
+    }
+
+    /**
+     * Is the session setup being coalesced into a single 'SET' statement?
+     * 
+     * @return true if {@link #setSessionVariable(String)} currently queues assignments
+     */
+    public boolean isSessionSetupCoalesced() {
+        return this.sessionSetupCoalesced;
+    }
+
     public void setSessionVariables() {
+        List<String> variablesToSet = getSessionVariablesAssignments();
+        if (!variablesToSet.isEmpty()) {
+            sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, "SET " + String.join(",", variablesToSet)), false, 0);
+        }
+    }
+
+    /**
+     * Parses the 'sessionVariables' property into assignments as accepted by the 'SET' statement.
+     * 
+     * @return list of assignments, empty if none
+     */
+    private List<String> getSessionVariablesAssignments() {
+        List<String> assignments = new ArrayList<>();
         String sessionVariables = getPropertySet().getStringProperty(PropertyKey.sessionVariables).getValue();
         if (sessionVariables != null) {
             List<String> variablesToSet = new ArrayList<>();
@@ -803,22 +950,13 @@ public class NativeSession extends CoreSession implements Serializable {
                 variablesToSet.addAll(StringUtils.split(part, ";", "\"'(", "\"')", "\"'", true));
             }
 
-            if (!variablesToSet.isEmpty()) {
-                StringBuilder query = new StringBuilder("SET ");
-                String separator = "";
-                for (String variableToSet : variablesToSet) {
-                    if (variableToSet.length() > 0) {
-                        query.append(separator);
-                        if (!variableToSet.startsWith("@")) {
-                            query.append("SESSION ");
-                        }
-                        query.append(variableToSet);
-                        separator = ",";
-                    }
+            for (String variableToSet : variablesToSet) {
+                if (variableToSet.length() > 0) {
+                    assignments.add(variableToSet.startsWith("@") ? variableToSet : "SESSION " + variableToSet);
                 }
-                sendCommand(this.commandBuilder.buildComQuery(null, query.toString()), false, 0);
             }
         }
+        return assignments;
     }
 
     /**
@@ -846,7 +984,7 @@ public class NativeSession extends CoreSession implements Serializable {
             ValueFactory<Integer> ivf = new IntegerValueFactory(getPropertySet());
 
             try {
-                NativePacketPayload resultPacket = sendCommand(this.commandBuilder.buildComQuery(null, "SHOW COLLATION"), false, 0);
+                NativePacketPayload resultPacket = sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, "SHOW COLLATION"), false, 0);
                 Resultset rs = ((NativeProtocol) this.protocol).readAllResults(-1, false, resultPacket, false, null,
                         new ResultsetFactory(Type.FORWARD_ONLY, null));
                 ValueFactory<String> svf = new StringValueFactory(this.propertySet);
@@ -872,7 +1010,7 @@ public class NativeSession extends CoreSession implements Serializable {
             // if there is a number of custom charsets we should execute SHOW CHARACTER SET to know theirs mblen
             if (customMblen.size() > 0) {
                 try {
-                    NativePacketPayload resultPacket = sendCommand(this.commandBuilder.buildComQuery(null, "SHOW CHARACTER SET"), false, 0);
+                    NativePacketPayload resultPacket = sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, "SHOW CHARACTER SET"), false, 0);
                     Resultset rs = ((NativeProtocol) this.protocol).readAllResults(-1, false, resultPacket, false, null,
                             new ResultsetFactory(Type.FORWARD_ONLY, null));
 
@@ -937,7 +1075,7 @@ public class NativeSession extends CoreSession implements Serializable {
                 this.log.logWarn(String.format(
                         "Connection id %d not found in \"SHOW PROCESSLIST\", assuming 32-bit overflow, using SELECT CONNECTION_ID() instead", threadId));
 
-                NativePacketPayload resultPacket = sendCommand(this.commandBuilder.buildComQuery(null, "SELECT CONNECTION_ID()"), false, 0);
+                NativePacketPayload resultPacket = sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, "SELECT CONNECTION_ID()"), false, 0);
                 Resultset rs = ((NativeProtocol) this.protocol).readAllResults(-1, false, resultPacket, false, null,
                         new ResultsetFactory(Type.FORWARD_ONLY, null));
 
@@ -969,11 +1107,11 @@ public class NativeSession extends CoreSession implements Serializable {
 
             NativePacketPayload resultPacket = versionMeetsMinimum(5, 6, 0) // performance_schema.threads in MySQL 5.5 does not contain PROCESSLIST_HOST column
                     && ps != null && ("1".contentEquals(ps) || "ON".contentEquals(ps))
-                            ? sendCommand(this.commandBuilder.buildComQuery(null,
+                            ? sendCommand(getProtocol().getMessageBuilder().buildComQuery(null,
                                     "select PROCESSLIST_ID, PROCESSLIST_USER, PROCESSLIST_HOST from performance_schema.threads where PROCESSLIST_ID="
                                             + threadId),
                                     false, 0)
-                            : sendCommand(this.commandBuilder.buildComQuery(null, "SHOW PROCESSLIST"), false, 0);
+                            : sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, "SHOW PROCESSLIST"), false, 0);
 
             Resultset rs = ((NativeProtocol) this.protocol).readAllResults(-1, false, resultPacket, false, null, new ResultsetFactory(Type.FORWARD_ONLY, null));
 
@@ -1005,7 +1143,7 @@ public class NativeSession extends CoreSession implements Serializable {
     public String queryServerVariable(String varName) {
         try {
 
-            NativePacketPayload resultPacket = sendCommand(this.commandBuilder.buildComQuery(null, "SELECT " + varName), false, 0);
+            NativePacketPayload resultPacket = sendCommand(getProtocol().getMessageBuilder().buildComQuery(null, "SELECT " + varName), false, 0);
             Resultset rs = ((NativeProtocol) this.protocol).readAllResults(-1, false, resultPacket, false, null, new ResultsetFactory(Type.FORWARD_ONLY, null));
 
             ValueFactory<String> svf = new StringValueFactory(this.propertySet);
@@ -1148,7 +1286,7 @@ public class NativeSession extends CoreSession implements Serializable {
             throw ExceptionFactory.createException(Messages.getString("Connection.exceededConnectionLifetime"),
                     MysqlErrorNumbers.SQL_STATE_COMMUNICATION_LINK_FAILURE, 0, false, null, this.exceptionInterceptor);
         }
-        sendCommand(this.commandBuilder.buildComPing(null), false, timeoutMillis); // it isn't safe to use a shared packet here 
+        sendCommand(getProtocol().getMessageBuilder().buildComPing(null), false, timeoutMillis); // it isn't safe to use a shared packet here 
     }
 
     public long getConnectionCreationTimeMillis() {
@@ -89,7 +89,10 @@ public class ServerPreparedQuery extends AbstractPreparedQuery<ServerPreparedQue
 
     protected boolean queryWasSlow = false;
 
-    protected NativeMessageBuilder commandBuilder = new NativeMessageBuilder(); // TODO use shared builder
+    protected NativeMessageBuilder commandBuilder = null;
+
+    /** COM_STMT_EXECUTE packet beginning of this statement, see {@link #getExecutePacketTemplate(ServerPreparedQueryBindValue[], boolean)} */
+    private byte[] executePacketTemplate = null;
 
     public static ServerPreparedQuery getInstance(NativeSession sess) {
         if (sess.getPropertySet().getBooleanProperty(PropertyKey.autoGenerateTestcaseScript).getValue()) {
@@ -100,6 +103,7 @@ public class ServerPreparedQuery extends AbstractPreparedQuery<ServerPreparedQue
 
     protected ServerPreparedQuery(NativeSession sess) {
         super(sess);
+        this.commandBuilder = sess.getProtocol().getMessageBuilder();
         this.profileSQL = sess.getPropertySet().getBooleanProperty(PropertyKey.profileSQL).getValue();
         this.gatherPerfMetrics = sess.getPropertySet().getBooleanProperty(PropertyKey.gatherPerfMetrics).getValue();
         this.logSlowQueries = sess.getPropertySet().getBooleanProperty(PropertyKey.logSlowQueries).getValue();
@@ -138,6 +142,7 @@ public class ServerPreparedQuery extends AbstractPreparedQuery<ServerPreparedQue
             prepareResultPacket.setPosition(1);
 
             this.serverStatementId = prepareResultPacket.readInteger(IntegerDataType.INT4);
+            this.executePacketTemplate = null;
             int fieldCount = (int) prepareResultPacket.readInteger(IntegerDataType.INT2);
             setParameterCount((int) prepareResultPacket.readInteger(IntegerDataType.INT2));
 
@@ -251,9 +256,17 @@ public class ServerPreparedQuery extends AbstractPreparedQuery<ServerPreparedQue
         // store the parameter values
         //
 
+        boolean sendTypes = this.queryBindings.getSendTypesToServer().get();
+        byte[] template = getExecutePacketTemplate(parameterBindings, sendTypes);
+        int typesPosition = template.length - 2 * this.parameterCount;
+
         NativePacketPayload packet = this.session.getSharedSendPacket();
-        packet.writeInteger(IntegerDataType.INT1, NativeConstants.COM_STMT_EXECUTE);
-        packet.writeInteger(IntegerDataType.INT4, this.serverStatementId);
+        int packetStart = packet.getPosition();
+
+        /* Parameter types are only sent when they changed since the previous execution */
+        packet.writeBytes(StringLengthDataType.STRING_FIXED, template, 0, sendTypes ? template.length : typesPosition);
+
+        byte[] packetBytes = packet.getByteBuffer();
 
         // we only create cursor-backed result sets if
         // a) The query is a SELECT
@@ -262,60 +275,66 @@ public class ServerPreparedQuery extends AbstractPreparedQuery<ServerPreparedQue
         // d) The user has set a fetch size
         if (this.resultFields != null && this.resultFields.getFields() != null && this.useCursorFetch && this.resultSetType == Type.FORWARD_ONLY
                 && this.fetchSize > 0) {
-            packet.writeInteger(IntegerDataType.INT1, OPEN_CURSOR_FLAG);
-        } else {
-            packet.writeInteger(IntegerDataType.INT1, 0); // placeholder for flags
+            packetBytes[packetStart + 5] = OPEN_CURSOR_FLAG;
         }
 
-        packet.writeInteger(IntegerDataType.INT4, 1); // placeholder for parameter iterations
-
-        /* Reserve place for null-marker bytes */
-        int nullCount = (this.parameterCount + 7) / 8;
-
-        int nullBitsPosition = packet.getPosition();
-
-        for (int i = 0; i < nullCount; i++) {
-            packet.writeInteger(IntegerDataType.INT1, 0);
+        if (!sendTypes) {
+            packetBytes[packetStart + typesPosition - 1] = 0; // new-params-bound flag
         }
 
-        byte[] nullBitsBuffer = new byte[nullCount];
-
-        /* In case if buffers (type) altered, indicate to server */
-        packet.writeInteger(IntegerDataType.INT1, this.queryBindings.getSendTypesToServer().get() ? (byte) 1 : (byte) 0);
-
-        if (this.queryBindings.getSendTypesToServer().get()) {
-            /*
-             * Store types of parameters in the first package that is sent to the server.
-             */
-            for (int i = 0; i < this.parameterCount; i++) {
-                packet.writeInteger(IntegerDataType.INT2, parameterBindings[i].bufferType);
+        /* Set the null-marker bits, the template has them all clear */
+        for (int i = 0; i < this.parameterCount; i++) {
+            if (!parameterBindings[i].isStream() && parameterBindings[i].isNull()) {
+                packetBytes[packetStart + 10 + i / 8] |= (1 << (i & 7));
             }
         }
 
-        //
-        // store the parameter values
-        //
         for (int i = 0; i < this.parameterCount; i++) {
-            if (!parameterBindings[i].isStream()) {
-                if (!parameterBindings[i].isNull()) {
-                    parameterBindings[i].storeBinding(packet, this.queryBindings.isLoadDataQuery(), this.charEncoding, this.session.getExceptionInterceptor());
-                } else {
-                    nullBitsBuffer[i / 8] |= (1 << (i & 7));
-                }
+            if (!parameterBindings[i].isStream() && !parameterBindings[i].isNull()) {
+                parameterBindings[i].storeBinding(packet, this.queryBindings.isLoadDataQuery(), this.charEncoding, this.session.getExceptionInterceptor());
             }
         }
 
-        //
-        // Go back and write the NULL flags to the beginning of the packet
-        //
-        int endPosition = packet.getPosition();
-        packet.setPosition(nullBitsPosition);
-        packet.writeBytes(StringLengthDataType.STRING_FIXED, nullBitsBuffer);
-        packet.setPosition(endPosition);
-
         return packet;
     }
 
+    /**
+     * Returns the beginning of the COM_STMT_EXECUTE packet of this statement, up to the parameter values: command, statement id, flags (none), iteration
+     * count, null-marker bytes (all clear), new-params-bound flag (set) and parameter types. It is built on the first execution and only the parameter types
+     * are refreshed afterwards, when they have to be sent again.
+     * 
+     * @param parameterBindings
+     *            bound values
+     * @param refreshTypes
+     *            store the current types of the bound values?
+     * @return packet template
+     */
+    private byte[] getExecutePacketTemplate(ServerPreparedQueryBindValue[] parameterBindings, boolean refreshTypes) {
+        int typesPosition = 11 + (this.parameterCount + 7) / 8;
+
+        if (this.executePacketTemplate == null) {
+            byte[] template = new byte[typesPosition + 2 * this.parameterCount];
+            template[0] = (byte) NativeConstants.COM_STMT_EXECUTE;
+            template[1] = (byte) this.serverStatementId;
+            template[2] = (byte) (this.serverStatementId >>> 8);
+            template[3] = (byte) (this.serverStatementId >>> 16);
+            template[4] = (byte) (this.serverStatementId >>> 24);
+            template[6] = 1; // parameter iterations
+            template[typesPosition - 1] = 1; // new-params-bound flag
+            this.executePacketTemplate = template;
+        }
+
+        if (refreshTypes) {
+            for (int i = 0; i < this.parameterCount; i++) {
+                int type = parameterBindings[i].bufferType;
+                this.executePacketTemplate[typesPosition + 2 * i] = (byte) type;
+                this.executePacketTemplate[typesPosition + 2 * i + 1] = (byte) (type >>> 8);
+            }
+        }
+
+        return this.executePacketTemplate;
+    }
+
     public NativePacketPayload sendExecutePacket(NativePacketPayload packet, String queryAsString) { // TODO queryAsString should be shared instead of passed
 
         final long begin = this.session.getCurrentTimeNanosOrMillis();
@@ -493,6 +512,7 @@ public class ServerPreparedQuery extends AbstractPreparedQuery<ServerPreparedQue
 
     public void setServerStatementId(long serverStatementId) {
         this.serverStatementId = serverStatementId;
+        this.executePacketTemplate = null;
     }
 
     public Field[] getParameterFields() {
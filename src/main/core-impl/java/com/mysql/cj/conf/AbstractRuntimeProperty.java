@@ -102,6 +102,18 @@ public abstract class AbstractRuntimeProperty<T> implements RuntimeProperty<T>,
         }
     }
 
+    /**
+     * Initializes this property with the state of another instance of the same property, e.g. the one from a shared template. Listeners are not copied.
+     * 
+     * @param prototype
+     *            property to copy the state from
+     */
+    void initializeFrom(AbstractRuntimeProperty<T> prototype) {
+        this.value = prototype.value;
+        this.initialValue = prototype.initialValue;
+        this.wasExplicitlySet = prototype.wasExplicitlySet;
+    }
+
     @Override
     public void resetValue() {
         this.value = this.initialValue;
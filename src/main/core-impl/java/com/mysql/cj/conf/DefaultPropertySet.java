@@ -31,25 +31,62 @@ package com.mysql.cj.conf;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.mysql.cj.Messages;
 import com.mysql.cj.conf.PropertyDefinitions.SslMode;
 import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.util.LRUCache;
 
 public class DefaultPropertySet implements PropertySet, Serializable {
 
     private static final long serialVersionUID = -5156024634430650528L;
 
-    private final Map<PropertyKey, RuntimeProperty<?>> PROPERTY_KEY_TO_RUNTIME_PROPERTY = new HashMap<>();
+    private static final int TEMPLATE_CACHE_SIZE = 100;
+
+    /**
+     * Fully initialized, never exposed property sets shared by all property sets initialized from the same properties. Neither the keys nor the templates
+     * hold passwords, see {@link #removeSecretProperties(Properties)}.
+     */
+    private static final LRUCache<Properties, DefaultPropertySet> templateCache = new LRUCache<>(TEMPLATE_CACHE_SIZE);
+
+    private static class DefaultsHolder {
+        static final DefaultPropertySet DEFAULTS = new DefaultPropertySet(null);
+    }
+
+    private final Map<PropertyKey, RuntimeProperty<?>> PROPERTY_KEY_TO_RUNTIME_PROPERTY = new ConcurrentHashMap<>();
     private final Map<String, RuntimeProperty<?>> PROPERTY_NAME_TO_RUNTIME_PROPERTY = new HashMap<>();
 
+    /**
+     * Immutable property set the values of properties not yet used are taken from. Properties are copied from it on first access, so that each
+     * property set only holds the properties it actually uses.
+     */
+    private DefaultPropertySet template;
+
+    /**
+     * Keys of the properties removed from this set which therefore must not be copied from the template again.
+     */
+    private final Set<PropertyKey> removedKeys = ConcurrentHashMap.newKeySet();
+
     public DefaultPropertySet() {
-        for (PropertyDefinition<?> pdef : PropertyDefinitions.PROPERTY_KEY_TO_PROPERTY_DEFINITION.values()) {
-            addProperty(pdef.createRuntimeProperty());
+        this(DefaultsHolder.DEFAULTS);
+    }
+
+    private DefaultPropertySet(DefaultPropertySet template) {
+        this.template = template;
+        if (template == null) {
+            for (PropertyDefinition<?> pdef : PropertyDefinitions.PROPERTY_KEY_TO_PROPERTY_DEFINITION.values()) {
+                addProperty(pdef.createRuntimeProperty());
+            }
         }
     }
 
@@ -58,6 +95,7 @@ public class DefaultPropertySet implements PropertySet, Serializable {
         PropertyDefinition<?> def = prop.getPropertyDefinition();
         if (def.getPropertyKey() != null) {
             this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.put(def.getPropertyKey(), prop);
+            this.removedKeys.remove(def.getPropertyKey());
         } else {
             this.PROPERTY_NAME_TO_RUNTIME_PROPERTY.put(def.getName(), prop);
             if (def.hasCcAlias()) {
@@ -70,7 +108,7 @@ public class DefaultPropertySet implements PropertySet, Serializable {
     public void removeProperty(String name) {
         PropertyKey key = PropertyKey.fromValue(name);
         if (key != null) {
-            this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.remove(key);
+            removeProperty(key);
         } else {
             RuntimeProperty<?> prop = this.PROPERTY_NAME_TO_RUNTIME_PROPERTY.remove(name);
             if (prop != null) {
@@ -85,6 +123,7 @@ public class DefaultPropertySet implements PropertySet, Serializable {
 
     @Override
     public void removeProperty(PropertyKey key) {
+        this.removedKeys.add(key);
         this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.remove(key);
     }
 
@@ -110,6 +149,12 @@ public class DefaultPropertySet implements PropertySet, Serializable {
     public <T> RuntimeProperty<T> getProperty(PropertyKey key) {
         try {
             RuntimeProperty<T> prop = (RuntimeProperty<T>) this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.get(key);
+            if (prop == null && this.template != null && !this.removedKeys.contains(key)) {
+                RuntimeProperty<?> prototype = this.template.PROPERTY_KEY_TO_RUNTIME_PROPERTY.get(key);
+                if (prototype != null) {
+                    prop = (RuntimeProperty<T>) this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.computeIfAbsent(key, k -> copyOf(prototype));
+                }
+            }
             // for some of PropertyKey values we don't have property definitions, thus they are cached as custom properties
             if (prop == null) {
                 prop = (RuntimeProperty<T>) this.PROPERTY_NAME_TO_RUNTIME_PROPERTY.get(key.getKeyName());
@@ -193,45 +238,128 @@ public class DefaultPropertySet implements PropertySet, Serializable {
             infoCopy.remove(PropertyKey.PASSWORD.getKeyName());
             infoCopy.remove(PropertyKey.DBNAME.getKeyName());
 
-            for (PropertyKey propKey : PropertyDefinitions.PROPERTY_KEY_TO_PROPERTY_DEFINITION.keySet()) {
-                try {
-                    RuntimeProperty<?> propToSet = getProperty(propKey);
-                    propToSet.initializeFrom(infoCopy, null);
-
-                } catch (CJException e) {
-                    throw ExceptionFactory.createException(WrongArgumentException.class, e.getMessage(), e);
+            if (this.template == DefaultsHolder.DEFAULTS && this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.isEmpty() && this.PROPERTY_NAME_TO_RUNTIME_PROPERTY.isEmpty()
+                    && this.removedKeys.isEmpty()) {
+                // nothing was changed in this property set yet, so the parsed values can be shared with the other sets initialized from the same properties
+                Properties secrets = removeSecretProperties(infoCopy);
+                this.template = getTemplate(infoCopy);
+                for (RuntimeProperty<?> prop : this.template.PROPERTY_NAME_TO_RUNTIME_PROPERTY.values()) {
+                    addProperty(copyOf(prop));
                 }
+                applySecretProperties(secrets);
+            } else {
+                applyProperties(infoCopy);
             }
+            postInitialization();
+        }
+    }
 
-            // Translate legacy SSL properties if sslMode isn't explicitly set. Default sslMode is PREFERRED.
-            RuntimeProperty<SslMode> sslMode = this.<SslMode> getEnumProperty(PropertyKey.sslMode);
-            if (!sslMode.isExplicitlySet()) {
-                RuntimeProperty<Boolean> useSSL = this.getBooleanProperty(PropertyKey.useSSL);
-                RuntimeProperty<Boolean> verifyServerCertificate = this.getBooleanProperty(PropertyKey.verifyServerCertificate);
-                RuntimeProperty<Boolean> requireSSL = this.getBooleanProperty(PropertyKey.requireSSL);
-                if (useSSL.isExplicitlySet() || verifyServerCertificate.isExplicitlySet() || requireSSL.isExplicitlySet()) {
-                    if (!useSSL.getValue()) {
-                        sslMode.setValue(SslMode.DISABLED);
-                    } else if (verifyServerCertificate.getValue()) {
-                        sslMode.setValue(SslMode.VERIFY_CA);
-                    } else if (requireSSL.getValue()) {
-                        sslMode.setValue(SslMode.REQUIRED);
-                    }
-                }
+    private static DefaultPropertySet getTemplate(Properties props) {
+        synchronized (templateCache) {
+            DefaultPropertySet template = templateCache.get(props);
+            if (template == null) {
+                template = new DefaultPropertySet(null);
+                template.applyProperties((Properties) props.clone());
+                templateCache.put(props, template);
+            }
+            return template;
+        }
+    }
+
+    /**
+     * Moves the password properties, such as key store passwords, out of the given properties, so that they are never kept in the static template cache.
+     * 
+     * @param infoCopy
+     *            properties to remove the passwords from
+     * @return the removed properties
+     */
+    private static Properties removeSecretProperties(Properties infoCopy) {
+        Properties secrets = new Properties();
+        for (String name : infoCopy.stringPropertyNames()) {
+            if (name.toLowerCase(Locale.ENGLISH).contains("password")) {
+                secrets.setProperty(name, (String) infoCopy.remove(name));
             }
+        }
+        return secrets;
+    }
 
-            // add user-defined properties
-            for (Object key : infoCopy.keySet()) {
-                String val = infoCopy.getProperty((String) key);
-                PropertyDefinition<String> def = new StringPropertyDefinition((String) key, null, val, PropertyDefinitions.RUNTIME_MODIFIABLE,
-                        Messages.getString("ConnectionProperties.unknown"), "8.0.10", PropertyDefinitions.CATEGORY_USER_DEFINED, Integer.MIN_VALUE);
-                RuntimeProperty<String> p = new StringProperty(def);
-                addProperty(p);
+    private void applySecretProperties(Properties secrets) {
+        for (String name : secrets.stringPropertyNames()) {
+            RuntimeProperty<?> propToSet = getProperty(name);
+            if (propToSet == null) {
+                addUserDefinedProperty(name, secrets.getProperty(name));
+                continue;
+            }
+            try {
+                propToSet.initializeFrom(secrets, null);
+            } catch (CJException e) {
+                throw ExceptionFactory.createException(WrongArgumentException.class, e.getMessage(), e);
             }
-            postInitialization();
         }
     }
 
+    private void applyProperties(Properties infoCopy) {
+        for (PropertyKey propKey : PropertyDefinitions.PROPERTY_KEY_TO_PROPERTY_DEFINITION.keySet()) {
+            try {
+                RuntimeProperty<?> propToSet = getProperty(propKey);
+                propToSet.initializeFrom(infoCopy, null);
+
+            } catch (CJException e) {
+                throw ExceptionFactory.createException(WrongArgumentException.class, e.getMessage(), e);
+            }
+        }
+
+        // Translate legacy SSL properties if sslMode isn't explicitly set. Default sslMode is PREFERRED.
+        RuntimeProperty<SslMode> sslMode = this.<SslMode> getEnumProperty(PropertyKey.sslMode);
+        if (!sslMode.isExplicitlySet()) {
+            RuntimeProperty<Boolean> useSSL = this.getBooleanProperty(PropertyKey.useSSL);
+            RuntimeProperty<Boolean> verifyServerCertificate = this.getBooleanProperty(PropertyKey.verifyServerCertificate);
+            RuntimeProperty<Boolean> requireSSL = this.getBooleanProperty(PropertyKey.requireSSL);
+            if (useSSL.isExplicitlySet() || verifyServerCertificate.isExplicitlySet() || requireSSL.isExplicitlySet()) {
+                if (!useSSL.getValue()) {
+                    sslMode.setValue(SslMode.DISABLED);
+                } else if (verifyServerCertificate.getValue()) {
+                    sslMode.setValue(SslMode.VERIFY_CA);
+                } else if (requireSSL.getValue()) {
+                    sslMode.setValue(SslMode.REQUIRED);
+                }
+            }
+        }
+
+        // add user-defined properties
+        for (Object key : infoCopy.keySet()) {
+            addUserDefinedProperty((String) key, infoCopy.getProperty((String) key));
+        }
+    }
+
+    private void addUserDefinedProperty(String name, String value) {
+        PropertyDefinition<String> def = new StringPropertyDefinition(name, null, value, PropertyDefinitions.RUNTIME_MODIFIABLE,
+                Messages.getString("ConnectionProperties.unknown"), "8.0.10", PropertyDefinitions.CATEGORY_USER_DEFINED, Integer.MIN_VALUE);
+        addProperty(new StringProperty(def));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> RuntimeProperty<T> copyOf(RuntimeProperty<T> prototype) {
+        RuntimeProperty<T> prop = prototype.getPropertyDefinition().createRuntimeProperty();
+        ((AbstractRuntimeProperty<T>) prop).initializeFrom((AbstractRuntimeProperty<T>) prototype);
+        return prop;
+    }
+
+    /**
+     * Returns the property without copying it from the template, for read-only access.
+     * 
+     * @param key
+     *            the property key
+     * @return the property or null if there is no such property in this set
+     */
+    private RuntimeProperty<?> peekProperty(PropertyKey key) {
+        RuntimeProperty<?> prop = this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.get(key);
+        if (prop == null && this.template != null && !this.removedKeys.contains(key)) {
+            prop = this.template.PROPERTY_KEY_TO_RUNTIME_PROPERTY.get(key);
+        }
+        return prop;
+    }
+
     @Override
     public void postInitialization() {
         // no-op
@@ -240,9 +368,13 @@ public class DefaultPropertySet implements PropertySet, Serializable {
     @Override
     public Properties exposeAsProperties() {
         Properties props = new Properties();
-        for (PropertyKey propKey : this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.keySet()) {
-            if (!props.containsKey(propKey.getKeyName())) {
-                RuntimeProperty<?> propToGet = getProperty(propKey);
+        Set<PropertyKey> propKeys = new HashSet<>(this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.keySet());
+        if (this.template != null) {
+            propKeys.addAll(this.template.PROPERTY_KEY_TO_RUNTIME_PROPERTY.keySet());
+        }
+        for (PropertyKey propKey : propKeys) {
+            RuntimeProperty<?> propToGet = peekProperty(propKey);
+            if (propToGet != null && !props.containsKey(propKey.getKeyName())) {
                 String propValue = propToGet.getStringValue();
                 if (propValue != null) {
                     props.setProperty(propToGet.getPropertyDefinition().getName(), propValue);
@@ -264,6 +396,15 @@ public class DefaultPropertySet implements PropertySet, Serializable {
 
     @Override
     public void reset() {
+        if (this.template != null) {
+            // properties still equal to their template don't need to be copied unless their value differs from the initial one
+            for (Entry<PropertyKey, RuntimeProperty<?>> e : this.template.PROPERTY_KEY_TO_RUNTIME_PROPERTY.entrySet()) {
+                RuntimeProperty<?> prototype = e.getValue();
+                if (!Objects.equals(prototype.getValue(), prototype.getInitialValue())) {
+                    getProperty(e.getKey());
+                }
+            }
+        }
         this.PROPERTY_KEY_TO_RUNTIME_PROPERTY.values().forEach(p -> p.resetValue());
         this.PROPERTY_NAME_TO_RUNTIME_PROPERTY.values().forEach(p -> p.resetValue());
         postInitialization();
@@ -60,6 +60,13 @@ public class MemorySizeProperty extends IntegerProperty {
         this.initialValueAsString = this.valueAsString;
     }
 
+    @Override
+    void initializeFrom(AbstractRuntimeProperty<Integer> prototype) {
+        super.initializeFrom(prototype);
+        this.valueAsString = ((MemorySizeProperty) prototype).valueAsString;
+        this.initialValueAsString = ((MemorySizeProperty) prototype).initialValueAsString;
+    }
+
     @Override
     public String getStringValue() {
         return this.valueAsString;
@@ -104,10 +104,15 @@ public class LoadBalanceDnsSrvConnectionUrl extends ConnectionUrl {
      */
     @Override
     protected void injectPerTypeProperties(Map<String, String> props) {
-        if (props.containsKey(PropertyKey.loadBalanceAutoCommitStatementThreshold.getKeyName())) {
+        if (props.containsKey(PropertyKey.loadBalanceAutoCommitStatementThreshold.getKeyName())
+                || props.containsKey(PropertyKey.loadBalanceAutoCommitTimeThreshold.getKeyName())
+                || props.containsKey(PropertyKey.loadBalanceAutoCommitOnTransactionEnd.getKeyName())) {
             try {
-                int autoCommitSwapThreshold = Integer.parseInt(props.get(PropertyKey.loadBalanceAutoCommitStatementThreshold.getKeyName()));
-                if (autoCommitSwapThreshold > 0) {
+                int autoCommitSwapThreshold = Integer.parseInt(props.getOrDefault(PropertyKey.loadBalanceAutoCommitStatementThreshold.getKeyName(), "0"));
+                long autoCommitSwapTimeThreshold = Long.parseLong(props.getOrDefault(PropertyKey.loadBalanceAutoCommitTimeThreshold.getKeyName(), "0"));
+                boolean autoCommitSwapOnTransactionEnd = BooleanPropertyDefinition.booleanFrom(PropertyKey.loadBalanceAutoCommitOnTransactionEnd.getKeyName(),
+                        props.getOrDefault(PropertyKey.loadBalanceAutoCommitOnTransactionEnd.getKeyName(), "false"), null);
+                if (autoCommitSwapThreshold > 0 || autoCommitSwapTimeThreshold > 0 || autoCommitSwapOnTransactionEnd) {
                     String queryInterceptors = props.get(PropertyKey.queryInterceptors.getKeyName());
                     String lbi = "com.mysql.cj.jdbc.ha.LoadBalancedAutoCommitInterceptor";
                     if (StringUtils.isNullOrEmpty(queryInterceptors)) {
@@ -29,18 +29,24 @@
 
 package com.mysql.cj.protocol;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.Socket;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.KeyFactory;
 import java.security.KeyManagementException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertPath;
 import java.security.cert.CertPathValidator;
@@ -59,7 +65,9 @@ import java.security.spec.X509EncodedKeySpec;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -95,6 +103,7 @@ import com.mysql.cj.exceptions.RSAException;
 import com.mysql.cj.exceptions.SSLParamsException;
 import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.util.Base64Decoder;
+import com.mysql.cj.util.LRUCache;
 import com.mysql.cj.util.StringUtils;
 import com.mysql.cj.util.Util;
 
@@ -112,6 +121,11 @@ public class ExportControlled {
     private static final List<String> ALLOWED_CIPHERS = new ArrayList<>();
     private static final List<String> RESTRICTED_CIPHER_SUBSTR = new ArrayList<>();
 
+    private static final int SSL_CONTEXT_CACHE_SIZE = 64;
+    private static final Map<ByteBuffer, CachedSSLContext> SSL_CONTEXT_CACHE = Collections.synchronizedMap(new LRUCache<>(SSL_CONTEXT_CACHE_SIZE));
+    /** Random salt of the {@link #SSL_CONTEXT_CACHE} keys, so that the digests of the key store passwords they hold can't be matched outside this JVM. */
+    private static final byte[] SSL_CONTEXT_CACHE_KEY_SALT = newSslContextCacheKeySalt();
+
     static {
         try {
             Properties tlsSettings = new Properties();
@@ -125,6 +139,12 @@ public class ExportControlled {
         }
     }
 
+    private static byte[] newSslContextCacheKeySalt() {
+        byte[] salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+
     private ExportControlled() { /* prevent instantiation */
     }
 
@@ -300,9 +320,11 @@ public class ExportControlled {
                 : getTrustStoreConf(pset, serverVersion == null && verifyServerCert && !fallbackToSystemTrustStore);
         KeyStoreConf keyStore = getKeyStoreConf(pset);
 
-        SSLSocketFactory socketFactory = getSSLContext(keyStore, trustStore, fallbackToSystemTrustStore, verifyServerCert,
-                sslMode == PropertyDefinitions.SslMode.VERIFY_IDENTITY ? socketConnection.getHost() : null, socketConnection.getExceptionInterceptor())
-                        .getSocketFactory();
+        String hostName = sslMode == PropertyDefinitions.SslMode.VERIFY_IDENTITY ? socketConnection.getHost() : null;
+        SSLContext sslContext = pset.getBooleanProperty(PropertyKey.cacheSslContext).getValue()
+                ? getCachedSSLContext(keyStore, trustStore, fallbackToSystemTrustStore, verifyServerCert, hostName, socketConnection.getExceptionInterceptor())
+                : getSSLContext(keyStore, trustStore, fallbackToSystemTrustStore, verifyServerCert, hostName, socketConnection.getExceptionInterceptor());
+        SSLSocketFactory socketFactory = sslContext.getSocketFactory();
 
         SSLSocket sslSocket = (SSLSocket) socketFactory.createSocket(rawSocket, socketConnection.getHost(), socketConnection.getPort(), true);
 
@@ -368,9 +390,13 @@ public class ExportControlled {
                 certSelect.setSerialNumber(chain[0].getSerialNumber());
 
                 try {
-                    CertPath certPath = this.certFactory.generateCertPath(Arrays.asList(chain));
-                    // Validate against the truststore.
-                    CertPathValidatorResult result = this.validator.validate(certPath, this.validatorParams);
+                    CertPathValidatorResult result;
+                    // Trust managers may be shared by concurrent handshakes through cached SSL contexts.
+                    synchronized (this) {
+                        CertPath certPath = this.certFactory.generateCertPath(Arrays.asList(chain));
+                        // Validate against the truststore.
+                        result = this.validator.validate(certPath, this.validatorParams);
+                    }
                     // Check expiration for the CA used to validate this path.
                     ((PKIXCertPathValidatorResult) result).getTrustAnchor().getTrustedCert().checkValidity();
                 } catch (InvalidAlgorithmParameterException e) {
@@ -629,6 +655,122 @@ public class ExportControlled {
         }
     }
 
+    /**
+     * Returns an {@link SSLContext} shared by all connections using the same key store, trust store and server certificate verification settings, creating
+     * it if needed. Sharing the context allows new connections to resume TLS sessions previously established with the same server.
+     * 
+     * Cached contexts are discarded when the key store or trust store files change. Stores loaded from URLs other than 'file:' URLs can't be checked for
+     * changes, so contexts using them are never cached.
+     * 
+     * @param clientCertificateKeyStore
+     *            clientCertificateKeyStore
+     * @param trustCertificateKeyStore
+     *            trustCertificateKeyStore
+     * @param fallbackToDefaultTrustStore
+     *            fallbackToDefaultTrustStore
+     * @param verifyServerCert
+     *            verifyServerCert
+     * @param hostName
+     *            host name
+     * @param exceptionInterceptor
+     *            exception interceptor
+     * @return SSLContext
+     * @throws SSLParamsException
+     *             if an error occurs
+     */
+    private static SSLContext getCachedSSLContext(KeyStoreConf clientCertificateKeyStore, KeyStoreConf trustCertificateKeyStore,
+            boolean fallbackToDefaultTrustStore, boolean verifyServerCert, String hostName, ExceptionInterceptor exceptionInterceptor)
+            throws SSLParamsException {
+        long[] clientCertificateKeyStoreState = getKeyStoreFileState(clientCertificateKeyStore.keyStoreUrl);
+        long[] trustCertificateKeyStoreState = getKeyStoreFileState(trustCertificateKeyStore.keyStoreUrl);
+        if (clientCertificateKeyStoreState == null || trustCertificateKeyStoreState == null) {
+            return getSSLContext(clientCertificateKeyStore, trustCertificateKeyStore, fallbackToDefaultTrustStore, verifyServerCert, hostName,
+                    exceptionInterceptor);
+        }
+
+        ByteBuffer key = getSSLContextCacheKey(clientCertificateKeyStore.keyStoreUrl, clientCertificateKeyStore.keyStoreType,
+                clientCertificateKeyStore.keyStorePassword, trustCertificateKeyStore.keyStoreUrl, trustCertificateKeyStore.keyStoreType,
+                trustCertificateKeyStore.keyStorePassword, fallbackToDefaultTrustStore, verifyServerCert, hostName);
+        if (key == null) {
+            return getSSLContext(clientCertificateKeyStore, trustCertificateKeyStore, fallbackToDefaultTrustStore, verifyServerCert, hostName,
+                    exceptionInterceptor);
+        }
+
+        CachedSSLContext cached = SSL_CONTEXT_CACHE.get(key);
+        if (cached != null && Arrays.equals(cached.clientCertificateKeyStoreState, clientCertificateKeyStoreState)
+                && Arrays.equals(cached.trustCertificateKeyStoreState, trustCertificateKeyStoreState)) {
+            return cached.sslContext;
+        }
+
+        SSLContext sslContext = getSSLContext(clientCertificateKeyStore, trustCertificateKeyStore, fallbackToDefaultTrustStore, verifyServerCert, hostName,
+                exceptionInterceptor);
+        SSL_CONTEXT_CACHE.put(key, new CachedSSLContext(sslContext, clientCertificateKeyStoreState, trustCertificateKeyStoreState));
+        return sslContext;
+    }
+
+    /**
+     * Returns a salted SHA-256 digest of the given settings, to be used as {@link #SSL_CONTEXT_CACHE} key instead of the settings themselves, which include
+     * key store passwords.
+     * 
+     * @param settings
+     *            the settings the {@link SSLContext} is created from
+     * @return the cache key or <code>null</code> if SHA-256 isn't available
+     */
+    private static ByteBuffer getSSLContextCacheKey(Object... settings) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(SSL_CONTEXT_CACHE_KEY_SALT);
+            for (Object setting : settings) {
+                if (setting == null) {
+                    md.update(ByteBuffer.allocate(4).putInt(-1).array());
+                } else {
+                    byte[] bytes = setting.toString().getBytes(StandardCharsets.UTF_8);
+                    md.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+                    md.update(bytes);
+                }
+            }
+            return ByteBuffer.wrap(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the state of the key store file in the given URL, as its last modification time and size.
+     * 
+     * @param keyStoreUrl
+     *            the key store URL.
+     * @return
+     *         the state of the key store file, an empty state if no key store is used or <code>null</code> if the state of the key store can't be checked.
+     */
+    private static long[] getKeyStoreFileState(String keyStoreUrl) {
+        if (StringUtils.isNullOrEmpty(keyStoreUrl)) {
+            return new long[0];
+        }
+        try {
+            URL url = new URL(keyStoreUrl);
+            if (!"file".equalsIgnoreCase(url.getProtocol())) {
+                return null;
+            }
+            File file = new File(url.toURI());
+            return new long[] { file.lastModified(), file.length() };
+        } catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static class CachedSSLContext {
+        final SSLContext sslContext;
+        final long[] clientCertificateKeyStoreState;
+        final long[] trustCertificateKeyStoreState;
+
+        CachedSSLContext(SSLContext sslContext, long[] clientCertificateKeyStoreState, long[] trustCertificateKeyStoreState) {
+            this.sslContext = sslContext;
+            this.clientCertificateKeyStoreState = clientCertificateKeyStoreState;
+            this.trustCertificateKeyStoreState = trustCertificateKeyStoreState;
+        }
+    }
+
     public static boolean isSSLEstablished(Socket socket) {
         return socket == null ? false : SSLSocket.class.isAssignableFrom(socket.getClass());
     }
@@ -42,6 +42,7 @@ import com.mysql.cj.protocol.MessageSender;
  */
 public class CompressedPacketSender implements MessageSender<NativePacketPayload> {
     private BufferedOutputStream outputStream;
+    private boolean deferFlush = false;
     private Deflater deflater = new Deflater();
     /** Buffer to compress data to. Used only across one send() invocation. */
     private byte compressedPacket[];
@@ -185,7 +186,9 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
             writeCompressedHeader(packetLen + NativeConstants.HEADER_LENGTH, this.compressedSequenceId, 0);
             writeUncompressedHeader(packetLen, packetSequence);
             this.outputStream.write(packet, 0, packetLen);
-            this.outputStream.flush();
+            if (!this.deferFlush) {
+                this.outputStream.flush();
+            }
             return;
         }
 
@@ -252,12 +255,22 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
             }
         }
 
-        this.outputStream.flush();
+        if (!this.deferFlush) {
+            this.outputStream.flush();
+        }
 
         // release reference to (possibly large) compressed packet buffer
         this.compressedPacket = null;
     }
 
+    @Override
+    public void setDeferFlush(boolean deferFlush) throws IOException {
+        this.deferFlush = deferFlush;
+        if (!deferFlush) {
+            this.outputStream.flush();
+        }
+    }
+
     @Override
     public MessageSender<NativePacketPayload> undecorateAll() {
         return this;
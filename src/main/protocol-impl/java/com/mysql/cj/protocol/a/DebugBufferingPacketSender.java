@@ -92,6 +92,11 @@ public class DebugBufferingPacketSender implements MessageSender<NativePacketPay
         this.packetSender.send(packet, packetLen, packetSequence);
     }
 
+    @Override
+    public void setDeferFlush(boolean deferFlush) throws IOException {
+        this.packetSender.setDeferFlush(deferFlush);
+    }
+
     @Override
     public MessageSender<NativePacketPayload> undecorateAll() {
         return this.packetSender.undecorateAll();
@@ -41,6 +41,7 @@ import com.mysql.cj.Messages;
 import com.mysql.cj.conf.PropertyDefinitions.SslMode;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.ExceptionInterceptor;
 import com.mysql.cj.exceptions.UnableToConnectException;
@@ -157,8 +158,9 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
                         ? (capabilityFlags & NativeServerSession.CLIENT_SSL)
                         : 0);
 
-        // TODO MYSQLCONNJ-437
-        // clientParam |= (capabilityFlags & NativeServerSession.CLIENT_SESSION_TRACK);
+        if (this.propertySet.getBooleanProperty(PropertyKey.trackSessionState).getValue()) {
+            clientParam |= (capabilityFlags & NativeServerSession.CLIENT_SESSION_TRACK);
+        }
 
         sessState.setClientParam(clientParam);
 
@@ -466,13 +468,22 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
             /*
              * read packet from server
              */
-            last_received = this.protocol.checkErrorMessage();
+            try {
+                last_received = this.protocol.checkErrorMessage();
+            } catch (CJException e) {
+                if (plugin instanceof Sha256PasswordPlugin) {
+                    ((Sha256PasswordPlugin) plugin).authenticationFailed();
+                }
+                throw e;
+            }
             old_raw_challenge = false;
 
             if (last_received.isOKPacket()) {
                 // read OK packet
-                OkPacket ok = OkPacket.parse(last_received, null);
-                serverSession.setStatusFlags(ok.getStatusFlags(), true);
+                NativeServerSession nativeServerSession = (NativeServerSession) serverSession;
+                OkPacket ok = OkPacket.parse(last_received, null, nativeServerSession.isSessionStateTracked());
+                nativeServerSession.setStatusFlags(ok.getStatusFlags(), true);
+                nativeServerSession.applySessionStateChanges(ok);
 
                 // if OK packet then finish handshake
                 plugin.destroy();
@@ -47,6 +47,10 @@ public class NativeConstants {
     public static final short TYPE_ID_LOCAL_INFILE = 0xFB;
     public static final short TYPE_ID_OK = 0;
 
+    /* Types of session state change information in OK packets. */
+    public static final int SESSION_TRACK_SYSTEM_VARIABLES = 0;
+    public static final int SESSION_TRACK_SCHEMA = 1;
+
     /* MySQL binary protocol value lengths. */
     public static final int BIN_LEN_INT1 = 1;
     public static final int BIN_LEN_INT2 = 2;
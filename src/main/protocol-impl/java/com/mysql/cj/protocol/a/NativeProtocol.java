@@ -29,7 +29,6 @@
 
 package com.mysql.cj.protocol.a;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -45,12 +44,15 @@ import java.net.Socket;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.DataTruncation;
 import java.sql.SQLWarning;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -137,6 +139,11 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     protected static final int COMP_HEADER_LENGTH = 3;
     protected static final int MAX_QUERY_SIZE_TO_EXPLAIN = 1024 * 1024; // don't explain queries above 1MB
     protected static final int SSL_REQUEST_LENGTH = 32;
+    /**
+     * Maximum number of bytes of pipelined commands written before reading their results. The server stops reading commands while it can't write results,
+     * so the commands written without reading must fit in the socket buffers or both sides would wait for each other.
+     */
+    private static final int MAX_PIPELINED_BYTES = 16 * 1024;
     private static final String EXPLAINABLE_STATEMENT = "SELECT";
     private static final String[] EXPLAINABLE_STATEMENT_EXTENSION = new String[] { "INSERT", "UPDATE", "REPLACE", "DELETE" };
 
@@ -179,6 +186,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
     private int commandCount = 0;
 
+    /** Number of pipelined commands whose results are still to be read, after the one being read. */
+    private int pipelinedResultsPending = 0;
+
     protected boolean hadWarnings = false;
     private int warningCount = 0;
 
@@ -195,6 +205,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     private List<QueryInterceptor> queryInterceptors;
 
     private RuntimeProperty<Boolean> maintainTimeStats;
+
+    /** Release the reusable packets after each command instead of keeping them for the lifetime of the connection. */
+    private RuntimeProperty<Boolean> minimizeMemoryFootprint;
     private RuntimeProperty<Integer> maxQuerySizeToLog;
 
     private InputStream localInfileInputStream;
@@ -212,7 +225,12 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
      */
     private static String jvmPlatformCharset = null;
 
-    private NativeMessageBuilder commandBuilder = new NativeMessageBuilder(); // TODO use shared builder
+    /** Stateless, shared by all statements and result sets of this connection. */
+    private NativeMessageBuilder commandBuilder = new NativeMessageBuilder();
+
+    /** Ids of the server-side prepared statements to deallocate with the next command, see {@link #closeStatement(long)}. */
+    private long[] pendingStatementCloses = new long[16];
+    private int pendingStatementCloseCount = 0;
 
     static {
         OutputStreamWriter outWriter = null;
@@ -244,7 +262,6 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
     public NativeProtocol(Log logger) {
         this.log = logger;
-        this.metricsHolder = new BaseMetricsHolder();
     }
 
     @Override
@@ -259,9 +276,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         this.profileSQL = this.propertySet.getBooleanProperty(PropertyKey.profileSQL).getValue();
         this.autoGenerateTestcaseScript = this.propertySet.getBooleanProperty(PropertyKey.autoGenerateTestcaseScript).getValue();
         this.useServerPrepStmts = this.propertySet.getBooleanProperty(PropertyKey.useServerPrepStmts);
-
-        this.reusablePacket = new NativePacketPayload(INITIAL_PACKET_SIZE);
-        //this.sendPacket = new Buffer(INITIAL_PACKET_SIZE);
+        this.minimizeMemoryFootprint = this.propertySet.getBooleanProperty(PropertyKey.minimizeMemoryFootprint);
 
         try {
             this.packetSender = new SimplePacketSender(this.socketConnection.getMysqlOutput());
@@ -294,8 +309,8 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     }
 
     @Override
-    public MessageBuilder<NativePacketPayload> getMessageBuilder() {
-        throw ExceptionFactory.createException(CJOperationNotSupportedException.class, "Not supported");
+    public NativeMessageBuilder getMessageBuilder() {
+        return this.commandBuilder;
     }
 
     public MessageSender<NativePacketPayload> getPacketSender() {
@@ -626,8 +641,21 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
             try {
                 clearInputStream();
-                this.packetSequence = -1;
-                send(queryPacket, queryPacket.getPosition());
+
+                boolean sendStatementCloses = this.pendingStatementCloseCount > 0;
+                try {
+                    if (sendStatementCloses) {
+                        // no response to wait for, so they go out in the same write as this command
+                        this.packetSender.setDeferFlush(true);
+                        sendPendingStatementCloses();
+                    }
+                    this.packetSequence = -1;
+                    send(queryPacket, queryPacket.getPosition());
+                } finally {
+                    if (sendStatementCloses) {
+                        this.packetSender.setDeferFlush(false);
+                    }
+                }
 
             } catch (CJException ex) {
                 // don't wrap CJExceptions
@@ -672,6 +700,47 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
     }
 
+    /**
+     * Deallocates a server-side prepared statement. COM_STMT_CLOSE has no response, so it isn't sent on its own but queued and written together with the
+     * next command. It is sent right away when query interceptors are configured, as they expect to see every command.
+     * 
+     * @param serverStatementId
+     *            id of the statement to deallocate
+     */
+    public void closeStatement(long serverStatementId) {
+        if (this.queryInterceptors != null) {
+            sendCommand(this.commandBuilder.buildComStmtClose(null, serverStatementId), true, 0);
+            return;
+        }
+
+        if (this.pendingStatementCloseCount == this.pendingStatementCloses.length) {
+            this.pendingStatementCloses = Arrays.copyOf(this.pendingStatementCloses, this.pendingStatementCloseCount * 2);
+        }
+        this.pendingStatementCloses[this.pendingStatementCloseCount++] = serverStatementId;
+    }
+
+    /**
+     * Returns the number of server-side prepared statements closed with {@link #closeStatement(long)} that are still waiting for the next command to be
+     * deallocated on the server.
+     * 
+     * @return number of pending COM_STMT_CLOSE commands
+     */
+    public int getPendingStatementCloseCount() {
+        return this.pendingStatementCloseCount;
+    }
+
+    private void sendPendingStatementCloses() {
+        NativePacketPayload packet = new NativePacketPayload(5);
+        for (int i = 0; i < this.pendingStatementCloseCount; i++) {
+            packet.setPosition(0);
+            this.commandBuilder.buildComStmtClose(packet, this.pendingStatementCloses[i]);
+            this.commandCount++;
+            this.packetSequence = -1;
+            send(packet, packet.getPosition());
+        }
+        this.pendingStatementCloseCount = 0;
+    }
+
     public void checkTransactionState() {
         int transState = this.serverSession.getTransactionState();
         if (transState == ServerSession.TRANSACTION_COMPLETED) {
@@ -705,7 +774,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         try {
             // Check return value, if we get a java.io.EOFException, the server has gone away. We'll pass it on up the exception chain and let someone higher up
             // decide what to do (barf, reconnect, etc).
-            resultPacket = readMessage(this.reusablePacket);
+            resultPacket = readMessage(getReusablePacket());
         } catch (CJException ex) {
             // Don't wrap CJExceptions
             throw ex;
@@ -795,12 +864,19 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     }
 
     private void reclaimLargeSharedSendPacket() {
-        if ((this.sharedSendPacket != null) && (this.sharedSendPacket.getCapacity() > 1048576)) {
+        if (this.minimizeMemoryFootprint.getValue()) {
+            this.sharedSendPacket = null;
+        } else if ((this.sharedSendPacket != null) && (this.sharedSendPacket.getCapacity() > 1048576)) {
             this.sharedSendPacket = new NativePacketPayload(INITIAL_PACKET_SIZE);
         }
     }
 
     public void clearInputStream() {
+        if (this.pipelinedResultsPending > 0) {
+            // what is available belongs to the next pipelined commands
+            return;
+        }
+
         try {
             int len;
 
@@ -816,10 +892,12 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     }
 
     /**
-     * Don't hold on to overly-large packets
+     * Don't hold on to overly-large packets, nor to any packet if minimizing memory footprint.
      */
     public void reclaimLargeReusablePacket() {
-        if ((this.reusablePacket != null) && (this.reusablePacket.getCapacity() > 1048576)) {
+        if (this.minimizeMemoryFootprint.getValue()) {
+            this.reusablePacket = null;
+        } else if ((this.reusablePacket != null) && (this.reusablePacket.getCapacity() > 1048576)) {
             this.reusablePacket = new NativePacketPayload(INITIAL_PACKET_SIZE);
         }
     }
@@ -951,7 +1029,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
                 callingQuery.setExecuteTime(queryDuration);
             }
 
-            boolean queryWasSlow = this.logSlowQueries && (this.useAutoSlowLog ? this.metricsHolder.checkAbonormallyLongQuery(queryDuration)
+            boolean queryWasSlow = this.logSlowQueries && (this.useAutoSlowLog ? getMetricsHolder().checkAbonormallyLongQuery(queryDuration)
                     : queryDuration > this.propertySet.getIntegerProperty(PropertyKey.slowQueryThresholdMillis).getValue());
 
             long fetchBeginTime = this.profileSQL ? getCurrentTimeNanosOrMillis() : 0L;
@@ -1276,6 +1354,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
      * 
      */
     public void changeUser(String user, String password, String database) {
+        this.pendingStatementCloseCount = 0; // COM_CHANGE_USER deallocates all the prepared statements
         this.packetSequence = -1;
         this.packetSender = this.packetSender.undecorateAll();
         this.packetReader = this.packetReader.undecorateAll();
@@ -1283,6 +1362,153 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         this.authProvider.changeUser(this.serverSession, user, password, database);
     }
 
+    /**
+     * Resets the session state on the server with COM_RESET_CONNECTION, without re-authenticating. The setup query, if any, is sent right after the reset
+     * command without waiting for its result, so that the session is reset and set up again in a single round trip.
+     * 
+     * @param setupQuery
+     *            COM_QUERY packet to execute after the reset, or null
+     */
+    public void resetSessionState(NativePacketPayload setupQuery) {
+        if (this.queryInterceptors != null || setupQuery == null) {
+            // interceptors expect to see each command with its own result
+            sendCommand(this.commandBuilder.buildComResetConnection(null), false, 0);
+            if (setupQuery != null) {
+                sendCommand(setupQuery, false, 0);
+            }
+            return;
+        }
+
+        sendCommand(this.commandBuilder.buildComResetConnection(null), true, 0);
+        this.commandCount++;
+        this.packetSequence = -1;
+        send(setupQuery, setupQuery.getPosition());
+
+        CJException resetException = null;
+        try {
+            this.pipelinedResultsPending = 1;
+            this.packetReader.resetMessageSequence();
+            checkErrorMessage(NativeConstants.COM_RESET_CONNECTION);
+        } catch (CJCommunicationsException ex) {
+            throw ex;
+        } catch (CJException ex) {
+            resetException = ex; // the setup query result still has to be read
+        } finally {
+            this.pipelinedResultsPending = 0;
+        }
+
+        try {
+            this.packetReader.resetMessageSequence();
+            checkErrorMessage(NativeConstants.COM_QUERY);
+        } catch (CJException ex) {
+            throw resetException != null ? resetException : ex;
+        }
+
+        if (resetException != null) {
+            throw resetException;
+        }
+    }
+
+    /**
+     * Sends the commands at the head of the given list in one write, without waiting for the result of a command before sending the next one. Only as many
+     * commands as fit in {@link #MAX_PIPELINED_BYTES}, and at least one, are sent; their results must be read, in the same order, with
+     * {@link #readPipelinedResult(NativePacketPayload, boolean, ColumnDefinition, ProtocolEntityFactory)} before sending the next ones. When query
+     * interceptors are configured, the commands are instead sent one by one as their results are read, because interceptors expect to see each command with
+     * its own result.
+     * 
+     * @param commands
+     *            command packets, each one filled up to its position
+     * @return the number of commands whose results are to be read before calling this method again
+     */
+    public int sendPipelined(List<NativePacketPayload> commands) {
+        if (this.queryInterceptors != null || commands.isEmpty()) {
+            return commands.size();
+        }
+
+        int count = 0;
+        long bytes = 0;
+        for (NativePacketPayload command : commands) {
+            if (count > 0 && bytes + command.getPosition() > MAX_PIPELINED_BYTES) {
+                break;
+            }
+            // fail before anything is sent, so that no result is left unread
+            if (this.maxAllowedPacket.getValue() > 0 && command.getPosition() > this.maxAllowedPacket.getValue()) {
+                throw new CJPacketTooBigException(command.getPosition(), this.maxAllowedPacket.getValue());
+            }
+            bytes += command.getPosition();
+            count++;
+        }
+
+        checkForOutstandingStreamingData();
+        clearInputStream();
+
+        try {
+            this.packetSender.setDeferFlush(true);
+            try {
+                sendPendingStatementCloses();
+                for (NativePacketPayload command : commands.subList(0, count)) {
+                    this.commandCount++;
+                    this.packetSequence = -1;
+                    send(command, command.getPosition());
+                }
+            } finally {
+                this.packetSender.setDeferFlush(false);
+            }
+        } catch (IOException ioEx) {
+            throw ExceptionFactory.createCommunicationsException(this.propertySet, this.serverSession, this.getPacketSentTimeHolder(),
+                    this.getPacketReceivedTimeHolder(), ioEx, getExceptionInterceptor());
+        }
+
+        this.pipelinedResultsPending = count;
+        return count;
+    }
+
+    /**
+     * Reads the result of the next command sent with {@link #sendPipelined(List)}. An error result is thrown as usual but doesn't affect reading the
+     * results of the following commands; a communications failure does, as the connection can't be used any more.
+     * 
+     * @param <T>
+     *            extends {@link Resultset}
+     * @param command
+     *            the command packet the result is read for
+     * @param isBinaryEncoded
+     *            true for the result of COM_STMT_EXECUTE
+     * @param metadata
+     *            use this metadata instead of the one provided on wire
+     * @param resultSetFactory
+     *            {@link ProtocolEntityFactory}
+     * @return T instance
+     */
+    public <T extends Resultset> T readPipelinedResult(NativePacketPayload command, boolean isBinaryEncoded, ColumnDefinition metadata,
+            ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory) {
+        try {
+            NativePacketPayload resultPacket;
+            if (this.pipelinedResultsPending == 0) {
+                // not sent ahead, see sendPipelined()
+                resultPacket = sendCommand(command, false, 0);
+            } else {
+                this.pipelinedResultsPending--;
+                this.serverSession.setStatusFlags(0, true);
+                this.hadWarnings = false;
+                this.setWarningCount(0);
+                this.packetReader.resetMessageSequence();
+                resultPacket = checkErrorMessage();
+            }
+            return readAllResults(-1, false, resultPacket, isBinaryEncoded, metadata, resultSetFactory);
+
+        } catch (CJCommunicationsException e) {
+            this.pipelinedResultsPending = 0;
+            throw e;
+        } catch (CJException e) {
+            this.serverSession.preserveOldTransactionState();
+            throw e;
+        } catch (IOException ioEx) {
+            this.pipelinedResultsPending = 0;
+            throw ExceptionFactory.createCommunicationsException(this.propertySet, this.serverSession, this.getPacketSentTimeHolder(),
+                    this.getPacketReceivedTimeHolder(), ioEx, getExceptionInterceptor());
+        }
+    }
+
     /**
      * Determines if the database charset is the same as the platform charset
      */
@@ -1359,6 +1585,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     }
 
     public NativePacketPayload getReusablePacket() {
+        if (this.reusablePacket == null) {
+            this.reusablePacket = new NativePacketPayload(INITIAL_PACKET_SIZE);
+        }
         return this.reusablePacket;
     }
 
@@ -1684,10 +1913,11 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             checkTransactionState();
         } else {
             // read OK packet
-            OkPacket ok = OkPacket.parse(rowPacket, this.serverSession.getErrorMessageEncoding());
+            OkPacket ok = OkPacket.parse(rowPacket, this.serverSession.getErrorMessageEncoding(), this.serverSession.isSessionStateTracked());
             result = (T) ok;
 
             this.serverSession.setStatusFlags(ok.getStatusFlags(), saveOldStatus);
+            this.serverSession.applySessionStateChanges(ok);
             checkTransactionState();
 
             this.warningCount = ok.getWarningCount();
@@ -1723,12 +1953,12 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
         int bigPacketLength = Math.min(this.maxAllowedPacket.getValue() - (NativeConstants.HEADER_LENGTH * 3),
                 alignPacketSize(this.maxAllowedPacket.getValue() - 16, 4096) - (NativeConstants.HEADER_LENGTH * 3));
-        int oneMeg = 1024 * 1024;
-        int smallerPacketSizeAligned = Math.min(oneMeg - (NativeConstants.HEADER_LENGTH * 3),
-                alignPacketSize(oneMeg - 16, 4096) - (NativeConstants.HEADER_LENGTH * 3));
+        int chunkSize = this.propertySet.getMemorySizeProperty(PropertyKey.localInfileChunkSize).getValue();
+        int smallerPacketSizeAligned = Math.min(chunkSize - (NativeConstants.HEADER_LENGTH * 3),
+                alignPacketSize(chunkSize - 16, 4096) - (NativeConstants.HEADER_LENGTH * 3));
         int packetLength = Math.min(smallerPacketSizeAligned, bigPacketLength);
 
-        if (filePacket == null) {
+        if (filePacket == null || filePacket.getByteBuffer().length < packetLength) {
             try {
                 filePacket = new NativePacketPayload(packetLength);
                 this.loadFileBufRef = new SoftReference<>(filePacket);
@@ -1740,16 +1970,22 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
         filePacket.setPosition(0);
 
-        byte[] fileBuf = new byte[packetLength];
-        BufferedInputStream fileIn = null;
+        // The file is read straight into the packet; it's filled up before being sent, even if the source returns less than asked for.
+        ByteBuffer chunk = ByteBuffer.wrap(filePacket.getByteBuffer(), 0, packetLength);
+        ReadableByteChannel fileIn = null;
         try {
-            fileIn = getFileStream(fileName);
-
-            int bytesRead = 0;
-            while ((bytesRead = fileIn.read(fileBuf)) != -1) {
-                filePacket.setPosition(0);
-                filePacket.writeBytes(StringLengthDataType.STRING_FIXED, fileBuf, 0, bytesRead);
-                send(filePacket, filePacket.getPosition());
+            fileIn = getFileChannel(fileName);
+
+            boolean isEof = false;
+            while (!isEof) {
+                chunk.clear();
+                chunk.limit(packetLength);
+                while (chunk.hasRemaining() && !isEof) {
+                    isEof = fileIn.read(chunk) == -1;
+                }
+                if (chunk.position() > 0) {
+                    send(filePacket, chunk.position());
+                }
             }
         } catch (IOException ioEx) {
             boolean isParanoid = this.propertySet.getBooleanProperty(PropertyKey.paranoid).getValue();
@@ -1791,7 +2027,17 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         return checkErrorMessage();
     }
 
-    private BufferedInputStream getFileStream(String fileName) throws IOException {
+    /**
+     * Opens the source of a "LOAD DATA LOCAL INFILE" statement. Local files are read through their {@link java.nio.channels.FileChannel}, other sources
+     * through a channel adapting their input stream.
+     * 
+     * @param fileName
+     *            the file name requested by the server
+     * @return {@link ReadableByteChannel}
+     * @throws IOException
+     *             if the file can't be opened
+     */
+    private ReadableByteChannel getFileChannel(String fileName) throws IOException {
         RuntimeProperty<Boolean> allowLoadLocalInfile = this.propertySet.getBooleanProperty(PropertyKey.allowLoadLocalInfile);
         RuntimeProperty<String> allowLoadLocaInfileInPath = this.propertySet.getStringProperty(PropertyKey.allowLoadLocalInfileInPath);
         RuntimeProperty<Boolean> allowUrlInLocalInfile = this.propertySet.getBooleanProperty(PropertyKey.allowUrlInLocalInfile);
@@ -1804,19 +2050,19 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             // "LOAD DATA LOCAL INFILE" is enabled without restrictions.
             InputStream hookedStream = getLocalInfileInputStream();
             if (hookedStream != null) {
-                return new BufferedInputStream(hookedStream);
+                return newChannel(hookedStream);
             } else if (allowUrlInLocalInfile.getValue()) {
                 // Look for ':'.
                 if (fileName.indexOf(':') != -1) {
                     try {
                         URL urlFromFileName = new URL(fileName);
-                        return new BufferedInputStream(urlFromFileName.openStream());
+                        return newChannel(urlFromFileName.openStream());
                     } catch (MalformedURLException e) {
                         // Ignore and fall back to trying this as a file input stream.
                     }
                 }
             }
-            return new BufferedInputStream(new FileInputStream(fileName));
+            return new FileInputStream(fileName).getChannel();
         }
 
         // Given the code paths above, allowLoadLocaInfileInPath.isExplicitlySet() must be true and restrictions to "LOAD DATA LOCAL INFILE" apply.
@@ -1872,7 +2118,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
                     throw ExceptionFactory.createException(Messages.getString("MysqlIO.61", new Object[] { filePath, safePath }), this.exceptionInterceptor);
                 }
 
-                return new BufferedInputStream(urlFromFileName.openStream());
+                return newChannel(urlFromFileName.openStream());
             } catch (MalformedURLException | URISyntaxException e) {
                 // Fall back to trying this as a file input stream.
             }
@@ -1882,7 +2128,41 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         if (!filePath.startsWith(safePath)) {
             throw ExceptionFactory.createException(Messages.getString("MysqlIO.61", new Object[] { filePath, safePath }), this.exceptionInterceptor);
         }
-        return new BufferedInputStream(new FileInputStream(filePath.toFile()));
+        return new FileInputStream(filePath.toFile()).getChannel();
+    }
+
+    /**
+     * Adapts an input stream to a channel reading straight into the array backing the destination buffer, unlike
+     * {@link java.nio.channels.Channels#newChannel(InputStream)}, which copies through an intermediate array.
+     * 
+     * @param in
+     *            {@link InputStream}
+     * @return {@link ReadableByteChannel}, only supporting heap buffers
+     */
+    private static ReadableByteChannel newChannel(InputStream in) {
+        return new ReadableByteChannel() {
+            private boolean isOpen = true;
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                int bytesRead = in.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+                if (bytesRead > 0) {
+                    dst.position(dst.position() + bytesRead);
+                }
+                return bytesRead;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return this.isOpen;
+            }
+
+            @Override
+            public void close() throws IOException {
+                this.isOpen = false;
+                in.close();
+            }
+        };
     }
 
     private int alignPacketSize(int a, int l) {
@@ -1946,6 +2226,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     }
 
     public BaseMetricsHolder getMetricsHolder() {
+        if (this.metricsHolder == null) {
+            this.metricsHolder = new BaseMetricsHolder();
+        }
         return this.metricsHolder;
     }
 
@@ -43,6 +43,7 @@ import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.protocol.ServerCapabilities;
 import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.a.result.OkPacket;
 import com.mysql.cj.util.StringUtils;
 
 public class NativeServerSession implements ServerSession {
@@ -55,6 +56,7 @@ public class NativeServerSession implements ServerSession {
     public static final int SERVER_STATUS_CURSOR_EXISTS = 64;
     public static final int SERVER_STATUS_LAST_ROW_SENT = 128; // The server status for 'last-row-sent'
     public static final int SERVER_QUERY_WAS_SLOW = 2048;
+    public static final int SERVER_SESSION_STATE_CHANGED = 0x4000;
 
     public static final int CLIENT_LONG_PASSWORD = 0x00000001; /* new more secure passwords */
     public static final int CLIENT_FOUND_ROWS = 0x00000002;
@@ -88,6 +90,9 @@ public class NativeServerSession implements ServerSession {
     /** The map of server variables that we retrieve at connection init. */
     private Map<String, String> serverVariables = new HashMap<>();
 
+    /** Default schema reported by a session state change and not yet taken by the connection. */
+    private String changedSchema = null;
+
     public Map<Integer, String> indexToCustomMysqlCharset = null;
 
     public Map<String, Integer> mysqlCharsetToCustomMblen = null;
@@ -280,6 +285,62 @@ public class NativeServerSession implements ServerSession {
         this.serverVariables = serverVariables;
     }
 
+    /**
+     * Was CLIENT_SESSION_TRACK negotiated, i.e. does the server report session state changes in OK packets?
+     * 
+     * @return true if session state changes are reported
+     */
+    public boolean isSessionStateTracked() {
+        return (this.clientParam & CLIENT_SESSION_TRACK) != 0;
+    }
+
+    /**
+     * Are changes of the given system variable reported by the server? If so, the server variables map always holds its current session value.
+     * 
+     * @param variableName
+     *            system variable name
+     * @return true if changes of this variable are reported
+     */
+    public boolean isSystemVariableTracked(String variableName) {
+        String trackedVariables;
+        if (!isSessionStateTracked() || (trackedVariables = getServerVariable("session_track_system_variables")) == null) {
+            return false;
+        }
+        for (String trackedVariable : trackedVariables.split(",")) {
+            trackedVariable = trackedVariable.trim();
+            if (trackedVariable.equals("*") || trackedVariable.equalsIgnoreCase(variableName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the session state changes carried by an OK packet.
+     * 
+     * @param ok
+     *            {@link OkPacket}
+     */
+    public void applySessionStateChanges(OkPacket ok) {
+        if (ok.getChangedSystemVariables() != null) {
+            this.serverVariables.putAll(ok.getChangedSystemVariables());
+        }
+        if (ok.getChangedSchema() != null) {
+            this.changedSchema = ok.getChangedSchema();
+        }
+    }
+
+    /**
+     * Returns the default schema reported by the last session state change and forgets it.
+     * 
+     * @return schema name, or null if no change was reported since the last call
+     */
+    public String takeChangedSchema() {
+        String schema = this.changedSchema;
+        this.changedSchema = null;
+        return schema;
+    }
+
     public boolean characterSetNamesMatches(String mysqlEncodingName) {
         // set names is equivalent to character_set_client ..._results and ..._connection, but we set _results later, so don't check it here.
         return (mysqlEncodingName != null && mysqlEncodingName.equalsIgnoreCase(getServerVariable("character_set_client"))
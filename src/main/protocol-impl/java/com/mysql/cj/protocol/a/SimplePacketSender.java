@@ -40,6 +40,7 @@ import com.mysql.cj.protocol.MessageSender;
  */
 public class SimplePacketSender implements MessageSender<NativePacketPayload> {
     private BufferedOutputStream outputStream;
+    private boolean deferFlush = false;
 
     public SimplePacketSender(BufferedOutputStream outputStream) {
         this.outputStream = outputStream;
@@ -52,7 +53,17 @@ public class SimplePacketSender implements MessageSender<NativePacketPayload> {
             this.outputStream.write(packetSequence++);
             this.outputStream.write(packet, packetSplitter.getOffset(), packetSplitter.getPacketLen());
         }
-        this.outputStream.flush();
+        if (!this.deferFlush) {
+            this.outputStream.flush();
+        }
+    }
+
+    @Override
+    public void setDeferFlush(boolean deferFlush) throws IOException {
+        this.deferFlush = deferFlush;
+        if (!deferFlush) {
+            this.outputStream.flush();
+        }
     }
 
     @Override
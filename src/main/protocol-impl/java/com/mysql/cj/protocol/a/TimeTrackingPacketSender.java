@@ -62,6 +62,11 @@ public class TimeTrackingPacketSender implements MessageSender<NativePacketPaylo
         return this.previousPacketSentTime;
     }
 
+    @Override
+    public void setDeferFlush(boolean deferFlush) throws IOException {
+        this.packetSender.setDeferFlush(deferFlush);
+    }
+
     @Override
     public MessageSender<NativePacketPayload> undecorateAll() {
         return this.packetSender.undecorateAll();
@@ -89,6 +89,11 @@ public class TracingPacketSender implements MessageSender<NativePacketPayload> {
         this.packetSender.send(packet, packetLen, packetSequence);
     }
 
+    @Override
+    public void setDeferFlush(boolean deferFlush) throws IOException {
+        this.packetSender.setDeferFlush(deferFlush);
+    }
+
     @Override
     public MessageSender<NativePacketPayload> undecorateAll() {
         return this.packetSender.undecorateAll();
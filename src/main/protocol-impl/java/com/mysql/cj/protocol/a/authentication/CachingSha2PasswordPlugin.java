@@ -137,9 +137,14 @@ public class CachingSha2PasswordPlugin extends Sha256PasswordPlugin {
 
                         // read key response
                         this.publicKeyString = fromServer.readString(StringSelfDataType.STRING_TERM, null);
+                        cacheRetrievedPublicKey();
                         NativePacketPayload bresp = new NativePacketPayload(encryptPassword());
                         toServer.add(bresp);
                         this.publicKeyRequested = false;
+                    } else if (useCachedPublicKey()) {
+                        // encrypt with the key previously retrieved from this server, saving the Public Key Retrieval round-trip
+                        NativePacketPayload bresp = new NativePacketPayload(encryptPassword());
+                        toServer.add(bresp);
                     } else {
                         // build and send Public Key Retrieval packet
                         NativePacketPayload bresp = new NativePacketPayload(new byte[] { 2 }); // was 1 in sha256_password
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol.a.authentication;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Driver-wide cache of the RSA public keys used by the sha256_password and caching_sha2_password authentication plugins to encrypt passwords over
+ * insecure connections. Keys retrieved from servers are kept per authentication plugin and server host for a limited time, so that new connections don't
+ * need to request them again.
+ */
+class RSAPublicKeyCache {
+    private static final Map<String, CachedKey> RETRIEVED_KEYS = new ConcurrentHashMap<>();
+    private static final Map<String, CachedKey> FILE_KEYS = new ConcurrentHashMap<>();
+
+    private static class CachedKey {
+        final String key;
+        final long stamp; // Expiration time for keys retrieved from servers, last modification time of the file for keys read from files.
+
+        CachedKey(String key, long stamp) {
+            this.key = key;
+            this.stamp = stamp;
+        }
+    }
+
+    private RSAPublicKeyCache() {
+    }
+
+    /**
+     * Returns the public key previously retrieved from the given server for the given authentication plugin, if it hasn't expired yet.
+     * 
+     * @param pluginName
+     *            the authentication plugin name.
+     * @param hostPortPair
+     *            the server host and port.
+     * @return the public key, or <code>null</code> if none is cached.
+     */
+    static String getRetrievedKey(String pluginName, String hostPortPair) {
+        String cacheKey = pluginName + "@" + hostPortPair;
+        CachedKey cached = RETRIEVED_KEYS.get(cacheKey);
+        if (cached == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= cached.stamp) {
+            RETRIEVED_KEYS.remove(cacheKey, cached);
+            return null;
+        }
+        return cached.key;
+    }
+
+    /**
+     * Stores a public key retrieved from the given server for the given authentication plugin.
+     * 
+     * @param pluginName
+     *            the authentication plugin name.
+     * @param hostPortPair
+     *            the server host and port.
+     * @param key
+     *            the public key.
+     * @param ttl
+     *            the number of seconds the key is kept. Keys are not cached if this is lower or equal to 0.
+     */
+    static void putRetrievedKey(String pluginName, String hostPortPair, String key, int ttl) {
+        if (ttl > 0 && key != null) {
+            RETRIEVED_KEYS.put(pluginName + "@" + hostPortPair, new CachedKey(key, System.currentTimeMillis() + ttl * 1000L));
+        }
+    }
+
+    /**
+     * Discards the public key retrieved from the given server for the given authentication plugin, e.g., because authenticating with it failed.
+     * 
+     * @param pluginName
+     *            the authentication plugin name.
+     * @param hostPortPair
+     *            the server host and port.
+     */
+    static void removeRetrievedKey(String pluginName, String hostPortPair) {
+        RETRIEVED_KEYS.remove(pluginName + "@" + hostPortPair);
+    }
+
+    /**
+     * Returns the public key read from the given file, if the file hasn't been modified since.
+     * 
+     * @param canonicalPath
+     *            the canonical path of the public key file.
+     * @param lastModified
+     *            the current last modification time of the file.
+     * @return the public key, or <code>null</code> if none is cached.
+     */
+    static String getFileKey(String canonicalPath, long lastModified) {
+        CachedKey cached = FILE_KEYS.get(canonicalPath);
+        return cached != null && cached.stamp == lastModified ? cached.key : null;
+    }
+
+    /**
+     * Stores the public key read from the given file.
+     * 
+     * @param canonicalPath
+     *            the canonical path of the public key file.
+     * @param lastModified
+     *            the last modification time of the file when it was read.
+     * @param key
+     *            the public key.
+     */
+    static void putFileKey(String canonicalPath, long lastModified, String key) {
+        FILE_KEYS.put(canonicalPath, new CachedKey(key, lastModified));
+    }
+}
@@ -63,6 +63,7 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin<NativePacketPa
     protected boolean publicKeyRequested = false;
     protected String publicKeyString = null;
     protected RuntimeProperty<String> serverRSAPublicKeyFile = null;
+    protected boolean cachedPublicKeyUsed = false;
 
     @Override
     public void init(Protocol<NativePacketPayload> prot) {
@@ -79,6 +80,7 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin<NativePacketPa
         this.password = null;
         this.seed = null;
         this.publicKeyRequested = false;
+        this.cachedPublicKeyUsed = false;
     }
 
     public String getProtocolPluginName() {
@@ -135,15 +137,22 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin<NativePacketPa
 
                         // read key response
                         this.publicKeyString = fromServer.readString(StringSelfDataType.STRING_TERM, null);
+                        cacheRetrievedPublicKey();
                         NativePacketPayload bresp = new NativePacketPayload(encryptPassword());
                         toServer.add(bresp);
                         this.publicKeyRequested = false;
                     } else {
-                        // build and send Public Key Retrieval packet
                         this.seed = fromServer.readString(StringSelfDataType.STRING_TERM, null);
-                        NativePacketPayload bresp = new NativePacketPayload(new byte[] { 1 });
-                        toServer.add(bresp);
-                        this.publicKeyRequested = true;
+                        if (useCachedPublicKey()) {
+                            // encrypt with the key previously retrieved from this server
+                            NativePacketPayload bresp = new NativePacketPayload(encryptPassword());
+                            toServer.add(bresp);
+                        } else {
+                            // build and send Public Key Retrieval packet
+                            NativePacketPayload bresp = new NativePacketPayload(new byte[] { 1 });
+                            toServer.add(bresp);
+                            this.publicKeyRequested = true;
+                        }
                     }
                 }
             } catch (CJException e) {
@@ -157,6 +166,44 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin<NativePacketPa
         return encryptPassword("RSA/ECB/OAEPWithSHA-1AndMGF1Padding");
     }
 
+    /**
+     * Sets up the public key previously retrieved from the current server, if there is one cached.
+     * 
+     * @return true if a cached public key is going to be used
+     */
+    protected boolean useCachedPublicKey() {
+        String cachedKey = RSAPublicKeyCache.getRetrievedKey(getProtocolPluginName(), getServerHostPortPair());
+        if (cachedKey == null) {
+            return false;
+        }
+        this.publicKeyString = cachedKey;
+        this.cachedPublicKeyUsed = true;
+        return true;
+    }
+
+    /**
+     * Caches the public key just retrieved from the current server, to be used by new connections to the same server.
+     */
+    protected void cacheRetrievedPublicKey() {
+        RSAPublicKeyCache.putRetrievedKey(getProtocolPluginName(), getServerHostPortPair(), this.publicKeyString,
+                this.protocol.getPropertySet().getIntegerProperty(PropertyKey.serverRSAPublicKeyCacheTtl).getValue());
+    }
+
+    /**
+     * Notifies this plugin that the server rejected the authentication. If the password was encrypted with a cached public key, the key may be outdated, so
+     * it is discarded and new connections retrieve it again.
+     */
+    public void authenticationFailed() {
+        if (this.cachedPublicKeyUsed) {
+            RSAPublicKeyCache.removeRetrievedKey(getProtocolPluginName(), getServerHostPortPair());
+            this.cachedPublicKeyUsed = false;
+        }
+    }
+
+    private String getServerHostPortPair() {
+        return this.protocol.getSocketConnection().getHost() + ":" + this.protocol.getSocketConnection().getPort();
+    }
+
     protected byte[] encryptPassword(String transformation) {
         byte[] input = null;
         input = this.password != null ? StringUtils.getBytesNullTerminated(this.password, this.protocol.getPasswordCharacterEncoding()) : new byte[] { 0 };
@@ -174,6 +221,11 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin<NativePacketPa
         try {
             File f = new File(pkPath);
             String canonicalPath = f.getCanonicalPath();
+            long lastModified = f.lastModified();
+            res = RSAPublicKeyCache.getFileKey(canonicalPath, lastModified);
+            if (res != null) {
+                return res;
+            }
             fileIn = new BufferedInputStream(new FileInputStream(canonicalPath));
 
             int bytesRead = 0;
@@ -183,6 +235,9 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin<NativePacketPa
                 sb.append(StringUtils.toAsciiString(fileBuf, 0, bytesRead));
             }
             res = sb.toString();
+            if (lastModified != 0) {
+                RSAPublicKeyCache.putFileKey(canonicalPath, lastModified, res);
+            }
 
         } catch (IOException ioEx) {
 
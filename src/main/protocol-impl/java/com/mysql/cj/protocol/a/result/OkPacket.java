@@ -29,10 +29,15 @@
 
 package com.mysql.cj.protocol.a.result;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.mysql.cj.protocol.ProtocolEntity;
+import com.mysql.cj.protocol.a.NativeConstants;
 import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
 import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeServerSession;
 
 public class OkPacket implements ProtocolEntity {
 
@@ -41,11 +46,28 @@ public class OkPacket implements ProtocolEntity {
     private int statusFlags = 0;
     private int warningCount = 0;
     private String info = null;
+    private Map<String, String> changedSystemVariables = null;
+    private String changedSchema = null;
 
     public OkPacket() {
     }
 
     public static OkPacket parse(NativePacketPayload buf, String errorMessageEncoding) {
+        return parse(buf, errorMessageEncoding, false);
+    }
+
+    /**
+     * Parses an OK packet.
+     * 
+     * @param buf
+     *            packet payload
+     * @param errorMessageEncoding
+     *            encoding of the info and session state change strings
+     * @param sessionStateTracked
+     *            was CLIENT_SESSION_TRACK negotiated? If so, the info is length-encoded and may be followed by session state change information
+     * @return {@link OkPacket}
+     */
+    public static OkPacket parse(NativePacketPayload buf, String errorMessageEncoding, boolean sessionStateTracked) {
         OkPacket ok = new OkPacket();
 
         buf.setPosition(1); // skips the 'last packet' flag (packet signature)
@@ -55,10 +77,40 @@ public class OkPacket implements ProtocolEntity {
         ok.setUpdateID(buf.readInteger(IntegerDataType.INT_LENENC)); // last_insert_id
         ok.setStatusFlags((int) buf.readInteger(IntegerDataType.INT2));
         ok.setWarningCount((int) buf.readInteger(IntegerDataType.INT2));
-        ok.setInfo(buf.readString(StringSelfDataType.STRING_TERM, errorMessageEncoding)); // info
+        if (!sessionStateTracked) {
+            ok.setInfo(buf.readString(StringSelfDataType.STRING_TERM, errorMessageEncoding)); // info
+        } else if (buf.getPosition() < buf.getPayloadLength()) {
+            ok.setInfo(buf.readString(StringSelfDataType.STRING_LENENC, errorMessageEncoding)); // info
+            if ((ok.getStatusFlags() & NativeServerSession.SERVER_SESSION_STATE_CHANGED) != 0) {
+                ok.parseSessionStateChanges(buf, errorMessageEncoding);
+            }
+        }
         return ok;
     }
 
+    private void parseSessionStateChanges(NativePacketPayload buf, String encoding) {
+        int end = (int) buf.readInteger(IntegerDataType.INT_LENENC) + buf.getPosition();
+        while (buf.getPosition() < end) {
+            int type = (int) buf.readInteger(IntegerDataType.INT1);
+            int dataEnd = (int) buf.readInteger(IntegerDataType.INT_LENENC) + buf.getPosition();
+            switch (type) {
+                case NativeConstants.SESSION_TRACK_SYSTEM_VARIABLES:
+                    if (this.changedSystemVariables == null) {
+                        this.changedSystemVariables = new LinkedHashMap<>();
+                    }
+                    String name = buf.readString(StringSelfDataType.STRING_LENENC, encoding);
+                    this.changedSystemVariables.put(name, buf.readString(StringSelfDataType.STRING_LENENC, encoding));
+                    break;
+                case NativeConstants.SESSION_TRACK_SCHEMA:
+                    this.changedSchema = buf.readString(StringSelfDataType.STRING_LENENC, encoding);
+                    break;
+                default:
+                    // GTIDs, transaction state and characteristics are not tracked by the driver
+            }
+            buf.setPosition(dataEnd);
+        }
+    }
+
     public long getUpdateCount() {
         return this.updateCount;
     }
@@ -98,4 +150,22 @@ public class OkPacket implements ProtocolEntity {
     public void setWarningCount(int warningCount) {
         this.warningCount = warningCount;
     }
+
+    /**
+     * Returns the system variables whose session values were reported as changed by this packet.
+     * 
+     * @return variable names mapped to their new values, or null if no change was reported
+     */
+    public Map<String, String> getChangedSystemVariables() {
+        return this.changedSystemVariables;
+    }
+
+    /**
+     * Returns the default schema reported as changed by this packet.
+     * 
+     * @return the new schema name, or null if no change was reported
+     */
+    public String getChangedSchema() {
+        return this.changedSchema;
+    }
 }
@@ -76,7 +76,7 @@ public class ResultsetRowsCursor extends AbstractResultsetRows implements Result
      */
     private boolean firstFetchCompleted = false;
 
-    protected NativeMessageBuilder commandBuilder = new NativeMessageBuilder(); // TODO use shared builder
+    protected NativeMessageBuilder commandBuilder = null;
 
     /**
      * Creates a new cursor-backed row provider.
@@ -90,6 +90,7 @@ public class ResultsetRowsCursor extends AbstractResultsetRows implements Result
         this.currentPositionInEntireResult = BEFORE_START_OF_ROWS;
         this.metadata = columnDefinition;
         this.protocol = ioChannel;
+        this.commandBuilder = this.protocol.getMessageBuilder();
         this.rowFactory = new BinaryRowFactory(this.protocol, this.metadata, Concurrency.READ_ONLY, false);
     }
 
@@ -77,7 +77,7 @@ public class ResultsetRowsStreaming<T extends ProtocolEntity> extends AbstractRe
 
     private ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory;
 
-    private NativeMessageBuilder commandBuilder = new NativeMessageBuilder(); // TODO use shared builder
+    private NativeMessageBuilder commandBuilder = null;
 
     /**
      * Creates a new RowDataDynamic object.
@@ -94,6 +94,7 @@ public class ResultsetRowsStreaming<T extends ProtocolEntity> extends AbstractRe
     public ResultsetRowsStreaming(NativeProtocol io, ColumnDefinition columnDefinition, boolean isBinaryEncoded,
             ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory) {
         this.protocol = io;
+        this.commandBuilder = this.protocol.getMessageBuilder();
         this.isBinaryEncoded = isBinaryEncoded;
         this.metadata = columnDefinition;
         this.exceptionInterceptor = this.protocol.getExceptionInterceptor();
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * Loads rows into a table through "LOAD DATA LOCAL INFILE", encoding typed values on the fly into the data stream sent to the server instead of
+ * executing INSERT statements. Requires "allowLoadLocalInfile=true" on the client and "local_infile" enabled on the server.
+ * 
+ * Values are rendered in the text format read by "LOAD DATA" and sent in "utf8mb4", so that they are converted to the character sets of the target
+ * columns by the server. Supported value types are <code>null</code>, {@link CharSequence}, {@link Number}, {@link Boolean}, <code>byte[]</code>,
+ * {@link java.sql.Blob}, {@link java.sql.Clob}, the <code>java.sql</code> date and time types and {@link java.time.LocalDate},
+ * {@link java.time.LocalTime} and {@link java.time.LocalDateTime}.
+ * 
+ * Rows are streamed to the server while they are produced, in packets sized to "max_allowed_packet". A failure to produce or encode a row ends the
+ * stream and is thrown once the server has answered; the rows sent before it are loaded, as with any "LOAD DATA" statement, unless the load is rolled
+ * back by the application.
+ */
+public interface BulkLoader extends AutoCloseable {
+
+    /**
+     * Adds a row to be loaded. Rows are buffered and sent in one "LOAD DATA" statement by {@link #flush()}, which is called automatically when the
+     * buffer reaches "max_allowed_packet".
+     * 
+     * @param values
+     *            the column values, one per column given when creating this loader
+     * @throws SQLException
+     *             if this loader is closed, the number of values doesn't match the columns, a value type isn't supported or flushing fails
+     */
+    void addRow(Object... values) throws SQLException;
+
+    /**
+     * Sends the rows buffered by {@link #addRow(Object...)}.
+     * 
+     * @return the number of rows loaded by the server
+     * @throws SQLException
+     *             if this loader is closed or the load fails
+     */
+    long flush() throws SQLException;
+
+    /**
+     * Flushes the buffered rows and then loads all rows returned by the given iterator in one "LOAD DATA" statement, pulling them as the data stream is
+     * written.
+     * 
+     * @param rows
+     *            the rows, with one value per column given when creating this loader
+     * @return the number of rows loaded by the server
+     * @throws SQLException
+     *             if this loader is closed, a row can't be encoded or the load fails
+     */
+    long load(Iterator<Object[]> rows) throws SQLException;
+
+    /**
+     * Flushes the buffered rows and then loads all remaining rows of the given result set in one "LOAD DATA" statement, pulling them as the data
+     * stream is written. The result set must not be a streaming result set of the connection this loader belongs to.
+     * 
+     * @param resultSet
+     *            the rows, with one column per column given when creating this loader
+     * @return the number of rows loaded by the server
+     * @throws SQLException
+     *             if this loader is closed, a row can't be read or encoded or the load fails
+     */
+    long load(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Returns the total number of rows loaded by the server so far.
+     * 
+     * @return number of rows
+     */
+    long getLoadedRowCount();
+
+    /**
+     * Flushes the buffered rows and closes this loader.
+     * 
+     * @throws SQLException
+     *             if the load fails
+     */
+    @Override
+    void close() throws SQLException;
+}
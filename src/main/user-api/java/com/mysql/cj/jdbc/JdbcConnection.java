@@ -184,6 +184,15 @@ public interface JdbcConnection extends java.sql.Connection, MysqlConnection, Tr
      */
     int getActiveStatementCount();
 
+    /**
+     * Returns the number of server-side prepared statements that have been
+     * .close()d but not yet deallocated on the server, as their COM_STMT_CLOSE
+     * is sent together with the next command on this connection.
+     * 
+     * @return the number of pending statement closes
+     */
+    int getPendingStatementCloseCount();
+
     /**
      * Reports how long this connection has been idle.
      * This time (reported in milliseconds) is updated once a query has
@@ -272,6 +281,39 @@ public interface JdbcConnection extends java.sql.Connection, MysqlConnection, Tr
      */
     void resetServerState() throws SQLException;
 
+    /**
+     * Resets the server-side state of this connection with COM_RESET_CONNECTION, which doesn't re-authenticate, and sets the session up again in the same
+     * round trip. Server prepared statements are closed, as the server deallocates them. Falls back to {@link #resetServerState()} on servers older than
+     * MySQL 5.7.3. Usually only used from connection pooling code.
+     * 
+     * @throws SQLException
+     *             if the operation fails while resetting session state.
+     */
+    void resetSessionState() throws SQLException;
+
+    /**
+     * Creates a pipeline, which sends several statements to the server in one write and reads their results afterwards, instead of making a round trip
+     * per statement.
+     * 
+     * @return a new {@link Pipeline}
+     * @throws SQLException
+     *             if the connection is closed
+     */
+    Pipeline pipeline() throws SQLException;
+
+    /**
+     * Creates a bulk loader, which loads rows into a table through "LOAD DATA LOCAL INFILE", encoding them into the data stream as it is sent.
+     * 
+     * @param table
+     *            the table name, as it would appear in SQL
+     * @param columns
+     *            the column names, as they would appear in SQL; all columns of the table, in order, if none
+     * @return a new {@link BulkLoader}
+     * @throws SQLException
+     *             if the connection is closed or "allowLoadLocalInfile" isn't enabled
+     */
+    BulkLoader bulkLoader(String table, String... columns) throws SQLException;
+
     /**
      * Prepares a statement on the server (irregardless of the
      * configuration property 'useServerPrepStmts') with the same semantics
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Queues statements to be sent to the server together, without waiting for the result of one statement before sending the next one, so that a chain of
+ * independent statements costs a single network round trip. Large pipelines are sent in several bursts, the results of each burst being read before the
+ * next one is sent, so that neither the driver nor the server block writing while the other one is also writing.
+ * 
+ * Statements are executed by the server in the order they are queued, each one on its own: an error in one statement completes its future exceptionally
+ * but doesn't prevent the following ones from being executed. Futures are completed in order, after all results of a {@link #sync()} are read, so that
+ * dependent actions may use the connection again. A communications failure completes all remaining futures exceptionally and is also thrown by
+ * {@link #sync()}.
+ * 
+ * Results are always fully read, as with the default settings of a forward-only statement. Prepared statements are queued with their current
+ * parameter values, which may be changed right after queuing; parameters set from streams aren't supported.
+ */
+public interface Pipeline extends AutoCloseable {
+
+    /**
+     * Queues a query returning a result set.
+     * 
+     * @param sql
+     *            the query
+     * @return future of the result set; completed exceptionally if the statement doesn't return one
+     * @throws SQLException
+     *             if this pipeline is closed
+     */
+    CompletableFuture<ResultSet> executeQuery(String sql) throws SQLException;
+
+    /**
+     * Queues a DML or DDL statement.
+     * 
+     * @param sql
+     *            the statement
+     * @return future of the update count; completed exceptionally if the statement returns a result set
+     * @throws SQLException
+     *             if this pipeline is closed
+     */
+    CompletableFuture<Long> executeUpdate(String sql) throws SQLException;
+
+    /**
+     * Queues an execution of a prepared query with its current parameter values.
+     * 
+     * @param preparedStatement
+     *            a prepared statement of the connection this pipeline belongs to
+     * @return future of the result set; completed exceptionally if the statement doesn't return one
+     * @throws SQLException
+     *             if this pipeline or the statement are closed, the statement belongs to another connection or some parameters aren't set
+     */
+    CompletableFuture<ResultSet> executeQuery(PreparedStatement preparedStatement) throws SQLException;
+
+    /**
+     * Queues an execution of a prepared DML or DDL statement with its current parameter values.
+     * 
+     * @param preparedStatement
+     *            a prepared statement of the connection this pipeline belongs to
+     * @return future of the update count; completed exceptionally if the statement returns a result set
+     * @throws SQLException
+     *             if this pipeline or the statement are closed, the statement belongs to another connection or some parameters aren't set
+     */
+    CompletableFuture<Long> executeUpdate(PreparedStatement preparedStatement) throws SQLException;
+
+    /**
+     * Sends all queued statements in one write, reads their results and completes their futures.
+     * 
+     * @throws SQLException
+     *             if this pipeline is closed or a communications failure occurs
+     */
+    void sync() throws SQLException;
+
+    /**
+     * Syncs the statements still queued and closes this pipeline. Result sets already returned stay open.
+     * 
+     * @throws SQLException
+     *             if a communications failure occurs
+     */
+    @Override
+    void close() throws SQLException;
+}
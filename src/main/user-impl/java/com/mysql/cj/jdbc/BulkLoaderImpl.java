@@ -0,0 +1,502 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Iterator;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.util.TimeUtil;
+
+/**
+ * {@link BulkLoader} implementation feeding the rows to the driver's "LOAD DATA LOCAL INFILE" support as a hooked input stream, which encodes them as
+ * the protocol reads it.
+ */
+public class BulkLoaderImpl implements BulkLoader {
+
+    /** Name of the file requested by the statement; the data is taken from the hooked stream instead. */
+    private static final String FILE_NAME = "bulk-loader";
+
+    private JdbcConnection connection;
+    private ExceptionInterceptor exceptionInterceptor;
+    private JdbcStatement statement;
+    private String sql;
+    private int columnCount;
+    private int flushThreshold;
+
+    /** Temporal values are rendered as prepared statements do, see ClientPreparedQueryBindings. */
+    private ServerSession serverSession;
+    private boolean sendFractionalSeconds;
+    private SimpleDateFormat dateFormat = null;
+    private SimpleDateFormat timeFormat = null;
+    private SimpleDateFormat timestampFormat = null;
+
+    /** Rows added by {@link #addRow(Object...)} and not yet flushed. */
+    private RowEncoder buffer = new RowEncoder();
+    private long loadedRowCount = 0;
+    private boolean isClosed = false;
+
+    /**
+     * Creates a loader for the given table columns.
+     * 
+     * @param connection
+     *            {@link JdbcConnection}
+     * @param table
+     *            the table name, as it would appear in SQL
+     * @param columns
+     *            the column names, as they would appear in SQL; all columns of the table, in order, if none
+     * @throws SQLException
+     *             if the connection is closed or "LOAD DATA LOCAL INFILE" isn't enabled with "allowLoadLocalInfile"
+     */
+    public BulkLoaderImpl(JdbcConnection connection, String table, String... columns) throws SQLException {
+        this.connection = connection;
+        this.exceptionInterceptor = connection.getExceptionInterceptor();
+
+        if (!connection.getPropertySet().getBooleanProperty(PropertyKey.allowLoadLocalInfile).getValue()) {
+            throw SQLError.createSQLException(Messages.getString("BulkLoader.1"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, this.exceptionInterceptor);
+        }
+
+        StringBuilder sqlBuf = new StringBuilder("LOAD DATA LOCAL INFILE '").append(FILE_NAME).append("' INTO TABLE ").append(table);
+        // The field and line delimiters are the defaults: tab, new line and backslash as escape character.
+        sqlBuf.append(" CHARACTER SET utf8mb4");
+        if (columns.length > 0) {
+            sqlBuf.append(" (").append(String.join(", ", columns)).append(')');
+        }
+        this.sql = sqlBuf.toString();
+        this.columnCount = columns.length;
+        this.flushThreshold = connection.getPropertySet().getIntegerProperty(PropertyKey.maxAllowedPacket).getValue();
+        this.serverSession = connection.getSession().getServerSession();
+        this.sendFractionalSeconds = connection.getPropertySet().getBooleanProperty(PropertyKey.sendFractionalSeconds).getValue()
+                && this.serverSession.getCapabilities().serverSupportsFracSecs();
+
+        this.statement = (JdbcStatement) connection.createStatement();
+        this.statement.setEscapeProcessing(false);
+    }
+
+    @Override
+    public void addRow(Object... values) throws SQLException {
+        synchronized (this.connection.getConnectionMutex()) {
+            checkClosed();
+
+            this.buffer.encodeRow(values);
+            if (this.buffer.length >= this.flushThreshold) {
+                flush();
+            }
+        }
+    }
+
+    @Override
+    public long flush() throws SQLException {
+        synchronized (this.connection.getConnectionMutex()) {
+            checkClosed();
+
+            if (this.buffer.length == 0) {
+                return 0;
+            }
+
+            try {
+                return execute(new RowStream(this.buffer, () -> null));
+            } finally {
+                this.buffer.length = 0;
+            }
+        }
+    }
+
+    @Override
+    public long load(Iterator<Object[]> rows) throws SQLException {
+        synchronized (this.connection.getConnectionMutex()) {
+            flush();
+
+            return execute(new RowStream(new RowEncoder(), () -> rows.hasNext() ? rows.next() : null));
+        }
+    }
+
+    @Override
+    public long load(ResultSet resultSet) throws SQLException {
+        synchronized (this.connection.getConnectionMutex()) {
+            flush();
+
+            Object[] row = new Object[resultSet.getMetaData().getColumnCount()];
+            return execute(new RowStream(new RowEncoder(), () -> {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = resultSet.getObject(i + 1);
+                }
+                return row;
+            }));
+        }
+    }
+
+    @Override
+    public long getLoadedRowCount() {
+        return this.loadedRowCount;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        synchronized (this.connection.getConnectionMutex()) {
+            if (this.isClosed) {
+                return;
+            }
+
+            try {
+                flush();
+            } finally {
+                this.isClosed = true;
+                this.buffer = null;
+                this.statement.close();
+            }
+        }
+    }
+
+    private void checkClosed() throws SQLException {
+        if (this.isClosed) {
+            throw SQLError.createSQLException(Messages.getString("BulkLoader.0"), MysqlErrorNumbers.SQL_STATE_CONNECTION_NOT_OPEN, this.exceptionInterceptor);
+        }
+    }
+
+    /**
+     * Executes the "LOAD DATA LOCAL INFILE" statement with the given stream hooked as its data.
+     * 
+     * @param stream
+     *            {@link RowStream}
+     * @return the number of rows loaded
+     * @throws SQLException
+     *             if the statement fails or the stream failed to produce a row
+     */
+    private long execute(RowStream stream) throws SQLException {
+        InputStream previousStream = this.statement.getLocalInfileInputStream();
+        long updateCount;
+        try {
+            this.statement.setLocalInfileInputStream(stream);
+            updateCount = this.statement.executeLargeUpdate(this.sql);
+        } finally {
+            this.statement.setLocalInfileInputStream(previousStream);
+        }
+
+        this.loadedRowCount += updateCount;
+        if (stream.failure != null) {
+            throw stream.failure;
+        }
+        return updateCount;
+    }
+
+    /**
+     * Source of the rows of a streamed load.
+     */
+    @FunctionalInterface
+    private interface RowSource {
+        /**
+         * Returns the next row. The returned array may be reused by the next call.
+         * 
+         * @return the row values or <code>null</code> if there are no more rows
+         * @throws SQLException
+         *             if the row can't be read
+         */
+        Object[] next() throws SQLException;
+    }
+
+    /**
+     * Input stream of the rows of a {@link RowSource}, encoded on demand in chunks of the size read by the protocol, so that only one packet worth of
+     * rows is held in memory. A failure of the source ends the stream; it's kept to be thrown once the server has answered, since an exception thrown
+     * from the stream would leave the statement without its terminating packet.
+     */
+    private class RowStream extends InputStream {
+        private RowEncoder encoder;
+        private RowSource source;
+        private int position = 0;
+        private boolean isExhausted = false;
+        SQLException failure;
+
+        /**
+         * Creates a stream of the rows already in the given encoder followed by the rows of the given source.
+         * 
+         * @param encoder
+         *            {@link RowEncoder}
+         * @param source
+         *            {@link RowSource}
+         */
+        RowStream(RowEncoder encoder, RowSource source) {
+            this.encoder = encoder;
+            this.source = source;
+        }
+
+        @Override
+        public int read() {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (this.position == this.encoder.length) {
+                if (this.isExhausted) {
+                    return -1;
+                }
+                fill(len);
+                if (this.encoder.length == 0) {
+                    return -1;
+                }
+            }
+
+            int count = Math.min(len, this.encoder.length - this.position);
+            System.arraycopy(this.encoder.bytes, this.position, b, off, count);
+            this.position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.encoder.length - this.position;
+        }
+
+        private void fill(int len) {
+            this.encoder.length = 0;
+            this.position = 0;
+            try {
+                while (this.encoder.length < len) {
+                    Object[] row = this.source.next();
+                    if (row == null) {
+                        this.isExhausted = true;
+                        break;
+                    }
+                    this.encoder.encodeRow(row);
+                }
+            } catch (SQLException e) {
+                this.failure = e;
+                this.isExhausted = true;
+            } catch (RuntimeException e) {
+                this.failure = SQLError.createSQLException(Messages.getString("BulkLoader.3"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, e,
+                        BulkLoaderImpl.this.exceptionInterceptor);
+                this.isExhausted = true;
+            }
+        }
+    }
+
+    /**
+     * Growable buffer of rows in the default "LOAD DATA" text format.
+     */
+    private class RowEncoder {
+        byte[] bytes = new byte[8192];
+        int length = 0;
+
+        /**
+         * Appends a row. Nothing is appended if any value can't be encoded.
+         * 
+         * @param values
+         *            the row values
+         * @throws SQLException
+         *             if the number of values doesn't match the columns or a value type isn't supported
+         */
+        void encodeRow(Object[] values) throws SQLException {
+            if (BulkLoaderImpl.this.columnCount > 0 && values.length != BulkLoaderImpl.this.columnCount) {
+                throw SQLError.createSQLException(Messages.getString("BulkLoader.2", new Object[] { values.length, BulkLoaderImpl.this.columnCount }),
+                        MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, BulkLoaderImpl.this.exceptionInterceptor);
+            }
+
+            int rowStart = this.length;
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        put((byte) '\t');
+                    }
+                    encodeValue(values[i]);
+                }
+                put((byte) '\n');
+            } catch (SQLException e) {
+                this.length = rowStart;
+                throw e;
+            }
+        }
+
+        private void encodeValue(Object value) throws SQLException {
+            if (value == null) {
+                put((byte) '\\');
+                put((byte) 'N');
+            } else if (value instanceof byte[]) {
+                putEscaped((byte[]) value);
+            } else if (value instanceof CharSequence) {
+                putEscaped(value.toString().getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof Boolean) {
+                put(((Boolean) value) ? (byte) '1' : (byte) '0');
+            } else if (value instanceof BigDecimal) {
+                putAscii(((BigDecimal) value).toPlainString());
+            } else if (value instanceof Double || value instanceof Float) {
+                double d = ((Number) value).doubleValue();
+                if (Double.isNaN(d) || Double.isInfinite(d)) {
+                    throw SQLError.createSQLException(Messages.getString("PreparedStatement.64", new Object[] { value }),
+                            MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, BulkLoaderImpl.this.exceptionInterceptor);
+                }
+                putAscii(value.toString());
+            } else if (value instanceof Number) {
+                putAscii(value.toString());
+            } else if (value instanceof LocalDateTime) {
+                LocalDateTime ldt = (LocalDateTime) value;
+                putAscii(ldt.toLocalDate().toString());
+                put((byte) ' ');
+                putAscii(adjustFractionalSeconds(ldt.toLocalTime()).toString());
+            } else if (value instanceof LocalTime) {
+                putAscii(adjustFractionalSeconds((LocalTime) value).toString());
+            } else if (value instanceof LocalDate) {
+                putAscii(value.toString());
+            } else if (value instanceof java.sql.Date) {
+                BulkLoaderImpl.this.dateFormat = TimeUtil.getSimpleDateFormat(BulkLoaderImpl.this.dateFormat, "yyyy-MM-dd",
+                        BulkLoaderImpl.this.serverSession.getDefaultTimeZone());
+                putAscii(BulkLoaderImpl.this.dateFormat.format(value));
+            } else if (value instanceof java.sql.Time) {
+                BulkLoaderImpl.this.timeFormat = TimeUtil.getSimpleDateFormat(BulkLoaderImpl.this.timeFormat, "HH:mm:ss",
+                        BulkLoaderImpl.this.serverSession.getServerTimeZone());
+                putAscii(BulkLoaderImpl.this.timeFormat.format(value));
+            } else if (value instanceof Timestamp) {
+                putTimestamp((Timestamp) value);
+            } else if (value instanceof java.util.Date) {
+                putTimestamp(new Timestamp(((java.util.Date) value).getTime()));
+            } else if (value instanceof Blob) {
+                Blob blob = (Blob) value;
+                putEscaped(blob.getBytes(1, (int) blob.length()));
+            } else if (value instanceof Clob) {
+                Clob clob = (Clob) value;
+                putEscaped(clob.getSubString(1, (int) clob.length()).getBytes(StandardCharsets.UTF_8));
+            } else {
+                throw SQLError.createSQLException(Messages.getString("BulkLoader.4", new Object[] { value.getClass().getName() }),
+                        MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, BulkLoaderImpl.this.exceptionInterceptor);
+            }
+        }
+
+        private LocalTime adjustFractionalSeconds(LocalTime x) {
+            return BulkLoaderImpl.this.sendFractionalSeconds
+                    ? TimeUtil.adjustNanosPrecision(x, 6, !BulkLoaderImpl.this.serverSession.isServerTruncatesFracSecs())
+                    : x.withNano(0);
+        }
+
+        /**
+         * Appends a timestamp in the server time zone, as ClientPreparedQueryBindings.setTimestamp() does.
+         * 
+         * @param x
+         *            the timestamp
+         */
+        private void putTimestamp(Timestamp x) {
+            if (BulkLoaderImpl.this.sendFractionalSeconds) {
+                x = TimeUtil.adjustNanosPrecision(x, 6, !BulkLoaderImpl.this.serverSession.isServerTruncatesFracSecs());
+            } else {
+                x = TimeUtil.truncateFractionalSeconds(x);
+            }
+            BulkLoaderImpl.this.timestampFormat = TimeUtil.getSimpleDateFormat(BulkLoaderImpl.this.timestampFormat, "yyyy-MM-dd HH:mm:ss",
+                    BulkLoaderImpl.this.serverSession.getServerTimeZone());
+            putAscii(BulkLoaderImpl.this.timestampFormat.format(x));
+            if (x.getNanos() > 0) {
+                put((byte) '.');
+                putAscii(TimeUtil.formatNanos(x.getNanos(), 6));
+            }
+        }
+
+        /**
+         * Appends bytes escaping the delimiters. Bytes of multibyte UTF-8 characters never match them, so strings can be escaped once encoded.
+         * 
+         * @param b
+         *            the bytes
+         */
+        private void putEscaped(byte[] b) {
+            ensureCapacity(b.length * 2);
+            byte[] buf = this.bytes;
+            int pos = this.length;
+            for (byte c : b) {
+                switch (c) {
+                    case 0:
+                        buf[pos++] = '\\';
+                        buf[pos++] = '0';
+                        break;
+                    case '\t':
+                        buf[pos++] = '\\';
+                        buf[pos++] = 't';
+                        break;
+                    case '\n':
+                        buf[pos++] = '\\';
+                        buf[pos++] = 'n';
+                        break;
+                    case '\r':
+                        buf[pos++] = '\\';
+                        buf[pos++] = 'r';
+                        break;
+                    case '\\':
+                        buf[pos++] = '\\';
+                        buf[pos++] = '\\';
+                        break;
+                    default:
+                        buf[pos++] = c;
+                }
+            }
+            this.length = pos;
+        }
+
+        private void putAscii(String s) {
+            int len = s.length();
+            ensureCapacity(len);
+            for (int i = 0; i < len; i++) {
+                this.bytes[this.length++] = (byte) s.charAt(i);
+            }
+        }
+
+        private void put(byte b) {
+            ensureCapacity(1);
+            this.bytes[this.length++] = b;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (this.length + additional > this.bytes.length) {
+                byte[] newBytes = new byte[Math.max(this.bytes.length * 2, this.length + additional)];
+                System.arraycopy(this.bytes, 0, newBytes, 0, this.length);
+                this.bytes = newBytes;
+            }
+        }
+    }
+}
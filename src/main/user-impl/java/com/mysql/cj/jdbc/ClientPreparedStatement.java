@@ -661,6 +661,10 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
                 return executeBatchSerially(batchTimeout);
             }
 
+            if (this.query instanceof ClientPreparedQuery && ((ClientPreparedQuery) this.query).canFillSendPacketForBatch()) {
+                return executeStreamedBatchedInserts(batchTimeout);
+            }
+
             int numBatchedArgs = this.query.getBatchedArgs().size();
 
             if (this.retrieveGeneratedKeys) {
@@ -776,6 +780,75 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
         }
     }
 
+    /**
+     * Rewrites the batched INSERTs as multi-value INSERTs of this statement, as many rows per query as maxAllowedPacket allows. The queries are written
+     * straight from the batched bindings into the send packet, without intermediate statements.
+     * 
+     * @param batchTimeout
+     *            timeout for the batch execution
+     * @return update counts, as for {@link #executeBatchedInserts(int)}
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private long[] executeStreamedBatchedInserts(int batchTimeout) throws SQLException {
+        synchronized (checkClosed().getConnectionMutex()) {
+            if (this.connection.isReadOnly(false)) {
+                throw SQLError.createSQLException(Messages.getString("PreparedStatement.34") + Messages.getString("PreparedStatement.35"),
+                        MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, this.exceptionInterceptor);
+            }
+
+            ClientPreparedQuery clientPreparedQuery = (ClientPreparedQuery) this.query;
+            int numBatchedArgs = this.query.getBatchedArgs().size();
+
+            if (this.retrieveGeneratedKeys) {
+                this.batchedGeneratedKeys = new ArrayList<>(numBatchedArgs);
+            }
+
+            long updateCountRunningTotal = 0;
+            int batchCounter = 0;
+            SQLException sqlEx = null;
+
+            long[] updateCounts = new long[numBatchedArgs];
+
+            CancelQueryTask timeoutTask = null;
+            try {
+                timeoutTask = startQueryTimer(this, batchTimeout);
+
+                while (batchCounter < numBatchedArgs) {
+                    implicitlyCloseAllOpenResults();
+
+                    NativePacketPayload sendPacket = this.session.getSharedSendPacket();
+                    int firstBatchedArg = batchCounter;
+                    batchCounter = clientPreparedQuery.fillSendPacketForBatch(sendPacket, firstBatchedArg);
+
+                    try {
+                        updateCountRunningTotal += executeUpdateInternal(sendPacket, true);
+                        getBatchedGeneratedKeys(0);
+                    } catch (SQLException ex) {
+                        sqlEx = handleExceptionForBatch(batchCounter - 1, batchCounter - firstBatchedArg, updateCounts, ex);
+                    }
+                }
+
+                if (sqlEx != null) {
+                    throw SQLError.createBatchUpdateException(sqlEx, updateCounts, this.exceptionInterceptor);
+                }
+
+                if (numBatchedArgs > 1) {
+                    long updCount = updateCountRunningTotal > 0 ? java.sql.Statement.SUCCESS_NO_INFO : 0;
+                    for (int j = 0; j < numBatchedArgs; j++) {
+                        updateCounts[j] = updCount;
+                    }
+                } else {
+                    updateCounts[0] = updateCountRunningTotal;
+                }
+                return updateCounts;
+            } finally {
+                stopQueryTimer(timeoutTask, false, false);
+                resetCancelledState();
+            }
+        }
+    }
+
     /**
      * Executes the current batch of statements by executing them one-by-one.
      * 
@@ -1073,10 +1146,31 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
 
             implicitlyCloseAllOpenResults();
 
-            ResultSetInternalMethods rs = null;
-
             Message sendPacket = ((PreparedQuery<?>) this.query).fillSendPacket(bindings);
 
+            return executeUpdateInternal(sendPacket, isReallyBatch);
+        }
+    }
+
+    /**
+     * Executes the update query in the given packet.
+     * 
+     * @param sendPacket
+     *            query packet
+     * @param isReallyBatch
+     *            is it a batched statement?
+     * 
+     * @return the update count
+     * 
+     * @throws SQLException
+     *             if a database error occurs
+     */
+    protected long executeUpdateInternal(Message sendPacket, boolean isReallyBatch) throws SQLException {
+        synchronized (checkClosed().getConnectionMutex()) {
+            JdbcConnection locallyScopedConn = this.connection;
+
+            ResultSetInternalMethods rs = null;
+
             String oldDb = null;
 
             if (!locallyScopedConn.getDatabase().equals(this.getCurrentDatabase())) {
@@ -1268,7 +1362,7 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
     private void initializeFromParseInfo() throws SQLException {
         synchronized (checkClosed().getConnectionMutex()) {
 
-            int parameterCount = ((PreparedQuery<ClientPreparedQueryBindings>) this.query).getParseInfo().getStaticSql().length - 1;
+            int parameterCount = ((PreparedQuery<ClientPreparedQueryBindings>) this.query).getParseInfo().getParameterCount();
             ((PreparedQuery<?>) this.query).setParameterCount(parameterCount);
             ((PreparedQuery<ClientPreparedQueryBindings>) this.query).setQueryBindings(new ClientPreparedQueryBindings(parameterCount, this.session));
             ((ClientPreparedQuery) this.query).getQueryBindings().setLoadDataQuery(((PreparedQuery<?>) this.query).getParseInfo().isFoundLoadData());
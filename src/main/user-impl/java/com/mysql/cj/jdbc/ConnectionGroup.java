@@ -31,11 +31,13 @@ package com.mysql.cj.jdbc;
 
 import java.sql.SQLException;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.mysql.cj.Messages;
 import com.mysql.cj.jdbc.exceptions.SQLError;
@@ -43,36 +45,37 @@ import com.mysql.cj.jdbc.ha.LoadBalancedConnectionProxy;
 
 public class ConnectionGroup {
     private String groupName;
-    private long connections = 0;
-    private long activeConnections = 0;
-    private HashMap<Long, LoadBalancedConnectionProxy> connectionProxies = new HashMap<>();
-    private Set<String> hostList = new HashSet<>();
-    private boolean isInitialized = false;
-    private long closedProxyTotalPhysicalConnections = 0;
-    private long closedProxyTotalTransactions = 0;
-    private int activeHosts = 0;
-    private Set<String> closedHosts = new HashSet<>();
+    private AtomicLong connections = new AtomicLong();
+    private LongAdder activeConnections = new LongAdder();
+    private Map<Long, LoadBalancedConnectionProxy> connectionProxies = new ConcurrentHashMap<>();
+    private Set<String> hostList = ConcurrentHashMap.newKeySet();
+    private volatile boolean isInitialized = false;
+    private LongAdder closedProxyTotalPhysicalConnections = new LongAdder();
+    private LongAdder closedProxyTotalTransactions = new LongAdder();
+    private AtomicInteger activeHosts = new AtomicInteger();
+    private Set<String> closedHosts = ConcurrentHashMap.newKeySet();
+    private Map<String, ConnectionGroupHostStatistics> hostStatistics = new ConcurrentHashMap<>();
 
     ConnectionGroup(String groupName) {
         this.groupName = groupName;
     }
 
     public long registerConnectionProxy(LoadBalancedConnectionProxy proxy, List<String> localHostList) {
-        long currentConnectionId;
-
-        synchronized (this) {
-            if (!this.isInitialized) {
-                this.hostList.addAll(localHostList);
-                this.isInitialized = true;
-                this.activeHosts = localHostList.size();
+        if (!this.isInitialized) {
+            synchronized (this) {
+                if (!this.isInitialized) {
+                    this.hostList.addAll(localHostList);
+                    this.activeHosts.set(this.hostList.size());
+                    this.isInitialized = true;
+                }
             }
-            currentConnectionId = ++this.connections;
-            this.connectionProxies.put(Long.valueOf(currentConnectionId), proxy);
         }
-        this.activeConnections++;
 
-        return currentConnectionId;
+        long currentConnectionId = this.connections.incrementAndGet();
+        this.connectionProxies.put(currentConnectionId, proxy);
+        this.activeConnections.increment();
 
+        return currentConnectionId;
     }
 
     public String getGroupName() {
@@ -84,7 +87,7 @@ public class ConnectionGroup {
     }
 
     public int getActiveHostCount() {
-        return this.activeHosts;
+        return this.activeHosts.get();
     }
 
     public Collection<String> getClosedHosts() {
@@ -92,32 +95,24 @@ public class ConnectionGroup {
     }
 
     public long getTotalLogicalConnectionCount() {
-        return this.connections;
+        return this.connections.get();
     }
 
     public long getActiveLogicalConnectionCount() {
-        return this.activeConnections;
+        return this.activeConnections.sum();
     }
 
     public long getActivePhysicalConnectionCount() {
         long result = 0;
-        Map<Long, LoadBalancedConnectionProxy> proxyMap = new HashMap<>();
-        synchronized (this.connectionProxies) {
-            proxyMap.putAll(this.connectionProxies);
-        }
-        for (LoadBalancedConnectionProxy proxy : proxyMap.values()) {
+        for (LoadBalancedConnectionProxy proxy : this.connectionProxies.values()) {
             result += proxy.getActivePhysicalConnectionCount();
         }
         return result;
     }
 
     public long getTotalPhysicalConnectionCount() {
-        long allConnections = this.closedProxyTotalPhysicalConnections;
-        Map<Long, LoadBalancedConnectionProxy> proxyMap = new HashMap<>();
-        synchronized (this.connectionProxies) {
-            proxyMap.putAll(this.connectionProxies);
-        }
-        for (LoadBalancedConnectionProxy proxy : proxyMap.values()) {
+        long allConnections = this.closedProxyTotalPhysicalConnections.sum();
+        for (LoadBalancedConnectionProxy proxy : this.connectionProxies.values()) {
             allConnections += proxy.getTotalPhysicalConnectionCount();
         }
         return allConnections;
@@ -125,23 +120,44 @@ public class ConnectionGroup {
 
     public long getTotalTransactionCount() {
         // need to account for closed connection proxies
-        long transactions = this.closedProxyTotalTransactions;
-        Map<Long, LoadBalancedConnectionProxy> proxyMap = new HashMap<>();
-        synchronized (this.connectionProxies) {
-            proxyMap.putAll(this.connectionProxies);
-        }
-        for (LoadBalancedConnectionProxy proxy : proxyMap.values()) {
+        long transactions = this.closedProxyTotalTransactions.sum();
+        for (LoadBalancedConnectionProxy proxy : this.connectionProxies.values()) {
             transactions += proxy.getTransactionCount();
         }
         return transactions;
     }
 
     public void closeConnectionProxy(LoadBalancedConnectionProxy proxy) {
-        this.activeConnections--;
-        this.connectionProxies.remove(Long.valueOf(proxy.getConnectionGroupProxyID()));
-        this.closedProxyTotalPhysicalConnections += proxy.getTotalPhysicalConnectionCount();
-        this.closedProxyTotalTransactions += proxy.getTransactionCount();
+        if (this.connectionProxies.remove(proxy.getConnectionGroupProxyID()) != null) {
+            this.activeConnections.decrement();
+            this.closedProxyTotalPhysicalConnections.add(proxy.getTotalPhysicalConnectionCount());
+            this.closedProxyTotalTransactions.add(proxy.getTransactionCount());
+        }
+    }
+
+    /**
+     * Returns the statistics of the given host (host:port pair), shared by all the load-balanced connections in this Connection Group. Statistics are created
+     * on first use and are kept even if the host is removed from the group.
+     * 
+     * @param hostPortPair
+     *            The host:port pair.
+     * @return the host statistics
+     */
+    public ConnectionGroupHostStatistics getHostStatistics(String hostPortPair) {
+        ConnectionGroupHostStatistics stats = this.hostStatistics.get(hostPortPair);
+        if (stats == null) {
+            ConnectionGroupHostStatistics newStats = new ConnectionGroupHostStatistics(this.groupName, hostPortPair);
+            stats = this.hostStatistics.putIfAbsent(hostPortPair, newStats);
+            if (stats == null) {
+                stats = newStats;
+                ConnectionGroupManager.hostStatisticsCreated(stats);
+            }
+        }
+        return stats;
+    }
 
+    public Collection<ConnectionGroupHostStatistics> getAllHostStatistics() {
+        return this.hostStatistics.values();
     }
 
     /**
@@ -184,24 +200,18 @@ public class ConnectionGroup {
      *             if a database access error occurs
      */
     public synchronized void removeHost(String hostPortPair, boolean removeExisting, boolean waitForGracefulFailover) throws SQLException {
-        if (this.activeHosts == 1) {
+        if (this.activeHosts.get() == 1) {
             throw SQLError.createSQLException(Messages.getString("ConnectionGroup.0"), null);
         }
 
         if (this.hostList.remove(hostPortPair)) {
-            this.activeHosts--;
+            this.activeHosts.decrementAndGet();
         } else {
             throw SQLError.createSQLException(Messages.getString("ConnectionGroup.1", new Object[] { hostPortPair }), null);
         }
 
         if (removeExisting) {
-            // make a local copy to keep synchronization overhead to minimum
-            Map<Long, LoadBalancedConnectionProxy> proxyMap = new HashMap<>();
-            synchronized (this.connectionProxies) {
-                proxyMap.putAll(this.connectionProxies);
-            }
-
-            for (LoadBalancedConnectionProxy proxy : proxyMap.values()) {
+            for (LoadBalancedConnectionProxy proxy : this.connectionProxies.values()) {
                 if (waitForGracefulFailover) {
                     proxy.removeHostWhenNotInUse(hostPortPair);
                 } else {
@@ -231,23 +241,15 @@ public class ConnectionGroup {
      *            Whether affects existing load-balanced connections or only new ones.
      */
     public void addHost(String hostPortPair, boolean forExisting) {
-        synchronized (this) {
-            if (this.hostList.add(hostPortPair)) {
-                this.activeHosts++;
-            }
+        if (this.hostList.add(hostPortPair)) {
+            this.activeHosts.incrementAndGet();
         }
         // all new connections will have this host
         if (!forExisting) {
             return;
         }
 
-        // make a local copy to keep synchronization overhead to minimum
-        Map<Long, LoadBalancedConnectionProxy> proxyMap = new HashMap<>();
-        synchronized (this.connectionProxies) {
-            proxyMap.putAll(this.connectionProxies);
-        }
-
-        for (LoadBalancedConnectionProxy proxy : proxyMap.values()) {
+        for (LoadBalancedConnectionProxy proxy : this.connectionProxies.values()) {
             proxy.addHost(hostPortPair);
         }
     }
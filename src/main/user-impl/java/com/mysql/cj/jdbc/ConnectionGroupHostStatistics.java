@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-host statistics of a {@link ConnectionGroup}, shared by all the load-balanced connections in the group. Counters are updated without locking so that
+ * they can be maintained on every transaction.
+ */
+public class ConnectionGroupHostStatistics {
+    /** Minimum interval between samples used to compute rates. */
+    private static final long RATE_SAMPLING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String groupName;
+    private final String hostPortPair;
+
+    private final LongAdder activeConnections = new LongAdder();
+    private final LongAdder totalConnections = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder transactionsDuration = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder blacklistEvents = new LongAdder();
+
+    private final RateSampler transactionsRate = new RateSampler(this.transactions);
+    private final RateSampler errorsRate = new RateSampler(this.errors);
+
+    ConnectionGroupHostStatistics(String groupName, String hostPortPair) {
+        this.groupName = groupName;
+        this.hostPortPair = hostPortPair;
+    }
+
+    public String getGroupName() {
+        return this.groupName;
+    }
+
+    public String getHostPortPair() {
+        return this.hostPortPair;
+    }
+
+    public void connectionOpened() {
+        this.activeConnections.increment();
+        this.totalConnections.increment();
+    }
+
+    public void connectionClosed() {
+        this.activeConnections.decrement();
+    }
+
+    /**
+     * Registers the end of a transaction.
+     * 
+     * @param durationNanos
+     *            The transaction duration, in nanoseconds.
+     */
+    public void transactionCompleted(long durationNanos) {
+        this.transactions.increment();
+        this.transactionsDuration.add(durationNanos);
+    }
+
+    /**
+     * Registers a failed connection attempt or a communications failure in an existing connection.
+     */
+    public void errorOccurred() {
+        this.errors.increment();
+    }
+
+    public void hostBlacklisted() {
+        this.blacklistEvents.increment();
+    }
+
+    public long getActiveConnectionCount() {
+        return this.activeConnections.sum();
+    }
+
+    public long getTotalConnectionCount() {
+        return this.totalConnections.sum();
+    }
+
+    public long getTotalTransactionCount() {
+        return this.transactions.sum();
+    }
+
+    public long getErrorCount() {
+        return this.errors.sum();
+    }
+
+    public long getBlacklistEventCount() {
+        return this.blacklistEvents.sum();
+    }
+
+    /**
+     * Returns the average transaction duration, in milliseconds.
+     * 
+     * @return the average transaction duration or 0 if no transaction was registered yet
+     */
+    public double getAverageTransactionLatency() {
+        long count = this.transactions.sum();
+        return count == 0 ? 0 : (double) this.transactionsDuration.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns the number of transactions per second, computed over the last sampling interval.
+     * 
+     * @return the transactions rate
+     */
+    public double getTransactionsPerSecond() {
+        return this.transactionsRate.getRate();
+    }
+
+    /**
+     * Returns the number of errors per second, computed over the last sampling interval.
+     * 
+     * @return the errors rate
+     */
+    public double getErrorsPerSecond() {
+        return this.errorsRate.getRate();
+    }
+
+    /**
+     * Computes the rate of change per second of a counter between consecutive samples, taken at least {@link #RATE_SAMPLING_INTERVAL_NANOS} apart.
+     */
+    private static class RateSampler {
+        private final LongAdder counter;
+        private long lastSampleTime = System.nanoTime();
+        private long lastSampleValue = 0;
+        private double rate = 0;
+
+        RateSampler(LongAdder counter) {
+            this.counter = counter;
+        }
+
+        synchronized double getRate() {
+            long now = System.nanoTime();
+            long elapsed = now - this.lastSampleTime;
+            if (elapsed >= RATE_SAMPLING_INTERVAL_NANOS) {
+                long value = this.counter.sum();
+                this.rate = (double) (value - this.lastSampleValue) * TimeUnit.SECONDS.toNanos(1) / elapsed;
+                this.lastSampleTime = now;
+                this.lastSampleValue = value;
+            }
+            return this.rate;
+        }
+    }
+}
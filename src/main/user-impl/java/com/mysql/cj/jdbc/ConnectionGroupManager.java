@@ -35,23 +35,24 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.mysql.cj.jdbc.jmx.LoadBalanceConnectionGroupManager;
+import com.mysql.cj.jdbc.jmx.LoadBalanceHostStatistics;
 
 public class ConnectionGroupManager {
 
-    private static HashMap<String, ConnectionGroup> GROUP_MAP = new HashMap<>();
+    private static Map<String, ConnectionGroup> GROUP_MAP = new ConcurrentHashMap<>();
 
     private static LoadBalanceConnectionGroupManager mbean = new LoadBalanceConnectionGroupManager();
 
-    private static boolean hasRegisteredJmx = false;
+    private static volatile boolean hasRegisteredJmx = false;
 
-    public static synchronized ConnectionGroup getConnectionGroupInstance(String groupName) {
-        if (GROUP_MAP.containsKey(groupName)) {
-            return GROUP_MAP.get(groupName);
+    public static ConnectionGroup getConnectionGroupInstance(String groupName) {
+        ConnectionGroup group = GROUP_MAP.get(groupName);
+        if (group == null) {
+            group = GROUP_MAP.computeIfAbsent(groupName, ConnectionGroup::new);
         }
-        ConnectionGroup group = new ConnectionGroup(groupName);
-        GROUP_MAP.put(groupName, group);
         return group;
     }
 
@@ -60,8 +61,31 @@ public class ConnectionGroupManager {
             return;
         }
 
-        mbean.registerJmx();
-        hasRegisteredJmx = true;
+        synchronized (mbean) {
+            if (hasRegisteredJmx) {
+                return;
+            }
+            mbean.registerJmx();
+            hasRegisteredJmx = true;
+        }
+
+        for (ConnectionGroup cg : GROUP_MAP.values()) {
+            for (ConnectionGroupHostStatistics stats : cg.getAllHostStatistics()) {
+                LoadBalanceHostStatistics.registerJmx(stats);
+            }
+        }
+    }
+
+    /**
+     * Notifies that new host statistics were created in a connection group, so that they can be exposed through JMX, if enabled.
+     * 
+     * @param stats
+     *            The new host statistics.
+     */
+    static void hostStatisticsCreated(ConnectionGroupHostStatistics stats) {
+        if (hasRegisteredJmx) {
+            LoadBalanceHostStatistics.registerJmx(stats);
+        }
     }
 
     public static ConnectionGroup getConnectionGroup(String groupName) {
@@ -45,6 +45,7 @@ import java.sql.SQLWarning;
 import java.sql.SQLXML;
 import java.sql.Savepoint;
 import java.sql.Struct;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -314,6 +315,9 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     /** Are we in read-only mode? */
     private boolean readOnly = false;
 
+    /** Did we add STRICT_TRANS_TABLES to the session sql_mode, so that it must be added again after a COM_CHANGE_USER? */
+    private boolean strictTransTablesSetByDriver = false;
+
     /** Cache of ResultSet metadata */
     protected LRUCache<String, CachedResultSetMetaData> resultSetMetadataCache;
 
@@ -1119,6 +1123,11 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         return this.openStatements.size();
     }
 
+    @Override
+    public int getPendingStatementCloseCount() {
+        return this.session.getProtocol().getPendingStatementCloseCount();
+    }
+
     @Override
     public boolean getAutoCommit() throws SQLException {
         synchronized (getConnectionMutex()) {
@@ -1215,9 +1224,12 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
         synchronized (getConnectionMutex()) {
             if (!this.useLocalSessionState.getValue()) {
-                String s = this.session.queryServerVariable(
-                        versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)) ? "@@session.transaction_isolation"
-                                : "@@session.tx_isolation");
+                String s = this.session.getTrackedServerVariable("transaction_isolation");
+                if (s == null) {
+                    s = this.session.queryServerVariable(
+                            versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)) ? "@@session.transaction_isolation"
+                                    : "@@session.tx_isolation");
+                }
 
                 if (s != null) {
                     Integer intTI = mapTransIsolationNameToValue.get(s);
@@ -1321,8 +1333,13 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
         this.session.checkForCharsetMismatch();
 
+        // SET NAMES, autocommit and sql_mode assignments below are sent in a single statement if 'coalesceSessionSetup' is enabled
+        this.session.beginSessionSetup();
+
         this.session.configureClientCharacterSet(false);
 
+        this.session.configureSessionStateTracking();
+
         handleAutoCommitDefaults();
 
         //
@@ -1339,6 +1356,14 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         //
 
         setupServerForTruncationChecks();
+
+        try {
+            this.session.endSessionSetup();
+        } catch (CJException ex) {
+            if (ex.getVendorCode() != MysqlErrorNumbers.ER_MUST_CHANGE_PASSWORD || this.disconnectOnExpiredPasswords.getValue()) {
+                throw SQLExceptionsMapping.translateException(ex, getExceptionInterceptor());
+            }
+        }
     }
 
     /**
@@ -1376,7 +1401,13 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         //    resetAutoCommitDefault = true;
         //}
 
-        if (resetAutoCommitDefault) {
+        if (resetAutoCommitDefault && this.session.isSessionSetupCoalesced() && this.connectionLifecycleInterceptors == null) {
+            // same as setAutoCommit(true) but the assignment is sent along with the rest of the session setup
+            if (!this.useLocalSessionState.getValue() || !this.session.getServerSession().isAutoCommit()) {
+                this.session.setSessionVariable("autocommit=1");
+            }
+            this.session.getServerSession().setAutoCommit(true);
+        } else if (resetAutoCommitDefault) {
             try {
                 setAutoCommit(true); // required by JDBC spec
             } catch (SQLException ex) {
@@ -1411,7 +1442,11 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     public boolean isReadOnly(boolean useSessionStatus) throws SQLException {
         if (useSessionStatus && !this.session.isClosed() && versionMeetsMinimum(5, 6, 5) && !this.useLocalSessionState.getValue()
                 && this.readOnlyPropagatesToServer.getValue()) {
-            String s = this.session.queryServerVariable(
+            String s = this.session.getTrackedServerVariable("transaction_read_only");
+            if (s != null) {
+                return "ON".equalsIgnoreCase(s) || "1".equals(s);
+            }
+            s = this.session.queryServerVariable(
                     versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)) ? "@@session.transaction_read_only"
                             : "@@session.tx_read_only");
             if (s != null) {
@@ -1813,6 +1848,70 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         }
     }
 
+    @Override
+    public void resetSessionState() throws SQLException {
+        synchronized (getConnectionMutex()) {
+            checkClosed();
+
+            if (!versionMeetsMinimum(5, 7, 3)) {
+                // COM_RESET_CONNECTION is not supported
+                resetServerState();
+                return;
+            }
+
+            // statements prepared on the server are deallocated by the reset
+            closeServerPreparedStatements();
+
+            this.session.resetSessionState();
+
+            checkTransactionIsolationLevel();
+            this.readOnly = false;
+        }
+    }
+
+    @Override
+    public Pipeline pipeline() throws SQLException {
+        synchronized (getConnectionMutex()) {
+            checkClosed();
+            return new PipelineImpl(this);
+        }
+    }
+
+    @Override
+    public BulkLoader bulkLoader(String table, String... columns) throws SQLException {
+        synchronized (getConnectionMutex()) {
+            checkClosed();
+            return new BulkLoaderImpl(this, table, columns);
+        }
+    }
+
+    /**
+     * Closes the open and cached server prepared statements without deallocating them on the server.
+     * 
+     * @throws SQLException
+     *             if a database access error occurs
+     */
+    private void closeServerPreparedStatements() throws SQLException {
+        if (this.serverSideStatementCache != null) {
+            List<ServerPreparedStatement> cachedStatements;
+            synchronized (this.serverSideStatementCache) {
+                cachedStatements = new ArrayList<>(this.serverSideStatementCache.values());
+                this.serverSideStatementCache.clear();
+            }
+            for (ServerPreparedStatement ps : cachedStatements) {
+                ps.isCached = false;
+                ps.setClosed(false);
+                ps.realClose(false, true);
+            }
+        }
+
+        for (JdbcStatement stmt : this.openStatements) {
+            if (stmt instanceof ServerPreparedStatement) {
+                ((ServerPreparedStatement) stmt).realClose(false, true);
+            }
+        }
+    }
+
     @Override
     public void rollback() throws SQLException {
         synchronized (getConnectionMutex()) {
@@ -2099,6 +2198,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
             }
 
             if (this.useLocalSessionState.getValue()) {
+                updateDatabaseFromSessionState();
                 if (this.session.getServerSession().isLowerCaseTableNames()) {
                     if (this.database.equalsIgnoreCase(db)) {
                         return;
@@ -2128,10 +2228,23 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     @Override
     public String getDatabase() throws SQLException {
         synchronized (getConnectionMutex()) {
+            updateDatabaseFromSessionState();
             return this.database;
         }
     }
 
+    /**
+     * Picks up a default schema change made by a statement other than setDatabase(), e.g. a 'USE' statement, if the server reports it.
+     */
+    private void updateDatabaseFromSessionState() {
+        if (!this.session.isClosed()) {
+            String changedSchema = this.session.takeChangedSchema();
+            if (changedSchema != null) {
+                this.database = changedSchema;
+            }
+        }
+    }
+
     @Override
     public void setFailedOver(boolean flag) {
         // handled higher up
@@ -2278,23 +2391,25 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     private void setupServerForTruncationChecks() throws SQLException {
         synchronized (getConnectionMutex()) {
             RuntimeProperty<Boolean> jdbcCompliantTruncation = this.propertySet.getProperty(PropertyKey.jdbcCompliantTruncation);
-            if (jdbcCompliantTruncation.getValue()) {
+            if (jdbcCompliantTruncation.getValue() || this.strictTransTablesSetByDriver) {
                 String currentSqlMode = this.session.getServerSession().getServerVariable("sql_mode");
 
                 boolean strictTransTablesIsSet = StringUtils.indexOfIgnoreCase(currentSqlMode, "STRICT_TRANS_TABLES") != -1;
 
                 if (currentSqlMode == null || currentSqlMode.length() == 0 || !strictTransTablesIsSet) {
-                    StringBuilder commandBuf = new StringBuilder("SET sql_mode='");
+                    StringBuilder assignmentBuf = new StringBuilder("sql_mode='");
 
                     if (currentSqlMode != null && currentSqlMode.length() > 0) {
-                        commandBuf.append(currentSqlMode);
-                        commandBuf.append(",");
+                        assignmentBuf.append(currentSqlMode);
+                        assignmentBuf.append(",");
                     }
 
-                    commandBuf.append("STRICT_TRANS_TABLES'");
+                    assignmentBuf.append("STRICT_TRANS_TABLES'");
 
-                    this.session.execSQL(null, commandBuf.toString(), -1, null, false, this.nullStatementResultSetFactory, null, false);
+                    // recorded by the session setup, so that it is replayed after a session reset
+                    this.session.setSessionVariable(assignmentBuf.toString());
 
+                    this.strictTransTablesSetByDriver = true;
                     jdbcCompliantTruncation.setValue(false); // server's handling this for us now
                 } else if (strictTransTablesIsSet) {
                     // We didn't set it, but someone did, so we piggy back on it
@@ -697,6 +697,11 @@ public class ConnectionWrapper extends WrapperBase implements JdbcConnection {
         return this.mc.getActiveStatementCount();
     }
 
+    @Override
+    public int getPendingStatementCloseCount() {
+        return this.mc.getPendingStatementCloseCount();
+    }
+
     @Override
     public String getStatementComment() {
         return this.mc.getStatementComment();
@@ -722,6 +727,37 @@ public class ConnectionWrapper extends WrapperBase implements JdbcConnection {
         }
     }
 
+    @Override
+    public void resetSessionState() throws SQLException {
+        try {
+            this.mc.resetSessionState();
+        } catch (SQLException sqlException) {
+            checkAndFireConnectionError(sqlException);
+        }
+    }
+
+    @Override
+    public Pipeline pipeline() throws SQLException {
+        try {
+            return this.mc.pipeline();
+        } catch (SQLException sqlException) {
+            checkAndFireConnectionError(sqlException);
+        }
+
+        return null;
+    }
+
+    @Override
+    public BulkLoader bulkLoader(String table, String... columns) throws SQLException {
+        try {
+            return this.mc.bulkLoader(table, columns);
+        } catch (SQLException sqlException) {
+            checkAndFireConnectionError(sqlException);
+        }
+
+        return null;
+    }
+
     @Override
     public java.sql.PreparedStatement serverPrepareStatement(String sql) throws SQLException {
         try {
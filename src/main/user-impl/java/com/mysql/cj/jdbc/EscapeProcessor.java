@@ -36,8 +36,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.StringTokenizer;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.mysql.cj.Messages;
 import com.mysql.cj.exceptions.ExceptionInterceptor;
@@ -53,6 +55,15 @@ import com.mysql.cj.util.TimeUtil;
 class EscapeProcessor {
     private static Map<String, String> JDBC_CONVERT_TO_MYSQL_TYPE_MAP;
 
+    /** Maximum number of escape processing results kept; the cache is emptied when it's reached. */
+    private static final int ESCAPED_SQL_CACHE_SIZE = 1024;
+
+    /** Maximum length of the statements whose escape processing results are cached. */
+    private static final int ESCAPED_SQL_CACHE_SQL_LIMIT = 4096;
+
+    /** Escape processing results of statements containing escape codes, shared by all connections. */
+    private static final Map<EscapedSqlKey, Object> ESCAPED_SQL_CACHE = new ConcurrentHashMap<>();
+
     static {
         Map<String, String> tempMap = new HashMap<>();
 
@@ -100,22 +111,52 @@ class EscapeProcessor {
      */
     public static final Object escapeSQL(String sql, TimeZone serverTimeZone, boolean serverSupportsFractionalSecond, boolean serverTruncatesFractionalSecond,
             ExceptionInterceptor exceptionInterceptor) throws java.sql.SQLException {
-        boolean replaceEscapeSequence = false;
-        String escapeSequence = null;
-
         if (sql == null) {
             return null;
         }
 
+        if (!containsEscapeCode(sql)) {
+            return sql;
+        }
+
+        if (sql.length() > ESCAPED_SQL_CACHE_SQL_LIMIT) {
+            return processEscapeCodes(sql, serverTimeZone, serverSupportsFractionalSecond, serverTruncatesFractionalSecond, exceptionInterceptor);
+        }
+
+        // Timestamp escapes are parsed in the default time zone and rendered in the server one.
+        EscapedSqlKey key = new EscapedSqlKey(sql, serverTimeZone, TimeZone.getDefault(), serverSupportsFractionalSecond, serverTruncatesFractionalSecond);
+        Object escapedSqlResult = ESCAPED_SQL_CACHE.get(key);
+        if (escapedSqlResult == null) {
+            escapedSqlResult = processEscapeCodes(sql, serverTimeZone, serverSupportsFractionalSecond, serverTruncatesFractionalSecond, exceptionInterceptor);
+            if (ESCAPED_SQL_CACHE.size() >= ESCAPED_SQL_CACHE_SIZE) {
+                ESCAPED_SQL_CACHE.clear();
+            }
+            ESCAPED_SQL_CACHE.put(key, escapedSqlResult);
+        }
+        return escapedSqlResult;
+    }
+
+    /**
+     * Checks if the given SQL may contain escape codes to process.
+     * 
+     * @param sql
+     *            the SQL to check
+     * @return false if the SQL has no "}" after its first "{" or no "{" outside quotes and comments
+     */
+    private static boolean containsEscapeCode(String sql) {
         /*
          * Short circuit this code if we don't have a matching pair of "{}". - Suggested by Ryan Gustafason
          */
         int beginBrace = sql.indexOf('{');
         int nextEndBrace = (beginBrace == -1) ? (-1) : sql.indexOf('}', beginBrace);
 
-        if (nextEndBrace == -1) {
-            return sql;
-        }
+        return nextEndBrace != -1 && EscapeTokenizer.containsEscapeCode(sql);
+    }
+
+    private static Object processEscapeCodes(String sql, TimeZone serverTimeZone, boolean serverSupportsFractionalSecond,
+            boolean serverTruncatesFractionalSecond, ExceptionInterceptor exceptionInterceptor) throws java.sql.SQLException {
+        boolean replaceEscapeSequence = false;
+        String escapeSequence = null;
 
         StringBuilder newSql = new StringBuilder();
 
@@ -140,8 +181,9 @@ class EscapeProcessor {
                         if (nestedBrace != -1) {
                             StringBuilder buf = new StringBuilder(token.substring(0, 1));
 
-                            Object remainingResults = escapeSQL(token.substring(1, token.length() - 1), serverTimeZone, serverSupportsFractionalSecond,
-                                    serverTruncatesFractionalSecond, exceptionInterceptor);
+                            String nestedSql = token.substring(1, token.length() - 1);
+                            Object remainingResults = containsEscapeCode(nestedSql) ? processEscapeCodes(nestedSql, serverTimeZone,
+                                    serverSupportsFractionalSecond, serverTruncatesFractionalSecond, exceptionInterceptor) : nestedSql;
 
                             String remaining = null;
 
@@ -506,4 +548,43 @@ class EscapeProcessor {
 
         return collapsed.toString();
     }
+
+    /**
+     * Key of {@link EscapeProcessor#ESCAPED_SQL_CACHE}: the statement and the settings its escape processing depends on.
+     */
+    private static final class EscapedSqlKey {
+        private final String sql;
+        private final TimeZone serverTimeZone;
+        private final TimeZone defaultTimeZone;
+        private final boolean serverSupportsFractionalSecond;
+        private final boolean serverTruncatesFractionalSecond;
+
+        EscapedSqlKey(String sql, TimeZone serverTimeZone, TimeZone defaultTimeZone, boolean serverSupportsFractionalSecond,
+                boolean serverTruncatesFractionalSecond) {
+            this.sql = sql;
+            this.serverTimeZone = serverTimeZone;
+            this.defaultTimeZone = defaultTimeZone;
+            this.serverSupportsFractionalSecond = serverSupportsFractionalSecond;
+            this.serverTruncatesFractionalSecond = serverTruncatesFractionalSecond;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof EscapedSqlKey)) {
+                return false;
+            }
+            EscapedSqlKey other = (EscapedSqlKey) obj;
+            return this.sql.equals(other.sql) && Objects.equals(this.serverTimeZone, other.serverTimeZone) && Objects.equals(this.defaultTimeZone,
+                    other.defaultTimeZone) && this.serverSupportsFractionalSecond == other.serverSupportsFractionalSecond
+                    && this.serverTruncatesFractionalSecond == other.serverTruncatesFractionalSecond;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.sql.hashCode() * 31 + Objects.hashCode(this.serverTimeZone);
+        }
+    }
 }
@@ -126,7 +126,7 @@ public class MysqlPooledConnection implements PooledConnection {
             }
 
             if (resetServerState) {
-                this.physicalConn.resetServerState();
+                this.physicalConn.resetSessionState();
             }
 
             this.logicalHandle = ConnectionWrapper.getInstance(this, this.physicalConn, forXa);
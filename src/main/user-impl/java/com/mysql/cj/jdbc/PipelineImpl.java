@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.mysql.cj.BindValue;
+import com.mysql.cj.Messages;
+import com.mysql.cj.NativeSession;
+import com.mysql.cj.PreparedQuery;
+import com.mysql.cj.ServerPreparedQuery;
+import com.mysql.cj.exceptions.CJCommunicationsException;
+import com.mysql.cj.exceptions.CJException;
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+import com.mysql.cj.jdbc.exceptions.SQLExceptionsMapping;
+import com.mysql.cj.jdbc.result.ResultSetImpl;
+import com.mysql.cj.protocol.ColumnDefinition;
+import com.mysql.cj.protocol.ProtocolEntityFactory;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeProtocol;
+
+/**
+ * {@link Pipeline} implementation over the classic protocol.
+ */
+public class PipelineImpl implements Pipeline {
+
+    private JdbcConnection connection;
+    private NativeSession session;
+    private ExceptionInterceptor exceptionInterceptor;
+
+    /** Owns the result sets of queries queued as SQL strings. */
+    private StatementImpl statement;
+
+    private List<PipelinedStatement<?>> queue = new ArrayList<>();
+    private boolean isClosed = false;
+
+    /**
+     * Creates a pipeline for the given connection.
+     * 
+     * @param connection
+     *            {@link JdbcConnection}
+     * @throws SQLException
+     *             if the connection is closed
+     */
+    public PipelineImpl(JdbcConnection connection) throws SQLException {
+        this.connection = connection;
+        this.session = (NativeSession) connection.getSession();
+        this.exceptionInterceptor = connection.getExceptionInterceptor();
+        this.statement = (StatementImpl) connection.createStatement();
+    }
+
+    @Override
+    public CompletableFuture<ResultSet> executeQuery(String sql) throws SQLException {
+        return enqueue(sql, PipelineImpl::toResultSet);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdate(String sql) throws SQLException {
+        return enqueue(sql, PipelineImpl::toUpdateCount);
+    }
+
+    @Override
+    public CompletableFuture<ResultSet> executeQuery(PreparedStatement preparedStatement) throws SQLException {
+        return enqueue(preparedStatement, PipelineImpl::toResultSet);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdate(PreparedStatement preparedStatement) throws SQLException {
+        return enqueue(preparedStatement, PipelineImpl::toUpdateCount);
+    }
+
+    private <T> CompletableFuture<T> enqueue(String sql, ResultConverter<T> converter) throws SQLException {
+        synchronized (this.connection.getConnectionMutex()) {
+            checkClosed();
+
+            try {
+                if (this.statement.doEscapeProcessing) {
+                    Object escapedSqlResult = EscapeProcessor.escapeSQL(sql, this.session.getServerSession().getServerTimeZone(),
+                            this.session.getServerSession().getCapabilities().serverSupportsFracSecs(),
+                            this.session.getServerSession().isServerTruncatesFracSecs(), this.exceptionInterceptor);
+                    sql = escapedSqlResult instanceof String ? (String) escapedSqlResult : ((EscapeProcessorResult) escapedSqlResult).escapedSql;
+                }
+
+                String queryComment = this.session.getProtocol().getQueryComment();
+                if (queryComment != null) {
+                    sql = "/* " + queryComment + " */ " + sql;
+                }
+
+                NativePacketPayload packet = this.session.getProtocol().getMessageBuilder().buildComQuery(null, sql, this.statement.charEncoding);
+                PipelinedStatement<T> pipelinedStatement = new PipelinedStatement<>(packet, false, null, this.statement.getResultSetFactory(), converter);
+                this.queue.add(pipelinedStatement);
+                return pipelinedStatement.future;
+            } catch (CJException e) {
+                throw SQLExceptionsMapping.translateException(e, this.exceptionInterceptor);
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(PreparedStatement preparedStatement, ResultConverter<T> converter) throws SQLException {
+        synchronized (this.connection.getConnectionMutex()) {
+            checkClosed();
+
+            java.sql.Statement stmt = preparedStatement;
+            if (stmt instanceof StatementWrapper) {
+                stmt = ((StatementWrapper) stmt).wrappedStmt;
+            }
+            if (!(stmt instanceof ClientPreparedStatement) || ((ClientPreparedStatement) stmt).session != this.session) {
+                throw SQLError.createSQLException(Messages.getString("Pipeline.1"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, this.exceptionInterceptor);
+            }
+            ClientPreparedStatement ps = (ClientPreparedStatement) stmt;
+
+            try {
+                ps.checkClosed();
+
+                PreparedQuery<?> query = (PreparedQuery<?>) ps.query;
+                for (BindValue bindValue : query.getQueryBindings().getBindValues()) {
+                    if (bindValue.isStream()) {
+                        throw SQLError.createSQLException(Messages.getString("Pipeline.2"), MysqlErrorNumbers.SQL_STATE_DRIVER_NOT_CAPABLE,
+                                this.exceptionInterceptor);
+                    }
+                }
+
+                PipelinedStatement<T> pipelinedStatement;
+                if (query instanceof ServerPreparedQuery) {
+                    ServerPreparedQuery serverPreparedQuery = (ServerPreparedQuery) query;
+                    synchronized (serverPreparedQuery) {
+                        pipelinedStatement = new PipelinedStatement<>(copyOf(serverPreparedQuery.prepareExecutePacket()), true,
+                                serverPreparedQuery.getResultFields(), ps.getResultSetFactory(), converter);
+                    }
+                } else {
+                    pipelinedStatement = new PipelinedStatement<>(copyOf(query.fillSendPacket()), false, null, ps.getResultSetFactory(), converter);
+                }
+                this.queue.add(pipelinedStatement);
+                return pipelinedStatement.future;
+            } catch (CJException e) {
+                throw SQLExceptionsMapping.translateException(e, this.exceptionInterceptor);
+            }
+        }
+    }
+
+    @Override
+    public void sync() throws SQLException {
+        List<PipelinedStatement<?>> statements;
+        CJException failure = null;
+
+        synchronized (this.connection.getConnectionMutex()) {
+            checkClosed();
+            if (this.queue.isEmpty()) {
+                return;
+            }
+            statements = this.queue;
+            this.queue = new ArrayList<>();
+
+            NativeProtocol protocol = this.session.getProtocol();
+            List<NativePacketPayload> packets = new ArrayList<>(statements.size());
+            for (PipelinedStatement<?> s : statements) {
+                packets.add(s.packet);
+            }
+
+            try {
+                this.connection.checkClosed();
+            } catch (CJException e) {
+                failure = e;
+            }
+
+            // commands are sent in bursts, the results of each burst are read before sending the next one
+            int sentUpTo = 0;
+            for (int i = 0; i < statements.size(); i++) {
+                PipelinedStatement<?> s = statements.get(i);
+                if (failure == null && i == sentUpTo) {
+                    try {
+                        sentUpTo += protocol.sendPipelined(packets.subList(i, packets.size()));
+                    } catch (CJException e) {
+                        failure = e;
+                    }
+                }
+                if (failure != null) {
+                    s.error = failure;
+                    continue;
+                }
+                try {
+                    s.resultSet = protocol.readPipelinedResult(s.packet, s.isBinaryEncoded, s.metadata, s.resultSetFactory);
+                } catch (CJCommunicationsException e) {
+                    failure = e;
+                    s.error = e;
+                } catch (CJException e) {
+                    s.error = e;
+                }
+            }
+
+            if (failure instanceof CJCommunicationsException) {
+                this.session.invokeCleanupListeners(failure);
+            }
+        }
+
+        // completed outside of the connection mutex and after all results are read, so that dependent actions may use the connection
+        for (PipelinedStatement<?> s : statements) {
+            s.complete(this.exceptionInterceptor);
+        }
+
+        if (failure != null) {
+            throw SQLExceptionsMapping.translateException(failure, this.exceptionInterceptor);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (this.isClosed) {
+            return;
+        }
+        try {
+            if (!this.connection.isClosed()) {
+                sync();
+            }
+        } finally {
+            this.isClosed = true;
+            this.queue.clear();
+            this.statement.close();
+        }
+    }
+
+    private void checkClosed() throws SQLException {
+        if (this.isClosed) {
+            throw SQLError.createSQLException(Messages.getString("Pipeline.0"), MysqlErrorNumbers.SQL_STATE_CONNECTION_NOT_OPEN, this.exceptionInterceptor);
+        }
+    }
+
+    private static NativePacketPayload copyOf(NativePacketPayload sharedPacket) {
+        NativePacketPayload packet = new NativePacketPayload(sharedPacket.getPosition());
+        packet.writeBytes(StringLengthDataType.STRING_FIXED, sharedPacket.getByteBuffer(), 0, sharedPacket.getPosition());
+        return packet;
+    }
+
+    private static ResultSet toResultSet(ResultSetImpl rs, ExceptionInterceptor exceptionInterceptor) throws SQLException {
+        if (!rs.hasRows()) {
+            throw SQLError.createSQLException(Messages.getString("Statement.57"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, exceptionInterceptor);
+        }
+        return rs;
+    }
+
+    private static Long toUpdateCount(ResultSetImpl rs, ExceptionInterceptor exceptionInterceptor) throws SQLException {
+        if (rs.hasRows()) {
+            rs.close();
+            throw SQLError.createSQLException(Messages.getString("Statement.46"), "01S03", exceptionInterceptor);
+        }
+        return rs.getUpdateCount();
+    }
+
+    @FunctionalInterface
+    private interface ResultConverter<T> {
+        T convert(ResultSetImpl rs, ExceptionInterceptor exceptionInterceptor) throws SQLException;
+    }
+
+    private static class PipelinedStatement<T> {
+        final NativePacketPayload packet;
+        final boolean isBinaryEncoded;
+        final ColumnDefinition metadata;
+        final ProtocolEntityFactory<ResultSetImpl, NativePacketPayload> resultSetFactory;
+        final ResultConverter<T> converter;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        ResultSetImpl resultSet = null;
+        CJException error = null;
+
+        PipelinedStatement(NativePacketPayload packet, boolean isBinaryEncoded, ColumnDefinition metadata,
+                ProtocolEntityFactory<ResultSetImpl, NativePacketPayload> resultSetFactory, ResultConverter<T> converter) {
+            this.packet = packet;
+            this.isBinaryEncoded = isBinaryEncoded;
+            this.metadata = metadata;
+            this.resultSetFactory = resultSetFactory;
+            this.converter = converter;
+        }
+
+        void complete(ExceptionInterceptor exceptionInterceptor) {
+            if (this.error != null) {
+                this.future.completeExceptionally(SQLExceptionsMapping.translateException(this.error, exceptionInterceptor));
+                return;
+            }
+            try {
+                this.future.complete(this.converter.convert(this.resultSet, exceptionInterceptor));
+            } catch (SQLException e) {
+                this.future.completeExceptionally(e);
+            }
+        }
+    }
+}
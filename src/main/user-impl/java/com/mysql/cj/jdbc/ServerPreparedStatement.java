@@ -41,6 +41,8 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Wrapper;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.mysql.cj.CancelQueryTask;
 import com.mysql.cj.Messages;
@@ -81,6 +83,15 @@ public class ServerPreparedStatement extends ClientPreparedStatement {
     protected boolean isCacheable = false;
     protected boolean isCached = false;
 
+    /**
+     * Multi-value INSERTs executing rewritten batches of this statement, by number of rows (a power of two), prepared on first use and closed when this
+     * statement is closed or returned to the cache.
+     */
+    private Map<Integer, ClientPreparedStatement> batchedInsertStatements = null;
+
+    /** Maximum number of placeholders the server accepts in a prepared statement. */
+    private static final int MAX_PLACEHOLDERS = 65535;
+
     /**
      * Creates a prepared statement instance
      * 
@@ -273,6 +284,7 @@ public class ServerPreparedStatement extends ClientPreparedStatement {
 
             if (this.isCacheable && isPoolable()) {
                 clearParameters();
+                closeBatchedInsertStatements();
 
                 this.isClosed = true;
 
@@ -528,9 +540,10 @@ public class ServerPreparedStatement extends ClientPreparedStatement {
 
                 if (calledExplicitly && !this.connection.isClosed()) {
                     synchronized (this.connection.getConnectionMutex()) {
+                        closeBatchedInsertStatements();
+
                         try {
-                            this.session.sendCommand(this.commandBuilder.buildComStmtClose(null, ((ServerPreparedQuery) this.query).getServerStatementId()),
-                                    true, 0);
+                            this.session.getProtocol().closeStatement(((ServerPreparedQuery) this.query).getServerStatementId());
                         } catch (CJException sqlEx) {
                             exceptionDuringClose = sqlEx;
                         }
@@ -798,6 +811,109 @@ public class ServerPreparedStatement extends ClientPreparedStatement {
         return this.hasOnDuplicateKeyUpdate;
     }
 
+    /**
+     * Rewrites the batched INSERTs as multi-value INSERTs with power-of-two numbers of rows, as many as maxAllowedPacket and the placeholders limit allow.
+     * The statement for each number of rows is prepared once and kept with this one, so that later batches are only executed, with binary protocol values.
+     */
+    @Override
+    protected long[] executeBatchedInserts(int batchTimeout) throws SQLException {
+        synchronized (checkClosed().getConnectionMutex()) {
+            if (((PreparedQuery<?>) this.query).getParseInfo().getValuesClause() == null) {
+                return executeBatchSerially(batchTimeout);
+            }
+
+            int numBatchedArgs = this.query.getBatchedArgs().size();
+
+            if (this.retrieveGeneratedKeys) {
+                this.batchedGeneratedKeys = new ArrayList<>(numBatchedArgs);
+            }
+
+            int maxRowsPerBatch = ((PreparedQuery<?>) this.query).computeBatchSize(numBatchedArgs);
+            int parameterCount = ((PreparedQuery<?>) this.query).getParameterCount();
+            if (parameterCount > 0) {
+                maxRowsPerBatch = Math.min(maxRowsPerBatch, MAX_PLACEHOLDERS / parameterCount);
+            }
+            maxRowsPerBatch = Integer.highestOneBit(Math.max(1, maxRowsPerBatch));
+
+            long updateCountRunningTotal = 0;
+            int batchCounter = 0;
+            CancelQueryTask timeoutTask = null;
+            SQLException sqlEx = null;
+
+            long[] updateCounts = new long[numBatchedArgs];
+
+            try {
+                timeoutTask = startQueryTimer(this, batchTimeout);
+
+                while (batchCounter < numBatchedArgs) {
+                    int numRows = Math.min(maxRowsPerBatch, Integer.highestOneBit(numBatchedArgs - batchCounter));
+                    ClientPreparedStatement batchedStatement = getBatchedInsertStatement(numRows);
+
+                    if (timeoutTask != null) {
+                        timeoutTask.setQueryToCancel(batchedStatement);
+                    }
+
+                    int batchedParamIndex = 1;
+                    for (int i = 0; i < numRows; i++) {
+                        batchedParamIndex = setOneBatchedParameterSet(batchedStatement, batchedParamIndex, this.query.getBatchedArgs().get(batchCounter++));
+                    }
+
+                    try {
+                        updateCountRunningTotal += batchedStatement.executeLargeUpdate();
+                        getBatchedGeneratedKeys(batchedStatement);
+                    } catch (SQLException ex) {
+                        sqlEx = handleExceptionForBatch(batchCounter - 1, numRows, updateCounts, ex);
+                    } finally {
+                        batchedStatement.clearParameters();
+                    }
+                }
+
+                if (sqlEx != null) {
+                    throw SQLError.createBatchUpdateException(sqlEx, updateCounts, this.exceptionInterceptor);
+                }
+
+                if (numBatchedArgs > 1) {
+                    long updCount = updateCountRunningTotal > 0 ? java.sql.Statement.SUCCESS_NO_INFO : 0;
+                    for (int j = 0; j < numBatchedArgs; j++) {
+                        updateCounts[j] = updCount;
+                    }
+                } else {
+                    updateCounts[0] = updateCountRunningTotal;
+                }
+                return updateCounts;
+            } finally {
+                stopQueryTimer(timeoutTask, false, false);
+                resetCancelledState();
+            }
+        }
+    }
+
+    private void closeBatchedInsertStatements() {
+        if (this.batchedInsertStatements != null) {
+            for (ClientPreparedStatement batchedStatement : this.batchedInsertStatements.values()) {
+                try {
+                    batchedStatement.close();
+                } catch (SQLException sqlEx) {
+                    // ignore, this statement is being closed anyway
+                }
+            }
+            this.batchedInsertStatements = null;
+        }
+    }
+
+    private ClientPreparedStatement getBatchedInsertStatement(int numRows) throws SQLException {
+        if (this.batchedInsertStatements == null) {
+            this.batchedInsertStatements = new HashMap<>();
+        }
+
+        ClientPreparedStatement batchedStatement = this.batchedInsertStatements.get(numRows);
+        if (batchedStatement == null || batchedStatement.isClosed()) {
+            batchedStatement = prepareBatchedInsertSQL(this.connection, numRows);
+            this.batchedInsertStatements.put(numRows, batchedStatement);
+        }
+        return batchedStatement;
+    }
+
     @Override
     protected ClientPreparedStatement prepareBatchedInsertSQL(JdbcConnection localConn, int numBatches) throws SQLException {
         synchronized (checkClosed().getConnectionMutex()) {
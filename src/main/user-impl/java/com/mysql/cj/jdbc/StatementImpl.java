@@ -99,8 +99,6 @@ import com.mysql.cj.util.Util;
 public class StatementImpl implements JdbcStatement {
     protected static final String PING_MARKER = "/* ping */";
 
-    protected NativeMessageBuilder commandBuilder = new NativeMessageBuilder(); // TODO use shared builder
-
     public final static byte USES_VARIABLES_FALSE = 0;
 
     public final static byte USES_VARIABLES_TRUE = 1;
@@ -32,9 +32,12 @@ package com.mysql.cj.jdbc.ha;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
 
 import com.mysql.cj.conf.ConnectionUrl;
+import com.mysql.cj.conf.HostInfo;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.CJCommunicationsException;
 import com.mysql.cj.exceptions.CJException;
@@ -65,6 +68,8 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
     private long queriesBeforeRetryPrimaryHost;
     private boolean failoverReadOnly;
     private int retriesAllDown;
+    private boolean parallelConnect;
+    private int parallelConnectDelay;
 
     private int currentHostIndex = NO_CONNECTION_INDEX;
     private int primaryHostIndex = DEFAULT_PRIMARY_HOST_INDEX;
@@ -131,12 +136,16 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
         this.queriesBeforeRetryPrimaryHost = connProps.getIntegerProperty(PropertyKey.queriesBeforeRetryMaster).getValue();
         this.failoverReadOnly = connProps.getBooleanProperty(PropertyKey.failOverReadOnly).getValue();
         this.retriesAllDown = connProps.getIntegerProperty(PropertyKey.retriesAllDown).getValue();
+        this.parallelConnect = connProps.getBooleanProperty(PropertyKey.failoverParallelConnect).getValue() && this.hostsList.size() > 1;
+        this.parallelConnectDelay = connProps.getIntegerProperty(PropertyKey.failoverParallelConnectDelay).getValue();
 
         this.enableFallBackToPrimaryHost = this.secondsBeforeRetryPrimaryHost > 0 || this.queriesBeforeRetryPrimaryHost > 0;
 
         pickNewConnection();
 
         this.explicitlyAutoCommit = this.currentConnection.getAutoCommit();
+
+        watchDnsSrvHosts();
     }
 
     /**
@@ -190,7 +199,9 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
             return;
         }
 
-        if (!isConnected() || readyToFallBackToPrimaryHost()) {
+        if (this.parallelConnect && !isConnected()) {
+            failOverInParallel(this.primaryHostIndex, true);
+        } else if (!isConnected() || readyToFallBackToPrimaryHost()) {
             try {
                 connectTo(this.primaryHostIndex);
             } catch (SQLException e) {
@@ -228,19 +239,33 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
         try {
             switchCurrentConnectionTo(hostIndex, createConnectionForHostIndex(hostIndex));
         } catch (SQLException e) {
-            if (this.currentConnection != null) {
-                StringBuilder msg = new StringBuilder("Connection to ").append(isPrimaryHostIndex(hostIndex) ? "primary" : "secondary").append(" host '")
-                        .append(this.hostsList.get(hostIndex)).append("' failed");
-                try {
-                    this.currentConnection.getSession().getLog().logWarn(msg.toString(), e);
-                } catch (CJException ex) {
-                    throw SQLExceptionsMapping.translateException(e, this.currentConnection.getExceptionInterceptor());
-                }
-            }
+            logConnectionFailure(hostIndex, e);
             throw e;
         }
     }
 
+    /**
+     * Logs a failed connection attempt to the host pointed out by the given host index, if there is a current connection to log it through.
+     * 
+     * @param hostIndex
+     *            The host index in the global hosts list.
+     * @param e
+     *            The exception thrown by the failed connection attempt.
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private synchronized void logConnectionFailure(int hostIndex, SQLException e) throws SQLException {
+        if (this.currentConnection != null) {
+            StringBuilder msg = new StringBuilder("Connection to ").append(isPrimaryHostIndex(hostIndex) ? "primary" : "secondary").append(" host '")
+                    .append(this.hostsList.get(hostIndex)).append("' failed");
+            try {
+                this.currentConnection.getSession().getLog().logWarn(msg.toString(), e);
+            } catch (CJException ex) {
+                throw SQLExceptionsMapping.translateException(e, this.currentConnection.getExceptionInterceptor());
+            }
+        }
+    }
+
     /**
      * Replaces the previous underlying connection by the connection given. State from previous connection, if any, is synchronized with the new one.
      * 
@@ -291,6 +316,11 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
      *             if an error occurs
      */
     private synchronized void failOver(int failedHostIdx) throws SQLException {
+        if (this.parallelConnect) {
+            failOverInParallel(failedHostIdx, false);
+            return;
+        }
+
         int prevHostIndex = this.currentHostIndex;
         int nextHostIndex = nextHost(failedHostIdx, false);
         int firstHostIndexTried = nextHostIndex;
@@ -338,6 +368,196 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
         }
     }
 
+    /**
+     * Initiates a failover procedure where connection attempts to the next hosts in the list are started in parallel, in the same order the default failover
+     * procedure would try them, but staggered by 'failoverParallelConnectDelay' milliseconds or as soon as all previous attempts failed. The primary host may
+     * or may not be excluded from the connection attempts, following the same rules as the default procedure.
+     * 
+     * @param startHostIdx
+     *            The host index where to start from.
+     * @param includeStartHost
+     *            Whether the host pointed out by startHostIdx is also attempted, as the first one.
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private synchronized void failOverInParallel(int startHostIdx, boolean includeStartHost) throws SQLException {
+        int prevHostIndex = this.currentHostIndex;
+        boolean firstConnOrPassedByPrimaryHost = prevHostIndex == NO_CONNECTION_INDEX || isPrimaryHostIndex(prevHostIndex);
+
+        SQLException lastExceptionCaught = null;
+        int attempts = 0;
+        do {
+            List<Integer> hostIndexes = new ArrayList<>(this.hostsList.size());
+            if (includeStartHost) {
+                hostIndexes.add(startHostIdx);
+            }
+            for (int i = 0, hostIdx = startHostIdx; i < this.hostsList.size(); i++) {
+                hostIdx = nextHost(hostIdx, attempts > 0);
+                if (!hostIndexes.contains(hostIdx)) {
+                    hostIndexes.add(hostIdx);
+                }
+            }
+
+            HostsConnectionRace race = new HostsConnectionRace(hostIndexes);
+            race.run();
+
+            for (int i = 0; i < hostIndexes.size(); i++) {
+                if (race.exceptions[i] != null) {
+                    logConnectionFailure(hostIndexes.get(i), race.exceptions[i]);
+                }
+            }
+
+            if (race.winner != NO_CONNECTION_INDEX) {
+                int hostIndex = hostIndexes.get(race.winner);
+                firstConnOrPassedByPrimaryHost = firstConnOrPassedByPrimaryHost || hostIndexes.subList(0, race.winner + 1).contains(this.primaryHostIndex);
+
+                bindConnectionToProxy(race.connections[race.winner]);
+                switchCurrentConnectionTo(hostIndex, race.connections[race.winner]);
+
+                if (firstConnOrPassedByPrimaryHost && connectedToSecondaryHost()) {
+                    resetAutoFallBackCounters();
+                }
+                return;
+            }
+
+            // The race ends early on the first exception that must not trigger a connection switch, e.g., access denied, and it's thrown here.
+            lastExceptionCaught = null;
+            for (SQLException e : race.exceptions) {
+                if (e != null) {
+                    if (!shouldExceptionTriggerConnectionSwitch(e)) {
+                        throw e;
+                    }
+                    lastExceptionCaught = e;
+                }
+            }
+
+            if (++attempts < this.retriesAllDown) {
+                try {
+                    Thread.sleep(250);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        } while (attempts < this.retriesAllDown);
+
+        throw lastExceptionCaught;
+    }
+
+    /**
+     * Connection attempts, running in parallel, to a list of hosts ordered by priority. Attempts are started in order, one after the other, waiting up to
+     * 'failoverParallelConnectDelay' milliseconds for the previous ones to succeed. A successful attempt only wins once all higher priority attempts have
+     * failed, so the highest priority host that accepts the connection is always chosen. All other connections are closed, including the ones that only
+     * succeed after the race is over. An attempt failing with an exception that must not trigger a connection switch ends the race as well.
+     */
+    private class HostsConnectionRace {
+        final List<Integer> hostIndexes;
+        final ConnectionImpl[] connections;
+        final SQLException[] exceptions;
+        final boolean[] done;
+        int started = 0;
+        int winner = NO_CONNECTION_INDEX;
+        boolean failed = false;
+        boolean finished = false;
+
+        HostsConnectionRace(List<Integer> hostIndexes) {
+            this.hostIndexes = hostIndexes;
+            this.connections = new ConnectionImpl[hostIndexes.size()];
+            this.exceptions = new SQLException[hostIndexes.size()];
+            this.done = new boolean[hostIndexes.size()];
+        }
+
+        /**
+         * Runs the race until one connection attempt succeeds or all fail.
+         */
+        synchronized void run() {
+            boolean interrupted = false;
+            long nextStartTime = 0;
+            while (!this.finished) {
+                boolean allStartedDone = true;
+                boolean anySucceeded = false;
+                for (int i = 0; i < this.started; i++) {
+                    if (this.done[i] && this.connections[i] != null) {
+                        if (allStartedDone) {
+                            // All higher priority attempts failed.
+                            this.winner = i;
+                            break;
+                        }
+                        anySucceeded = true;
+                    } else if (this.done[i] && this.exceptions[i] != null && !shouldExceptionTriggerConnectionSwitch(this.exceptions[i])) {
+                        // Other hosts would fail the same way.
+                        this.failed = true;
+                        break;
+                    }
+                    allStartedDone &= this.done[i];
+                }
+
+                long now = System.currentTimeMillis();
+                if (this.winner != NO_CONNECTION_INDEX || this.failed || allStartedDone && this.started == this.hostIndexes.size()) {
+                    this.finished = true;
+                    for (int i = 0; i < this.connections.length; i++) {
+                        if (i != this.winner && this.connections[i] != null) {
+                            closeQuietly(this.connections[i]);
+                        }
+                    }
+                } else if (!anySucceeded && this.started < this.hostIndexes.size() && (allStartedDone || now >= nextStartTime)) {
+                    startAttempt(this.started++);
+                    nextStartTime = now + FailoverConnectionProxy.this.parallelConnectDelay;
+                } else {
+                    try {
+                        // Lower priority attempts aren't needed anymore once one succeeded, only the higher priority ones still running are waited for.
+                        wait(!anySucceeded && this.started < this.hostIndexes.size() ? Math.max(1, nextStartTime - now) : 0);
+                    } catch (InterruptedException e) {
+                        // Keep waiting, the connection attempts will time out eventually.
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void startAttempt(int pos) {
+            HostInfo hostInfo = FailoverConnectionProxy.this.hostsList.get(this.hostIndexes.get(pos));
+            getConnectExecutor().execute(() -> {
+                ConnectionImpl conn = null;
+                SQLException ex = null;
+                try {
+                    conn = (ConnectionImpl) ConnectionImpl.getInstance(hostInfo);
+                } catch (Exception e) {
+                    ex = SQLExceptionsMapping.translateException(e);
+                } catch (Error e) {
+                    // Don't leave the race waiting for this attempt, but let the error reach the executor.
+                    attemptDone(pos, null, SQLExceptionsMapping.translateException(e));
+                    throw e;
+                }
+                attemptDone(pos, conn, ex);
+            });
+        }
+
+        private synchronized void attemptDone(int pos, ConnectionImpl conn, SQLException ex) {
+            if (this.finished) {
+                // Too late, the race is over.
+                if (conn != null) {
+                    closeQuietly(conn);
+                }
+                return;
+            }
+            this.connections[pos] = conn;
+            this.exceptions[pos] = ex;
+            this.done[pos] = true;
+            notifyAll();
+        }
+
+        private void closeQuietly(ConnectionImpl conn) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                // Swallow, this connection was never used.
+            }
+        }
+    }
+
     /**
      * Falls back to primary host or keep current connection if primary not available.
      */
@@ -406,6 +626,30 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
         return this.currentHostIndex != NO_CONNECTION_INDEX;
     }
 
+    /**
+     * Replaces the hosts list keeping the current connection valid: its host is appended to the new list if it is no longer there, so that it is only left
+     * on the next fail over.
+     */
+    @Override
+    synchronized void dnsSrvHostsChanged(List<HostInfo> hosts) {
+        List<HostInfo> newHostsList = new ArrayList<>(hosts);
+        if (isConnected()) {
+            String currentHostPortPair = this.hostsList.get(this.currentHostIndex).getHostPortPair();
+            int newHostIndex = -1;
+            for (int i = 0; i < newHostsList.size() && newHostIndex < 0; i++) {
+                if (currentHostPortPair.equals(newHostsList.get(i).getHostPortPair())) {
+                    newHostIndex = i;
+                }
+            }
+            if (newHostIndex < 0) {
+                newHostsList.add(this.hostsList.get(this.currentHostIndex));
+                newHostIndex = newHostsList.size() - 1;
+            }
+            this.currentHostIndex = newHostIndex;
+        }
+        this.hostsList = newHostsList;
+    }
+
     /**
      * Checks if the given host index points to the primary host.
      * 
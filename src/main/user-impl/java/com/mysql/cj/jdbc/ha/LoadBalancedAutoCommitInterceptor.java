@@ -32,6 +32,8 @@ package com.mysql.cj.jdbc.ha;
 import java.sql.SQLException;
 import java.util.Properties;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.mysql.cj.MysqlConnection;
 import com.mysql.cj.Query;
@@ -40,19 +42,33 @@ import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.interceptors.QueryInterceptor;
 import com.mysql.cj.jdbc.JdbcConnection;
 import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.Resultset;
 import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.a.NativeConstants;
 import com.mysql.cj.util.StringUtils;
 
 public class LoadBalancedAutoCommitInterceptor implements QueryInterceptor {
+    private static final byte[][] IGNORED_STATEMENT_PREFIXES = new byte[][] { { 'S', 'E', 'T' }, { 'S', 'H', 'O', 'W' }, { 'U', 'S', 'E' } };
+
     private int matchingAfterStatementCount = 0;
     private int matchingAfterStatementThreshold = 0;
-    private String matchingAfterStatementRegex;
+    private Matcher matchingAfterStatementMatcher;
+    private boolean matchOnPacketBytes = false;
+    private long rebalanceTimeThreshold = 0;
+    private long lastRebalanceTime = 0;
+    private boolean rebalanceOnTransactionEnd = false;
     private JdbcConnection conn;
     private LoadBalancedConnectionProxy proxy = null;
 
     private boolean countStatements = false;
 
+    // State of the statement currently being executed, as inspected on its COM_QUERY packet.
+    private boolean awaitingQueryPacket = false;
+    private boolean queryPacketInspected = false;
+    private boolean queryPacketIgnored = false;
+    private boolean queryPacketMatches = false;
+
     @Override
     public void destroy() {
         this.conn = null;
@@ -77,8 +93,22 @@ public class LoadBalancedAutoCommitInterceptor implements QueryInterceptor {
         }
         String autoCommitSwapRegex = props.getProperty(PropertyKey.loadBalanceAutoCommitStatementRegex.getKeyName(), "");
         if (!"".equals(autoCommitSwapRegex)) {
-            this.matchingAfterStatementRegex = autoCommitSwapRegex;
+            try {
+                this.matchingAfterStatementMatcher = Pattern.compile(autoCommitSwapRegex).matcher("");
+                // Only pure ASCII expressions can be evaluated directly over the packet bytes.
+                this.matchOnPacketBytes = autoCommitSwapRegex.chars().allMatch(c -> c < 0x80);
+            } catch (RuntimeException e) {
+                // nothing here, being handled in LoadBalancedConnectionProxy.
+            }
         }
+        String autoCommitSwapTimeThresholdAsString = props.getProperty(PropertyKey.loadBalanceAutoCommitTimeThreshold.getKeyName(), "0");
+        try {
+            this.rebalanceTimeThreshold = Long.parseLong(autoCommitSwapTimeThresholdAsString);
+        } catch (NumberFormatException nfe) {
+            // nothing here, being handled in LoadBalancedConnectionProxy.
+        }
+        this.rebalanceOnTransactionEnd = Boolean.parseBoolean(props.getProperty(PropertyKey.loadBalanceAutoCommitOnTransactionEnd.getKeyName(), "false"));
+        this.lastRebalanceTime = System.currentTimeMillis();
         return this;
 
     }
@@ -86,11 +116,13 @@ public class LoadBalancedAutoCommitInterceptor implements QueryInterceptor {
     @Override
     @SuppressWarnings("resource")
     public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery, T originalResultSet, ServerSession serverSession) {
+        boolean packetInspected = this.queryPacketInspected;
+        this.awaitingQueryPacket = false;
+        this.queryPacketInspected = false;
 
         try {
             // Don't count SETs, SHOWs neither USEs. Those are mostly used internally and must not trigger a connection switch.
-            if (!this.countStatements || StringUtils.startsWithIgnoreCase(sql.get(), "SET") || StringUtils.startsWithIgnoreCase(sql.get(), "SHOW")
-                    || StringUtils.startsWithIgnoreCase(sql.get(), "USE")) {
+            if (!this.countStatements || (packetInspected ? this.queryPacketIgnored : isIgnoredStatement(sql.get()))) {
                 return originalResultSet;
             }
 
@@ -116,13 +148,27 @@ public class LoadBalancedAutoCommitInterceptor implements QueryInterceptor {
             }
 
             // Increment the match count if no regex specified, or if matches.
-            if (this.matchingAfterStatementRegex == null || sql.get().matches(this.matchingAfterStatementRegex)) {
+            if (this.matchingAfterStatementMatcher == null
+                    || (packetInspected ? this.queryPacketMatches : this.matchingAfterStatementMatcher.reset(sql.get()).matches())) {
                 this.matchingAfterStatementCount++;
             }
 
-            // Trigger rebalance if count exceeds threshold.
-            if (this.matchingAfterStatementCount >= this.matchingAfterStatementThreshold) {
+            // Trigger rebalance if any of the configured policies fires, or after every statement if none is configured.
+            boolean rebalance = this.matchingAfterStatementThreshold <= 0 && this.rebalanceTimeThreshold <= 0 && !this.rebalanceOnTransactionEnd;
+            if (!rebalance && this.matchingAfterStatementThreshold > 0) {
+                rebalance = this.matchingAfterStatementCount >= this.matchingAfterStatementThreshold;
+            }
+            if (!rebalance && this.rebalanceTimeThreshold > 0) {
+                rebalance = System.currentTimeMillis() - this.lastRebalanceTime >= this.rebalanceTimeThreshold;
+            }
+            if (!rebalance && this.rebalanceOnTransactionEnd && serverSession != null) {
+                rebalance = serverSession.getTransactionState() == ServerSession.TRANSACTION_COMPLETED;
+            }
+
+            // Explicit transactions started while in auto-commit mode must complete on the same host.
+            if (rebalance && (serverSession == null || !serverSession.inTransactionOnServer())) {
                 this.matchingAfterStatementCount = 0;
+                this.lastRebalanceTime = System.currentTimeMillis();
                 try {
                     this.proxy.pickNewConnection();
                 } catch (SQLException e) {
@@ -140,6 +186,46 @@ public class LoadBalancedAutoCommitInterceptor implements QueryInterceptor {
     @Override
     public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
         // we do nothing before execution, it's unsafe to swap servers at this point.
+        // The statement text is inspected on its query packet instead, see preProcess(Message).
+        this.awaitingQueryPacket = this.countStatements;
+        this.queryPacketInspected = false;
+        return null;
+    }
+
+    @Override
+    public <M extends Message> M preProcess(M queryPacket) {
+        if (!this.awaitingQueryPacket) {
+            return null;
+        }
+        // Only the first packet sent after the statement-level hook carries the intercepted statement.
+        this.awaitingQueryPacket = false;
+
+        byte[] buf = queryPacket.getByteBuffer();
+        int end = queryPacket.getPosition();
+        if (end < 1 || buf[0] != NativeConstants.COM_QUERY) {
+            return null;
+        }
+
+        this.queryPacketIgnored = false;
+        for (byte[] prefix : IGNORED_STATEMENT_PREFIXES) {
+            if (startsWithIgnoreCase(buf, 1, end, prefix)) {
+                this.queryPacketIgnored = true;
+                break;
+            }
+        }
+        if (!this.queryPacketIgnored && this.matchingAfterStatementMatcher != null) {
+            if (!this.matchOnPacketBytes) {
+                return null;
+            }
+            for (int i = 1; i < end; i++) {
+                if (buf[i] < 0) {
+                    // Multi-byte characters; let the statement-level hook decode the SQL instead.
+                    return null;
+                }
+            }
+            this.queryPacketMatches = this.matchingAfterStatementMatcher.reset(new AsciiBytesSequence(buf, 1, end)).matches();
+        }
+        this.queryPacketInspected = true;
         return null;
     }
 
@@ -150,4 +236,56 @@ public class LoadBalancedAutoCommitInterceptor implements QueryInterceptor {
     void resumeCounters() {
         this.countStatements = true;
     }
+
+    private static boolean isIgnoredStatement(String sql) {
+        return StringUtils.startsWithIgnoreCase(sql, "SET") || StringUtils.startsWithIgnoreCase(sql, "SHOW") || StringUtils.startsWithIgnoreCase(sql, "USE");
+    }
+
+    private static boolean startsWithIgnoreCase(byte[] buf, int start, int end, byte[] upperCasePrefix) {
+        if (end - start < upperCasePrefix.length) {
+            return false;
+        }
+        for (int i = 0; i < upperCasePrefix.length; i++) {
+            byte b = buf[start + i];
+            if (b != upperCasePrefix[i] && b != upperCasePrefix[i] + ('a' - 'A')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read-only {@link CharSequence} view over a range of ASCII bytes, so that statements can be matched without decoding them into a String.
+     */
+    private static class AsciiBytesSequence implements CharSequence {
+        private final byte[] bytes;
+        private final int start;
+        private final int end;
+
+        AsciiBytesSequence(byte[] bytes, int start, int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return this.end - this.start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) this.bytes[this.start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new AsciiBytesSequence(this.bytes, this.start + from, this.start + to);
+        }
+
+        @Override
+        public String toString() {
+            return StringUtils.toString(this.bytes, this.start, this.end - this.start, "US-ASCII");
+        }
+    }
 }
@@ -36,6 +36,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -45,6 +46,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.mysql.cj.Messages;
@@ -59,6 +61,7 @@ import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.interceptors.QueryInterceptor;
 import com.mysql.cj.jdbc.ConnectionGroup;
+import com.mysql.cj.jdbc.ConnectionGroupHostStatistics;
 import com.mysql.cj.jdbc.ConnectionGroupManager;
 import com.mysql.cj.jdbc.ConnectionImpl;
 import com.mysql.cj.jdbc.JdbcConnection;
@@ -98,6 +101,8 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
     private int hostRemovalGracePeriod = 0;
     // host:port pairs to be considered as removed (definitely blacklisted) from the original hosts list.
     private Set<String> hostsToRemove = new HashSet<>();
+    // host:port pairs no longer in the DNS SRV records, to be removed when the transaction in progress on them ends.
+    private Set<String> hostsToRemoveAfterTransaction = new HashSet<>();
 
     private boolean inTransaction = false;
     private long transactionStartTime = 0;
@@ -105,6 +110,10 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
 
     private LoadBalanceExceptionChecker exceptionChecker;
 
+    private boolean preconnect = false;
+    // host:port pairs with a background connection attempt in progress.
+    private Set<String> hostsBeingPreconnected = new HashSet<>();
+
     private static Class<?>[] INTERFACES_TO_PROXY = new Class<?>[] { LoadBalancedConnection.class, JdbcConnection.class };
 
     /**
@@ -136,6 +145,7 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         Properties props = connectionUrl.getConnectionArgumentsAsProperties();
 
         String group = props.getProperty(PropertyKey.loadBalanceConnectionGroup.getKeyName(), null);
+        this.preconnect = Boolean.parseBoolean(props.getProperty(PropertyKey.loadBalancePreconnect.getKeyName(), "false"));
         boolean enableJMX = false;
         String enableJMXAsString = props.getProperty(PropertyKey.ha_enableJMX.getKeyName(), "false");
         try {
@@ -222,6 +232,14 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
                     new Object[] { autoCommitSwapThresholdAsString }), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, null);
         }
 
+        String autoCommitSwapTimeThresholdAsString = props.getProperty(PropertyKey.loadBalanceAutoCommitTimeThreshold.getKeyName(), "0");
+        try {
+            Long.parseLong(autoCommitSwapTimeThresholdAsString);
+        } catch (NumberFormatException nfe) {
+            throw SQLError.createSQLException(Messages.getString("LoadBalancedConnectionProxy.badValueForLoadBalanceAutoCommitTimeThreshold",
+                    new Object[] { autoCommitSwapTimeThresholdAsString }), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, null);
+        }
+
         String autoCommitSwapRegex = props.getProperty(PropertyKey.loadBalanceAutoCommitStatementRegex.getKeyName(), "");
         if (!("".equals(autoCommitSwapRegex))) {
             try {
@@ -245,6 +263,12 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         }
 
         pickNewConnection();
+
+        if (this.preconnect) {
+            preconnectHosts();
+        }
+
+        watchDnsSrvHosts();
     }
 
     /**
@@ -319,8 +343,13 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         }
 
         // remove from liveConnections
-        this.liveConnections.remove(this.connectionsToHostsMap.get(conn));
-        Object mappedHost = this.connectionsToHostsMap.remove(conn);
+        String mappedHost = this.connectionsToHostsMap.remove(conn);
+        if (mappedHost != null && this.liveConnections.remove(mappedHost) != null) {
+            updateHostStatistics(mappedHost, ConnectionGroupHostStatistics::connectionClosed);
+            if (!this.hostsToRemove.contains(mappedHost)) {
+                updateHostStatistics(mappedHost, ConnectionGroupHostStatistics::errorOccurred);
+            }
+        }
         if (mappedHost != null && this.hostsToListIndexMap.containsKey(mappedHost)) {
             int hostIndex = this.hostsToListIndexMap.get(mappedHost);
             // reset the statistics for the host
@@ -399,14 +428,33 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
      */
     @Override
     public synchronized ConnectionImpl createConnectionForHost(HostInfo hostInfo) throws SQLException {
-        ConnectionImpl conn = super.createConnectionForHost(hostInfo);
+        ConnectionImpl conn;
+        try {
+            conn = super.createConnectionForHost(hostInfo);
+        } catch (SQLException e) {
+            updateHostStatistics(hostInfo.getHostPortPair(), ConnectionGroupHostStatistics::errorOccurred);
+            throw e;
+        }
+        registerLiveConnection(hostInfo, conn);
+        return conn;
+    }
 
+    /**
+     * Updates required internal mappings and statistics for a new physical connection to the given host.
+     * 
+     * @param hostInfo
+     *            The host info instance.
+     * @param conn
+     *            The new Connection instance.
+     */
+    private synchronized void registerLiveConnection(HostInfo hostInfo, ConnectionImpl conn) {
         this.liveConnections.put(hostInfo.getHostPortPair(), conn);
         this.connectionsToHostsMap.put(conn, hostInfo.getHostPortPair());
 
         removeFromGlobalBlacklist(hostInfo.getHostPortPair());
 
         this.totalPhysicalConnections++;
+        updateHostStatistics(hostInfo.getHostPortPair(), ConnectionGroupHostStatistics::connectionOpened);
 
         for (QueryInterceptor stmtInterceptor : conn.getQueryInterceptorsInstances()) {
             if (stmtInterceptor instanceof LoadBalancedAutoCommitInterceptor) {
@@ -414,8 +462,59 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
                 break;
             }
         }
+    }
 
-        return conn;
+    /**
+     * Opens, in background, physical connections to all the hosts in the hosts list that don't have a live connection yet.
+     */
+    private synchronized void preconnectHosts() {
+        for (HostInfo hostInfo : this.hostsList) {
+            preconnectHost(hostInfo);
+        }
+    }
+
+    /**
+     * Opens, in background, a physical connection to the given host so that it is readily available for the next connection switch. Blacklisted hosts are
+     * skipped. The new connection is discarded if, by the time it gets established, this proxy was closed, the host was removed or another connection to it
+     * was created meanwhile.
+     * 
+     * @param hostInfo
+     *            The host info instance.
+     */
+    private synchronized void preconnectHost(HostInfo hostInfo) {
+        String hostPortPair = hostInfo.getHostPortPair();
+        if (this.isClosed || this.liveConnections.containsKey(hostPortPair) || this.hostsToRemove.contains(hostPortPair)
+                || getGlobalBlacklist().containsKey(hostPortPair) || !this.hostsBeingPreconnected.add(hostPortPair)) {
+            return;
+        }
+
+        getConnectExecutor().execute(() -> {
+            ConnectionImpl conn = null;
+            try {
+                conn = (ConnectionImpl) ConnectionImpl.getInstance(hostInfo);
+            } catch (SQLException e) {
+                updateHostStatistics(hostPortPair, ConnectionGroupHostStatistics::errorOccurred);
+                if (shouldExceptionTriggerConnectionSwitch(e)) {
+                    addToGlobalBlacklist(hostPortPair);
+                }
+            } finally {
+                synchronized (LoadBalancedConnectionProxy.this) {
+                    this.hostsBeingPreconnected.remove(hostPortPair);
+
+                    if (conn != null) {
+                        if (this.isClosed || this.liveConnections.containsKey(hostPortPair) || !this.hostsToListIndexMap.containsKey(hostPortPair)) {
+                            try {
+                                conn.close();
+                            } catch (SQLException e) {
+                            }
+                        } else {
+                            bindConnectionToProxy(conn);
+                            registerLiveConnection(hostInfo, conn);
+                        }
+                    }
+                }
+            }
+        });
     }
 
     @Override
@@ -454,6 +553,31 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         return null;
     }
 
+    /**
+     * Clears all live connections mappings.
+     */
+    private synchronized void clearLiveConnections() {
+        for (String host : this.liveConnections.keySet()) {
+            updateHostStatistics(host, ConnectionGroupHostStatistics::connectionClosed);
+        }
+        this.liveConnections.clear();
+        this.connectionsToHostsMap.clear();
+    }
+
+    /**
+     * Updates the connection group statistics of the given host, if this connection belongs to a connection group.
+     * 
+     * @param hostPortPair
+     *            The host:port pair.
+     * @param update
+     *            The update to apply to the host statistics.
+     */
+    private void updateHostStatistics(String hostPortPair, Consumer<ConnectionGroupHostStatistics> update) {
+        if (this.connectionGroup != null && hostPortPair != null) {
+            update.accept(this.connectionGroup.getHostStatistics(hostPortPair));
+        }
+    }
+
     /**
      * Closes all live connections.
      */
@@ -472,8 +596,7 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
             }
         }
 
-        this.liveConnections.clear();
-        this.connectionsToHostsMap.clear();
+        clearLiveConnections();
     }
 
     /**
@@ -503,8 +626,7 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
             }
         }
 
-        this.liveConnections.clear();
-        this.connectionsToHostsMap.clear();
+        clearLiveConnections();
     }
 
     /**
@@ -526,8 +648,7 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
             }
         }
 
-        this.liveConnections.clear();
-        this.connectionsToHostsMap.clear();
+        clearLiveConnections();
     }
 
     /**
@@ -598,8 +719,12 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
                             this.responseTimes[hostIndex] = System.nanoTime() - this.transactionStartTime;
                         }
                     }
+                    long transactionDuration = System.nanoTime() - this.transactionStartTime;
+                    updateHostStatistics(host, stats -> stats.transactionCompleted(transactionDuration));
+                }
+                if (!removeHostsAfterTransaction()) {
+                    pickNewConnection();
                 }
-                pickNewConnection();
             }
         }
 
@@ -656,7 +781,10 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
                         }
                     }
                     // take the connection out of the liveConnections Map
-                    this.liveConnections.remove(this.connectionsToHostsMap.get(conn));
+                    if (this.liveConnections.remove(this.connectionsToHostsMap.get(conn)) != null) {
+                        updateHostStatistics(host, ConnectionGroupHostStatistics::connectionClosed);
+                        updateHostStatistics(host, ConnectionGroupHostStatistics::errorOccurred);
+                    }
                 }
             }
         }
@@ -687,6 +815,7 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
             synchronized (globalBlacklist) {
                 globalBlacklist.put(host, timeout);
             }
+            updateHostStatistics(host, ConnectionGroupHostStatistics::hostBlacklisted);
         }
     }
 
@@ -769,9 +898,13 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         if (keys.size() == this.hostsList.size()) {
             // return an empty blacklist, let the BalanceStrategy implementations try to connect to everything since it appears that all hosts are
             // unavailable - we don't want to wait for loadBalanceBlacklistTimeout to expire.
-            return new HashMap<>(1);
+            blacklistClone = new HashMap<>(1);
         }
 
+        // Hosts to be removed must never be picked, whatever the state of the global blacklist.
+        for (String h : this.hostsToRemove) {
+            blacklistClone.putIfAbsent(h, System.currentTimeMillis() + 5000);
+        }
         return blacklistClone;
     }
 
@@ -832,7 +965,11 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
 
         this.hostsToRemove.add(hostPortPair);
 
-        this.connectionsToHostsMap.remove(this.liveConnections.remove(hostPortPair));
+        ConnectionImpl removedConn = this.liveConnections.remove(hostPortPair);
+        if (removedConn != null) {
+            this.connectionsToHostsMap.remove(removedConn);
+            updateHostStatistics(hostPortPair, ConnectionGroupHostStatistics::connectionClosed);
+        }
         if (this.hostsToListIndexMap.remove(hostPortPair) != null) {
             long[] newResponseTimes = new long[this.responseTimes.length - 1];
             int newIdx = 0;
@@ -877,9 +1014,84 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         this.hostsToListIndexMap.put(hostPortPair, this.responseTimes.length - 1);
         this.hostsToRemove.remove(hostPortPair);
 
+        if (this.preconnect) {
+            this.hostsList.stream().filter(hi -> hostPortPair.equals(hi.getHostPortPair())).findFirst().ifPresent(this::preconnectHost);
+        }
+
         return true;
     }
 
+    /**
+     * Adds the new hosts and removes the missing ones. The host of the current connection is only removed right away if no transaction is in progress,
+     * otherwise it is excluded from the next connection switch and removed when the transaction ends.
+     */
+    @Override
+    synchronized void dnsSrvHostsChanged(List<HostInfo> hosts) {
+        Set<String> newHostPortPairs = hosts.stream().map(HostInfo::getHostPortPair).collect(Collectors.toSet());
+        for (HostInfo hostInfo : hosts) {
+            if (this.hostsList.stream().noneMatch(hi -> hostInfo.getHostPortPair().equals(hi.getHostPortPair()))) {
+                this.hostsList.add(hostInfo);
+            }
+            if (this.hostsToRemoveAfterTransaction.remove(hostInfo.getHostPortPair())) {
+                // Back before its transaction ended.
+                this.hostsToRemove.remove(hostInfo.getHostPortPair());
+            }
+            addHost(hostInfo.getHostPortPair());
+        }
+
+        for (String hostPortPair : new ArrayList<>(this.hostsToListIndexMap.keySet())) {
+            if (newHostPortPairs.contains(hostPortPair)) {
+                continue;
+            }
+            try {
+                if (hostPortPair.equals(this.currentConnection.getHostPortPair()) && !this.currentConnection.getAutoCommit()) {
+                    this.hostsToRemove.add(hostPortPair);
+                    this.hostsToRemoveAfterTransaction.add(hostPortPair);
+                } else {
+                    removeHost(hostPortPair);
+                }
+            } catch (SQLException e) {
+                // Keep the host, it is retried in the next topology change.
+            }
+        }
+        pruneRemovedHosts();
+    }
+
+    /**
+     * Removes the hosts that left the DNS SRV records while a transaction was in progress on them.
+     * 
+     * @return true if the current connection was switched to another host
+     */
+    private boolean removeHostsAfterTransaction() {
+        boolean switched = false;
+        for (String hostPortPair : this.hostsToRemoveAfterTransaction) {
+            try {
+                boolean current = hostPortPair.equals(this.currentConnection.getHostPortPair());
+                removeHost(hostPortPair);
+                switched |= current;
+            } catch (SQLException e) {
+                // Keep the host, it is retried in the next topology change.
+            }
+        }
+        this.hostsToRemoveAfterTransaction.clear();
+        pruneRemovedHosts();
+        return switched;
+    }
+
+    /**
+     * Drops the hosts that left the DNS SRV records from the hosts list, so that it doesn't grow indefinitely as the records rotate. They are kept while
+     * waiting for a transaction to end.
+     */
+    private void pruneRemovedHosts() {
+        for (Iterator<HostInfo> it = this.hostsList.iterator(); it.hasNext();) {
+            String hostPortPair = it.next().getHostPortPair();
+            if (!this.hostsToListIndexMap.containsKey(hostPortPair) && !this.hostsToRemoveAfterTransaction.contains(hostPortPair)) {
+                it.remove();
+                this.hostsToRemove.remove(hostPortPair);
+            }
+        }
+    }
+
     public synchronized boolean inTransaction() {
         return this.inTransaction;
     }
@@ -38,13 +38,18 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.mysql.cj.conf.ConnectionUrl;
+import com.mysql.cj.conf.ConnectionUrl.Type;
 import com.mysql.cj.conf.HostInfo;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.RuntimeProperty;
 import com.mysql.cj.jdbc.ConnectionImpl;
 import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.util.DnsSrv.SrvRecordsListener;
 import com.mysql.cj.util.Util;
 
 /**
@@ -81,6 +86,11 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
     boolean closedExplicitly = false;
     String closedReason = null;
 
+    // Keeps the DNS SRV records listener alive while this connection is open, it is only weakly referenced by the DNS SRV records cache.
+    private SrvRecordsListener dnsSrvHostsListener = null;
+    // Latest hosts list found by the DNS SRV records refresh, not yet applied to this connection.
+    private final AtomicReference<List<HostInfo>> pendingDnsSrvHosts = new AtomicReference<>();
+
     // Keep track of the last exception processed in 'dealWithInvocationException()' in order to avoid creating connections repeatedly from each time the same
     // exception is caught in every proxy instance belonging to the same call stack.
     protected Throwable lastExceptionDealtWith = null;
@@ -345,12 +355,88 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
      */
     synchronized ConnectionImpl createConnectionForHost(HostInfo hostInfo) throws SQLException {
         ConnectionImpl conn = (ConnectionImpl) ConnectionImpl.getInstance(hostInfo);
+        bindConnectionToProxy(conn);
+        return conn;
+    }
+
+    /**
+     * Sets this multi-host connection as proxy of the given physical connection. Connections created outside of {@link #createConnectionForHost(HostInfo)},
+     * e.g., in background, must be bound to this proxy before being used.
+     * 
+     * @param conn
+     *            The physical connection instance.
+     */
+    synchronized void bindConnectionToProxy(ConnectionImpl conn) {
         JdbcConnection topmostProxy = getProxy();
         if (topmostProxy != this.thisAsConnection) {
             conn.setProxy(this.thisAsConnection); // First call sets this connection as underlying connection parent proxy (its creator).
         }
         conn.setProxy(topmostProxy); // Set the topmost proxy in the underlying connection.
-        return conn;
+    }
+
+    /**
+     * Returns the executor shared by all multi-host connections to open physical connections in background.
+     * 
+     * @return the executor service
+     */
+    static ExecutorService getConnectExecutor() {
+        return ConnectExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Starts watching the DNS SRV records this connection's hosts were resolved from, if any, so that topology changes found by the background refresh of
+     * these records are applied to this connection through {@link #dnsSrvHostsChanged(List)}.
+     * 
+     * The refresh thread only records the new hosts list, it never waits for this connection's lock. The list is applied by the next method invoked on this
+     * connection.
+     */
+    void watchDnsSrvHosts() {
+        Type type = this.connectionUrl.getType();
+        if (type != Type.LOADBALANCE_DNS_SRV_CONNECTION && type != Type.FAILOVER_DNS_SRV_CONNECTION) {
+            return;
+        }
+        this.dnsSrvHostsListener = this.connectionUrl.addDnsSrvHostsListener(this.connectionUrl.getMainHost(), this.pendingDnsSrvHosts::set);
+    }
+
+    /**
+     * Applies the hosts list recorded by the last DNS SRV records refresh, if any. Must be called while holding this connection's lock.
+     */
+    void applyPendingDnsSrvHosts() {
+        List<HostInfo> hosts = this.pendingDnsSrvHosts.getAndSet(null);
+        if (hosts != null && !this.isClosed) {
+            dnsSrvHostsChanged(hosts);
+        }
+    }
+
+    /**
+     * Stops watching the DNS SRV records this connection's hosts were resolved from.
+     */
+    synchronized void unwatchDnsSrvHosts() {
+        if (this.dnsSrvHostsListener != null) {
+            this.connectionUrl.removeDnsSrvHostsListener(this.connectionUrl.getMainHost(), this.dnsSrvHostsListener);
+            this.dnsSrvHostsListener = null;
+        }
+    }
+
+    /**
+     * Applies a new hosts list resolved from the DNS SRV records this connection was created from. Called while holding this connection's lock.
+     * 
+     * @param hosts
+     *            The new list of hosts.
+     */
+    void dnsSrvHostsChanged(List<HostInfo> hosts) {
+        // Multi-host connections that can't change their hosts list while open ignore topology changes.
+    }
+
+    /**
+     * Lazily initialized holder of the executor shared by all multi-host connections to open physical connections in background.
+     */
+    private static class ConnectExecutorHolder {
+        static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "mysql-cj-multi-host-connect");
+            t.setDaemon(true);
+            return t;
+        });
     }
 
     /**
@@ -472,6 +558,7 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
         }
 
         if (METHOD_CLOSE.equals(methodName)) {
+            unwatchDnsSrvHosts();
             doClose();
             this.isClosed = true;
             this.closedReason = "Connection explicitly closed.";
@@ -480,6 +567,7 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
         }
 
         if (METHOD_ABORT_INTERNAL.equals(methodName)) {
+            unwatchDnsSrvHosts();
             doAbortInternal();
             this.currentConnection.abortInternal();
             this.isClosed = true;
@@ -488,6 +576,7 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
         }
 
         if (METHOD_ABORT.equals(methodName) && args.length == 1) {
+            unwatchDnsSrvHosts();
             doAbort((Executor) args[0]);
             this.isClosed = true;
             this.closedReason = "Connection explicitly closed.";
@@ -498,6 +587,8 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
             return this.isClosed;
         }
 
+        applyPendingDnsSrvHosts();
+
         try {
             return invokeMore(proxy, method, args);
         } catch (InvocationTargetException e) {
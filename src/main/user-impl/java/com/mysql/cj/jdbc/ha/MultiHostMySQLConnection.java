@@ -53,10 +53,12 @@ import com.mysql.cj.Session;
 import com.mysql.cj.exceptions.ExceptionInterceptor;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.jdbc.BulkLoader;
 import com.mysql.cj.jdbc.ClientInfoProvider;
 import com.mysql.cj.jdbc.JdbcConnection;
 import com.mysql.cj.jdbc.JdbcPreparedStatement;
 import com.mysql.cj.jdbc.JdbcPropertySet;
+import com.mysql.cj.jdbc.Pipeline;
 import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
@@ -189,6 +191,11 @@ public class MultiHostMySQLConnection implements JdbcConnection {
         return getActiveMySQLConnection().getActiveStatementCount();
     }
 
+    @Override
+    public int getPendingStatementCloseCount() {
+        return getActiveMySQLConnection().getPendingStatementCloseCount();
+    }
+
     @Override
     public boolean getAutoCommit() throws SQLException {
         return getActiveMySQLConnection().getAutoCommit();
@@ -450,6 +457,21 @@ public class MultiHostMySQLConnection implements JdbcConnection {
         getActiveMySQLConnection().resetServerState();
     }
 
+    @Override
+    public void resetSessionState() throws SQLException {
+        getActiveMySQLConnection().resetSessionState();
+    }
+
+    @Override
+    public Pipeline pipeline() throws SQLException {
+        return getActiveMySQLConnection().pipeline();
+    }
+
+    @Override
+    public BulkLoader bulkLoader(String table, String... columns) throws SQLException {
+        return getActiveMySQLConnection().bulkLoader(table, columns);
+    }
+
     @Override
     public void rollback() throws SQLException {
         getActiveMySQLConnection().rollback();
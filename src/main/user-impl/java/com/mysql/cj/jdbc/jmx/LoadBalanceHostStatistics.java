@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.jmx;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.mysql.cj.jdbc.ConnectionGroupHostStatistics;
+
+/**
+ * JMX view of the statistics of one host in a load-balanced connection group.
+ */
+public class LoadBalanceHostStatistics implements LoadBalanceHostStatisticsMBean {
+
+    private ConnectionGroupHostStatistics stats;
+
+    public LoadBalanceHostStatistics(ConnectionGroupHostStatistics stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Registers a MBean for the given host statistics, named after its group and host.
+     * 
+     * @param stats
+     *            The host statistics to expose.
+     */
+    public static void registerJmx(ConnectionGroupHostStatistics stats) {
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName("com.mysql.cj.jdbc.jmx:type=LoadBalanceHostStatistics,group=" + ObjectName.quote(stats.getGroupName())
+                    + ",host=" + ObjectName.quote(stats.getHostPortPair()));
+            mbs.registerMBean(new LoadBalanceHostStatistics(stats), name);
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered.
+        } catch (Exception e) {
+            // Statistics are still collected and available through the connection group.
+        }
+    }
+
+    @Override
+    public String getGroupName() {
+        return this.stats.getGroupName();
+    }
+
+    @Override
+    public String getHost() {
+        return this.stats.getHostPortPair();
+    }
+
+    @Override
+    public long getActiveConnectionCount() {
+        return this.stats.getActiveConnectionCount();
+    }
+
+    @Override
+    public long getTotalConnectionCount() {
+        return this.stats.getTotalConnectionCount();
+    }
+
+    @Override
+    public long getTotalTransactionCount() {
+        return this.stats.getTotalTransactionCount();
+    }
+
+    @Override
+    public double getTransactionsPerSecond() {
+        return this.stats.getTransactionsPerSecond();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return this.stats.getErrorCount();
+    }
+
+    @Override
+    public double getErrorsPerSecond() {
+        return this.stats.getErrorsPerSecond();
+    }
+
+    @Override
+    public long getBlacklistEventCount() {
+        return this.stats.getBlacklistEventCount();
+    }
+
+    @Override
+    public double getAverageTransactionLatency() {
+        return this.stats.getAverageTransactionLatency();
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for ClientPreparedQueryBindValue.
+ */
+public class ClientPreparedQueryBindValueTest {
+    private static String writeText(ClientPreparedQueryBindValue bindValue) {
+        byte[] buf = new byte[bindValue.getMaxTextLength() + 3];
+        int end = bindValue.writeText(buf, 3);
+        return new String(buf, 3, end - 3, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testLongValue() {
+        ClientPreparedQueryBindValue bindValue = new ClientPreparedQueryBindValue();
+        for (long x : new long[] { 0, 1, -1, 10, -10, 1234567890, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            bindValue.setLongValue(x);
+            assertTrue(bindValue.isWrittenAsText());
+            assertEquals(String.valueOf(x), writeText(bindValue));
+        }
+    }
+
+    @Test
+    public void testTemporalValue() {
+        ClientPreparedQueryBindValue bindValue = new ClientPreparedQueryBindValue();
+
+        bindValue.setTemporalValue(LocalDate.of(987, 6, 5), MysqlType.DATE);
+        assertEquals("'0987-06-05'", writeText(bindValue));
+        bindValue.setTemporalValue(LocalDate.of(1970, 1, 1), MysqlType.DATETIME);
+        assertEquals("'1970-01-01'", writeText(bindValue));
+
+        bindValue.setTemporalValue(LocalTime.of(1, 2), MysqlType.TIME);
+        assertEquals("'01:02:00'", writeText(bindValue));
+        bindValue.setTemporalValue(LocalTime.of(1, 2, 3, 120_000_000), MysqlType.TIME);
+        assertEquals("'01:02:03.120'", writeText(bindValue));
+        bindValue.setTemporalValue(LocalTime.of(1, 2, 3, 123_450_000), MysqlType.TIMESTAMP);
+        assertEquals("'1970-01-01 01:02:03.123450'", writeText(bindValue));
+
+        bindValue.setTemporalValue(LocalDateTime.of(9999, 12, 31, 23, 59, 0, 1), MysqlType.DATETIME);
+        assertEquals("'9999-12-31 23:59:00.000000001'", writeText(bindValue));
+        bindValue.setTemporalValue(LocalDateTime.of(2020, 2, 29, 0, 0), MysqlType.TIMESTAMP);
+        assertEquals("'2020-02-29 00:00:00'", writeText(bindValue));
+    }
+
+    @Test
+    public void testStringValue() {
+        ClientPreparedQueryBindValue bindValue = new ClientPreparedQueryBindValue();
+
+        bindValue.setStringValue("", false);
+        assertEquals("''", writeText(bindValue));
+        bindValue.setStringValue("plain ascii", false);
+        assertEquals("'plain ascii'", writeText(bindValue));
+        bindValue.setStringValue("a\0b\nc\rd\\e'f\"g\032h", false);
+        assertEquals("'a\\0b\\nc\\rd\\\\e''f\"g\\Zh'", writeText(bindValue));
+        bindValue.setStringValue("\"", true);
+        assertEquals("'\\\"'", writeText(bindValue));
+
+        String nonAscii = "\u00e9\u20ac\u00a5\ud83d\ude00";
+        bindValue.setStringValue(nonAscii, false);
+        assertEquals("'" + nonAscii + "'", writeText(bindValue));
+        bindValue.setStringValue("\ud83d?\ude00", false);
+        assertEquals("'???'", writeText(bindValue));
+
+        StringBuilder longString = new StringBuilder();
+        while (longString.length() < 20000) {
+            longString.append("x'\u00e9\ud83d\ude00");
+        }
+        bindValue.setStringValue(longString.toString(), false);
+        String expected = "'" + longString.toString().replace("'", "''") + "'";
+        assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, bindValue.getMaxTextLength());
+        assertEquals(expected, writeText(bindValue));
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), bindValue.getByteValue());
+    }
+
+    @Test
+    public void testByteValue() {
+        ClientPreparedQueryBindValue bindValue = new ClientPreparedQueryBindValue();
+        bindValue.setLongValue(-42);
+        ClientPreparedQueryBindValue copy = bindValue.clone();
+
+        byte[] bytes = bindValue.getByteValue();
+        assertArrayEquals("-42".getBytes(), bytes);
+        assertSame(bytes, bindValue.getByteValue());
+        assertFalse(bindValue.isWrittenAsText());
+
+        assertTrue(copy.isWrittenAsText());
+        assertEquals("-42", writeText(copy));
+
+        copy.setByteValue(new byte[] { '7' });
+        assertFalse(copy.isWrittenAsText());
+        copy.setLongValue(7);
+        copy.reset();
+        assertFalse(copy.isWrittenAsText());
+        assertFalse(copy.isSet());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.conf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.conf.PropertyDefinitions.SslMode;
+import com.mysql.cj.exceptions.WrongArgumentException;
+
+/**
+ * Tests for DefaultPropertySet.
+ */
+public class DefaultPropertySetTest {
+    private static Properties getTestProperties() {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.USER.getKeyName(), "user");
+        props.setProperty(PropertyKey.useSSL.getKeyName(), "false");
+        props.setProperty(PropertyKey.cachePrepStmts.getKeyName(), "true");
+        props.setProperty("customProperty", "customValue");
+        return props;
+    }
+
+    /**
+     * Tests that property sets initialized from the same properties don't share their properties.
+     */
+    @Test
+    public void testSharedTemplate() {
+        DefaultPropertySet pset1 = new DefaultPropertySet();
+        pset1.initializeProperties(getTestProperties());
+        DefaultPropertySet pset2 = new DefaultPropertySet();
+        pset2.initializeProperties(getTestProperties());
+
+        RuntimeProperty<Boolean> cachePrepStmts1 = pset1.getBooleanProperty(PropertyKey.cachePrepStmts);
+        RuntimeProperty<Boolean> cachePrepStmts2 = pset2.getBooleanProperty(PropertyKey.cachePrepStmts);
+        assertNotSame(cachePrepStmts1, cachePrepStmts2);
+        assertTrue(cachePrepStmts1.isExplicitlySet());
+        assertTrue(cachePrepStmts1.getValue());
+
+        int[] changes = new int[1];
+        cachePrepStmts1.addListener(p -> changes[0]++);
+        cachePrepStmts1.setValue(false);
+        assertEquals(1, changes[0]);
+        assertFalse(cachePrepStmts1.getValue());
+        assertTrue(cachePrepStmts2.getValue());
+        assertTrue(pset2.getBooleanProperty(PropertyKey.cachePrepStmts).getValue());
+
+        assertNotSame(pset1.getStringProperty("customProperty"), pset2.getStringProperty("customProperty"));
+        assertEquals("customValue", pset2.getStringProperty("customProperty").getValue());
+
+        pset1.reset();
+        assertEquals(2, changes[0]);
+        assertTrue(cachePrepStmts1.getValue());
+    }
+
+    /**
+     * Tests that values derived during initialization survive and are reset as before.
+     */
+    @Test
+    public void testDerivedValues() {
+        DefaultPropertySet pset = new DefaultPropertySet();
+        pset.initializeProperties(getTestProperties());
+
+        Properties exposed = pset.exposeAsProperties();
+        assertEquals(SslMode.DISABLED.name(), exposed.getProperty(PropertyKey.sslMode.getKeyName()));
+        assertEquals("customValue", exposed.getProperty("customProperty"));
+
+        pset.reset();
+        assertEquals(SslMode.PREFERRED, pset.<SslMode> getEnumProperty(PropertyKey.sslMode).getValue());
+
+        pset.removeProperty(PropertyKey.cachePrepStmts);
+        assertNull(pset.getProperty(PropertyKey.cachePrepStmts));
+        assertFalse(pset.exposeAsProperties().containsKey(PropertyKey.cachePrepStmts.getKeyName()));
+    }
+
+    /**
+     * Tests that memory size properties keep their original notation when copied from the template.
+     */
+    @Test
+    public void testMemorySizeValues() {
+        Properties props = getTestProperties();
+        props.setProperty(PropertyKey.blobSendChunkSize.getKeyName(), "2k");
+
+        for (int i = 0; i < 2; i++) {
+            DefaultPropertySet pset = new DefaultPropertySet();
+            pset.initializeProperties(props);
+
+            RuntimeProperty<Integer> blobSendChunkSize = pset.getMemorySizeProperty(PropertyKey.blobSendChunkSize);
+            assertEquals(2048, blobSendChunkSize.getValue().intValue());
+            assertEquals("2k", blobSendChunkSize.getStringValue());
+            assertEquals("2k", pset.exposeAsProperties().getProperty(PropertyKey.blobSendChunkSize.getKeyName()));
+
+            blobSendChunkSize.setValue(4096);
+            assertEquals("4096", blobSendChunkSize.getStringValue());
+            blobSendChunkSize.resetValue();
+            assertEquals(2048, blobSendChunkSize.getValue().intValue());
+            assertEquals("2k", blobSendChunkSize.getStringValue());
+        }
+    }
+
+    /**
+     * Tests that passwords are applied to each property set and not shared through the template.
+     */
+    @Test
+    public void testSecretProperties() {
+        for (String password : new String[] { "secret1", "secret2" }) {
+            Properties props = getTestProperties();
+            props.setProperty(PropertyKey.trustCertificateKeyStorePassword.getKeyName(), password);
+            props.setProperty("customPassword", password);
+
+            DefaultPropertySet pset = new DefaultPropertySet();
+            pset.initializeProperties(props);
+            assertEquals(password, pset.getStringProperty(PropertyKey.trustCertificateKeyStorePassword).getValue());
+            assertTrue(pset.getStringProperty(PropertyKey.trustCertificateKeyStorePassword).isExplicitlySet());
+            assertEquals(password, pset.getStringProperty("customPassword").getValue());
+            assertEquals("customValue", pset.getStringProperty("customProperty").getValue());
+            assertTrue(pset.getBooleanProperty(PropertyKey.cachePrepStmts).getValue());
+        }
+
+        DefaultPropertySet pset = new DefaultPropertySet();
+        pset.initializeProperties(getTestProperties());
+        assertNull(pset.getStringProperty(PropertyKey.trustCertificateKeyStorePassword).getValue());
+        assertNull(pset.getStringProperty("customPassword"));
+    }
+
+    /**
+     * Tests that invalid values are reported each time they are used.
+     */
+    @Test
+    public void testInvalidValue() {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.maxRows.getKeyName(), "abc");
+        assertThrows(WrongArgumentException.class, () -> new DefaultPropertySet().initializeProperties(props));
+        assertThrows(WrongArgumentException.class, () -> new DefaultPropertySet().initializeProperties(props));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.conf.PropertyKey;
+
+import testsuite.MockMysqlServer;
+
+/**
+ * Tests the data sent by {@link BulkLoaderImpl}, as received by {@link MockMysqlServer}.
+ */
+public class BulkLoaderImplTest {
+    private static MockMysqlServer server;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        server = new MockMysqlServer().start();
+    }
+
+    @AfterAll
+    public static void tearDown() throws Exception {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private String load(String options, Object[]... rows) throws Exception {
+        try (Connection testConn = DriverManager.getConnection(server.getUrl("test") + "&" + PropertyKey.allowLoadLocalInfile.getKeyName() + "=true" + options);
+                BulkLoader loader = ((JdbcConnection) testConn).bulkLoader("t")) {
+            for (Object[] row : rows) {
+                loader.addRow(row);
+            }
+            assertEquals(rows.length, loader.flush());
+        }
+        return new String(server.getLocalInfileData(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tests escaping of the delimiters and encoding of NULL, strings, numbers and binary values.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testEscaping() throws Exception {
+        assertEquals("1\t\\N\ttab\\tnew line\\nreturn\\rback\\\\slash\t\\\\N\n" //
+                + "2\t1.5\té中😀\t\\0à\n" //
+                + "3\t1\t\t\n", load("", //
+                        new Object[] { 1, null, "tab\tnew line\nreturn\rback\\slash", "\\N" }, //
+                        new Object[] { 2L, 1.5, "é中😀", new byte[] { 0, (byte) 0xc3, (byte) 0xa0 } }, //
+                        new Object[] { (short) 3, true, "", new byte[0] }));
+    }
+
+    /**
+     * Tests formatting of temporal values in the server time zone, with and without fractional seconds.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testTemporalValues() throws Exception {
+        Object[] row = new Object[] { java.sql.Date.valueOf("2020-01-02"), new Time(Instant.parse("1970-01-01T03:04:05Z").toEpochMilli()),
+                Timestamp.from(Instant.parse("2020-01-02T23:04:05.123456Z")), java.util.Date.from(Instant.parse("2020-01-02T23:04:05.123Z")),
+                LocalDate.of(2020, 1, 2), LocalTime.of(1, 2, 3, 4000), LocalDateTime.of(2020, 1, 2, 3, 4, 5, 123456000) };
+
+        assertEquals("2020-01-02\t12:04:05\t2020-01-03 08:04:05.123456\t2020-01-03 08:04:05.123\t2020-01-02\t01:02:03.000004\t2020-01-02 03:04:05.123456\n",
+                load("&" + PropertyKey.serverTimezone.getKeyName() + "=Asia/Tokyo", row));
+        assertEquals("2020-01-02\t12:04:05\t2020-01-03 08:04:05\t2020-01-03 08:04:05\t2020-01-02\t01:02:03\t2020-01-02 03:04:05\n",
+                load("&" + PropertyKey.serverTimezone.getKeyName() + "=Asia/Tokyo&" + PropertyKey.sendFractionalSeconds.getKeyName() + "=false", row));
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.conf.HostInfo;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.util.DnsSrv;
+import com.mysql.cj.util.DnsSrv.SrvRecord;
+import com.mysql.cj.util.DnsSrv.SrvRecordsQuery;
+
+import testsuite.MockMysqlServer;
+
+/**
+ * Tests how load-balanced connections created from DNS SRV records follow the changes in these records, with the DNS queries answered by the test and the
+ * hosts played by {@link MockMysqlServer}s.
+ */
+public class LoadBalancedConnectionProxyTest {
+    private static final Map<String, List<SrvRecord>> SRV_RECORDS = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> QUERY_COUNTS = new ConcurrentHashMap<>();
+    private static SrvRecordsQuery defaultQuery;
+    private static MockMysqlServer[] servers = new MockMysqlServer[3];
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        defaultQuery = DnsSrv.setSrvRecordsQuery(serviceName -> {
+            QUERY_COUNTS.computeIfAbsent(serviceName, k -> new AtomicInteger()).incrementAndGet();
+            return SRV_RECORDS.get(serviceName);
+        });
+        for (int i = 0; i < servers.length; i++) {
+            servers[i] = new MockMysqlServer().start();
+        }
+    }
+
+    @AfterAll
+    public static void tearDown() throws Exception {
+        DnsSrv.setSrvRecordsQuery(defaultQuery);
+        for (MockMysqlServer server : servers) {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static void setSrvRecords(String serviceName, MockMysqlServer... hosts) {
+        SRV_RECORDS.put(serviceName, Arrays.stream(hosts).map(s -> new SrvRecord(10, 5, s.getPort(), "127.0.0.1")).collect(Collectors.toList()));
+    }
+
+    private static Set<String> hostPortPairs(MockMysqlServer... hosts) {
+        return Arrays.stream(hosts).map(s -> "127.0.0.1:" + s.getPort()).collect(Collectors.toSet());
+    }
+
+    private static Connection getConnection(String serviceName) throws Exception {
+        return DriverManager.getConnection("jdbc:mysql+srv:loadbalance://" + serviceName + "/test?user=root&password=&sslMode=DISABLED&"
+                + PropertyKey.dnsSrvCacheTtl.getKeyName() + "=1");
+    }
+
+    private static Set<String> getHosts(LoadBalancedConnectionProxy proxy) {
+        synchronized (proxy) {
+            return proxy.hostsList.stream().map(HostInfo::getHostPortPair).collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Invokes methods on the connection, which apply the hosts lists found by the background refresh of the DNS SRV records, until the given condition is
+     * met.
+     */
+    private static void waitFor(Connection testConn, BooleanSupplier condition) throws Exception {
+        long timeout = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < timeout, "Timed out waiting for the DNS SRV records refresh.");
+            Thread.sleep(100);
+            testConn.getAutoCommit();
+        }
+    }
+
+    /**
+     * Tests that hosts added to the DNS SRV records are added to the connection and removed hosts are removed, the current one only after the transaction in
+     * progress ends.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDnsSrvHostsChanged() throws Exception {
+        String serviceName = "_mysql._tcp.changes.example.com";
+        setSrvRecords(serviceName, servers[0], servers[1]);
+
+        try (Connection testConn = getConnection(serviceName)) {
+            LoadBalancedConnectionProxy proxy = (LoadBalancedConnectionProxy) Proxy.getInvocationHandler(testConn);
+            assertEquals(hostPortPairs(servers[0], servers[1]), getHosts(proxy));
+
+            // Host added.
+            setSrvRecords(serviceName, servers);
+            waitFor(testConn, () -> getHosts(proxy).equals(hostPortPairs(servers)));
+
+            // Current host removed while in a transaction.
+            testConn.setAutoCommit(false);
+            testConn.createStatement().executeQuery("SELECT 1").close();
+            String currentHost = ((JdbcConnection) testConn).getHostPortPair();
+            MockMysqlServer[] otherServers = Arrays.stream(servers).filter(s -> !currentHost.endsWith(":" + s.getPort())).toArray(MockMysqlServer[]::new);
+            setSrvRecords(serviceName, otherServers);
+            waitFor(testConn, () -> proxy.getGlobalBlacklist().containsKey(currentHost));
+            assertEquals(currentHost, ((JdbcConnection) testConn).getHostPortPair());
+            assertEquals(hostPortPairs(servers), getHosts(proxy));
+
+            testConn.commit();
+            assertTrue(hostPortPairs(otherServers).contains(((JdbcConnection) testConn).getHostPortPair()));
+            assertEquals(hostPortPairs(otherServers), getHosts(proxy));
+            assertTrue(proxy.getGlobalBlacklist().isEmpty());
+
+            // Current host removed outside of a transaction.
+            testConn.setAutoCommit(true);
+            String newCurrentHost = ((JdbcConnection) testConn).getHostPortPair();
+            MockMysqlServer lastServer = Arrays.stream(otherServers).filter(s -> !newCurrentHost.endsWith(":" + s.getPort())).findFirst().get();
+            setSrvRecords(serviceName, lastServer);
+            waitFor(testConn, () -> getHosts(proxy).equals(hostPortPairs(lastServer)));
+            assertEquals("127.0.0.1:" + lastServer.getPort(), ((JdbcConnection) testConn).getHostPortPair());
+            assertTrue(proxy.getGlobalBlacklist().isEmpty());
+        }
+    }
+
+    /**
+     * Tests that closed connections stop watching the DNS SRV records.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDnsSrvListenerRemovedOnClose() throws Exception {
+        String serviceName = "_mysql._tcp.close.example.com";
+        setSrvRecords(serviceName, servers[0]);
+
+        Connection testConn = getConnection(serviceName);
+        // The records are refreshed in background while the connection is open.
+        int queryCount = QUERY_COUNTS.get(serviceName).get();
+        waitFor(testConn, () -> QUERY_COUNTS.get(serviceName).get() > queryCount);
+
+        testConn.close();
+        Thread.sleep(100);
+        int queryCountAfterClose = QUERY_COUNTS.get(serviceName).get();
+        Thread.sleep(2500);
+        assertEquals(queryCountAfterClose, QUERY_COUNTS.get(serviceName).get());
+    }
+}
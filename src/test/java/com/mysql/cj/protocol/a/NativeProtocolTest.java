@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.NativeSession;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.log.BaseMetricsHolder;
+
+import testsuite.MockMysqlServer;
+
+/**
+ * Tests the packet buffers and helpers {@link NativeProtocol} allocates on demand, against {@link MockMysqlServer}.
+ */
+public class NativeProtocolTest {
+    private static MockMysqlServer server;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        server = new MockMysqlServer().start();
+    }
+
+    @AfterAll
+    public static void tearDown() throws Exception {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private static NativeProtocol getProtocol(Connection testConn) {
+        return ((NativeSession) ((JdbcConnection) testConn).getSession()).getProtocol();
+    }
+
+    private static void runQuery(Connection testConn) throws Exception {
+        try (PreparedStatement testPstmt = testConn.prepareStatement("SELECT 1"); ResultSet testRs = testPstmt.executeQuery()) {
+            while (testRs.next()) {
+                testRs.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Tests that the reusable packet buffers are kept between commands by default.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testPacketBuffersKept() throws Exception {
+        try (Connection testConn = DriverManager.getConnection(server.getUrl("test") + "&" + PropertyKey.minimizeMemoryFootprint.getKeyName() + "=false")) {
+            NativeProtocol protocol = getProtocol(testConn);
+
+            runQuery(testConn);
+            NativePacketPayload sharedSendPacket = protocol.sharedSendPacket;
+            NativePacketPayload reusablePacket = protocol.reusablePacket;
+            assertNotNull(sharedSendPacket);
+            assertNotNull(reusablePacket);
+
+            runQuery(testConn);
+            assertSame(sharedSendPacket, protocol.sharedSendPacket);
+            assertSame(reusablePacket, protocol.reusablePacket);
+            assertSame(sharedSendPacket, protocol.getSharedSendPacket());
+            assertSame(reusablePacket, protocol.getReusablePacket());
+        }
+    }
+
+    /**
+     * Tests that the reusable packet buffers are released after each command and allocated again on demand with 'minimizeMemoryFootprint=true'.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testPacketBuffersReleased() throws Exception {
+        try (Connection testConn = DriverManager.getConnection(server.getUrl("test") + "&" + PropertyKey.minimizeMemoryFootprint.getKeyName() + "=true")) {
+            NativeProtocol protocol = getProtocol(testConn);
+
+            runQuery(testConn);
+            assertNull(protocol.sharedSendPacket);
+            assertNull(protocol.reusablePacket);
+
+            NativePacketPayload reusablePacket = protocol.getReusablePacket();
+            assertNotNull(reusablePacket);
+            assertSame(reusablePacket, protocol.getReusablePacket());
+            assertNotNull(protocol.getSharedSendPacket());
+
+            runQuery(testConn);
+            assertNull(protocol.sharedSendPacket);
+            assertNull(protocol.reusablePacket);
+        }
+    }
+
+    /**
+     * Tests that the message builder and the metrics holder are created once and shared.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testSharedHelpers() throws Exception {
+        try (Connection testConn = DriverManager.getConnection(server.getUrl("test"))) {
+            NativeProtocol protocol = getProtocol(testConn);
+
+            NativeMessageBuilder messageBuilder = protocol.getMessageBuilder();
+            assertNotNull(messageBuilder);
+            assertSame(messageBuilder, protocol.getMessageBuilder());
+
+            BaseMetricsHolder metricsHolder = protocol.getMetricsHolder();
+            assertNotNull(metricsHolder);
+            assertSame(metricsHolder, protocol.getMetricsHolder());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol.a.authentication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for RSAPublicKeyCache.
+ */
+public class RSAPublicKeyCacheTest {
+    @Test
+    public void testRetrievedKeys() throws Exception {
+        RSAPublicKeyCache.putRetrievedKey("caching_sha2_password", "testhost:3306", "key1", 60);
+        RSAPublicKeyCache.putRetrievedKey("sha256_password", "testhost:3306", "key2", 60);
+        assertEquals("key1", RSAPublicKeyCache.getRetrievedKey("caching_sha2_password", "testhost:3306"));
+        assertEquals("key2", RSAPublicKeyCache.getRetrievedKey("sha256_password", "testhost:3306"));
+        assertNull(RSAPublicKeyCache.getRetrievedKey("caching_sha2_password", "testhost:3307"));
+
+        RSAPublicKeyCache.removeRetrievedKey("caching_sha2_password", "testhost:3306");
+        assertNull(RSAPublicKeyCache.getRetrievedKey("caching_sha2_password", "testhost:3306"));
+        assertEquals("key2", RSAPublicKeyCache.getRetrievedKey("sha256_password", "testhost:3306"));
+
+        // Caching disabled.
+        RSAPublicKeyCache.putRetrievedKey("caching_sha2_password", "testhost:3308", "key3", 0);
+        assertNull(RSAPublicKeyCache.getRetrievedKey("caching_sha2_password", "testhost:3308"));
+
+        // Expired key.
+        RSAPublicKeyCache.putRetrievedKey("caching_sha2_password", "testhost:3309", "key4", 1);
+        assertEquals("key4", RSAPublicKeyCache.getRetrievedKey("caching_sha2_password", "testhost:3309"));
+        Thread.sleep(1100);
+        assertNull(RSAPublicKeyCache.getRetrievedKey("caching_sha2_password", "testhost:3309"));
+    }
+
+    @Test
+    public void testFileKeys() {
+        RSAPublicKeyCache.putFileKey("/path/to/key.pub", 1000L, "key");
+        assertEquals("key", RSAPublicKeyCache.getFileKey("/path/to/key.pub", 1000L));
+        assertNull(RSAPublicKeyCache.getFileKey("/path/to/key.pub", 2000L));
+        assertNull(RSAPublicKeyCache.getFileKey("/path/to/other.pub", 1000L));
+    }
+}
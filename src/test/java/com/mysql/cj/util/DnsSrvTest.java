@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.util.DnsSrv.SrvRecord;
+import com.mysql.cj.util.DnsSrv.SrvRecordsListener;
+import com.mysql.cj.util.DnsSrv.SrvRecordsQuery;
+
+/**
+ * Tests for DnsSrv caching and notification of changes, with the DNS queries answered by the test.
+ */
+public class DnsSrvTest {
+    private static final SrvRecord HOST_A = new SrvRecord(10, 5, 3306, "a.example.com");
+    private static final SrvRecord HOST_B = new SrvRecord(10, 5, 3306, "b.example.com");
+
+    private static final Map<String, List<SrvRecord>> SRV_RECORDS = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> QUERY_COUNTS = new ConcurrentHashMap<>();
+    private static SrvRecordsQuery defaultQuery;
+
+    @BeforeAll
+    public static void setUp() {
+        defaultQuery = DnsSrv.setSrvRecordsQuery(serviceName -> {
+            QUERY_COUNTS.computeIfAbsent(serviceName, k -> new AtomicInteger()).incrementAndGet();
+            return SRV_RECORDS.get(serviceName);
+        });
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        DnsSrv.setSrvRecordsQuery(defaultQuery);
+    }
+
+    private static int getQueryCount(String serviceName) {
+        AtomicInteger count = QUERY_COUNTS.get(serviceName);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Tests that cached lookups query the DNS server only once per time to live.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testCachedLookups() throws Exception {
+        String serviceName = "_mysql._tcp.cache.example.com";
+        SRV_RECORDS.put(serviceName, Arrays.asList(HOST_A, HOST_B));
+
+        assertEquals(new HashSet<>(Arrays.asList(HOST_A, HOST_B)), new HashSet<>(DnsSrv.lookupSrvRecords(serviceName, 1)));
+        assertEquals(1, getQueryCount(serviceName));
+
+        // Cache hit, even if the records changed meanwhile.
+        SRV_RECORDS.put(serviceName, Arrays.asList(HOST_A));
+        assertEquals(new HashSet<>(Arrays.asList(HOST_A, HOST_B)), new HashSet<>(DnsSrv.lookupSrvRecords(serviceName, 1)));
+        assertEquals(1, getQueryCount(serviceName));
+
+        // Expired records are queried again.
+        Thread.sleep(1100);
+        assertEquals(Arrays.asList(HOST_A), DnsSrv.lookupSrvRecords(serviceName, 1));
+        assertEquals(2, getQueryCount(serviceName));
+
+        // No caching.
+        DnsSrv.lookupSrvRecords(serviceName, 0);
+        DnsSrv.lookupSrvRecords(serviceName, 0);
+        assertEquals(4, getQueryCount(serviceName));
+    }
+
+    /**
+     * Tests that listeners are notified of changes in the records until they are unregistered.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testSrvRecordsListener() throws Exception {
+        String serviceName = "_mysql._tcp.listener.example.com";
+        SRV_RECORDS.put(serviceName, Arrays.asList(HOST_A));
+        DnsSrv.lookupSrvRecords(serviceName, 1);
+
+        LinkedBlockingQueue<List<SrvRecord>> notifications = new LinkedBlockingQueue<>();
+        SrvRecordsListener listener = (name, srvRecords) -> notifications.add(srvRecords);
+        DnsSrv.addSrvRecordsListener(serviceName, 1, listener);
+
+        SRV_RECORDS.put(serviceName, Arrays.asList(HOST_A, HOST_B));
+        List<SrvRecord> srvRecords = notifications.poll(5, TimeUnit.SECONDS);
+        assertEquals(new HashSet<>(Arrays.asList(HOST_A, HOST_B)), new HashSet<>(srvRecords));
+
+        // The records are refreshed in background, and so, already cached.
+        int queryCount = getQueryCount(serviceName);
+        assertEquals(new HashSet<>(Arrays.asList(HOST_A, HOST_B)), new HashSet<>(DnsSrv.lookupSrvRecords(serviceName, 1)));
+        assertTrue(getQueryCount(serviceName) - queryCount <= 1);
+
+        // No background refreshes nor notifications after the last listener is unregistered.
+        DnsSrv.removeSrvRecordsListener(serviceName, listener);
+        SRV_RECORDS.put(serviceName, Arrays.asList(HOST_B));
+        queryCount = getQueryCount(serviceName);
+        Thread.sleep(2500);
+        assertNull(notifications.poll());
+        assertEquals(queryCount, getQueryCount(serviceName));
+    }
+}
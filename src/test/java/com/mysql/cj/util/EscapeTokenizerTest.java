@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link EscapeTokenizer}.
+ */
+public class EscapeTokenizerTest {
+    @Test
+    public void testContainsEscapeCode() {
+        assertTrue(EscapeTokenizer.containsEscapeCode("SELECT {fn now()}"));
+        assertTrue(EscapeTokenizer.containsEscapeCode("SELECT 'a''b', \"c\\\"\" FROM t WHERE d = {d '2020-01-01'}"));
+        assertTrue(EscapeTokenizer.containsEscapeCode("SELECT 1 -- {comment}\n, {fn now()}"));
+        assertTrue(EscapeTokenizer.containsEscapeCode("SELECT 1 - {fn abs(-1)}"));
+        assertTrue(EscapeTokenizer.containsEscapeCode("SELECT '\\\\', {fn now()}"));
+
+        assertFalse(EscapeTokenizer.containsEscapeCode("SELECT 1"));
+        assertFalse(EscapeTokenizer.containsEscapeCode("INSERT INTO t VALUES ('{\"a\": {\"b\": 1}}')"));
+        assertFalse(EscapeTokenizer.containsEscapeCode("SELECT \"{'}\", '{\\'}' FROM t"));
+        assertFalse(EscapeTokenizer.containsEscapeCode("SELECT 'it''s {not} an escape'"));
+        assertFalse(EscapeTokenizer.containsEscapeCode("SELECT 1 -- {fn now()}"));
+        assertFalse(EscapeTokenizer.containsEscapeCode("SELECT \\{fn now()}"));
+    }
+
+    @Test
+    public void testContainsEscapeCodeFindsTokenizerEscapeCodes() {
+        String[] parts = { "{", "}", "'", "\"", "\\", "-", "--", "\n", "\r", " ", "x", "{fn now()}", "''" };
+        java.util.Random random = new java.util.Random(1);
+        for (int i = 0; i < 10000; i++) {
+            StringBuilder sql = new StringBuilder();
+            for (int j = random.nextInt(10); j > 0; j--) {
+                sql.append(parts[random.nextInt(parts.length)]);
+            }
+
+            boolean tokenizerFoundEscapeCode = false;
+            EscapeTokenizer tokenizer = new EscapeTokenizer(sql.toString());
+            while (tokenizer.hasMoreTokens()) {
+                String token = tokenizer.nextToken();
+                if (token.length() > 0 && token.charAt(0) == '{') {
+                    tokenizerFoundEscapeCode = true;
+                }
+            }
+            if (tokenizerFoundEscapeCode) {
+                assertTrue(EscapeTokenizer.containsEscapeCode(sql.toString()), sql.toString());
+            }
+        }
+    }
+}
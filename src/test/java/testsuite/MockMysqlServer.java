@@ -0,0 +1,1053 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package testsuite;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A minimal in-process server speaking enough of the MySQL classic protocol to connect, authenticate and run simple statements with the driver, without a
+ * live MySQL server. It's meant for measuring driver overhead, e.g. connection establishment and result set decoding, in isolation.
+ *
+ * Supported are the initial handshake with "mysql_native_password" and "caching_sha2_password" (fast authentication only, including authentication method
+ * switch), COM_QUERY, COM_INIT_DB, COM_PING, COM_RESET_CONNECTION, COM_SET_OPTION and the server-side prepared statements commands. Neither TLS nor
+ * compression are supported.
+ *
+ * Queries are answered as follows:
+ * <ul>
+ * <li>result sets and errors registered with {@link #addResultSet(String, String[], Object[][])} and {@link #addError(String, int, String, String)} for
+ * the exact query text;
+ * <li>"SELECT" without "FROM" clause (or from DUAL) returns one row with the selected literals, server variables (see
+ * {@link #setServerVariable(String, String)}), DATABASE() and CONNECTION_ID();
+ * <li>"SHOW WARNINGS" and "SHOW VARIABLES LIKE '...'" are answered from the server state;
+ * <li>"LOAD DATA LOCAL INFILE" requests the file from the client, keeps its data (see {@link #getLocalInfileData()}) and reports one affected row per
+ * line;
+ * <li>any other statement succeeds with an OK packet; "INSERT" reports one affected row per values list.
+ * </ul>
+ *
+ * Result set values can be Long, Integer, Double, String or null.
+ */
+public class MockMysqlServer implements Closeable {
+    public static final String NATIVE_PASSWORD_PLUGIN = "mysql_native_password";
+    public static final String CACHING_SHA2_PASSWORD_PLUGIN = "caching_sha2_password";
+
+    private static final String SERVER_VERSION = "8.0.22-mock";
+    private static final int MAX_PACKET_SIZE = 0xffffff;
+
+    private static final int CLIENT_LONG_PASSWORD = 0x00000001;
+    private static final int CLIENT_FOUND_ROWS = 0x00000002;
+    private static final int CLIENT_LONG_FLAG = 0x00000004;
+    private static final int CLIENT_CONNECT_WITH_DB = 0x00000008;
+    private static final int CLIENT_LOCAL_FILES = 0x00000080;
+    private static final int CLIENT_PROTOCOL_41 = 0x00000200;
+    private static final int CLIENT_TRANSACTIONS = 0x00002000;
+    private static final int CLIENT_SECURE_CONNECTION = 0x00008000;
+    private static final int CLIENT_MULTI_STATEMENTS = 0x00010000;
+    private static final int CLIENT_MULTI_RESULTS = 0x00020000;
+    private static final int CLIENT_PS_MULTI_RESULTS = 0x00040000;
+    private static final int CLIENT_PLUGIN_AUTH = 0x00080000;
+    private static final int CLIENT_CONNECT_ATTRS = 0x00100000;
+    private static final int CLIENT_PLUGIN_AUTH_LENENC_CLIENT_DATA = 0x00200000;
+    private static final int CLIENT_DEPRECATE_EOF = 0x01000000;
+    private static final int SERVER_CAPABILITIES = CLIENT_LONG_PASSWORD | CLIENT_FOUND_ROWS | CLIENT_LONG_FLAG | CLIENT_CONNECT_WITH_DB | CLIENT_LOCAL_FILES
+            | CLIENT_PROTOCOL_41 | CLIENT_TRANSACTIONS | CLIENT_SECURE_CONNECTION | CLIENT_MULTI_STATEMENTS | CLIENT_MULTI_RESULTS | CLIENT_PS_MULTI_RESULTS
+            | CLIENT_PLUGIN_AUTH | CLIENT_CONNECT_ATTRS | CLIENT_PLUGIN_AUTH_LENENC_CLIENT_DATA | CLIENT_DEPRECATE_EOF;
+
+    private static final int SERVER_STATUS_IN_TRANS = 0x0001;
+    private static final int SERVER_STATUS_AUTOCOMMIT = 0x0002;
+
+    private static final int COM_QUIT = 0x01;
+    private static final int COM_INIT_DB = 0x02;
+    private static final int COM_QUERY = 0x03;
+    private static final int COM_PING = 0x0e;
+    private static final int COM_STMT_PREPARE = 0x16;
+    private static final int COM_STMT_EXECUTE = 0x17;
+    private static final int COM_STMT_SEND_LONG_DATA = 0x18;
+    private static final int COM_STMT_CLOSE = 0x19;
+    private static final int COM_STMT_RESET = 0x1a;
+    private static final int COM_SET_OPTION = 0x1b;
+    private static final int COM_RESET_CONNECTION = 0x1f;
+
+    private static final int FIELD_TYPE_DOUBLE = 5;
+    private static final int FIELD_TYPE_NULL = 6;
+    private static final int FIELD_TYPE_LONGLONG = 8;
+    private static final int FIELD_TYPE_VAR_STRING = 253;
+
+    private static final int COLLATION_BINARY = 63;
+    private static final int COLLATION_UTF8MB4_0900_AI_CI = 255;
+
+    private final ServerSocket serverSocket;
+    private final Map<String, String> serverVariables = new ConcurrentHashMap<>();
+    private final Map<String, ResultSetSpec> resultSets = new ConcurrentHashMap<>();
+    private final Map<String, ErrorSpec> errors = new ConcurrentHashMap<>();
+    private final List<Socket> clientSockets = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private final AtomicInteger commandsReceived = new AtomicInteger();
+    private volatile byte[] localInfileData = null;
+
+    private volatile String user = "root";
+    private volatile String password = "";
+    private volatile String authenticationPlugin = NATIVE_PASSWORD_PLUGIN;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a server listening on an ephemeral port of the loopback interface. Call {@link #start()} to begin accepting connections.
+     *
+     * @throws IOException
+     *             if the server socket can't be created
+     */
+    public MockMysqlServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        this.serverVariables.put("auto_increment_increment", "1");
+        this.serverVariables.put("character_set_client", "utf8mb4");
+        this.serverVariables.put("character_set_connection", "utf8mb4");
+        this.serverVariables.put("character_set_server", "utf8mb4");
+        this.serverVariables.put("collation_server", "utf8mb4_0900_ai_ci");
+        this.serverVariables.put("collation_connection", "utf8mb4_0900_ai_ci");
+        this.serverVariables.put("init_connect", "");
+        this.serverVariables.put("interactive_timeout", "28800");
+        this.serverVariables.put("license", "GPL");
+        this.serverVariables.put("lower_case_table_names", "0");
+        this.serverVariables.put("max_allowed_packet", "67108864");
+        this.serverVariables.put("net_write_timeout", "60");
+        this.serverVariables.put("performance_schema", "0");
+        this.serverVariables.put("sql_mode", "ONLY_FULL_GROUP_BY,STRICT_TRANS_TABLES,NO_ZERO_IN_DATE,NO_ZERO_DATE,ERROR_FOR_DIVISION_BY_ZERO,NO_ENGINE_SUBSTITUTION");
+        this.serverVariables.put("system_time_zone", "UTC");
+        this.serverVariables.put("time_zone", "SYSTEM");
+        this.serverVariables.put("transaction_isolation", "REPEATABLE-READ");
+        this.serverVariables.put("transaction_read_only", "0");
+        this.serverVariables.put("version", SERVER_VERSION);
+        this.serverVariables.put("wait_timeout", "28800");
+    }
+
+    public MockMysqlServer setUser(String userName, String userPassword) {
+        this.user = userName;
+        this.password = userPassword == null ? "" : userPassword;
+        return this;
+    }
+
+    /**
+     * Sets the authentication plugin announced in the initial handshake.
+     *
+     * @param pluginName
+     *            {@link #NATIVE_PASSWORD_PLUGIN} or {@link #CACHING_SHA2_PASSWORD_PLUGIN}
+     * @return this server
+     */
+    public MockMysqlServer setAuthenticationPlugin(String pluginName) {
+        this.authenticationPlugin = pluginName;
+        return this;
+    }
+
+    public MockMysqlServer setServerVariable(String name, String value) {
+        this.serverVariables.put(name.toLowerCase(Locale.ENGLISH), value);
+        return this;
+    }
+
+    /**
+     * Registers the result set returned for the given query, either executed directly or as a server-side prepared statement.
+     *
+     * @param query
+     *            the exact query text
+     * @param columnNames
+     *            column names
+     * @param rows
+     *            rows; the Java type of the first non-null value in each column defines the column type
+     * @return this server
+     */
+    public MockMysqlServer addResultSet(String query, String[] columnNames, Object[][] rows) {
+        this.resultSets.put(query, new ResultSetSpec(columnNames, rows));
+        return this;
+    }
+
+    /**
+     * Registers the error returned for the given query.
+     *
+     * @param query
+     *            the exact query text
+     * @param errorCode
+     *            MySQL error code
+     * @param sqlState
+     *            SQL state
+     * @param message
+     *            error message
+     * @return this server
+     */
+    public MockMysqlServer addError(String query, int errorCode, String sqlState, String message) {
+        this.errors.put(query, new ErrorSpec(errorCode, sqlState, message));
+        return this;
+    }
+
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns a connection URL for this server, with credentials and TLS disabled.
+     *
+     * @param database
+     *            the database to connect to, may be empty
+     * @return connection URL
+     */
+    public String getUrl(String database) {
+        return "jdbc:mysql://" + this.serverSocket.getInetAddress().getHostAddress() + ":" + getPort() + "/" + database + "?user=" + this.user + "&password="
+                + this.password + "&sslMode=DISABLED";
+    }
+
+    /**
+     * Returns the number of commands received by this server since it was started, excluding the authentication exchange.
+     *
+     * @return number of commands
+     */
+    public int getCommandsReceived() {
+        return this.commandsReceived.get();
+    }
+
+    /**
+     * Returns the data sent by the client for the last "LOAD DATA LOCAL INFILE" statement.
+     *
+     * @return the data or null if no such statement was received
+     */
+    public byte[] getLocalInfileData() {
+        return this.localInfileData;
+    }
+
+    public MockMysqlServer start() {
+        Thread acceptor = new Thread(() -> {
+            while (!this.closed) {
+                try {
+                    Socket socket = this.serverSocket.accept();
+                    socket.setTcpNoDelay(true);
+                    this.clientSockets.add(socket);
+                    Thread handler = new Thread(new ClientSession(socket, this.connectionIds.incrementAndGet()), "MockMysqlServer-session");
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    // closed
+                }
+            }
+        }, "MockMysqlServer-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.serverSocket.close();
+        synchronized (this.clientSockets) {
+            for (Socket s : this.clientSockets) {
+                try {
+                    s.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+            this.clientSockets.clear();
+        }
+    }
+
+    private static class ResultSetSpec {
+        final String[] columnNames;
+        final int[] columnTypes;
+        final Object[][] rows;
+
+        ResultSetSpec(String[] columnNames, Object[][] rows) {
+            this.columnNames = columnNames;
+            this.rows = rows;
+            this.columnTypes = new int[columnNames.length];
+            for (int i = 0; i < columnNames.length; i++) {
+                this.columnTypes[i] = rows.length == 0 ? FIELD_TYPE_VAR_STRING : FIELD_TYPE_NULL;
+                for (int r = 0; r < rows.length && this.columnTypes[i] == FIELD_TYPE_NULL; r++) {
+                    this.columnTypes[i] = typeOf(rows[r][i]);
+                }
+            }
+        }
+
+        private static int typeOf(Object value) {
+            if (value == null) {
+                return FIELD_TYPE_NULL;
+            } else if (value instanceof Long || value instanceof Integer) {
+                return FIELD_TYPE_LONGLONG;
+            } else if (value instanceof Double) {
+                return FIELD_TYPE_DOUBLE;
+            }
+            return FIELD_TYPE_VAR_STRING;
+        }
+    }
+
+    private static class ErrorSpec {
+        final int errorCode;
+        final String sqlState;
+        final String message;
+
+        ErrorSpec(int errorCode, String sqlState, String message) {
+            this.errorCode = errorCode;
+            this.sqlState = sqlState;
+            this.message = message;
+        }
+    }
+
+    private static class PreparedStatementSpec {
+        final String sql;
+        final int parameterCount;
+        final ResultSetSpec resultSet;
+
+        PreparedStatementSpec(String sql, int parameterCount, ResultSetSpec resultSet) {
+            this.sql = sql;
+            this.parameterCount = parameterCount;
+            this.resultSet = resultSet;
+        }
+    }
+
+    /**
+     * Growable payload writer.
+     */
+    private static class PayloadWriter {
+        private byte[] buf = new byte[256];
+        private int length = 0;
+
+        PayloadWriter writeByte(int b) {
+            ensureCapacity(1);
+            this.buf[this.length++] = (byte) b;
+            return this;
+        }
+
+        PayloadWriter writeInt(long value, int size) {
+            ensureCapacity(size);
+            for (int i = 0; i < size; i++) {
+                this.buf[this.length++] = (byte) (value >>> (8 * i));
+            }
+            return this;
+        }
+
+        PayloadWriter writeLenEncInt(long value) {
+            if (value < 251) {
+                return writeByte((int) value);
+            } else if (value < 0x10000) {
+                return writeByte(0xfc).writeInt(value, 2);
+            } else if (value < 0x1000000) {
+                return writeByte(0xfd).writeInt(value, 3);
+            }
+            return writeByte(0xfe).writeInt(value, 8);
+        }
+
+        PayloadWriter writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, this.buf, this.length, bytes.length);
+            this.length += bytes.length;
+            return this;
+        }
+
+        PayloadWriter writeLenEncString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            return writeLenEncInt(bytes.length).writeBytes(bytes);
+        }
+
+        PayloadWriter writeNullTerminatedString(String s) {
+            return writeBytes(s.getBytes(StandardCharsets.UTF_8)).writeByte(0);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (this.length + additional > this.buf.length) {
+                this.buf = Arrays.copyOf(this.buf, Math.max(this.buf.length * 2, this.length + additional));
+            }
+        }
+    }
+
+    /**
+     * Payload reader.
+     */
+    private static class PayloadReader {
+        private final byte[] buf;
+        private int position = 0;
+
+        PayloadReader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int readByte() {
+            return this.buf[this.position++] & 0xff;
+        }
+
+        long readInt(int size) {
+            long value = 0;
+            for (int i = 0; i < size; i++) {
+                value |= (long) (this.buf[this.position++] & 0xff) << (8 * i);
+            }
+            return value;
+        }
+
+        long readLenEncInt() {
+            int first = readByte();
+            switch (first) {
+                case 0xfc:
+                    return readInt(2);
+                case 0xfd:
+                    return readInt(3);
+                case 0xfe:
+                    return readInt(8);
+                default:
+                    return first;
+            }
+        }
+
+        byte[] readBytes(int len) {
+            byte[] bytes = Arrays.copyOfRange(this.buf, this.position, this.position + len);
+            this.position += len;
+            return bytes;
+        }
+
+        String readNullTerminatedString() {
+            int start = this.position;
+            while (this.position < this.buf.length && this.buf[this.position] != 0) {
+                this.position++;
+            }
+            String s = new String(this.buf, start, this.position - start, StandardCharsets.UTF_8);
+            if (this.position < this.buf.length) {
+                this.position++;
+            }
+            return s;
+        }
+
+        String readRemainingString() {
+            return new String(this.buf, this.position, this.buf.length - this.position, StandardCharsets.UTF_8);
+        }
+
+        boolean hasRemaining() {
+            return this.position < this.buf.length;
+        }
+    }
+
+    /**
+     * One client connection.
+     */
+    private class ClientSession implements Runnable {
+        private final Socket socket;
+        private final int connectionId;
+        private final InputStream in;
+        private final OutputStream out;
+        private final byte[] seed = new byte[20];
+        private final Map<Long, PreparedStatementSpec> preparedStatements = new HashMap<>();
+        private int sequence = 0;
+        private int clientFlags = 0;
+        private int status = SERVER_STATUS_AUTOCOMMIT;
+        private String database = null;
+        private long nextStatementId = 1;
+
+        ClientSession(Socket socket, int connectionId) throws IOException {
+            this.socket = socket;
+            this.connectionId = connectionId;
+            this.in = new BufferedInputStream(socket.getInputStream(), 16384);
+            this.out = new BufferedOutputStream(socket.getOutputStream(), 16384);
+            Random random = new Random();
+            for (int i = 0; i < this.seed.length; i++) {
+                this.seed[i] = (byte) (33 + random.nextInt(94)); // printable ASCII, the driver reads the seed as a string
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (authenticate()) {
+                    while (handleCommand()) {
+                        this.out.flush();
+                    }
+                }
+                this.out.flush();
+            } catch (IOException e) {
+                // client went away
+            } finally {
+                try {
+                    this.socket.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+                MockMysqlServer.this.clientSockets.remove(this.socket);
+            }
+        }
+
+        private boolean authenticate() throws IOException {
+            String serverPlugin = MockMysqlServer.this.authenticationPlugin;
+
+            PayloadWriter handshake = new PayloadWriter().writeByte(10).writeNullTerminatedString(SERVER_VERSION).writeInt(this.connectionId, 4);
+            handshake.writeBytes(Arrays.copyOfRange(this.seed, 0, 8)).writeByte(0).writeInt(SERVER_CAPABILITIES & 0xffff, 2);
+            handshake.writeByte(COLLATION_UTF8MB4_0900_AI_CI).writeInt(this.status, 2).writeInt(SERVER_CAPABILITIES >>> 16, 2).writeByte(this.seed.length + 1);
+            handshake.writeBytes(new byte[10]).writeBytes(Arrays.copyOfRange(this.seed, 8, 20)).writeByte(0).writeNullTerminatedString(serverPlugin);
+            this.sequence = -1;
+            writePacket(handshake);
+            this.out.flush();
+
+            PayloadReader response = new PayloadReader(readPacket());
+            this.clientFlags = (int) response.readInt(4) & SERVER_CAPABILITIES;
+            response.readInt(4); // max packet size
+            response.readByte(); // collation
+            response.readBytes(23);
+            String userName = response.readNullTerminatedString();
+            byte[] authResponse;
+            if ((this.clientFlags & CLIENT_PLUGIN_AUTH_LENENC_CLIENT_DATA) != 0) {
+                authResponse = response.readBytes((int) response.readLenEncInt());
+            } else {
+                authResponse = response.readBytes(response.readByte());
+            }
+            if ((this.clientFlags & CLIENT_CONNECT_WITH_DB) != 0 && response.hasRemaining()) {
+                this.database = response.readNullTerminatedString();
+                if (this.database.isEmpty()) {
+                    this.database = null;
+                }
+            }
+            String clientPlugin = (this.clientFlags & CLIENT_PLUGIN_AUTH) != 0 && response.hasRemaining() ? response.readNullTerminatedString() : serverPlugin;
+
+            if (!clientPlugin.equals(serverPlugin)) {
+                // ask the client to switch to the plugin of this server
+                clientPlugin = serverPlugin;
+                writePacket(new PayloadWriter().writeByte(0xfe).writeNullTerminatedString(clientPlugin).writeBytes(this.seed).writeByte(0));
+                this.out.flush();
+                authResponse = readPacket();
+            }
+
+            byte[] expected = scramble(clientPlugin, MockMysqlServer.this.password, this.seed);
+            if (!userName.equals(MockMysqlServer.this.user) || !Arrays.equals(expected, authResponse)) {
+                writeError(1045, "28000", "Access denied for user '" + userName + "'@'localhost' (using password: " + (authResponse.length > 0 ? "YES" : "NO")
+                        + ")");
+                return false;
+            }
+            if (clientPlugin.equals(CACHING_SHA2_PASSWORD_PLUGIN) && authResponse.length > 0) {
+                writePacket(new PayloadWriter().writeByte(0x01).writeByte(0x03)); // fast authentication success
+            }
+            writeOk(0, 0);
+            this.out.flush();
+            return true;
+        }
+
+        private boolean handleCommand() throws IOException {
+            byte[] packet;
+            try {
+                this.sequence = -1;
+                packet = readPacket();
+            } catch (EOFException e) {
+                return false;
+            }
+            MockMysqlServer.this.commandsReceived.incrementAndGet();
+            PayloadReader command = new PayloadReader(packet);
+            switch (command.readByte()) {
+                case COM_QUIT:
+                    return false;
+                case COM_INIT_DB:
+                    this.database = command.readRemainingString();
+                    writeOk(0, 0);
+                    break;
+                case COM_QUERY:
+                    handleQuery(command.readRemainingString());
+                    break;
+                case COM_PING:
+                case COM_RESET_CONNECTION:
+                case COM_STMT_RESET:
+                    writeOk(0, 0);
+                    break;
+                case COM_SET_OPTION:
+                    writeEof();
+                    break;
+                case COM_STMT_PREPARE:
+                    handlePrepare(command.readRemainingString());
+                    break;
+                case COM_STMT_EXECUTE:
+                    handleExecute(command.readInt(4));
+                    break;
+                case COM_STMT_SEND_LONG_DATA:
+                    break;
+                case COM_STMT_CLOSE:
+                    this.preparedStatements.remove(command.readInt(4));
+                    break;
+                default:
+                    writeError(1047, "08S01", "Unknown command");
+            }
+            return true;
+        }
+
+        private void handleQuery(String query) throws IOException {
+            ErrorSpec error = MockMysqlServer.this.errors.get(query);
+            if (error != null) {
+                writeError(error.errorCode, error.sqlState, error.message);
+                return;
+            }
+
+            ResultSetSpec resultSet = getResultSet(query);
+            if (resultSet != null) {
+                writeResultSet(resultSet, false);
+                return;
+            }
+
+            String sql = stripComments(query);
+            String sqlUc = sql.toUpperCase(Locale.ENGLISH);
+            if (sqlUc.startsWith("SET")) {
+                if (sqlUc.replace(" ", "").contains("AUTOCOMMIT=0")) {
+                    this.status &= ~SERVER_STATUS_AUTOCOMMIT;
+                } else if (sqlUc.replace(" ", "").contains("AUTOCOMMIT=1")) {
+                    this.status = (this.status | SERVER_STATUS_AUTOCOMMIT) & ~SERVER_STATUS_IN_TRANS;
+                }
+                writeOk(0, 0);
+            } else if (sqlUc.startsWith("USE ")) {
+                this.database = sql.substring(4).trim().replace("`", "");
+                writeOk(0, 0);
+            } else if (sqlUc.startsWith("COMMIT") || sqlUc.startsWith("ROLLBACK")) {
+                this.status &= ~SERVER_STATUS_IN_TRANS;
+                writeOk(0, 0);
+            } else if (sqlUc.startsWith("INSERT") || sqlUc.startsWith("REPLACE")) {
+                writeOk(countValuesLists(sql), 1);
+            } else if (sqlUc.startsWith("UPDATE") || sqlUc.startsWith("DELETE")) {
+                writeOk(1, 0);
+            } else if (sqlUc.startsWith("LOAD DATA LOCAL INFILE")) {
+                handleLocalInfile(sql);
+            } else {
+                writeOk(0, 0);
+            }
+        }
+
+        private void handleLocalInfile(String sql) throws IOException {
+            if ((this.clientFlags & CLIENT_LOCAL_FILES) == 0) {
+                writeError(3948, "42000", "Loading local data is disabled; this must be enabled on both the client and server sides");
+                return;
+            }
+
+            int fileNameStart = sql.indexOf('\'') + 1;
+            writePacket(new PayloadWriter().writeByte(0xfb).writeBytes(sql.substring(fileNameStart, sql.indexOf('\'', fileNameStart))
+                    .getBytes(StandardCharsets.UTF_8)));
+            this.out.flush();
+
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            byte[] packet;
+            while ((packet = readPacket()).length > 0) {
+                data.write(packet);
+            }
+            byte[] bytes = data.toByteArray();
+            MockMysqlServer.this.localInfileData = bytes;
+
+            int lines = 0;
+            for (byte b : bytes) {
+                if (b == '\n') {
+                    lines++;
+                }
+            }
+            writeOk(lines, 0);
+        }
+
+        private void handlePrepare(String sql) throws IOException {
+            ErrorSpec error = MockMysqlServer.this.errors.get(sql);
+            if (error != null) {
+                writeError(error.errorCode, error.sqlState, error.message);
+                return;
+            }
+
+            PreparedStatementSpec ps = new PreparedStatementSpec(sql, countParameters(sql), getResultSet(sql));
+            long statementId = this.nextStatementId++;
+            this.preparedStatements.put(statementId, ps);
+
+            int columnCount = ps.resultSet == null ? 0 : ps.resultSet.columnNames.length;
+            writePacket(new PayloadWriter().writeByte(0).writeInt(statementId, 4).writeInt(columnCount, 2).writeInt(ps.parameterCount, 2).writeByte(0)
+                    .writeInt(0, 2));
+            if (ps.parameterCount > 0) {
+                for (int i = 0; i < ps.parameterCount; i++) {
+                    writeColumnDefinition("?", FIELD_TYPE_VAR_STRING);
+                }
+                writeEofIfNotDeprecated();
+            }
+            if (columnCount > 0) {
+                for (int i = 0; i < columnCount; i++) {
+                    writeColumnDefinition(ps.resultSet.columnNames[i], ps.resultSet.columnTypes[i]);
+                }
+                writeEofIfNotDeprecated();
+            }
+        }
+
+        private void handleExecute(long statementId) throws IOException {
+            PreparedStatementSpec ps = this.preparedStatements.get(statementId);
+            if (ps == null) {
+                writeError(1243, "HY000", "Unknown prepared statement handler (" + statementId + ") given to mysqld_stmt_execute");
+            } else if (ps.resultSet != null) {
+                writeResultSet(ps.resultSet, true);
+            } else {
+                String sqlUc = stripComments(ps.sql).toUpperCase(Locale.ENGLISH);
+                writeOk(sqlUc.startsWith("INSERT") || sqlUc.startsWith("REPLACE") ? countValuesLists(ps.sql) : 0, 0);
+            }
+        }
+
+        private ResultSetSpec getResultSet(String query) {
+            ResultSetSpec resultSet = MockMysqlServer.this.resultSets.get(query);
+            if (resultSet != null) {
+                return resultSet;
+            }
+
+            String sql = stripComments(query);
+            String sqlUc = sql.toUpperCase(Locale.ENGLISH);
+            if (sqlUc.startsWith("SELECT")) {
+                return evaluateSelect(sql.substring("SELECT".length()));
+            } else if (sqlUc.startsWith("SHOW WARNINGS")) {
+                return new ResultSetSpec(new String[] { "Level", "Code", "Message" }, new Object[0][]);
+            } else if (sqlUc.startsWith("SHOW VARIABLES") || sqlUc.startsWith("SHOW SESSION VARIABLES")) {
+                List<Object[]> rows = new ArrayList<>();
+                int likeIndex = sqlUc.indexOf(" LIKE ");
+                String name = likeIndex == -1 ? null : unquote(sql.substring(likeIndex + 6).trim()).toLowerCase(Locale.ENGLISH);
+                for (Map.Entry<String, String> e : MockMysqlServer.this.serverVariables.entrySet()) {
+                    if (name == null || name.equals(e.getKey())) {
+                        rows.add(new Object[] { e.getKey(), e.getValue() });
+                    }
+                }
+                return new ResultSetSpec(new String[] { "Variable_name", "Value" }, rows.toArray(new Object[0][]));
+            }
+            return null;
+        }
+
+        private ResultSetSpec evaluateSelect(String selectList) {
+            String list = selectList.trim();
+            String listUc = list.toUpperCase(Locale.ENGLISH);
+            int fromIndex = listUc.indexOf(" FROM ");
+            if (fromIndex != -1) {
+                if (!listUc.substring(fromIndex + 6).trim().startsWith("DUAL")) {
+                    return new ResultSetSpec(new String[] { "?" }, new Object[0][]); // unknown table, empty result
+                }
+                list = list.substring(0, fromIndex);
+            }
+
+            List<String> expressions = splitTopLevel(list, ',');
+            String[] names = new String[expressions.size()];
+            Object[] values = new Object[expressions.size()];
+            for (int i = 0; i < names.length; i++) {
+                String expr = expressions.get(i).trim();
+                String name = expr;
+                int asIndex = expr.toUpperCase(Locale.ENGLISH).lastIndexOf(" AS ");
+                if (asIndex != -1) {
+                    name = unquote(expr.substring(asIndex + 4).trim());
+                    expr = expr.substring(0, asIndex).trim();
+                }
+                names[i] = name;
+                values[i] = evaluate(expr);
+            }
+            return new ResultSetSpec(names, new Object[][] { values });
+        }
+
+        private Object evaluate(String expr) {
+            String exprUc = expr.toUpperCase(Locale.ENGLISH);
+            if (expr.startsWith("@@")) {
+                String name = expr.substring(2).toLowerCase(Locale.ENGLISH);
+                for (String scope : new String[] { "session.", "global.", "local." }) {
+                    if (name.startsWith(scope)) {
+                        name = name.substring(scope.length());
+                    }
+                }
+                if (name.equals("autocommit")) {
+                    return Long.valueOf((this.status & SERVER_STATUS_AUTOCOMMIT) != 0 ? 1 : 0);
+                }
+                return MockMysqlServer.this.serverVariables.get(name);
+            } else if (exprUc.equals("NULL")) {
+                return null;
+            } else if (exprUc.equals("DATABASE()")) {
+                return this.database;
+            } else if (exprUc.equals("CONNECTION_ID()")) {
+                return Long.valueOf(this.connectionId);
+            } else if (expr.startsWith("'") || expr.startsWith("\"")) {
+                return unquote(expr);
+            }
+            try {
+                return Long.valueOf(expr);
+            } catch (NumberFormatException e) {
+                // not an integer
+            }
+            try {
+                return Double.valueOf(expr);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private void writeResultSet(ResultSetSpec resultSet, boolean binary) throws IOException {
+            int columnCount = resultSet.columnNames.length;
+            writePacket(new PayloadWriter().writeLenEncInt(columnCount));
+            for (int i = 0; i < columnCount; i++) {
+                writeColumnDefinition(resultSet.columnNames[i], resultSet.columnTypes[i]);
+            }
+            writeEofIfNotDeprecated();
+
+            for (Object[] row : resultSet.rows) {
+                PayloadWriter p = new PayloadWriter();
+                if (binary) {
+                    p.writeByte(0);
+                    byte[] nullBitmap = new byte[(columnCount + 7 + 2) / 8];
+                    for (int i = 0; i < columnCount; i++) {
+                        if (row[i] == null) {
+                            nullBitmap[(i + 2) / 8] |= 1 << ((i + 2) % 8);
+                        }
+                    }
+                    p.writeBytes(nullBitmap);
+                    for (int i = 0; i < columnCount; i++) {
+                        if (row[i] != null) {
+                            switch (resultSet.columnTypes[i]) {
+                                case FIELD_TYPE_LONGLONG:
+                                    p.writeInt(((Number) row[i]).longValue(), 8);
+                                    break;
+                                case FIELD_TYPE_DOUBLE:
+                                    p.writeInt(Double.doubleToLongBits(((Number) row[i]).doubleValue()), 8);
+                                    break;
+                                default:
+                                    p.writeLenEncString(row[i].toString());
+                            }
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < columnCount; i++) {
+                        if (row[i] == null) {
+                            p.writeByte(0xfb);
+                        } else {
+                            p.writeLenEncString(row[i].toString());
+                        }
+                    }
+                }
+                writePacket(p);
+            }
+
+            if ((this.clientFlags & CLIENT_DEPRECATE_EOF) != 0) {
+                writePacket(new PayloadWriter().writeByte(0xfe).writeLenEncInt(0).writeLenEncInt(0).writeInt(this.status, 2).writeInt(0, 2));
+            } else {
+                writeEof();
+            }
+        }
+
+        private void writeColumnDefinition(String name, int type) throws IOException {
+            boolean numeric = type == FIELD_TYPE_LONGLONG || type == FIELD_TYPE_DOUBLE;
+            PayloadWriter p = new PayloadWriter().writeLenEncString("def").writeLenEncString("").writeLenEncString("").writeLenEncString("")
+                    .writeLenEncString(name).writeLenEncString("");
+            p.writeByte(0x0c).writeInt(numeric ? COLLATION_BINARY : COLLATION_UTF8MB4_0900_AI_CI, 2);
+            p.writeInt(type == FIELD_TYPE_LONGLONG ? 20 : type == FIELD_TYPE_DOUBLE ? 22 : 1024, 4).writeByte(type);
+            p.writeInt(numeric ? 128 : 0, 2).writeByte(type == FIELD_TYPE_DOUBLE ? 31 : 0).writeInt(0, 2);
+            writePacket(p);
+        }
+
+        private void writeOk(long affectedRows, long lastInsertId) throws IOException {
+            writePacket(new PayloadWriter().writeByte(0).writeLenEncInt(affectedRows).writeLenEncInt(lastInsertId).writeInt(this.status, 2).writeInt(0, 2));
+        }
+
+        private void writeEof() throws IOException {
+            writePacket(new PayloadWriter().writeByte(0xfe).writeInt(0, 2).writeInt(this.status, 2));
+        }
+
+        private void writeEofIfNotDeprecated() throws IOException {
+            if ((this.clientFlags & CLIENT_DEPRECATE_EOF) == 0) {
+                writeEof();
+            }
+        }
+
+        private void writeError(int errorCode, String sqlState, String message) throws IOException {
+            writePacket(new PayloadWriter().writeByte(0xff).writeInt(errorCode, 2).writeByte('#').writeBytes(sqlState.getBytes(StandardCharsets.US_ASCII))
+                    .writeBytes(message.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        private void writePacket(PayloadWriter payload) throws IOException {
+            int offset = 0;
+            int remaining = payload.length;
+            do {
+                int chunk = Math.min(remaining, MAX_PACKET_SIZE);
+                this.sequence = (this.sequence + 1) & 0xff;
+                this.out.write(chunk & 0xff);
+                this.out.write((chunk >>> 8) & 0xff);
+                this.out.write((chunk >>> 16) & 0xff);
+                this.out.write(this.sequence);
+                this.out.write(payload.buf, offset, chunk);
+                offset += chunk;
+                remaining -= chunk;
+                if (remaining == 0 && chunk == MAX_PACKET_SIZE) {
+                    // a payload of exactly a multiple of the maximum size is terminated by an empty packet
+                    this.sequence = (this.sequence + 1) & 0xff;
+                    this.out.write(new byte[] { 0, 0, 0, (byte) this.sequence });
+                }
+            } while (remaining > 0);
+        }
+
+        private byte[] readPacket() throws IOException {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            byte[] header = new byte[4];
+            int length;
+            do {
+                readFully(header);
+                length = (header[0] & 0xff) | (header[1] & 0xff) << 8 | (header[2] & 0xff) << 16;
+                this.sequence = header[3] & 0xff;
+                byte[] chunk = new byte[length];
+                readFully(chunk);
+                payload.write(chunk);
+            } while (length == MAX_PACKET_SIZE);
+            return payload.toByteArray();
+        }
+
+        private void readFully(byte[] b) throws IOException {
+            int n = 0;
+            while (n < b.length) {
+                int count = this.in.read(b, n, b.length - n);
+                if (count < 0) {
+                    throw new EOFException();
+                }
+                n += count;
+            }
+        }
+    }
+
+    private static byte[] scramble(String pluginName, String password, byte[] seed) {
+        if (password.isEmpty()) {
+            return new byte[0];
+        }
+        try {
+            byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+            if (pluginName.equals(CACHING_SHA2_PASSWORD_PLUGIN)) {
+                MessageDigest md = MessageDigest.getInstance("SHA-256");
+                byte[] stage1 = md.digest(passwordBytes);
+                byte[] stage2 = md.digest(stage1);
+                md.update(stage2);
+                md.update(seed);
+                return xor(stage1, md.digest());
+            }
+            MessageDigest md = MessageDigest.getInstance("SHA-1");
+            byte[] stage1 = md.digest(passwordBytes);
+            byte[] stage2 = md.digest(stage1);
+            md.update(seed);
+            md.update(stage2);
+            return xor(stage1, md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static byte[] xor(byte[] a, byte[] b) {
+        byte[] result = new byte[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = (byte) (a[i] ^ b[i]);
+        }
+        return result;
+    }
+
+    private static String stripComments(String query) {
+        String sql = query.trim();
+        while (sql.startsWith("/*")) {
+            int end = sql.indexOf("*/");
+            if (end == -1) {
+                break;
+            }
+            sql = sql.substring(end + 2).trim();
+        }
+        return sql;
+    }
+
+    private static String unquote(String s) {
+        if (s.length() >= 2 && (s.charAt(0) == '\'' || s.charAt(0) == '"' || s.charAt(0) == '`') && s.charAt(s.length() - 1) == s.charAt(0)) {
+            return s.substring(1, s.length() - 1);
+        }
+        return s;
+    }
+
+    /**
+     * Splits the given string on the separator, ignoring separators inside quotes and parentheses.
+     */
+    private static List<String> splitTopLevel(String s, char separator) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == separator && depth == 0) {
+                parts.add(s.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(s.substring(start));
+        return parts;
+    }
+
+    private static int countParameters(String sql) {
+        int count = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int countValuesLists(String sql) {
+        int valuesIndex = sql.toUpperCase(Locale.ENGLISH).indexOf("VALUES");
+        if (valuesIndex == -1) {
+            return 1;
+        }
+        String values = sql.substring(valuesIndex + "VALUES".length());
+        int onDuplicateKey = values.toUpperCase(Locale.ENGLISH).indexOf(" ON DUPLICATE KEY");
+        if (onDuplicateKey != -1) {
+            values = values.substring(0, onDuplicateKey);
+        }
+        return splitTopLevel(values, ',').size();
+    }
+}
@@ -39,6 +39,8 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -57,7 +59,8 @@ import com.mysql.cj.protocol.StandardSocketFactory;
  * 
  * You can also cause a host to be immediately-downed by calling downHost() with an alias.
  * 
- * ATTENTION! This class is *NOT* thread safe.
+ * ATTENTION! This class is *NOT* thread safe, except for the record of connection attempts, which background connections may update while the test reads
+ * it.
  */
 public class UnreliableSocketFactory extends StandardSocketFactory {
     public static final String STATUS_UNKNOWN = "?";
@@ -71,7 +74,7 @@ public class UnreliableSocketFactory extends StandardSocketFactory {
     static final Set<String> HUNG_WRITE_HOSTS = new HashSet<>();
     static final Set<String> HUNG_CONNECT_HOSTS = new HashSet<>();
     static final Set<String> IMMEDIATELY_DOWNED_HOSTS = new HashSet<>();
-    static final List<String> CONNECTION_ATTEMPTS = new LinkedList<>();
+    static final List<String> CONNECTION_ATTEMPTS = Collections.synchronizedList(new LinkedList<>());
 
     private String hostname;
     private int portNumber;
@@ -143,20 +146,31 @@ public class UnreliableSocketFactory extends StandardSocketFactory {
 
     public static String getHostFromPastConnection(int pos) {
         pos = Math.abs(pos);
-        if (pos == 0 || CONNECTION_ATTEMPTS.isEmpty() || CONNECTION_ATTEMPTS.size() < pos) {
-            return null;
+        synchronized (CONNECTION_ATTEMPTS) {
+            if (pos == 0 || CONNECTION_ATTEMPTS.isEmpty() || CONNECTION_ATTEMPTS.size() < pos) {
+                return null;
+            }
+            return CONNECTION_ATTEMPTS.get(CONNECTION_ATTEMPTS.size() - pos);
         }
-        return CONNECTION_ATTEMPTS.get(CONNECTION_ATTEMPTS.size() - pos);
     }
 
     public static List<String> getHostsFromAllConnections() {
-        return getHostsFromLastConnections(CONNECTION_ATTEMPTS.size());
+        return getHostsFromLastConnections(Integer.MAX_VALUE);
     }
 
+    /**
+     * Returns a snapshot of the last connection attempts.
+     * 
+     * @param count
+     *            the number of connection attempts to return
+     * @return a copy of the last connection attempts, which is not affected by later attempts
+     */
     public static List<String> getHostsFromLastConnections(int count) {
         count = Math.abs(count);
-        int lBound = Math.max(0, CONNECTION_ATTEMPTS.size() - count);
-        return CONNECTION_ATTEMPTS.subList(lBound, CONNECTION_ATTEMPTS.size());
+        synchronized (CONNECTION_ATTEMPTS) {
+            int lBound = Math.max(0, CONNECTION_ATTEMPTS.size() - count);
+            return new ArrayList<>(CONNECTION_ATTEMPTS.subList(lBound, CONNECTION_ATTEMPTS.size()));
+        }
     }
 
     public static boolean isConnected() {
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package testsuite.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.conf.PropertyKey;
+
+import testsuite.BaseTestCase;
+
+/**
+ * Reports the heap retained by idle connections.
+ */
+public class MemoryFootprintPerfTest extends BaseTestCase {
+    private static final int NUM_CONNECTIONS = 200;
+
+    /**
+     * Tests the heap retained per idle connection, with and without 'minimizeMemoryFootprint'.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testRetainedHeapPerIdleConnection() throws Exception {
+        long defaultFootprint = measureRetainedHeapPerConnection(PropertyKey.minimizeMemoryFootprint.getKeyName() + "=false");
+        long leanFootprint = measureRetainedHeapPerConnection(PropertyKey.minimizeMemoryFootprint.getKeyName() + "=true");
+
+        System.out.println("\nRetained heap per idle connection\n");
+        System.out.println("Default: " + defaultFootprint + " bytes");
+        System.out.println("minimizeMemoryFootprint=true: " + leanFootprint + " bytes");
+
+        assertTrue(defaultFootprint > 0);
+        assertTrue(leanFootprint > 0);
+    }
+
+    private long measureRetainedHeapPerConnection(String propsList) throws Exception {
+        List<Connection> connections = new ArrayList<>(NUM_CONNECTIONS);
+        try {
+            // warm up, so that only per-connection structures are measured
+            getConnectionWithProps(propsList).close();
+
+            long before = usedHeap();
+            for (int i = 0; i < NUM_CONNECTIONS; i++) {
+                Connection c = getConnectionWithProps(propsList);
+                try (Statement s = c.createStatement(); ResultSet r = s.executeQuery("SELECT 1")) {
+                    r.next();
+                }
+                connections.add(c);
+            }
+            long after = usedHeap();
+
+            return (after - before) / NUM_CONNECTIONS;
+        } finally {
+            for (Connection c : connections) {
+                c.close();
+            }
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package testsuite.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.conf.PropertyKey;
+
+import testsuite.MockMysqlServer;
+
+/**
+ * Measures driver-side costs of connecting and executing statements against {@link MockMysqlServer}, so that results aren't affected by the server's own
+ * work and no live server is needed.
+ */
+public class MockServerPerfTest {
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1000;
+    private static final String WIDE_QUERY = "SELECT id, name, amount, note, flag FROM wide_table";
+    private static final int WIDE_ROWS = 1000;
+
+    private static MockMysqlServer server;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        Object[][] rows = new Object[WIDE_ROWS][];
+        for (int i = 0; i < WIDE_ROWS; i++) {
+            rows[i] = new Object[] { Long.valueOf(i), "name" + i, Double.valueOf(i * 1.5), i % 10 == 0 ? null : "note " + i, Long.valueOf(i % 2) };
+        }
+        server = new MockMysqlServer().setUser("perf", "perfpwd").addResultSet(WIDE_QUERY, new String[] { "id", "name", "amount", "note", "flag" }, rows)
+                .start();
+    }
+
+    @AfterAll
+    public static void tearDown() throws Exception {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    /**
+     * Tests time to establish a connection, with both supported authentication plugins.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testConnect() throws Exception {
+        for (String plugin : new String[] { MockMysqlServer.NATIVE_PASSWORD_PLUGIN, MockMysqlServer.CACHING_SHA2_PASSWORD_PLUGIN }) {
+            server.setAuthenticationPlugin(plugin);
+            report("connect (" + plugin + ")", measure(() -> DriverManager.getConnection(server.getUrl("test")).close()));
+        }
+        server.setAuthenticationPlugin(MockMysqlServer.NATIVE_PASSWORD_PLUGIN);
+    }
+
+    /**
+     * Tests round trip of a trivial query.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testSimpleQueryRoundTrip() throws Exception {
+        try (Connection c = DriverManager.getConnection(server.getUrl("test")); Statement s = c.createStatement()) {
+            report("SELECT 1", measure(() -> {
+                try (ResultSet rs = s.executeQuery("SELECT 1")) {
+                    assertTrue(rs.next());
+                    assertEquals(1, rs.getInt(1));
+                }
+            }));
+        }
+    }
+
+    /**
+     * Tests decoding of text and binary protocol result sets.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testResultSetDecoding() throws Exception {
+        for (boolean useServerPrepStmts : new boolean[] { false, true }) {
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), String.valueOf(useServerPrepStmts));
+            try (Connection c = DriverManager.getConnection(server.getUrl("test"), props); PreparedStatement ps = c.prepareStatement(WIDE_QUERY)) {
+                report((useServerPrepStmts ? "binary" : "text") + " result set, " + WIDE_ROWS + " rows", measure(() -> {
+                    int count = 0;
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            rs.getLong(1);
+                            rs.getString(2);
+                            rs.getDouble(3);
+                            rs.getString(4);
+                            rs.getBoolean(5);
+                            count++;
+                        }
+                    }
+                    assertEquals(WIDE_ROWS, count);
+                }));
+            }
+        }
+    }
+
+    /**
+     * Tests batched inserts, with and without statements rewriting.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBatchInsert() throws Exception {
+        for (boolean rewriteBatchedStatements : new boolean[] { false, true }) {
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.rewriteBatchedStatements.getKeyName(), String.valueOf(rewriteBatchedStatements));
+            try (Connection c = DriverManager.getConnection(server.getUrl("test"), props);
+                    PreparedStatement ps = c.prepareStatement("INSERT INTO t (id, name) VALUES (?, ?)")) {
+                report("batch of 100 inserts, rewriteBatchedStatements=" + rewriteBatchedStatements, measure(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        ps.setInt(1, i);
+                        ps.setString(2, "name" + i);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }));
+            }
+        }
+    }
+
+    private interface Operation {
+        void run() throws Exception;
+    }
+
+    private static double measure(Operation op) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - start) / 1000000.0 / MEASURED_ITERATIONS;
+    }
+
+    private static void report(String operation, double meanMillis) {
+        System.out.println(String.format("%-60s %10.4f ms/op", operation, meanMillis));
+    }
+}
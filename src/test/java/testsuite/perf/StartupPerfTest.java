@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package testsuite.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the time to first query, i.e. the time a freshly started JVM needs to load the driver, connect and execute one query. Each iteration runs in a
+ * new JVM so that the driver static initialization is always included.
+ */
+public class StartupPerfTest extends BasePerfTest {
+    private static final int NUM_ITERATIONS = 10;
+
+    private static final String RESULT_PREFIX = "timeToFirstQuery=";
+
+    /**
+     * Entry point of the child JVM.
+     * 
+     * @param args
+     *            connection URL
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        long begin = System.nanoTime();
+
+        try (Connection c = DriverManager.getConnection(args[0]); Statement s = c.createStatement(); ResultSet r = s.executeQuery("SELECT 1")) {
+            r.next();
+        }
+
+        double elapsedMs = (System.nanoTime() - begin) / 1000000d;
+        double sinceJvmStartMs = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println(RESULT_PREFIX + elapsedMs);
+        System.out.println("sinceJvmStart=" + sinceJvmStartMs);
+    }
+
+    @Override
+    protected void doOneIteration() throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder pb = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), StartupPerfTest.class.getName(), dbUrl);
+        pb.redirectErrorStream(true);
+        Process p = pb.start();
+
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = line.substring(RESULT_PREFIX.length());
+                }
+            }
+        }
+        assertEquals(0, p.waitFor());
+        assertNotNull(result);
+
+        addResult(Double.parseDouble(result));
+    }
+
+    /**
+     * Tests the time to first query in a fresh JVM.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testTimeToFirstQuery() throws Exception {
+        doIterations(NUM_ITERATIONS);
+        reportResults("Time to first query (ms)");
+    }
+}
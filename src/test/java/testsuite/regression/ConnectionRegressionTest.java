@@ -2937,6 +2937,64 @@ public class ConnectionRegressionTest extends BaseTestCase {
 
     }
 
+    /**
+     * Tests the time and transaction end based auto-commit rebalance policies.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testAutoCommitLBPolicies() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.ha_loadBalanceStrategy.getKeyName(), CountingReBalanceStrategy.class.getName());
+        props.setProperty(PropertyKey.loadBalanceAutoCommitOnTransactionEnd.getKeyName(), "true");
+
+        Connection conn2 = this.getUnreliableLoadBalancedConnection(new String[] { "first", "second" }, props);
+        conn2.setAutoCommit(true);
+        CountingReBalanceStrategy.resetTimesRebalanced();
+        conn2.createStatement().execute("SELECT 1");
+        assertEquals(0, CountingReBalanceStrategy.getTimesRebalanced());
+        conn2.createStatement().execute("START TRANSACTION");
+        conn2.createStatement().execute("SELECT 1");
+        assertEquals(0, CountingReBalanceStrategy.getTimesRebalanced());
+        conn2.createStatement().execute("COMMIT");
+        assertEquals(1, CountingReBalanceStrategy.getTimesRebalanced());
+        conn2.close();
+
+        // Statement count threshold is reached inside an explicit transaction, rebalancing waits for the transaction to complete.
+        props.remove(PropertyKey.loadBalanceAutoCommitOnTransactionEnd.getKeyName());
+        props.setProperty(PropertyKey.loadBalanceAutoCommitStatementThreshold.getKeyName(), "2");
+        props.setProperty(PropertyKey.loadBalanceAutoCommitStatementRegex.getKeyName(), "(?i)SELECT.*");
+        conn2 = this.getUnreliableLoadBalancedConnection(new String[] { "first", "second" }, props);
+        conn2.setAutoCommit(true);
+        CountingReBalanceStrategy.resetTimesRebalanced();
+        conn2.createStatement().execute("BEGIN");
+        conn2.createStatement().execute("SELECT 1");
+        conn2.createStatement().execute("select 2");
+        conn2.createStatement().execute("SELECT 3");
+        assertEquals(0, CountingReBalanceStrategy.getTimesRebalanced());
+        conn2.createStatement().execute("ROLLBACK");
+        assertEquals(1, CountingReBalanceStrategy.getTimesRebalanced());
+        conn2.createStatement().execute("SELECT 4");
+        assertEquals(1, CountingReBalanceStrategy.getTimesRebalanced());
+        conn2.close();
+
+        props.remove(PropertyKey.loadBalanceAutoCommitStatementThreshold.getKeyName());
+        props.remove(PropertyKey.loadBalanceAutoCommitStatementRegex.getKeyName());
+        props.setProperty(PropertyKey.loadBalanceAutoCommitTimeThreshold.getKeyName(), "500");
+        conn2 = this.getUnreliableLoadBalancedConnection(new String[] { "first", "second" }, props);
+        conn2.setAutoCommit(true);
+        CountingReBalanceStrategy.resetTimesRebalanced();
+        conn2.createStatement().execute("SELECT 1");
+        conn2.createStatement().execute("SELECT 2");
+        assertEquals(0, CountingReBalanceStrategy.getTimesRebalanced());
+        Thread.sleep(600);
+        conn2.createStatement().execute("SELECT 3");
+        assertEquals(1, CountingReBalanceStrategy.getTimesRebalanced());
+        conn2.createStatement().execute("SELECT 4");
+        assertEquals(1, CountingReBalanceStrategy.getTimesRebalanced());
+        conn2.close();
+    }
+
     public static class CountingReBalanceStrategy extends RandomBalanceStrategy {
         private static int rebalancedTimes = 0;
 
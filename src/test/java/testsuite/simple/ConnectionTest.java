@@ -29,6 +29,7 @@
 
 package testsuite.simple;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -51,6 +52,7 @@ import java.lang.reflect.Method;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
+import java.net.Socket;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -66,16 +68,25 @@ import java.sql.SQLException;
 import java.sql.SQLSyntaxErrorException;
 import java.sql.Savepoint;
 import java.sql.Statement;
+import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Properties;
 import java.util.Random;
+import java.util.TimeZone;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -93,11 +104,14 @@ import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.InvalidConnectionAttributeException;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.BulkLoader;
 import com.mysql.cj.jdbc.ClientPreparedStatement;
 import com.mysql.cj.jdbc.JdbcConnection;
 import com.mysql.cj.jdbc.JdbcPropertySet;
 import com.mysql.cj.jdbc.MysqlConnectionPoolDataSource;
+import com.mysql.cj.jdbc.MysqlPooledConnection;
 import com.mysql.cj.jdbc.NonRegisteringDriver;
+import com.mysql.cj.jdbc.Pipeline;
 import com.mysql.cj.jdbc.exceptions.CommunicationsException;
 import com.mysql.cj.protocol.MessageReader;
 import com.mysql.cj.protocol.MessageSender;
@@ -903,6 +917,38 @@ public class ConnectionTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests "LOAD DATA LOCAL INFILE" with packets smaller than the file, sent through 'localInfileChunkSize'.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testLocalInfileChunkSize() throws Exception {
+        createTable("testLocalInfileChunkSize", "(id INT PRIMARY KEY, name VARCHAR(50))");
+
+        File infile = File.createTempFile("foo", "txt");
+        infile.deleteOnExit();
+        try (FileWriter output = new FileWriter(infile)) {
+            for (int i = 0; i < 10000; i++) {
+                output.write(i + "\tname " + i + "\n");
+            }
+        }
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.allowLoadLocalInfile.getKeyName(), "true");
+        props.setProperty(PropertyKey.localInfileChunkSize.getKeyName(), "4k");
+        try (Connection loadConn = getConnectionWithProps(props)) {
+            assertEquals(10000, loadConn.createStatement().executeUpdate("LOAD DATA LOCAL INFILE '" + infile.getCanonicalPath().replace("\\", "\\\\")
+                    + "' INTO TABLE testLocalInfileChunkSize CHARACTER SET utf8mb4"));
+        }
+
+        this.rs = this.stmt.executeQuery("SELECT COUNT(*), SUM(id), SUM(name = CONCAT('name ', id)) FROM testLocalInfileChunkSize");
+        assertTrue(this.rs.next());
+        assertEquals(10000, this.rs.getInt(1));
+        assertEquals(49995000, this.rs.getLong(2));
+        assertEquals(10000, this.rs.getInt(3));
+    }
+
     @Test
     public void testServerConfigurationCache() throws Exception {
         Properties props = new Properties();
@@ -2917,6 +2963,422 @@ public class ConnectionTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests connection property 'cacheSslContext' behavior.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testCacheSslContext() throws Exception {
+        if (!versionMeetsMinimum(5, 7, 6)) {
+            return;
+        }
+
+        final Properties props = new Properties();
+        props.setProperty(PropertyKey.sslMode.getKeyName(), SslMode.REQUIRED.toString());
+
+        for (boolean cacheSslContext : new boolean[] { true, false }) {
+            props.setProperty(PropertyKey.cacheSslContext.getKeyName(), Boolean.toString(cacheSslContext));
+            try (Connection testConn1 = getConnectionWithProps(this.sslFreeBaseUrl, props);
+                    Connection testConn2 = getConnectionWithProps(this.sslFreeBaseUrl, props)) {
+                SSLSession session1 = getSslSession(testConn1);
+                SSLSession session2 = getSslSession(testConn2);
+                // TLS sessions from the same SSLContext share the same session context.
+                assertEquals(cacheSslContext, session1.getSessionContext() == session2.getSessionContext());
+            }
+        }
+    }
+
+    /**
+     * Tests connection property 'coalesceSessionSetup' behavior.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testCoalesceSessionSetup() throws Exception {
+        if (!versionMeetsMinimum(5, 7, 0)) {
+            return;
+        }
+
+        final Properties props = new Properties();
+        props.setProperty(PropertyKey.characterEncoding.getKeyName(), "UTF-8");
+        props.setProperty(PropertyKey.jdbcCompliantTruncation.getKeyName(), "true");
+        props.setProperty(PropertyKey.sessionVariables.getKeyName(), "sql_mode='NO_ENGINE_SUBSTITUTION',autocommit=0");
+
+        for (boolean coalesceSessionSetup : new boolean[] { true, false }) {
+            props.setProperty(PropertyKey.coalesceSessionSetup.getKeyName(), Boolean.toString(coalesceSessionSetup));
+            try (Connection testConn = getConnectionWithProps(props)) {
+                assertTrue(testConn.getAutoCommit());
+                ResultSet testRs = testConn.createStatement()
+                        .executeQuery("SELECT @@session.autocommit, @@session.sql_mode, @@session.character_set_client, @@session.character_set_results");
+                assertTrue(testRs.next());
+                assertEquals(1, testRs.getInt(1));
+                assertTrue(testRs.getString(2).contains("STRICT_TRANS_TABLES"));
+                assertTrue(testRs.getString(2).contains("NO_ENGINE_SUBSTITUTION"));
+                assertEquals("utf8mb4", testRs.getString(3));
+                assertNull(testRs.getString(4));
+            }
+        }
+    }
+
+    /**
+     * Tests connection property 'trackSessionState' behavior.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testTrackSessionState() throws Exception {
+        if (!versionMeetsMinimum(5, 7, 20)) {
+            return;
+        }
+
+        final String otherDb = "testTrackSessionStateDb";
+        createDatabase(otherDb);
+
+        final Properties props = new Properties();
+        props.setProperty(PropertyKey.useLocalSessionState.getKeyName(), "false");
+        props.setProperty(PropertyKey.databaseTerm.getKeyName(), DatabaseTerm.CATALOG.name());
+
+        for (boolean trackSessionState : new boolean[] { true, false }) {
+            props.setProperty(PropertyKey.trackSessionState.getKeyName(), Boolean.toString(trackSessionState));
+            try (Connection testConn = getConnectionWithProps(props)) {
+                Statement testStmt = testConn.createStatement();
+
+                testStmt.execute("SET SESSION TRANSACTION ISOLATION LEVEL SERIALIZABLE");
+                assertEquals(Connection.TRANSACTION_SERIALIZABLE, testConn.getTransactionIsolation());
+                testStmt.execute("SET SESSION transaction_isolation = 'READ-COMMITTED'");
+                assertEquals(Connection.TRANSACTION_READ_COMMITTED, testConn.getTransactionIsolation());
+
+                testStmt.execute("SET SESSION TRANSACTION READ ONLY");
+                assertTrue(testConn.isReadOnly());
+                testStmt.execute("SET SESSION TRANSACTION READ WRITE");
+                assertFalse(testConn.isReadOnly());
+
+                testStmt.execute("USE " + otherDb);
+                // the default schema is only known to change when the server reports it
+                assertEquals(trackSessionState ? otherDb : this.dbName, testConn.getCatalog());
+            }
+        }
+    }
+
+    /**
+     * Tests JdbcConnection.resetSessionState().
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testResetSessionState() throws Exception {
+        if (!versionMeetsMinimum(5, 7, 20)) {
+            return;
+        }
+
+        final Properties props = new Properties();
+        props.setProperty(PropertyKey.characterEncoding.getKeyName(), "UTF-8");
+        props.setProperty(PropertyKey.jdbcCompliantTruncation.getKeyName(), "true");
+        props.setProperty(PropertyKey.sessionVariables.getKeyName(), "@testVar1='foo'");
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), "true");
+        props.setProperty(PropertyKey.cachePrepStmts.getKeyName(), "true");
+
+        for (boolean coalesceSessionSetup : new boolean[] { true, false }) {
+            props.setProperty(PropertyKey.coalesceSessionSetup.getKeyName(), Boolean.toString(coalesceSessionSetup));
+            try (Connection testConn = getConnectionWithProps(props)) {
+                int isolationLevel = testConn.getTransactionIsolation();
+                Statement testStmt = testConn.createStatement();
+
+                PreparedStatement testPstmt = testConn.prepareStatement("SELECT @testVar1, @testVar2");
+                testPstmt.close(); // cached
+
+                testStmt.execute("SET @testVar1 = 'bar', @testVar2 = 'baz', sql_mode = ''");
+                testConn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                testConn.setAutoCommit(false);
+
+                ((JdbcConnection) testConn).resetSessionState();
+
+                assertTrue(testConn.getAutoCommit());
+                assertEquals(isolationLevel, testConn.getTransactionIsolation());
+                ResultSet testRs = testStmt.executeQuery("SELECT @testVar1, @testVar2, @@session.sql_mode, @@session.autocommit,"
+                        + " @@session.character_set_client, @@session.character_set_results");
+                assertTrue(testRs.next());
+                assertEquals("foo", testRs.getString(1));
+                assertNull(testRs.getString(2));
+                assertTrue(testRs.getString(3).contains("STRICT_TRANS_TABLES"));
+                assertEquals(1, testRs.getInt(4));
+                assertEquals("utf8mb4", testRs.getString(5));
+                assertNull(testRs.getString(6));
+
+                // the cached statement was deallocated by the reset, a new one is prepared
+                testPstmt = testConn.prepareStatement("SELECT @testVar1, @testVar2");
+                testRs = testPstmt.executeQuery();
+                assertTrue(testRs.next());
+                assertEquals("foo", testRs.getString(1));
+                testPstmt.close();
+            }
+        }
+    }
+
+    /**
+     * Tests that STRICT_TRANS_TABLES, added to sql_mode by 'jdbcCompliantTruncation', survives session resets when the global sql_mode doesn't include it.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testTruncationChecksAfterSessionReset() throws Exception {
+        if (!versionMeetsMinimum(5, 7, 20)) {
+            return;
+        }
+
+        this.rs = this.stmt.executeQuery("SELECT @@global.sql_mode");
+        assertTrue(this.rs.next());
+        String globalSqlMode = this.rs.getString(1);
+
+        final Properties props = new Properties();
+        props.setProperty(PropertyKey.jdbcCompliantTruncation.getKeyName(), "true");
+
+        try {
+            this.stmt.execute("SET GLOBAL sql_mode = 'NO_ENGINE_SUBSTITUTION'");
+
+            for (boolean coalesceSessionSetup : new boolean[] { true, false }) {
+                props.setProperty(PropertyKey.coalesceSessionSetup.getKeyName(), Boolean.toString(coalesceSessionSetup));
+                try (Connection testConn = getConnectionWithProps(props)) {
+                    Statement testStmt = testConn.createStatement();
+                    assertTrue(getSingleIndexedValueWithQuery(testConn, 1, "SELECT @@session.sql_mode").toString().contains("STRICT_TRANS_TABLES"));
+
+                    testStmt.execute("SET sql_mode = ''");
+                    ((JdbcConnection) testConn).resetSessionState();
+                    assertTrue(getSingleIndexedValueWithQuery(testConn, 1, "SELECT @@session.sql_mode").toString().contains("STRICT_TRANS_TABLES"));
+
+                    testStmt.execute("SET sql_mode = ''");
+                    ((JdbcConnection) testConn).resetServerState();
+                    assertTrue(getSingleIndexedValueWithQuery(testConn, 1, "SELECT @@session.sql_mode").toString().contains("STRICT_TRANS_TABLES"));
+                }
+            }
+        } finally {
+            this.stmt.execute("SET GLOBAL sql_mode = '" + globalSqlMode + "'");
+        }
+    }
+
+    /**
+     * Tests that pooled connections reset the session state when handed out, with 'paranoid' enabled as well. Resetting them with COM_RESET_CONNECTION
+     * doesn't need the password, unlike the COM_CHANGE_USER based reset that was skipped when 'paranoid' was enabled.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testPooledConnectionSessionReset() throws Exception {
+        if (!versionMeetsMinimum(5, 7, 20)) {
+            return;
+        }
+
+        final Properties props = new Properties();
+        for (boolean paranoid : new boolean[] { false, true }) {
+            props.setProperty(PropertyKey.paranoid.getKeyName(), Boolean.toString(paranoid));
+            MysqlPooledConnection pooledConn = new MysqlPooledConnection((JdbcConnection) getConnectionWithProps(props));
+            try {
+                Connection testConn = pooledConn.getConnection();
+                testConn.createStatement().execute("SET @testVar = 'foo'");
+                testConn.close();
+
+                testConn = pooledConn.getConnection();
+                assertNull(getSingleIndexedValueWithQuery(testConn, 1, "SELECT @testVar"));
+                testConn.close();
+            } finally {
+                pooledConn.close();
+            }
+        }
+    }
+
+    /**
+     * Tests JdbcConnection.pipeline().
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testPipeline() throws Exception {
+        createTable("testPipeline", "(id INT PRIMARY KEY, name VARCHAR(20))");
+
+        Properties props = new Properties();
+        for (boolean useServerPrepStmts : new boolean[] { false, true }) {
+            props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), Boolean.toString(useServerPrepStmts));
+            try (Connection testConn = getConnectionWithProps(props)) {
+                this.stmt.executeUpdate("TRUNCATE TABLE testPipeline");
+                PreparedStatement insertPstmt = testConn.prepareStatement("INSERT INTO testPipeline VALUES (?, ?)");
+                PreparedStatement selectPstmt = testConn.prepareStatement("SELECT name FROM testPipeline WHERE id = ?");
+
+                List<CompletableFuture<Long>> inserts = new ArrayList<>();
+                CompletableFuture<Long> failedInsert;
+                CompletableFuture<ResultSet> failedQuery;
+                CompletableFuture<ResultSet> select;
+                CompletableFuture<ResultSet> count;
+                try (Pipeline pipeline = ((JdbcConnection) testConn).pipeline()) {
+                    for (int i = 1; i <= 3; i++) {
+                        insertPstmt.setInt(1, i);
+                        insertPstmt.setString(2, "name" + i);
+                        inserts.add(pipeline.executeUpdate(insertPstmt));
+                    }
+                    failedInsert = pipeline.executeUpdate(insertPstmt); // duplicate key
+                    failedQuery = pipeline.executeQuery("SELECT * FROM testPipelineNoSuchTable");
+                    selectPstmt.setInt(1, 2);
+                    select = pipeline.executeQuery(selectPstmt);
+                    count = pipeline.executeQuery("SELECT COUNT(*) FROM testPipeline");
+
+                    assertFalse(count.isDone());
+                    pipeline.sync();
+                    assertTrue(count.isDone());
+                }
+
+                for (CompletableFuture<Long> insert : inserts) {
+                    assertEquals(1L, insert.get().longValue());
+                }
+                ExecutionException ex = assertThrows(ExecutionException.class, failedInsert::get);
+                assertEquals(MysqlErrorNumbers.ER_DUP_ENTRY, ((SQLException) ex.getCause()).getErrorCode());
+                ex = assertThrows(ExecutionException.class, failedQuery::get);
+                assertEquals(MysqlErrorNumbers.ER_NO_SUCH_TABLE, ((SQLException) ex.getCause()).getErrorCode());
+
+                this.rs = select.get();
+                assertTrue(this.rs.next());
+                assertEquals("name2", this.rs.getString(1));
+                this.rs = count.get();
+                assertTrue(this.rs.next());
+                assertEquals(3, this.rs.getInt(1));
+
+                // the connection is usable right after the pipeline
+                this.rs = testConn.createStatement().executeQuery("SELECT 1");
+                assertTrue(this.rs.next());
+            }
+        }
+    }
+
+    /**
+     * Tests a pipeline of more commands and results than the socket buffers can hold.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testPipelineLarge() throws Exception {
+        String padding = String.join("", Collections.nCopies(20000, "p"));
+        List<CompletableFuture<ResultSet>> queries = new ArrayList<>();
+        try (Pipeline pipeline = ((JdbcConnection) this.conn).pipeline()) {
+            for (int i = 0; i < 300; i++) {
+                queries.add(pipeline.executeQuery("SELECT " + i + ", REPEAT('x', 100000), '" + padding + "'"));
+            }
+            pipeline.sync();
+        }
+
+        for (int i = 0; i < queries.size(); i++) {
+            this.rs = queries.get(i).get();
+            assertTrue(this.rs.next());
+            assertEquals(i, this.rs.getInt(1));
+            assertEquals(100000, this.rs.getString(2).length());
+        }
+    }
+
+    /**
+     * Tests JdbcConnection.bulkLoader().
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBulkLoader() throws Exception {
+        createTable("testBulkLoader", "(id INT PRIMARY KEY, name VARCHAR(50), data BLOB, dt DATETIME(3))");
+        createTable("testBulkLoaderCopy", "(id INT PRIMARY KEY, name VARCHAR(50), data BLOB, dt DATETIME(3))");
+
+        assertThrows(SQLException.class, "Bulk loading requires \"LOAD DATA LOCAL INFILE\" to be enabled at client by setting \"allowLoadLocalInfile=true\"\\.",
+                () -> ((JdbcConnection) this.conn).bulkLoader("testBulkLoader"));
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.allowLoadLocalInfile.getKeyName(), "true");
+        try (Connection testConn = getConnectionWithProps(props)) {
+            try (BulkLoader loader = ((JdbcConnection) testConn).bulkLoader("testBulkLoader", "id", "name", "data", "dt")) {
+                loader.addRow(1, "tab\tnew line\nback\\slash", new byte[] { 0, (byte) 0xe0, '\t', '\\', 'N' }, LocalDateTime.of(2020, 1, 2, 3, 4, 5, 6000000));
+                loader.addRow(2, "\u00e9\u4e2d\ud83d\ude00", null, null);
+                loader.addRow(3, "\\N", new byte[0], null);
+                assertEquals(3, loader.flush());
+
+                List<Object[]> rows = new ArrayList<>();
+                for (int i = 4; i < 1004; i++) {
+                    rows.add(new Object[] { i, "row " + i, null, null });
+                }
+                assertEquals(1000, loader.load(rows.iterator()));
+
+                assertThrows(SQLException.class, "The row has 2 values but the bulk loader has 4 columns\\.", () -> {
+                    loader.addRow(1, 2);
+                    return null;
+                });
+                assertEquals(1003, loader.getLoadedRowCount());
+            }
+
+            this.rs = this.stmt.executeQuery("SELECT name, data, dt FROM testBulkLoader WHERE id <= 3 ORDER BY id");
+            assertTrue(this.rs.next());
+            assertEquals("tab\tnew line\nback\\slash", this.rs.getString(1));
+            assertArrayEquals(new byte[] { 0, (byte) 0xe0, '\t', '\\', 'N' }, this.rs.getBytes(2));
+            assertEquals(LocalDateTime.of(2020, 1, 2, 3, 4, 5, 6000000), this.rs.getObject(3, LocalDateTime.class));
+            assertTrue(this.rs.next());
+            assertEquals("\u00e9\u4e2d\ud83d\ude00", this.rs.getString(1));
+            assertNull(this.rs.getBytes(2));
+            assertNull(this.rs.getObject(3));
+            assertTrue(this.rs.next());
+            assertEquals("\\N", this.rs.getString(1));
+            assertEquals(0, this.rs.getBytes(2).length);
+            assertFalse(this.rs.next());
+
+            try (BulkLoader loader = ((JdbcConnection) testConn).bulkLoader("testBulkLoaderCopy")) {
+                assertEquals(1003, loader.load(this.stmt.executeQuery("SELECT * FROM testBulkLoader")));
+            }
+            this.rs = this.stmt.executeQuery("SELECT COUNT(*) FROM testBulkLoader a JOIN testBulkLoaderCopy b USING (id) "
+                    + "WHERE a.name <=> b.name AND a.data <=> b.data AND a.dt <=> b.dt");
+            assertTrue(this.rs.next());
+            assertEquals(1003, this.rs.getInt(1));
+        }
+    }
+
+    /**
+     * Tests that JdbcConnection.bulkLoader() sends temporal values as prepared statements do, in the server time zone and honoring
+     * "sendFractionalSeconds".
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBulkLoaderTemporalValues() throws Exception {
+        createTable("testBulkLoaderTemporal", "(id INT, sendFracSecs BOOLEAN, d DATE, t TIME, ts DATETIME(6), ud DATETIME(6))");
+
+        String serverTimezone = "Asia/Tokyo".equals(TimeZone.getDefault().getID()) ? "America/New_York" : "Asia/Tokyo";
+        java.sql.Date date = java.sql.Date.valueOf("2020-01-02");
+        Time time = Time.valueOf("03:04:05");
+        Timestamp timestamp = Timestamp.valueOf("2020-01-02 23:04:05.123456");
+        java.util.Date utilDate = new java.util.Date(timestamp.getTime());
+
+        for (boolean sendFractionalSeconds : new boolean[] { true, false }) {
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.allowLoadLocalInfile.getKeyName(), "true");
+            props.setProperty(PropertyKey.serverTimezone.getKeyName(), serverTimezone);
+            props.setProperty(PropertyKey.sendFractionalSeconds.getKeyName(), String.valueOf(sendFractionalSeconds));
+            try (Connection testConn = getConnectionWithProps(props)) {
+                try (PreparedStatement pstmt = testConn.prepareStatement("INSERT INTO testBulkLoaderTemporal VALUES (1, ?, ?, ?, ?, ?)")) {
+                    pstmt.setBoolean(1, sendFractionalSeconds);
+                    pstmt.setDate(2, date);
+                    pstmt.setTime(3, time);
+                    pstmt.setTimestamp(4, timestamp);
+                    pstmt.setObject(5, utilDate);
+                    pstmt.executeUpdate();
+                }
+                try (BulkLoader loader = ((JdbcConnection) testConn).bulkLoader("testBulkLoaderTemporal")) {
+                    loader.addRow(2, sendFractionalSeconds, date, time, timestamp, utilDate);
+                }
+            }
+        }
+
+        this.rs = this.stmt.executeQuery("SELECT COUNT(*) FROM testBulkLoaderTemporal a JOIN testBulkLoaderTemporal b USING (sendFracSecs) "
+                + "WHERE a.id = 1 AND b.id = 2 AND a.d <=> b.d AND a.t <=> b.t AND a.ts <=> b.ts AND a.ud <=> b.ud");
+        assertTrue(this.rs.next());
+        assertEquals(2, this.rs.getInt(1));
+    }
+
+    private SSLSession getSslSession(Connection testConn) throws Exception {
+        Socket socket = ((NativeSession) ((JdbcConnection) testConn).getSession()).getProtocol().getSocketConnection().getMysqlSocket();
+        assertTrue(socket instanceof SSLSocket);
+        return ((SSLSocket) socket).getSession();
+    }
+
     private void testAllowLoadLocalInfileInPathCheckAndDelete() throws Exception {
         this.rs = this.stmt.executeQuery("SELECT * FROM testAllowLoadLocalInfileInPath");
         assertTrue(this.rs.next());
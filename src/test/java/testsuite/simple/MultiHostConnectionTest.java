@@ -33,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -43,10 +44,15 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
+import javax.management.ObjectName;
+
 import org.junit.jupiter.api.Test;
 
 import com.mysql.cj.conf.PropertyDefinitions.DatabaseTerm;
 import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.ConnectionGroup;
+import com.mysql.cj.jdbc.ConnectionGroupHostStatistics;
+import com.mysql.cj.jdbc.ConnectionGroupManager;
 import com.mysql.cj.jdbc.JdbcConnection;
 
 import testsuite.BaseTestCase;
@@ -1307,6 +1313,72 @@ public class MultiHostConnectionTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests failover connections with parallel connection attempts.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testFailoverParallelConnect() throws Exception {
+        final String[] hosts = new String[] { HOST_1, HOST_2, HOST_3 };
+        final Properties props = new Properties();
+        props.setProperty(PropertyKey.failoverParallelConnect.getKeyName(), "true");
+        props.setProperty(PropertyKey.failoverParallelConnectDelay.getKeyName(), "500");
+        props.setProperty(PropertyKey.connectTimeout.getKeyName(), "5000");
+        props.setProperty(PropertyKey.retriesAllDown.getKeyName(), "2");
+
+        /*
+         * Primary host down: the connection to the first secondary host doesn't wait for the primary host attempt to time out.
+         */
+        long start = System.currentTimeMillis();
+        Connection testConn = getUnreliableFailoverConnection(hosts, props, new HashSet<>(Arrays.asList(HOST_1)));
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(HOST_2, ((JdbcConnection) testConn).getHost());
+        assertSingleValueQuery(testConn.createStatement(), "SELECT 1", 1L);
+        testConn.close();
+
+        /*
+         * All hosts up: the primary host wins.
+         */
+        testConn = getUnreliableFailoverConnection(hosts, props);
+        assertEquals(HOST_1, ((JdbcConnection) testConn).getHost());
+        testConn.close();
+
+        /*
+         * All hosts down.
+         */
+        assertThrows(SQLException.class, COMM_LINK_ERR_PATTERN, new Callable<Void>() {
+            public Void call() throws Exception {
+                getUnreliableFailoverConnection(hosts, props, new HashSet<>(Arrays.asList(hosts)));
+                return null;
+            }
+        });
+
+        /*
+         * All attempts started at once: the primary host still wins, even if a secondary host connects first.
+         */
+        props.setProperty(PropertyKey.failoverParallelConnectDelay.getKeyName(), "0");
+        for (int i = 0; i < 5; i++) {
+            testConn = getUnreliableFailoverConnection(hosts, props);
+            assertEquals(HOST_1, ((JdbcConnection) testConn).getHost());
+            testConn.close();
+        }
+
+        /*
+         * No retries: a single round of attempts is still made.
+         */
+        props.setProperty(PropertyKey.retriesAllDown.getKeyName(), "0");
+        testConn = getUnreliableFailoverConnection(hosts, props, new HashSet<>(Arrays.asList(HOST_1)));
+        assertEquals(HOST_2, ((JdbcConnection) testConn).getHost());
+        testConn.close();
+        assertThrows(SQLException.class, COMM_LINK_ERR_PATTERN, new Callable<Void>() {
+            public Void call() throws Exception {
+                getUnreliableFailoverConnection(hosts, props, new HashSet<>(Arrays.asList(hosts)));
+                return null;
+            }
+        });
+    }
+
     /**
      * Tests "serverAffinity" load-balancing strategy.
      * 
@@ -1392,4 +1464,82 @@ public class MultiHostConnectionTest extends BaseTestCase {
 
         this.conn.close();
     }
+
+    /**
+     * Tests pre-connection of all hosts in load-balanced connections.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testLoadBalancePreconnect() throws Exception {
+        final String[] hosts = new String[] { HOST_1, HOST_2, HOST_3 };
+        final Properties props = new Properties();
+        props.setProperty(PropertyKey.loadBalancePreconnect.getKeyName(), "true");
+        props.setProperty(PropertyKey.loadBalanceBlacklistTimeout.getKeyName(), "10000");
+        props.setProperty(PropertyKey.retriesAllDown.getKeyName(), "2");
+
+        Connection testConn = getUnreliableLoadBalancedConnection(hosts, props, new HashSet<>(Arrays.asList(HOST_3)));
+        testConn.setAutoCommit(false);
+
+        // Wait for the background connections to settle.
+        for (int i = 0; i < 50 && UnreliableSocketFactory.getHostsFromAllConnections().size() < hosts.length; i++) {
+            Thread.sleep(100);
+        }
+        Set<String> connectionsHistory = new HashSet<>(UnreliableSocketFactory.getHostsFromAllConnections());
+        assertEquals(3, connectionsHistory.size());
+        assertTrue(connectionsHistory.containsAll(Arrays.asList(HOST_1_OK, HOST_2_OK, HOST_3_FAIL)));
+
+        // Switching connections doesn't trigger new physical connections anymore.
+        for (int i = 0; i < 10; i++) {
+            testConn.commit();
+            assertSingleValueQuery(testConn.createStatement(), "SELECT 1", 1L);
+        }
+        assertEquals(3, UnreliableSocketFactory.getHostsFromAllConnections().size());
+
+        testConn.close();
+    }
+
+    /**
+     * Tests per-host statistics of load-balanced connection groups.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testLoadBalanceConnectionGroupHostStatistics() throws Exception {
+        final String port = mainConnectionUrl.getMainHost().getPort() + "";
+        final String groupName = "testLBConnGroupHostStats";
+        final String[] hosts = new String[] { HOST_1, HOST_2 };
+        final Properties props = new Properties();
+        props.setProperty(PropertyKey.loadBalanceConnectionGroup.getKeyName(), groupName);
+        props.setProperty(PropertyKey.loadBalanceBlacklistTimeout.getKeyName(), "10000");
+        props.setProperty(PropertyKey.ha_enableJMX.getKeyName(), "true");
+        props.setProperty(PropertyKey.ha_loadBalanceStrategy.getKeyName(), "serverAffinity");
+        props.setProperty(PropertyKey.serverAffinityOrder.getKeyName(), HOST_2 + ":" + port + "," + HOST_1 + ":" + port); // HOST_2 always tried first.
+
+        Connection testConn = getUnreliableLoadBalancedConnection(hosts, props, new HashSet<>(Arrays.asList(HOST_2)));
+        testConn.setAutoCommit(false);
+        for (int i = 0; i < 5; i++) {
+            assertSingleValueQuery(testConn.createStatement(), "SELECT 1", 1L);
+            testConn.commit();
+        }
+
+        ConnectionGroup group = ConnectionGroupManager.getConnectionGroup(groupName);
+        ConnectionGroupHostStatistics host1Stats = group.getHostStatistics(HOST_1 + ":" + port);
+        assertEquals(1, host1Stats.getActiveConnectionCount());
+        assertEquals(5, host1Stats.getTotalTransactionCount());
+        assertTrue(host1Stats.getAverageTransactionLatency() > 0);
+        assertEquals(0, host1Stats.getErrorCount());
+
+        ConnectionGroupHostStatistics host2Stats = group.getHostStatistics(HOST_2 + ":" + port);
+        assertEquals(0, host2Stats.getActiveConnectionCount());
+        assertEquals(0, host2Stats.getTotalTransactionCount());
+        assertTrue(host2Stats.getErrorCount() > 0);
+        assertTrue(host2Stats.getBlacklistEventCount() > 0);
+
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName("com.mysql.cj.jdbc.jmx:type=LoadBalanceHostStatistics,group="
+                + ObjectName.quote(groupName) + ",host=" + ObjectName.quote(HOST_1 + ":" + port))));
+
+        testConn.close();
+        assertEquals(0, host1Stats.getActiveConnectionCount());
+    }
 }
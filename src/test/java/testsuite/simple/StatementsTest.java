@@ -32,6 +32,7 @@ package testsuite.simple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -1597,6 +1598,154 @@ public class StatementsTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests that rewritten batches are split into queries that fill but don't exceed max_allowed_packet, whatever the size of each row.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBatchRewritePacking() throws Exception {
+        createTable("testBatchRewritePacking", "(id INT PRIMARY KEY, str VARCHAR(500))");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), "false");
+        props.setProperty(PropertyKey.rewriteBatchedStatements.getKeyName(), "true");
+        props.setProperty(PropertyKey.maxAllowedPacket.getKeyName(), "1024");
+        Connection packingConn = getConnectionWithProps(props);
+
+        for (String sql : new String[] { "INSERT INTO testBatchRewritePacking VALUES (?, ?)",
+                "INSERT INTO testBatchRewritePacking VALUES (?, ?) ON DUPLICATE KEY UPDATE str = VALUES(str)" }) {
+            this.stmt.execute("TRUNCATE TABLE testBatchRewritePacking");
+
+            this.pstmt = packingConn.prepareStatement(sql);
+            for (int i = 0; i < 500; i++) {
+                this.pstmt.setInt(1, i);
+                this.pstmt.setString(2, new String(new char[i % 450]).replace('\0', '\'')); // escaping doubles the length
+                this.pstmt.addBatch();
+            }
+            int[] counts = this.pstmt.executeBatch();
+            assertEquals(500, counts.length);
+            for (int count : counts) {
+                assertEquals(Statement.SUCCESS_NO_INFO, count);
+            }
+
+            this.rs = this.stmt.executeQuery("SELECT id, str FROM testBatchRewritePacking ORDER BY id");
+            for (int i = 0; i < 500; i++) {
+                assertTrue(this.rs.next());
+                assertEquals(i, this.rs.getInt(1));
+                assertEquals(new String(new char[i % 450]).replace('\0', '\''), this.rs.getString(2));
+            }
+            assertFalse(this.rs.next());
+        }
+    }
+
+    /**
+     * Tests that server-side prepared statements execute rewritten batches in power-of-two chunks prepared once per statement.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerPreparedBatchRewrite() throws Exception {
+        createTable("testServerPreparedBatchRewrite", "(id INT PRIMARY KEY AUTO_INCREMENT, val INT)");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), "true");
+        props.setProperty(PropertyKey.rewriteBatchedStatements.getKeyName(), "true");
+        Connection spsConn = getConnectionWithProps(props);
+
+        this.pstmt = spsConn.prepareStatement("INSERT INTO testServerPreparedBatchRewrite (val) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+        for (int round = 0; round < 2; round++) {
+            long preparesBefore = Long.parseLong(getSingleIndexedValueWithQuery(spsConn, 2, "SHOW SESSION STATUS LIKE 'Com_stmt_prepare'").toString());
+
+            for (int i = 0; i < 100; i++) {
+                this.pstmt.setInt(1, round * 100 + i);
+                this.pstmt.addBatch();
+            }
+            int[] counts = this.pstmt.executeBatch();
+            assertEquals(100, counts.length);
+
+            long prepares = Long.parseLong(getSingleIndexedValueWithQuery(spsConn, 2, "SHOW SESSION STATUS LIKE 'Com_stmt_prepare'").toString())
+                    - preparesBefore;
+            // 64 + 32 + 4 rows
+            assertEquals(round == 0 ? 3 : 0, prepares);
+
+            this.rs = this.pstmt.getGeneratedKeys();
+            for (int i = 1; i <= 100; i++) {
+                assertTrue(this.rs.next());
+                assertEquals(round * 100 + i, this.rs.getInt(1));
+            }
+            assertFalse(this.rs.next());
+        }
+
+        this.rs = this.stmt.executeQuery("SELECT COUNT(*), SUM(id - val) FROM testServerPreparedBatchRewrite");
+        assertTrue(this.rs.next());
+        assertEquals(200, this.rs.getInt(1));
+        assertEquals(200, this.rs.getInt(2));
+
+        // The multi-value INSERTs are released when the statement goes back to the cache. Only the statement itself fits in the cache here.
+        String sql = "INSERT INTO testServerPreparedBatchRewrite (val) VALUES (?)";
+        props.setProperty(PropertyKey.cachePrepStmts.getKeyName(), "true");
+        props.setProperty(PropertyKey.prepStmtCacheSqlLimit.getKeyName(), String.valueOf(sql.length() + 1));
+        Connection cachedSpsConn = getConnectionWithProps(props);
+
+        this.pstmt = cachedSpsConn.prepareStatement(sql);
+        for (int i = 0; i < 100; i++) {
+            this.pstmt.setInt(1, i);
+            this.pstmt.addBatch();
+        }
+        this.pstmt.executeBatch();
+        long closesBefore = Long.parseLong(getSingleIndexedValueWithQuery(cachedSpsConn, 2, "SHOW SESSION STATUS LIKE 'Com_stmt_close'").toString());
+        this.pstmt.close();
+        long closes = Long.parseLong(getSingleIndexedValueWithQuery(cachedSpsConn, 2, "SHOW SESSION STATUS LIKE 'Com_stmt_close'").toString()) - closesBefore;
+        assertEquals(3, closes);
+        assertSame(this.pstmt, cachedSpsConn.prepareStatement(sql));
+    }
+
+    /**
+     * Tests prepared statements whose static SQL isn't encoded one byte per char, as single statements and rewritten batches.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testPreparedStatementMultiByteStaticSql() throws Exception {
+        createTable("testPreparedStatementMultiByteStaticSql", "(id INT PRIMARY KEY, str VARCHAR(100)) DEFAULT CHARSET=utf8mb4");
+
+        for (String useServerPrepStmts : new String[] { "false", "true" }) {
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.characterEncoding.getKeyName(), "UTF-8");
+            props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), useServerPrepStmts);
+            props.setProperty(PropertyKey.rewriteBatchedStatements.getKeyName(), "true");
+            Connection testConn = getConnectionWithProps(props);
+
+            this.stmt.execute("TRUNCATE TABLE testPreparedStatementMultiByteStaticSql");
+            this.pstmt = testConn.prepareStatement(
+                    "INSERT INTO testPreparedStatementMultiByteStaticSql /* \u00e9 */ VALUES (?, CONCAT('\u00e9?', ?, '\u20ac\ud83d\ude00')) "
+                            + "ON DUPLICATE KEY UPDATE str = CONCAT(VALUES(str), '\u00fc')");
+            for (int i = 0; i < 10; i++) {
+                this.pstmt.setInt(1, i);
+                this.pstmt.setString(2, "\u00e8" + i);
+                this.pstmt.addBatch();
+            }
+            this.pstmt.executeBatch();
+            this.pstmt.setInt(1, 0);
+            this.pstmt.setString(2, "\u00e80");
+            if (useServerPrepStmts.equals("false")) {
+                assertTrue(this.pstmt.toString().endsWith(
+                        "VALUES (0, CONCAT('\u00e9?', '\u00e80', '\u20ac\ud83d\ude00')) ON DUPLICATE KEY UPDATE str = CONCAT(VALUES(str), '\u00fc')"));
+            }
+            this.pstmt.executeUpdate();
+            testConn.close();
+
+            this.rs = this.stmt.executeQuery("SELECT id, str FROM testPreparedStatementMultiByteStaticSql ORDER BY id");
+            for (int i = 0; i < 10; i++) {
+                assertTrue(this.rs.next());
+                assertEquals(i, this.rs.getInt(1));
+                assertEquals("\u00e9?\u00e8" + i + "\u20ac\ud83d\ude00" + (i == 0 ? "\u00fc" : ""), this.rs.getString(2));
+            }
+            assertFalse(this.rs.next());
+        }
+    }
+
     @Test
     public void testStreamChange() throws Exception {
         createTable("testStreamChange", "(field1 varchar(32), field2 int, field3 TEXT, field4 BLOB)");
@@ -4074,4 +4223,93 @@ public class StatementsTest extends BaseTestCase {
             }
         } while ((useSPS = !useSPS) || (cachePS = !cachePS));
     }
+
+    /**
+     * Tests re-executions of a server-side prepared statement whose parameter types and NULL values change between executions.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerPreparedStatementReexecution() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), "true");
+        Connection testConn = getConnectionWithProps(props);
+
+        this.pstmt = testConn.prepareStatement("SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?");
+        for (int execution = 0; execution < 20; execution++) {
+            for (int i = 1; i <= 9; i++) {
+                switch ((execution / 4 + i) % 3) {
+                    case 0:
+                        this.pstmt.setNull(i, Types.INTEGER);
+                        break;
+                    case 1:
+                        this.pstmt.setInt(i, execution * i);
+                        break;
+                    default:
+                        this.pstmt.setString(i, "s" + execution * i);
+                }
+            }
+
+            this.rs = this.pstmt.executeQuery();
+            assertTrue(this.rs.next());
+            for (int i = 1; i <= 9; i++) {
+                switch ((execution / 4 + i) % 3) {
+                    case 0:
+                        assertNull(this.rs.getString(i));
+                        break;
+                    case 1:
+                        assertEquals(execution * i, this.rs.getInt(i));
+                        break;
+                    default:
+                        assertEquals("s" + execution * i, this.rs.getString(i));
+                }
+            }
+            assertFalse(this.rs.next());
+        }
+        testConn.close();
+    }
+
+    /**
+     * Tests that closing a server-side prepared statement is deferred until the next command on the connection.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerPreparedStatementDeferredClose() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), "true");
+        JdbcConnection testConn = (JdbcConnection) getConnectionWithProps(props);
+        Statement testStmt = testConn.createStatement();
+
+        this.rs = testStmt.executeQuery("SHOW SESSION STATUS LIKE 'Com_stmt_close'");
+        assertTrue(this.rs.next());
+        long closedBefore = this.rs.getLong(2);
+
+        for (int i = 0; i < 20; i++) {
+            PreparedStatement testPstmt = testConn.prepareStatement("SELECT ?");
+            testPstmt.setInt(1, i);
+            this.rs = testPstmt.executeQuery();
+            assertTrue(this.rs.next());
+            assertEquals(i, this.rs.getInt(1));
+            testPstmt.close();
+            assertEquals(1, testConn.getPendingStatementCloseCount());
+        }
+
+        PreparedStatement[] testPstmts = new PreparedStatement[20];
+        for (int i = 0; i < testPstmts.length; i++) {
+            testPstmts[i] = testConn.prepareStatement("SELECT " + i + ", ?");
+        }
+        assertEquals(0, testConn.getPendingStatementCloseCount());
+        for (PreparedStatement testPstmt : testPstmts) {
+            testPstmt.close();
+        }
+        assertEquals(20, testConn.getPendingStatementCloseCount());
+
+        this.rs = testStmt.executeQuery("SHOW SESSION STATUS LIKE 'Com_stmt_close'");
+        assertEquals(0, testConn.getPendingStatementCloseCount());
+        assertTrue(this.rs.next());
+        assertEquals(closedBefore + 40, this.rs.getLong(2));
+
+        testConn.close();
+    }
 }